@@ -146,19 +146,9 @@ public class VMMessageReceiver extends TransactedPollingMessageReceiver {
 
     int batchSize = getBatchSize(queue.size());
 
-    // try to get the first event off the queue
-    InternalMessage message = getMessage(queue, connector.getQueueTimeout());
-
-    if (message != null) {
-      messages.add(message);
-
-      // keep batching if more events are available
-      for (int i = 0; i < batchSize && message != null; i++) {
-        message = getMessage(queue, 0);
-        if (message != null) {
-          messages.add(message);
-        }
-      }
+    // wait for the first event and take it along with the batch of events available, in a single wake up
+    for (Serializable polledItem : queue.drainTo(batchSize + 1, connector.getQueueTimeout())) {
+      messages.add(toMessage(polledItem));
     }
 
     // let our workManager handle the batch of events
@@ -166,7 +156,10 @@ public class VMMessageReceiver extends TransactedPollingMessageReceiver {
   }
 
   private InternalMessage getMessage(Queue queue, int timeout) throws InterruptedException {
-    Serializable polledItem = queue.poll(timeout);
+    return toMessage(queue.poll(timeout));
+  }
+
+  private InternalMessage toMessage(Serializable polledItem) {
     if (polledItem instanceof Event) {
       return ((Event) polledItem).getMessage();
     } else {
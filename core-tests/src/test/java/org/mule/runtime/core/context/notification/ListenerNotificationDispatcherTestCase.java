@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.context.notification.NotificationOverflowPolicy.CALLER_RUNS;
+import static org.mule.runtime.core.context.notification.NotificationOverflowPolicy.DROP;
+import static org.mule.runtime.core.context.notification.NotificationOverflowPolicy.SAMPLE;
+
+import org.mule.runtime.core.api.context.notification.ServerNotification;
+import org.mule.runtime.core.api.context.notification.ServerNotificationListener;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+@SmallTest
+public class ListenerNotificationDispatcherTestCase extends AbstractMuleTestCase {
+
+  private static final long RECEIVE_TIMEOUT = 5000;
+
+  private final List<ServerNotification> received = new CopyOnWriteArrayList<>();
+  private final ServerNotificationListener<ServerNotification> listener = notification -> received.add(notification);
+  private final Queue<Runnable> tasks = new LinkedList<>();
+
+  @Test
+  public void notificationsAreDeliveredInBatches() {
+    ListenerNotificationDispatcher dispatcher = new ListenerNotificationDispatcher(listener, tasks::add, 16, DROP, 1);
+    List<ServerNotification> notifications = fire(dispatcher, 10);
+
+    assertThat(tasks.size(), is(1));
+    runTasks();
+    assertThat(received, is(notifications));
+  }
+
+  @Test
+  public void dropPolicyCountsDiscardedNotifications() {
+    ListenerNotificationDispatcher dispatcher = new ListenerNotificationDispatcher(listener, tasks::add, 4, DROP, 1);
+    List<ServerNotification> notifications = fire(dispatcher, 10);
+
+    runTasks();
+    assertThat(received, is(notifications.subList(0, 4)));
+    assertThat(dispatcher.getDroppedCount(), is(6L));
+  }
+
+  @Test
+  public void samplePolicyKeepsOneOfEachSampleRate() {
+    ListenerNotificationDispatcher dispatcher = new ListenerNotificationDispatcher(listener, tasks::add, 8, SAMPLE, 2);
+    fire(dispatcher, 10);
+
+    runTasks();
+    // the first half of the buffer is filled, then one of every two notifications is kept until the buffer is full
+    assertThat(received.size(), is(7));
+    assertThat(dispatcher.getDroppedCount(), is(3L));
+  }
+
+  @Test
+  public void callerRunsPolicyDeliversOverflowInFiringThread() {
+    ListenerNotificationDispatcher dispatcher = new ListenerNotificationDispatcher(listener, tasks::add, 4, CALLER_RUNS, 1);
+    List<ServerNotification> notifications = fire(dispatcher, 10);
+
+    // the ones that did not fit in the buffer were delivered by the firing thread, without waiting for the drain task
+    assertThat(received, is(notifications.subList(4, 10)));
+    runTasks();
+    assertThat(received, containsInAnyOrder(notifications.toArray()));
+    assertThat(dispatcher.getDroppedCount(), is(0L));
+  }
+
+  @Test
+  public void callerRunsPolicyDeliversEveryNotificationWithSingleThreadExecutor() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      ListenerNotificationDispatcher dispatcher = new ListenerNotificationDispatcher(listener, executor, 4, CALLER_RUNS, 1);
+      List<ServerNotification> notifications = fire(dispatcher, 1000);
+
+      new PollingProber(5000, 50).check(new JUnitLambdaProbe(() -> {
+        assertThat(received, containsInAnyOrder(notifications.toArray()));
+        return true;
+      }));
+      assertThat(dispatcher.getDroppedCount(), is(0L));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void stoppedDispatcherDiscardsNotifications() {
+    ListenerNotificationDispatcher dispatcher = new ListenerNotificationDispatcher(listener, tasks::add, 4, CALLER_RUNS, 1);
+    dispatcher.stop();
+    fire(dispatcher, 2);
+
+    assertThat(tasks.isEmpty(), is(true));
+    assertThat(dispatcher.getDroppedCount(), is(2L));
+  }
+
+  @Test
+  public void stopWithTimeoutDeliversPendingNotifications() {
+    // The executor is already shut down, so the pending notifications are delivered by the stopping thread
+    ListenerNotificationDispatcher dispatcher = new ListenerNotificationDispatcher(listener, task -> {
+      throw new RejectedExecutionException();
+    }, 16, DROP, 1);
+    List<ServerNotification> notifications = fire(dispatcher, 10);
+
+    dispatcher.stop(RECEIVE_TIMEOUT, MILLISECONDS);
+
+    assertThat(received, is(notifications));
+    assertThat(dispatcher.getDroppedCount(), is(0L));
+  }
+
+  @Test
+  public void stopWithTimeoutDiscardsNotificationsNotDeliveredInTime() {
+    // The drain task is never run, so nothing is delivered before the timeout elapses
+    ListenerNotificationDispatcher dispatcher = new ListenerNotificationDispatcher(listener, tasks::add, 16, DROP, 1);
+    fire(dispatcher, 3);
+
+    dispatcher.stop(10, MILLISECONDS);
+    fire(dispatcher, 2);
+
+    assertThat(received.isEmpty(), is(true));
+    assertThat(dispatcher.getDroppedCount(), is(5L));
+  }
+
+  private List<ServerNotification> fire(ListenerNotificationDispatcher dispatcher, int count) {
+    List<ServerNotification> notifications = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      ServerNotification notification = new Event1("id" + i);
+      notifications.add(notification);
+      dispatcher.dispatch(notification);
+    }
+    return notifications;
+  }
+
+  private void runTasks() {
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      task.run();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.mule.runtime.core.api.lock.LockProvider;
+import org.mule.runtime.core.util.concurrent.Latch;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.mockito.Answers;
+
+@SmallTest
+public class ConcurrentLockGroupTestCase extends AbstractMuleTestCase {
+
+  private static final int THREAD_COUNT = 20;
+  private static final int ITERATIONS_PER_THREAD = 1000;
+  private static final String LOCK_ID = "lockId";
+
+  private ConcurrentLockGroup lockGroup = new ConcurrentLockGroup(new SingleServerLockProvider());
+
+  @Test
+  public void lockUnlock() throws Exception {
+    testHighConcurrency(false);
+  }
+
+  @Test
+  public void tryLockUnlock() throws Exception {
+    testHighConcurrency(true);
+  }
+
+  @Test
+  public void entryReleasedWhenLastLockReleased() throws Exception {
+    LockProvider lockProvider = mock(LockProvider.class, Answers.RETURNS_DEEP_STUBS.get());
+    lockGroup = new ConcurrentLockGroup(lockProvider);
+    lockGroup.lock(LOCK_ID);
+    lockGroup.lock(LOCK_ID);
+    lockGroup.unlock(LOCK_ID);
+    assertThat(lockGroup.getLockEntries(), is(1));
+    lockGroup.unlock(LOCK_ID);
+    assertThat(lockGroup.getLockEntries(), is(0));
+    verify(lockProvider, times(1)).createLock(LOCK_ID);
+  }
+
+  @Test
+  public void timedOutLockReleasesEntry() throws Exception {
+    lockGroup.lock(LOCK_ID);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      assertThat(executor.submit(() -> lockGroup.tryLock(LOCK_ID, 10, MILLISECONDS)).get(), is(false));
+      assertThat(executor.submit(() -> lockGroup.tryLock(LOCK_ID)).get(), is(false));
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(lockGroup.getTimedOutLocks(), is(1L));
+    assertThat(lockGroup.getAcquiredLocks(), is(1L));
+    lockGroup.unlock(LOCK_ID);
+    assertThat(lockGroup.getLockEntries(), is(0));
+  }
+
+  private void testHighConcurrency(boolean useTryLock) throws Exception {
+    final Latch threadStartLatch = new Latch();
+    final int[] counters = new int[2];
+    ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < THREAD_COUNT; ++i) {
+        final int counter = i % counters.length;
+        final String lockId = "lock" + counter;
+        futures.add(executor.submit(() -> {
+          threadStartLatch.await();
+          for (int j = 0; j < ITERATIONS_PER_THREAD; ++j) {
+            if (useTryLock) {
+              while (!lockGroup.tryLock(lockId, 100, MILLISECONDS));
+            } else {
+              lockGroup.lock(lockId);
+            }
+            try {
+              counters[counter]++;
+            } finally {
+              lockGroup.unlock(lockId);
+            }
+          }
+          return null;
+        }));
+      }
+      threadStartLatch.release();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    final int expected = THREAD_COUNT / counters.length * ITERATIONS_PER_THREAD;
+    assertThat(counters[0], is(expected));
+    assertThat(counters[1], is(expected));
+    assertThat(lockGroup.getLockEntries(), is(0));
+    assertThat(lockGroup.getAcquiredLocks(), is((long) THREAD_COUNT * ITERATIONS_PER_THREAD));
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.message.GroupCorrelation;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class BinarySerializationProtocolTestCase extends AbstractSerializerProtocolContractTestCase {
+
+  private SerializationProtocol javaProtocol;
+
+  @Override
+  protected void doSetUp() throws Exception {
+    javaProtocol = muleContext.getObjectSerializer().getExternalProtocol();
+    BinarySerializationProtocol binaryProtocol = new BinarySerializationProtocol(javaProtocol);
+    binaryProtocol.setMuleContext(muleContext);
+    serializationProtocol = binaryProtocol;
+  }
+
+  @Test(expected = SerializationException.class)
+  public void notSerializable() throws Exception {
+    serializationProtocol.serialize(new Object());
+  }
+
+  @Test
+  public void collections() throws Exception {
+    Map<String, Object> map = new HashMap<>();
+    map.put("list", new ArrayList<>(asList(1, 2L, 3.0, null, "four")));
+    map.put("bytes", "five".getBytes());
+
+    Map<String, Object> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(map));
+
+    assertThat(deserialized.get("list"), equalTo(map.get("list")));
+    assertThat(new String((byte[]) deserialized.get("bytes")), equalTo("five"));
+  }
+
+  @Test
+  public void sharedReferencesKeepIdentity() throws Exception {
+    List<Object> shared = new ArrayList<>(asList("a", "b"));
+    TestSerializable sharedSerializable = new TestSerializable();
+    List<Object> list = new ArrayList<>(asList(shared, shared, sharedSerializable, sharedSerializable));
+
+    List<Object> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(list));
+
+    assertThat(deserialized.get(0), equalTo(shared));
+    assertThat(deserialized.get(1), is(sameInstance(deserialized.get(0))));
+    assertThat(deserialized.get(2), instanceOf(TestSerializable.class));
+    assertThat(deserialized.get(3), is(sameInstance(deserialized.get(2))));
+  }
+
+  @Test
+  public void equalCollectionsAreNotShared() throws Exception {
+    List<Object> list = new ArrayList<>(asList(new ArrayList<>(asList(1)), new ArrayList<>(asList(1))));
+
+    List<Object> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(list));
+
+    assertThat(deserialized.get(0), equalTo(deserialized.get(1)));
+    assertThat(deserialized.get(0), is(not(sameInstance(deserialized.get(1)))));
+  }
+
+  @Test
+  public void cyclicReferences() throws Exception {
+    List<Object> list = new ArrayList<>();
+    Map<String, Object> map = new HashMap<>();
+    map.put("parent", list);
+    list.add(map);
+    list.add(list);
+
+    List<Object> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(list));
+
+    assertThat(deserialized.get(1), is(sameInstance((Object) deserialized)));
+    assertThat(((Map<String, Object>) deserialized.get(0)).get("parent"), is(sameInstance((Object) deserialized)));
+  }
+
+  @Test
+  public void event() throws Exception {
+    InternalMessage message = InternalMessage.builder().payload(TEST_PAYLOAD).mediaType(APPLICATION_JSON)
+        .addOutboundProperty("property", "value").build();
+    Event event = eventBuilder().message(message).addVariable("variable", 42)
+        .groupCorrelation(new GroupCorrelation(3, 1)).build();
+
+    Event deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(event));
+
+    assertThat(deserialized.getContext().getId(), equalTo(event.getContext().getId()));
+    assertThat(deserialized.getMessage().getPayload().getValue(), equalTo(TEST_PAYLOAD));
+    assertThat(deserialized.getMessage().getPayload().getDataType().getMediaType().matches(APPLICATION_JSON), is(true));
+    assertThat(deserialized.getMessage().getOutboundProperty("property"), equalTo("value"));
+    assertThat(deserialized.getVariable("variable").getValue(), equalTo(42));
+    assertThat(deserialized.getGroupCorrelation().getGroupSize().get(), equalTo(3));
+    assertThat(deserialized.getGroupCorrelation().getSequence().get(), equalTo(1));
+  }
+
+  @Test
+  public void collectionDataType() throws Exception {
+    DataType dataType = DataType.builder().collectionType(List.class).itemType(String.class).build();
+
+    assertThat(serializationProtocol.deserialize(serializationProtocol.serialize(dataType)), equalTo(dataType));
+  }
+
+  @Test
+  public void smallerThanJavaSerialization() throws Exception {
+    InternalMessage message = InternalMessage.builder().payload(TEST_PAYLOAD).addOutboundProperty("property", "value").build();
+
+    assertThat(serializationProtocol.serialize(message).length, lessThan(javaProtocol.serialize(message).length));
+  }
+
+  @Test
+  public void javaSerializedData() throws Exception {
+    InternalMessage message = serializationProtocol.deserialize(javaProtocol.serialize(InternalMessage.of(TEST_PAYLOAD)));
+
+    assertThat(message, instanceOf(InternalMessage.class));
+    assertThat(message.getPayload().getValue(), equalTo(TEST_PAYLOAD));
+  }
+
+  private static class TestSerializable implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+  }
+}
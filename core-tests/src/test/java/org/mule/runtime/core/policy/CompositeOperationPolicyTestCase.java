@@ -91,10 +91,10 @@ public class CompositeOperationPolicyTestCase extends AbstractMuleTestCase {
   @Test
   public void singlePolicy() throws Exception {
     compositeOperationPolicy = new CompositeOperationPolicy(asList(firstPolicy),
-                                                            operationPolicyParametersTransformer, operationPolicyProcessorFactory,
-                                                            operationParametersProcessor, operationExecutionFunction);
+                                                            operationPolicyParametersTransformer, operationPolicyProcessorFactory);
 
-    Event result = compositeOperationPolicy.process(initialEvent);
+    Event result = compositeOperationPolicy.createOperationPolicy(operationParametersProcessor, operationExecutionFunction)
+        .process(initialEvent);
     assertThat(result, is(nextProcessResultEvent));
     verify(operationExecutionFunction).execute(any(), same(initialEvent));
     verify(operationPolicyProcessorFactory).createOperationPolicy(same(firstPolicy), any());
@@ -104,10 +104,10 @@ public class CompositeOperationPolicyTestCase extends AbstractMuleTestCase {
   @Test
   public void compositePolicy() throws Exception {
     compositeOperationPolicy = new CompositeOperationPolicy(asList(firstPolicy, secondPolicy),
-                                                            operationPolicyParametersTransformer, operationPolicyProcessorFactory,
-                                                            operationParametersProcessor, operationExecutionFunction);
+                                                            operationPolicyParametersTransformer, operationPolicyProcessorFactory);
 
-    Event result = compositeOperationPolicy.process(initialEvent);
+    Event result = compositeOperationPolicy.createOperationPolicy(operationParametersProcessor, operationExecutionFunction)
+        .process(initialEvent);
     assertThat(result, is(nextProcessResultEvent));
     verify(operationExecutionFunction).execute(any(), same(initialEvent));
     verify(operationPolicyProcessorFactory).createOperationPolicy(same(firstPolicy), any());
@@ -119,8 +119,7 @@ public class CompositeOperationPolicyTestCase extends AbstractMuleTestCase {
   @Test(expected = IllegalArgumentException.class)
   public void emptyPolicyList() throws Exception {
     compositeOperationPolicy = new CompositeOperationPolicy(emptyList(),
-                                                            operationPolicyParametersTransformer, operationPolicyProcessorFactory,
-                                                            operationParametersProcessor, operationExecutionFunction);
+                                                            operationPolicyParametersTransformer, operationPolicyProcessorFactory);
   }
 
   @Test
@@ -128,11 +127,11 @@ public class CompositeOperationPolicyTestCase extends AbstractMuleTestCase {
     RuntimeException policyException = new RuntimeException("policy failure");
     when(firstPolicyOperationPolicyProcessor.process(any(Event.class))).thenThrow(policyException);
     compositeOperationPolicy = new CompositeOperationPolicy(asList(firstPolicy, secondPolicy),
-                                                            operationPolicyParametersTransformer, operationPolicyProcessorFactory,
-                                                            operationParametersProcessor, operationExecutionFunction);
+                                                            operationPolicyParametersTransformer, operationPolicyProcessorFactory);
     expectedException.expect(MuleException.class);
     expectedException.expectCause(is(policyException));
-    compositeOperationPolicy.process(initialEvent);
+    compositeOperationPolicy.createOperationPolicy(operationParametersProcessor, operationExecutionFunction)
+        .process(initialEvent);
   }
 
   @Test
@@ -140,11 +139,11 @@ public class CompositeOperationPolicyTestCase extends AbstractMuleTestCase {
     RuntimeException policyException = new RuntimeException("policy failure");
     when(operationExecutionFunction.execute(any(), any())).thenThrow(policyException);
     compositeOperationPolicy = new CompositeOperationPolicy(asList(firstPolicy, secondPolicy),
-                                                            operationPolicyParametersTransformer, operationPolicyProcessorFactory,
-                                                            operationParametersProcessor, operationExecutionFunction);
+                                                            operationPolicyParametersTransformer, operationPolicyProcessorFactory);
     expectedException.expect(MuleException.class);
     expectedException.expectCause(is(policyException));
-    compositeOperationPolicy.process(initialEvent);
+    compositeOperationPolicy.createOperationPolicy(operationParametersProcessor, operationExecutionFunction)
+        .process(initialEvent);
   }
 
   private Event createTestEvent() {
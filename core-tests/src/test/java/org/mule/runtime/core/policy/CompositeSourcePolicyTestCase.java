@@ -90,10 +90,10 @@ public class CompositeSourcePolicyTestCase extends AbstractMuleTestCase {
   @Test
   public void singlePolicy() throws Exception {
     compositeSourcePolicy = new CompositeSourcePolicy(asList(firstPolicy),
-                                                      sourcePolicyParametersTransformer, sourcePolicyProcessorFactory,
-                                                      flowExecutionProcessor, sourceParametersTransformer);
+                                                      sourcePolicyParametersTransformer, sourcePolicyProcessorFactory);
 
-    Either<FailureSourcePolicyResult, SuccessSourcePolicyResult> sourcePolicyResult = compositeSourcePolicy.process(initialEvent);
+    Either<FailureSourcePolicyResult, SuccessSourcePolicyResult> sourcePolicyResult =
+        compositeSourcePolicy.createSourcePolicy(flowExecutionProcessor, sourceParametersTransformer).process(initialEvent);
     assertThat(sourcePolicyResult.isRight(), is(true));
     assertThat(sourcePolicyResult.getRight().getFlowExecutionResult(), is(firstPolicyResultEvent));
     verify(flowExecutionProcessor).process(initialEvent);
@@ -105,9 +105,10 @@ public class CompositeSourcePolicyTestCase extends AbstractMuleTestCase {
   public void compositePolicy() throws Exception {
     compositeSourcePolicy =
         new CompositeSourcePolicy(asList(firstPolicy, secondPolicy), sourcePolicyParametersTransformer,
-                                  sourcePolicyProcessorFactory, flowExecutionProcessor, sourceParametersTransformer);
+                                  sourcePolicyProcessorFactory);
 
-    Either<FailureSourcePolicyResult, SuccessSourcePolicyResult> sourcePolicyResult = compositeSourcePolicy.process(initialEvent);
+    Either<FailureSourcePolicyResult, SuccessSourcePolicyResult> sourcePolicyResult =
+        compositeSourcePolicy.createSourcePolicy(flowExecutionProcessor, sourceParametersTransformer).process(initialEvent);
     assertThat(sourcePolicyResult.isRight(), is(true));
     assertThat(sourcePolicyResult.getRight().getFlowExecutionResult(), is(firstPolicyResultEvent));
     verify(flowExecutionProcessor).process(initialEvent);
@@ -120,8 +121,7 @@ public class CompositeSourcePolicyTestCase extends AbstractMuleTestCase {
   @Test(expected = IllegalArgumentException.class)
   public void emptyPolicyList() throws Exception {
     compositeSourcePolicy = new CompositeSourcePolicy(emptyList(),
-                                                      sourcePolicyParametersTransformer, sourcePolicyProcessorFactory,
-                                                      flowExecutionProcessor, sourceParametersTransformer);
+                                                      sourcePolicyParametersTransformer, sourcePolicyProcessorFactory);
   }
 
   @Test
@@ -129,11 +129,10 @@ public class CompositeSourcePolicyTestCase extends AbstractMuleTestCase {
     RuntimeException policyException = new RuntimeException("policy failure");
     when(secondPolicySourcePolicyProcessor.process(any(Event.class))).thenThrow(policyException);
     compositeSourcePolicy = new CompositeSourcePolicy(asList(firstPolicy, secondPolicy), sourcePolicyParametersTransformer,
-                                                      sourcePolicyProcessorFactory,
-                                                      flowExecutionProcessor, sourceParametersTransformer);
+                                                      sourcePolicyProcessorFactory);
     expectedException.expect(MuleException.class);
     expectedException.expectCause(is(policyException));
-    compositeSourcePolicy.process(initialEvent);
+    compositeSourcePolicy.createSourcePolicy(flowExecutionProcessor, sourceParametersTransformer).process(initialEvent);
   }
 
   @Test
@@ -141,11 +140,10 @@ public class CompositeSourcePolicyTestCase extends AbstractMuleTestCase {
     RuntimeException policyException = new RuntimeException("policy failure");
     when(flowExecutionProcessor.process(any(Event.class))).thenThrow(policyException);
     compositeSourcePolicy = new CompositeSourcePolicy(asList(firstPolicy, secondPolicy), sourcePolicyParametersTransformer,
-                                                      sourcePolicyProcessorFactory,
-                                                      flowExecutionProcessor, sourceParametersTransformer);
+                                                      sourcePolicyProcessorFactory);
     expectedException.expect(MuleException.class);
     expectedException.expectCause(is(policyException));
-    compositeSourcePolicy.process(initialEvent);
+    compositeSourcePolicy.createSourcePolicy(flowExecutionProcessor, sourceParametersTransformer).process(initialEvent);
   }
 
   private Event createTestEvent() {
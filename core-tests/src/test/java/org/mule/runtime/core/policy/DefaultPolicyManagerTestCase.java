@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.policy;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.util.ClassUtils.setFieldValue;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.dsl.api.component.config.ComponentIdentifier;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class DefaultPolicyManagerTestCase extends AbstractMuleTestCase {
+
+  private static final String FLOW_NAME = "flow";
+
+  private final ComponentIdentifier operationIdentifier =
+      ComponentIdentifier.builder().withNamespace("test").withName("operation").build();
+  private final ComponentIdentifier sourceIdentifier =
+      ComponentIdentifier.builder().withNamespace("test").withName("source").build();
+  private final MuleContext muleContext = mock(MuleContext.class, RETURNS_DEEP_STUBS);
+  private final Policy policy = mock(Policy.class);
+  private TestPolicyProvider policyProvider;
+  private DefaultPolicyManager policyManager;
+
+  @Before
+  public void setUp() throws Exception {
+    when(muleContext.getRegistry().lookupObjects(any(Class.class))).thenReturn(emptyList());
+  }
+
+  @Test
+  public void operationPoliciesAreCached() throws Exception {
+    initialise(true);
+
+    createOperationPolicy(FLOW_NAME);
+    createOperationPolicy(FLOW_NAME);
+
+    assertThat(policyProvider.operationLookups, is(1));
+  }
+
+  @Test
+  public void sourcePoliciesAreCached() throws Exception {
+    initialise(true);
+
+    createSourcePolicy(FLOW_NAME);
+    createSourcePolicy(FLOW_NAME);
+
+    assertThat(policyProvider.sourceLookups, is(1));
+  }
+
+  @Test
+  public void policiesAreCachedPerPointcut() throws Exception {
+    initialise(true);
+
+    createOperationPolicy(FLOW_NAME);
+    createOperationPolicy("otherFlow");
+    createOperationPolicy(FLOW_NAME);
+
+    assertThat(policyProvider.operationLookups, is(2));
+  }
+
+  @Test
+  public void policiesAreNotCachedForPointcutParametersThatDoNotOptIn() throws Exception {
+    OperationPolicyPointcutParametersFactory pointcutParametersFactory = mock(OperationPolicyPointcutParametersFactory.class);
+    when(pointcutParametersFactory.supportsOperationIdentifier(operationIdentifier)).thenReturn(true);
+    when(pointcutParametersFactory.createPolicyPointcutParameters(any(), any(), any()))
+        .thenAnswer(invocation -> new PolicyPointcutParameters(FLOW_NAME, operationIdentifier) {});
+    when(muleContext.getRegistry().lookupObjects(OperationPolicyPointcutParametersFactory.class))
+        .thenReturn(singletonList(pointcutParametersFactory));
+    initialise(true);
+
+    createOperationPolicy(FLOW_NAME);
+    createOperationPolicy(FLOW_NAME);
+
+    assertThat(policyProvider.operationLookups, is(2));
+  }
+
+  @Test
+  public void eachCallGetsItsOwnPolicyFromTheCachedComposite() throws Exception {
+    initialise(true);
+    policyProvider.addPolicy(policy);
+
+    OperationPolicy firstOperationPolicy = createOperationPolicy(FLOW_NAME);
+    OperationPolicy secondOperationPolicy = createOperationPolicy(FLOW_NAME);
+
+    assertThat(firstOperationPolicy, is(not(sameInstance(secondOperationPolicy))));
+    assertThat(policyProvider.operationLookups, is(1));
+  }
+
+  @Test
+  public void addedPolicyIsApplied() throws Exception {
+    initialise(true);
+    assertThat(createOperationPolicy(FLOW_NAME), is(not(instanceOf(CompositeOperationPolicy.OperationExecution.class))));
+    assertThat(createSourcePolicy(FLOW_NAME), is(not(instanceOf(CompositeSourcePolicy.SourceExecution.class))));
+
+    policyProvider.addPolicy(policy);
+
+    assertThat(createOperationPolicy(FLOW_NAME), is(instanceOf(CompositeOperationPolicy.OperationExecution.class)));
+    assertThat(createSourcePolicy(FLOW_NAME), is(instanceOf(CompositeSourcePolicy.SourceExecution.class)));
+    assertThat(policyProvider.operationLookups, is(2));
+    assertThat(policyProvider.sourceLookups, is(2));
+  }
+
+  @Test
+  public void removedPolicyIsNotApplied() throws Exception {
+    initialise(true);
+    policyProvider.addPolicy(policy);
+    assertThat(createOperationPolicy(FLOW_NAME), is(instanceOf(CompositeOperationPolicy.OperationExecution.class)));
+    assertThat(createSourcePolicy(FLOW_NAME), is(instanceOf(CompositeSourcePolicy.SourceExecution.class)));
+
+    policyProvider.removePolicy(policy);
+
+    assertThat(createOperationPolicy(FLOW_NAME), is(not(instanceOf(CompositeOperationPolicy.OperationExecution.class))));
+    assertThat(createSourcePolicy(FLOW_NAME), is(not(instanceOf(CompositeSourcePolicy.SourceExecution.class))));
+    assertThat(policyProvider.operationLookups, is(2));
+    assertThat(policyProvider.sourceLookups, is(2));
+  }
+
+  @Test
+  public void policiesAreNotCachedIfProviderDoesNotNotifyChanges() throws Exception {
+    initialise(false);
+
+    createOperationPolicy(FLOW_NAME);
+    createOperationPolicy(FLOW_NAME);
+    createSourcePolicy(FLOW_NAME);
+    createSourcePolicy(FLOW_NAME);
+
+    assertThat(policyProvider.operationLookups, is(2));
+    assertThat(policyProvider.sourceLookups, is(2));
+  }
+
+  private void initialise(boolean notifiesChanges) throws Exception {
+    policyProvider = new TestPolicyProvider(notifiesChanges);
+    when(muleContext.getRegistry().lookupObject(PolicyProvider.class)).thenReturn(policyProvider);
+
+    policyManager = new DefaultPolicyManager();
+    setFieldValue(policyManager, "muleContext", muleContext, false);
+    setFieldValue(policyManager, "policyStateHandler", mock(PolicyStateHandler.class), false);
+    policyManager.initialise();
+  }
+
+  private OperationPolicy createOperationPolicy(String flowName) {
+    return policyManager.createOperationPolicy(operationIdentifier, createEvent(flowName), emptyMap(),
+                                               mock(OperationExecutionFunction.class));
+  }
+
+  private SourcePolicy createSourcePolicy(String flowName) {
+    return policyManager.createSourcePolicyInstance(sourceIdentifier, createEvent(flowName), mock(Processor.class),
+                                                    mock(MessageSourceResponseParametersProcessor.class));
+  }
+
+  private Event createEvent(String flowName) {
+    Event event = mock(Event.class, RETURNS_DEEP_STUBS);
+    when(event.getContext().getOriginatingFlowName()).thenReturn(flowName);
+    return event;
+  }
+
+  /**
+   * {@link PolicyProvider} that applies its policies to every component and counts how many times they are looked up.
+   */
+  private static class TestPolicyProvider implements PolicyProvider {
+
+    private final boolean notifiesChanges;
+    private final List<Policy> policies = new ArrayList<>();
+    private Runnable policiesChangedCallback;
+    private int sourceLookups;
+    private int operationLookups;
+
+    private TestPolicyProvider(boolean notifiesChanges) {
+      this.notifiesChanges = notifiesChanges;
+    }
+
+    private void addPolicy(Policy policy) {
+      policies.add(policy);
+      policiesChangedCallback.run();
+    }
+
+    private void removePolicy(Policy policy) {
+      policies.remove(policy);
+      policiesChangedCallback.run();
+    }
+
+    @Override
+    public List<Policy> findSourceParameterizedPolicies(PolicyPointcutParameters policyPointcutParameters) {
+      ++sourceLookups;
+      return new ArrayList<>(policies);
+    }
+
+    @Override
+    public List<Policy> findOperationParameterizedPolicies(PolicyPointcutParameters policyPointcutParameters) {
+      ++operationLookups;
+      return new ArrayList<>(policies);
+    }
+
+    @Override
+    public boolean onPoliciesChanged(Runnable policiesChangedCallback) {
+      this.policiesChangedCallback = policiesChangedCallback;
+      return notifiesChanges;
+    }
+  }
+}
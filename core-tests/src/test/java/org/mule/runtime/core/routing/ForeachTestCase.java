@@ -6,8 +6,14 @@
  */
 package org.mule.runtime.core.routing;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.synchronizedList;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -16,9 +22,11 @@ import static org.mockito.Mockito.when;
 
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.processor.MessageProcessorPathElement;
 import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.exception.MessagingException;
 import org.mule.runtime.core.internal.construct.DefaultFlowBuilder;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import org.mule.tck.testmodels.mule.TestMessageProcessor;
@@ -215,6 +223,52 @@ public class ForeachTestCase extends AbstractMuleContextTestCase {
     assertAddedPathElements(processors, foreachElement);
   }
 
+  @Test
+  public void concurrentIteration() throws Exception {
+    List<Object> payloads = synchronizedList(new ArrayList<>());
+    Foreach foreach = createConcurrentForeach(event -> {
+      payloads.add(event.getMessage().getPayload().getValue());
+      return event;
+    });
+    try {
+      foreach.process(eventBuilder().message(InternalMessage.of(asList("a", "b", "c", "d", "e"))).build());
+    } finally {
+      foreach.stop();
+    }
+
+    assertThat(payloads, containsInAnyOrder("a", "b", "c", "d", "e"));
+  }
+
+  @Test
+  public void concurrentIterationFailure() throws Exception {
+    Foreach foreach = createConcurrentForeach(event -> {
+      if ("c".equals(event.getMessage().getPayload().getValue())) {
+        throw new DefaultMuleException("Failed element");
+      }
+      return event;
+    });
+    try {
+      foreach.process(eventBuilder().message(InternalMessage.of(asList("a", "b", "c", "d", "e"))).build());
+      fail("Expected the failure of an element to be reported");
+    } catch (MessagingException e) {
+      assertThat(e.getCause().getCause(), instanceOf(CompositeRoutingException.class));
+      assertThat(((CompositeRoutingException) e.getCause().getCause()).getExceptionForRouteIndex(3),
+                 instanceOf(MuleException.class));
+    } finally {
+      foreach.stop();
+    }
+  }
+
+  private Foreach createConcurrentForeach(Processor processor) throws MuleException {
+    Foreach foreachMp = new Foreach();
+    foreachMp.setMessageProcessors(asList(processor));
+    foreachMp.setMaxConcurrency(2);
+    foreachMp.setMuleContext(muleContext);
+    foreachMp.initialise();
+    foreachMp.start();
+    return foreachMp;
+  }
+
   protected void assertAddedPathElements(List<Processor> processors, MessageProcessorPathElement mpPathElement) {
     verify(mpPathElement, times(processors.size())).addChild(any(Processor.class));
     verify(mpPathElement).addChild(processors.get(0));
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.routing.RoutingException;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ScatterGatherRouterTestCase extends AbstractMuleContextTestCase {
+
+  private static final int ROUTES = 3;
+  private static final long SLOW_ROUTE_MILLIS = 1000;
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  private ScatterGatherRouter router = new ScatterGatherRouter();
+
+  @After
+  public void after() throws Exception {
+    router.stop();
+    router.dispose();
+  }
+
+  @Test
+  public void parallelRoutesRunConcurrentlyAndKeepOrder() throws Exception {
+    CountDownLatch allRoutesStarted = new CountDownLatch(ROUTES);
+    router.setParallel(true);
+    router.setRoutes(asList(awaitingRoute("a", allRoutesStarted), awaitingRoute("b", allRoutesStarted),
+                            awaitingRoute("c", allRoutesStarted)));
+    startRouter();
+
+    Event result = router.process(testEvent());
+
+    assertThat(result.getMessage().getPayload().getValue(), instanceOf(List.class));
+    List<InternalMessage> messages = (List<InternalMessage>) result.getMessage().getPayload().getValue();
+    assertThat(messages.stream().map(message -> message.getPayload().getValue()).collect(toList()),
+               contains("a", "b", "c"));
+  }
+
+  @Test
+  public void parallelRouteTimeoutFailsWithCompositeRoutingException() throws Exception {
+    router.setParallel(true);
+    assertRouteTimeoutFails();
+  }
+
+  @Test
+  public void sequentialRouteTimeoutFailsWithCompositeRoutingException() throws Exception {
+    router.setParallel(false);
+    assertRouteTimeoutFails();
+  }
+
+  private void assertRouteTimeoutFails() throws Exception {
+    CountDownLatch neverReleased = new CountDownLatch(1);
+    // Sequential routes run on the calling thread, so the slow route is bounded to keep the test short
+    router.setRoutes(asList(payloadRoute("a"), event -> {
+      neverReleased.await(SLOW_ROUTE_MILLIS, MILLISECONDS);
+      return event;
+    }));
+    router.setTimeout(100);
+    startRouter();
+
+    try {
+      router.process(testEvent());
+      fail("route did not time out");
+    } catch (CompositeRoutingException e) {
+      assertThat(e.getExceptions().keySet(), contains(1));
+      assertThat(e.getExceptionForRouteIndex(1), instanceOf(RoutingException.class));
+    } finally {
+      neverReleased.countDown();
+    }
+  }
+
+  @Test
+  public void parallelOverallTimeoutFailsWithCompositeRoutingException() throws Exception {
+    CountDownLatch neverReleased = new CountDownLatch(1);
+    router.setParallel(true);
+    router.setRoutes(asList(payloadRoute("a"), awaitingRoute(neverReleased), awaitingRoute(neverReleased)));
+    router.setOverallTimeout(100);
+    startRouter();
+
+    long start = System.currentTimeMillis();
+    try {
+      router.process(testEvent());
+      fail("routes did not time out");
+    } catch (CompositeRoutingException e) {
+      assertThat(System.currentTimeMillis() - start, lessThan(SLOW_ROUTE_MILLIS));
+      assertThat(e.getExceptions().keySet(), contains(1, 2));
+      assertThat(e.getExceptionForRouteIndex(1), instanceOf(RoutingException.class));
+      assertThat(e.getExceptionForRouteIndex(2), instanceOf(RoutingException.class));
+    } finally {
+      neverReleased.countDown();
+    }
+  }
+
+  @Test
+  public void sequentialOverallTimeoutFailsWithCompositeRoutingException() throws Exception {
+    List<String> steps = Collections.synchronizedList(new ArrayList<>());
+    router.setParallel(false);
+    // Each route is shorter than the overall timeout, but the second one doesn't complete before it expires
+    router.setRoutes(asList(sleepingRoute("a", 100, steps), sleepingRoute("b", 100, steps), sleepingRoute("c", 100, steps)));
+    router.setOverallTimeout(150);
+    startRouter();
+
+    try {
+      router.process(testEvent());
+      fail("routes did not time out");
+    } catch (CompositeRoutingException e) {
+      assertThat(e.getExceptions().keySet(), contains(1, 2));
+      assertThat(e.getExceptionForRouteIndex(1), instanceOf(RoutingException.class));
+      assertThat(steps, not(hasItem("start c")));
+    }
+  }
+
+  @Test
+  public void routesAreParallelByDefault() throws Exception {
+    CountDownLatch allRoutesStarted = new CountDownLatch(ROUTES);
+    router.setRoutes(asList(awaitingRoute("a", allRoutesStarted), awaitingRoute("b", allRoutesStarted),
+                            awaitingRoute("c", allRoutesStarted)));
+    startRouter();
+
+    assertThat(payloads(router.process(testEvent())), contains("a", "b", "c"));
+  }
+
+  @Test
+  public void sequentialRoutesRunOneAfterTheOther() throws Exception {
+    List<String> steps = Collections.synchronizedList(new ArrayList<>());
+    router.setParallel(false);
+    router.setRoutes(asList(recordingRoute("a", steps), recordingRoute("b", steps), recordingRoute("c", steps)));
+    startRouter();
+
+    router.process(testEvent());
+
+    assertThat(steps, contains("start a", "end a", "start b", "end b", "start c", "end c"));
+  }
+
+  @Test
+  public void sequentialRoutesKeepOrder() throws Exception {
+    router.setParallel(false);
+    router.setRoutes(asList(payloadRoute("a"), payloadRoute("b")));
+    startRouter();
+
+    assertThat(payloads(router.process(testEvent())), contains("a", "b"));
+  }
+
+  @Test
+  public void parallelRouterNotStartedRoutesSequentially() throws Exception {
+    router.setParallel(true);
+    router.setRoutes(asList(payloadRoute("a"), payloadRoute("b")));
+    router.setMuleContext(muleContext);
+    router.initialise();
+
+    assertThat(payloads(router.process(testEvent())), contains("a", "b"));
+  }
+
+  @Test
+  public void failingRouteCancelsParallelRoutes() throws Exception {
+    CountDownLatch routesStarted = new CountDownLatch(2);
+    CountDownLatch neverReleased = new CountDownLatch(1);
+    router.setParallel(true);
+    router.setRoutes(asList(event -> {
+      routesStarted.countDown();
+      neverReleased.await(RECEIVE_TIMEOUT, MILLISECONDS);
+      return event;
+    }, event -> {
+      routesStarted.countDown();
+      routesStarted.await(RECEIVE_TIMEOUT, MILLISECONDS);
+      throw new IllegalStateException("route failed");
+    }));
+    startRouter();
+
+    long start = System.currentTimeMillis();
+    try {
+      router.process(testEvent());
+      fail("route did not fail");
+    } catch (CompositeRoutingException e) {
+      assertThat(System.currentTimeMillis() - start, lessThan((long) RECEIVE_TIMEOUT));
+      assertThat(e.getExceptions().keySet(), contains(0, 1));
+      assertThat(e.getExceptionForRouteIndex(0), instanceOf(RoutingException.class));
+    } finally {
+      neverReleased.countDown();
+    }
+  }
+
+  @Test
+  public void failingRouteSkipsSequentialRoutes() throws Exception {
+    AtomicInteger skippedRouteInvocations = new AtomicInteger();
+    router.setParallel(false);
+    router.setRoutes(asList(payloadRoute("a"), event -> {
+      throw new IllegalStateException("route failed");
+    }, event -> {
+      skippedRouteInvocations.incrementAndGet();
+      return event;
+    }));
+    startRouter();
+
+    try {
+      router.process(testEvent());
+      fail("route did not fail");
+    } catch (CompositeRoutingException e) {
+      assertThat(e.getExceptions().keySet(), contains(1, 2));
+      assertThat(skippedRouteInvocations.get(), is(0));
+    }
+  }
+
+  private void startRouter() throws Exception {
+    router.setMuleContext(muleContext);
+    router.initialise();
+    router.start();
+  }
+
+  private Processor awaitingRoute(String payload, CountDownLatch allRoutesStarted) {
+    return event -> {
+      allRoutesStarted.countDown();
+      assertThat("routes were not subscribed concurrently", allRoutesStarted.await(RECEIVE_TIMEOUT, MILLISECONDS), is(true));
+      return Event.builder(event).message(InternalMessage.builder(event.getMessage()).payload(payload).build()).build();
+    };
+  }
+
+  private Processor awaitingRoute(CountDownLatch neverReleased) {
+    return event -> {
+      neverReleased.await(SLOW_ROUTE_MILLIS, MILLISECONDS);
+      return event;
+    };
+  }
+
+  private Processor recordingRoute(String payload, List<String> steps) {
+    return sleepingRoute(payload, 20, steps);
+  }
+
+  private Processor sleepingRoute(String payload, long millis, List<String> steps) {
+    return event -> {
+      steps.add("start " + payload);
+      Thread.sleep(millis);
+      steps.add("end " + payload);
+      return Event.builder(event).message(InternalMessage.builder(event.getMessage()).payload(payload).build()).build();
+    };
+  }
+
+  private List<Object> payloads(Event result) {
+    List<InternalMessage> messages = (List<InternalMessage>) result.getMessage().getPayload().getValue();
+    return messages.stream().map(message -> message.getPayload().getValue()).collect(toList());
+  }
+
+  private Processor payloadRoute(String payload) {
+    return event -> Event.builder(event).message(InternalMessage.builder(event.getMessage()).payload(payload).build()).build();
+  }
+}
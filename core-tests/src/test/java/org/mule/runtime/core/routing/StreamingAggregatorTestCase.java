@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.counting;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.routing.RoutingException;
+import org.mule.runtime.core.message.GroupCorrelation;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+public class StreamingAggregatorTestCase extends AbstractMuleContextTestCase {
+
+  private StreamingSplitter splitter;
+  private StreamingAggregator aggregator;
+  private Event aggregated;
+
+  @Override
+  protected void doSetUp() throws Exception {
+    super.doSetUp();
+    aggregator = new StreamingAggregator();
+    aggregator.setMuleContext(muleContext);
+    aggregator.setListener(event -> {
+      aggregated = event;
+      return event;
+    });
+    splitter = new StreamingSplitter();
+    splitter.setMuleContext(muleContext);
+    splitter.setListener(aggregator);
+  }
+
+  @Test
+  public void splitStreamInLines() throws Exception {
+    splitter.process(eventBuilder().message(InternalMessage.of(new ByteArrayInputStream("a,1\nb,2\r\nc,3".getBytes()))).build());
+
+    assertThat(aggregated.getMessage().getPayload().getValue(), equalTo(asList("a,1", "b,2", "c,3")));
+  }
+
+  @Test
+  public void streamClosedWhenPartFails() throws Exception {
+    final AtomicBoolean closed = new AtomicBoolean();
+    ByteArrayInputStream stream = new ByteArrayInputStream("a\nb\nc".getBytes()) {
+
+      @Override
+      public void close() {
+        closed.set(true);
+      }
+    };
+    splitter.setListener(event -> {
+      throw new IllegalStateException();
+    });
+
+    try {
+      splitter.process(eventBuilder().message(InternalMessage.of(stream)).build());
+      fail("was expecting the part to fail");
+    } catch (IllegalStateException e) {
+      assertThat(closed.get(), is(true));
+    }
+  }
+
+  @Test
+  public void splitIterator() throws Exception {
+    splitter.process(eventBuilder().message(InternalMessage.of(asList(1, 2, 3, 4).iterator())).build());
+
+    assertThat(aggregated.getMessage().getPayload().getValue(), equalTo(asList(1, 2, 3, 4)));
+  }
+
+  @Test
+  public void customCollector() throws Exception {
+    aggregator.setCollector(counting());
+
+    splitter.process(eventBuilder().message(InternalMessage.of(asList("a", "b", "c"))).build());
+
+    assertThat(aggregated.getMessage().getPayload().getValue(), equalTo(3L));
+  }
+
+  @Test
+  public void incompleteGroup() throws Exception {
+    assertThat(aggregator.process(part(null, 1)), nullValue());
+    assertThat(aggregated, nullValue());
+  }
+
+  @Test(expected = RoutingException.class)
+  public void maxGroups() throws Exception {
+    aggregator.setMaxGroups(1);
+
+    aggregator.process(part(null, 1));
+    aggregator.process(part(null, 1));
+  }
+
+  @Test
+  public void expiredGroupDiscarded() throws Exception {
+    aggregator.setMaxGroups(1);
+    aggregator.setTimeout(1);
+
+    aggregator.process(part(null, 1));
+    Thread.sleep(10);
+    aggregator.process(part(1, 1));
+
+    assertThat(aggregated.getMessage().getPayload().getValue(), equalTo(asList(TEST_PAYLOAD)));
+  }
+
+  @Test
+  public void groupsThatNeverCompleteAreExpired() throws Exception {
+    aggregator.setMaxGroups(2);
+    aggregator.setTimeout(50);
+    aggregator.start();
+    try {
+      aggregator.process(part(null, 1));
+      aggregator.process(part(null, 1));
+
+      new PollingProber(5000, 10).check(new JUnitLambdaProbe(() -> {
+        assertThat(aggregator.getGroupsInProgress(), is(0));
+        return true;
+      }));
+
+      aggregator.process(part(null, 1));
+      aggregator.process(part(null, 1));
+      assertThat(aggregator.getGroupsInProgress(), is(2));
+    } finally {
+      aggregator.stop();
+    }
+  }
+
+  private Event part(Integer groupSize, Integer sequence) throws Exception {
+    return eventBuilder().message(InternalMessage.of(TEST_PAYLOAD)).groupCorrelation(new GroupCorrelation(groupSize, sequence))
+        .build();
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+
+@SmallTest
+public class PersistentCaseInsensitiveMapTestCase extends AbstractMuleTestCase {
+
+  // These keys have the same case insensitive hash
+  private static final String[] COLLIDING_KEYS = {"b_b_", "b_c@", "c@b_", "c@c@"};
+
+  @Test
+  public void caseInsensitive() {
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.empty().plus("FOO", "bar");
+
+    assertThat(map.get("foo"), is("bar"));
+    assertThat(map.get("Foo"), is("bar"));
+    assertThat(map.containsKey("fOO"), is(true));
+    assertThat(map.size(), is(1));
+  }
+
+  @Test
+  public void keyKeepsFirstCase() {
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.empty().plus("FOO", "bar").plus("foo", "baz");
+
+    assertThat(map.keySet(), containsInAnyOrder("FOO"));
+    assertThat(map.get("FOO"), is("baz"));
+    assertThat(map.size(), is(1));
+  }
+
+  @Test
+  public void modificationsDoNotAffectOriginal() {
+    PersistentCaseInsensitiveMap<Object> original = PersistentCaseInsensitiveMap.empty();
+    for (int i = 0; i < 100; ++i) {
+      original = original.plus("key" + i, i);
+    }
+
+    PersistentCaseInsensitiveMap<Object> modified = original.plus("key0", "changed").plus("other", "value").minus("key1");
+
+    assertThat(original.size(), is(100));
+    assertThat(original.get("key0"), is(0));
+    assertThat(original.get("key1"), is(1));
+    assertThat(original.containsKey("other"), is(false));
+
+    assertThat(modified.size(), is(100));
+    assertThat(modified.get("key0"), is("changed"));
+    assertThat(modified.get("key1"), nullValue());
+    assertThat(modified.get("other"), is("value"));
+  }
+
+  @Test
+  public void unchangedWhenNothingToDo() {
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.empty().plus("foo", "bar");
+
+    assertThat(map.minus("other"), sameInstance(map));
+    assertThat(map.plus("FOO", map.get("foo")), sameInstance(map));
+  }
+
+  @Test
+  public void collidingKeys() {
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.empty();
+    for (String key : COLLIDING_KEYS) {
+      map = map.plus(key, key.toUpperCase());
+    }
+
+    assertThat(map.size(), is(COLLIDING_KEYS.length));
+    for (String key : COLLIDING_KEYS) {
+      assertThat(map.get(key.toUpperCase()), is(key.toUpperCase()));
+    }
+
+    map = map.minus(COLLIDING_KEYS[0]).minus(COLLIDING_KEYS[1]).minus(COLLIDING_KEYS[2]);
+    assertThat(map.keySet(), containsInAnyOrder(COLLIDING_KEYS[3]));
+  }
+
+  @Test
+  public void removeAll() {
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.empty();
+    for (int i = 0; i < 1000; ++i) {
+      map = map.plus("key" + i, i);
+    }
+    for (int i = 0; i < 1000; ++i) {
+      map = map.minus("KEY" + i);
+    }
+
+    assertThat(map.isEmpty(), is(true));
+    assertThat(map.entrySet().iterator().hasNext(), is(false));
+  }
+
+  @Test
+  public void iterationMatchesContent() {
+    Map<String, Object> expected = new HashMap<>();
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.empty();
+    for (int i = 0; i < 500; ++i) {
+      expected.put("key" + i, i);
+      map = map.plus("key" + i, i);
+    }
+
+    assertThat(map, is(expected));
+    Map<String, Object> visited = new HashMap<>();
+    map.forEach(visited::put);
+    assertThat(visited, is(expected));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void immutable() {
+    PersistentCaseInsensitiveMap.empty().plus("foo", "bar").put("other", "value");
+  }
+
+  @Test
+  public void serialization() {
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.empty();
+    for (int i = 0; i < 100; ++i) {
+      map = map.plus("Key" + i, i);
+    }
+
+    PersistentCaseInsensitiveMap<Object> deserialized =
+        (PersistentCaseInsensitiveMap<Object>) SerializationUtils.deserialize(SerializationUtils.serialize(map));
+
+    assertThat(deserialized, is(map));
+    assertThat(deserialized.get("KEY50"), is(50));
+  }
+}
@@ -219,6 +219,26 @@ public class TemplateParserTestCase extends AbstractMuleTestCase {
     assertEquals(expectedResult, result);
   }
 
+  @Test
+  public void muleParserResolvesEachOccurrenceOfRepeatedTemplate() {
+    TemplateParser tp = TemplateParser.createMuleStyleParser();
+    String template = "#[mel:first] and #[mel:second] with #[mel:first]";
+
+    assertEquals("1 and 2 with 1", tp.parse(null, template, token -> token.equals("mel:first") ? 1 : 2));
+    assertEquals("a and b with a", tp.parse(null, template, token -> token.equals("mel:first") ? "a" : "b"));
+  }
+
+  @Test
+  public void muleParserDoesNotResolveTemplatesInValues() {
+    TemplateParser tp = TemplateParser.createMuleStyleParser();
+
+    Map<String, String> map = new HashMap<>();
+    map.put("mel:first", "#[mel:second]");
+    map.put("mel:second", "$second\\");
+
+    assertEquals("#[mel:second] $second\\", tp.parse(map, "#[mel:first] #[mel:second]"));
+  }
+
   @Test
   public void muleParserManagesConcatenation() {
     TemplateParser tp = TemplateParser.createMuleStyleParser();
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.journal;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.util.journal.TransactionJournal.TX1_LOG_FILE_NAME;
+import static org.mule.runtime.core.util.journal.TransactionJournal.TX2_LOG_FILE_NAME;
+
+import org.mule.runtime.core.util.journal.queue.AbstractQueueTxJournalEntry;
+import org.mule.runtime.core.util.journal.queue.LocalQueueTxJournalEntry;
+import org.mule.runtime.core.util.journal.queue.LocalTxQueueTransactionJournal;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TransactionJournalTestCase extends AbstractMuleContextTestCase {
+
+  private static final String QUEUE_NAME = "queueName";
+  private static final int SHARDS = 4;
+  private static final int PENDING_TRANSACTIONS = 20;
+  private static final byte COMMIT = 1;
+  private static final byte ADD = 5;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void shardedJournalRecoversPendingTransactions() throws Exception {
+    final int threads = 8;
+    final int transactionsPerThread = 100;
+
+    TransactionJournal<Integer, LocalQueueTxJournalEntry> journal = openJournal(SHARDS);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; ++i) {
+        final int thread = i;
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < transactionsPerThread; ++j) {
+            int txId = thread * transactionsPerThread + j;
+            journal.logUpdateOperation(new LocalQueueTxJournalEntry(txId, ADD, QUEUE_NAME, "value" + txId));
+            journal.logUpdateOperation(new LocalQueueTxJournalEntry(txId, ADD, QUEUE_NAME, "other value" + txId));
+            // Leave one of every ten transactions pending
+            if (txId % 10 != 0) {
+              journal.logCheckpointOperation(new LocalQueueTxJournalEntry(txId, COMMIT, null, null));
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    journal.close();
+
+    TransactionJournal<Integer, LocalQueueTxJournalEntry> recovered = openJournal(SHARDS);
+    try {
+      assertThat(recovered.getAllLogEntries().keySet().size(), is(threads * transactionsPerThread / 10));
+      assertThat(recovered.getAllLogEntries().size(), is(2 * threads * transactionsPerThread / 10));
+      assertThat(recovered.getLogEntriesForTx(10).size(), is(2));
+      assertThat(recovered.getLogEntriesForTx(11).isEmpty(), is(true));
+    } finally {
+      recovered.close();
+    }
+  }
+
+  @Test
+  public void shardedJournalFilesAreInSubdirectories() throws Exception {
+    TransactionJournal<Integer, LocalQueueTxJournalEntry> journal = openJournal(SHARDS);
+    journal.close();
+
+    File[] files = temporaryFolder.getRoot().listFiles();
+    assertThat(files.length, is(SHARDS));
+    for (File shardDirectory : files) {
+      assertThat(shardDirectory.isDirectory(), is(true));
+      assertThat(new File(shardDirectory, TX1_LOG_FILE_NAME).exists(), is(true));
+      assertThat(new File(shardDirectory, TX2_LOG_FILE_NAME).exists(), is(true));
+    }
+  }
+
+  @Test
+  public void unshardedEntriesAreMovedToShards() throws Exception {
+    final int txId = 1;
+
+    TransactionJournal<Integer, LocalQueueTxJournalEntry> journal = openJournal(1);
+    journal.logUpdateOperation(new LocalQueueTxJournalEntry(txId, ADD, QUEUE_NAME, "value"));
+    journal.close();
+
+    journal = openJournal(SHARDS);
+    journal.close();
+    assertThat(new File(temporaryFolder.getRoot(), TX1_LOG_FILE_NAME).exists(), is(false));
+    assertThat(new File(temporaryFolder.getRoot(), TX2_LOG_FILE_NAME).exists(), is(false));
+
+    journal = openJournal(SHARDS);
+    try {
+      assertThat(journal.getLogEntriesForTx(txId).size(), is(1));
+      assertThat(journal.getLogEntriesForTx(txId).iterator().next().getValue(), equalTo("value"));
+    } finally {
+      journal.close();
+    }
+  }
+
+  @Test
+  public void entriesAreMovedWhenShardsAreReduced() throws Exception {
+    logPendingTransactions(SHARDS);
+
+    TransactionJournal<Integer, LocalQueueTxJournalEntry> journal = openJournal(2);
+    journal.close();
+    assertThat(temporaryFolder.getRoot().listFiles().length, is(2));
+
+    assertPendingTransactionsRecovered(2);
+  }
+
+  @Test
+  public void shardedEntriesAreMovedToUnshardedJournal() throws Exception {
+    logPendingTransactions(SHARDS);
+
+    TransactionJournal<Integer, LocalQueueTxJournalEntry> journal = openJournal(1);
+    journal.close();
+    for (File file : temporaryFolder.getRoot().listFiles()) {
+      assertThat(file.isDirectory(), is(false));
+    }
+
+    assertPendingTransactionsRecovered(1);
+  }
+
+  private void logPendingTransactions(int shards) {
+    TransactionJournal<Integer, LocalQueueTxJournalEntry> journal = openJournal(shards);
+    for (int txId = 0; txId < PENDING_TRANSACTIONS; ++txId) {
+      journal.logUpdateOperation(new LocalQueueTxJournalEntry(txId, ADD, QUEUE_NAME, "value" + txId));
+      journal.logUpdateOperation(new LocalQueueTxJournalEntry(txId, ADD, QUEUE_NAME, "other value" + txId));
+    }
+    journal.close();
+  }
+
+  private void assertPendingTransactionsRecovered(int shards) {
+    TransactionJournal<Integer, LocalQueueTxJournalEntry> journal = openJournal(shards);
+    try {
+      assertThat(journal.getAllLogEntries().size(), is(2 * PENDING_TRANSACTIONS));
+      for (int txId = 0; txId < PENDING_TRANSACTIONS; ++txId) {
+        assertThat(journal.getLogEntriesForTx(txId).size(), is(2));
+        assertThat(journal.getLogEntriesForTx(txId).iterator().next().getValue(), equalTo("value" + txId));
+      }
+    } finally {
+      journal.close();
+    }
+  }
+
+  private TransactionJournal<Integer, LocalQueueTxJournalEntry> openJournal(int shards) {
+    JournalEntrySerializer serializer = LocalTxQueueTransactionJournal.createLocalTxQueueJournalEntrySerializer(muleContext);
+    return new TransactionJournal<>(temporaryFolder.getRoot().getAbsolutePath(),
+                                    journalEntry -> ((AbstractQueueTxJournalEntry) journalEntry).isCommit(), serializer, null,
+                                    shards);
+  }
+
+}
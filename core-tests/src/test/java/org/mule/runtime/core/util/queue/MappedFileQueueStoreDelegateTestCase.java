@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_MAPPED;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_MAPPED_SEGMENT_SIZE;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleConfiguration;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class MappedFileQueueStoreDelegateTestCase extends AbstractMuleTestCase {
+
+  private static final String TEST_QUEUE_NAME = "test-queue";
+  private static final int NUMBER_OF_ITEMS = 500;
+
+  @Rule
+  public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty segmentSize = new SystemProperty(MULE_QUEUE_MAPPED_SEGMENT_SIZE, "1024");
+
+  private MuleContext mockMuleContext;
+
+  @Before
+  public void before() {
+    mockMuleContext = mock(MuleContext.class);
+    when(mockMuleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(mockMuleContext);
+    MuleConfiguration configuration = mock(MuleConfiguration.class);
+    when(configuration.getWorkingDirectory()).thenReturn(workingDirectory.getRoot().getAbsolutePath());
+    when(mockMuleContext.getConfiguration()).thenReturn(configuration);
+  }
+
+  @Test
+  public void readsItemsInOrderAcrossSegments() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queueStore.putNow(createTestDataForIndex(i));
+    }
+    assertThat(queueStore.getSize(), is(NUMBER_OF_ITEMS));
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      assertThat(queueStore.poll(0), is(createTestDataForIndex(i)));
+    }
+    assertThat(queueStore.poll(0), is(nullValue()));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void recoversPendingItemsAfterReopening() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queueStore.putNow(createTestDataForIndex(i));
+    }
+    int consumed = NUMBER_OF_ITEMS / 2;
+    for (int i = 0; i < consumed; i++) {
+      queueStore.poll(0);
+    }
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    assertThat(queueStore.getSize(), is(NUMBER_OF_ITEMS - consumed));
+    assertThat(queueStore.peek(), is(createTestDataForIndex(consumed)));
+    assertThat(queueStore.poll(0), is(createTestDataForIndex(consumed)));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void untakenItemIsRecoveredAtTheHead() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.putNow(createTestDataForIndex(0));
+    queueStore.putNow(createTestDataForIndex(1));
+    String item = (String) queueStore.poll(0);
+    queueStore.untake(item);
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    assertThat(queueStore.getSize(), is(2));
+    assertThat(queueStore.poll(0), is(createTestDataForIndex(0)));
+    assertThat(queueStore.poll(0), is(createTestDataForIndex(1)));
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    assertThat(queueStore.getSize(), is(0));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void removeAndContains() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.putNow(createTestDataForIndex(0));
+    queueStore.putNow(createTestDataForIndex(1));
+    assertThat(queueStore.contains(createTestDataForIndex(1)), is(true));
+
+    queueStore.remove(createTestDataForIndex(0));
+    assertThat(queueStore.contains(createTestDataForIndex(0)), is(false));
+    assertThat(queueStore.getSize(), is(1));
+    assertThat(queueStore.poll(0), is(createTestDataForIndex(1)));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void clearDiscardsAllItems() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queueStore.putNow(createTestDataForIndex(i));
+    }
+    queueStore.clear();
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    assertThat(queueStore.getSize(), is(0));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void concurrentProducers() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    List<Thread> producers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      Thread producer = new Thread(() -> {
+        for (int j = 0; j < NUMBER_OF_ITEMS; j++) {
+          queueStore.putNow(createTestDataForIndex(j));
+        }
+      });
+      producers.add(producer);
+      producer.start();
+    }
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    assertThat(queueStore.getSize(), is(4 * NUMBER_OF_ITEMS));
+    queueStore.close();
+
+    MappedFileQueueStoreDelegate reopenedQueueStore = createTestQueueStore();
+    assertThat(reopenedQueueStore.getSize(), is(4 * NUMBER_OF_ITEMS));
+    reopenedQueueStore.dispose();
+  }
+
+  @Test
+  public void allFilesDeletedAfterDispose() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.putNow("item");
+
+    File queueFolder = new File(workingDirectory.getRoot().getAbsolutePath() + "/queuestore");
+    assertThat(queueFilesExist(queueFolder), is(true));
+
+    queueStore.dispose();
+    assertThat(queueFilesExist(queueFolder), is(false));
+  }
+
+  @Test
+  public void consumedSegmentsAreDeleted() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queueStore.putNow(createTestDataForIndex(i));
+    }
+    File queueFolder = new File(workingDirectory.getRoot().getAbsolutePath() + "/queuestore");
+    int usedSegments = countSegmentFiles(queueFolder);
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queueStore.poll(0);
+    }
+    // the segment being read plus the ones kept for recycling
+    assertThat(countSegmentFiles(queueFolder) < usedSegments, is(true));
+    assertThat(countSegmentFiles(queueFolder) <= 3, is(true));
+    queueStore.dispose();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void closedQueueStoreIsNotAccessed() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.putNow(createTestDataForIndex(0));
+    queueStore.close();
+    queueStore.poll(0);
+  }
+
+  @Test
+  public void closeWhileProducing() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    List<Thread> producers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      Thread producer = new Thread(() -> {
+        try {
+          for (int j = 0; j < NUMBER_OF_ITEMS; j++) {
+            queueStore.putNow(createTestDataForIndex(j));
+            queueStore.poll(0);
+          }
+        } catch (IllegalStateException e) {
+          // closed while producing
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      producers.add(producer);
+      producer.start();
+    }
+    queueStore.close();
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    queueStore.dispose();
+    assertThat(queueFilesExist(new File(workingDirectory.getRoot().getAbsolutePath() + "/queuestore")), is(false));
+  }
+
+  @Test
+  public void entriesAreMovedFromDualFileQueueStore() throws Exception {
+    DualRandomAccessFileQueueStoreDelegate dualQueueStore =
+        new DualRandomAccessFileQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(),
+                                                   mockMuleContext, 0);
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      dualQueueStore.putNow(createTestDataForIndex(i));
+    }
+    dualQueueStore.poll(0);
+    dualQueueStore.close();
+
+    System.setProperty(MULE_QUEUE_MAPPED, "true");
+    DefaultQueueStore queueStore;
+    try {
+      queueStore = createDefaultQueueStore();
+    } finally {
+      System.clearProperty(MULE_QUEUE_MAPPED);
+    }
+    assertThat(DualRandomAccessFileQueueStoreDelegate.hasStoredData(TEST_QUEUE_NAME,
+                                                                    workingDirectory.getRoot().getAbsolutePath()),
+               is(false));
+    assertThat(queueStore.getSize(), is(NUMBER_OF_ITEMS - 1));
+    for (int i = 1; i < NUMBER_OF_ITEMS; i++) {
+      assertThat(queueStore.poll(0), is(createTestDataForIndex(i)));
+    }
+    queueStore.dispose();
+  }
+
+  @Test
+  public void entriesAreMovedToDualFileQueueStore() throws Exception {
+    MappedFileQueueStoreDelegate mappedQueueStore = createTestQueueStore();
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      mappedQueueStore.putNow(createTestDataForIndex(i));
+    }
+    String item = (String) mappedQueueStore.poll(0);
+    mappedQueueStore.poll(0);
+    mappedQueueStore.untake(item);
+    mappedQueueStore.close();
+
+    DefaultQueueStore queueStore = createDefaultQueueStore();
+    assertThat(MappedFileQueueStoreDelegate.hasStoredData(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath()),
+               is(false));
+    assertThat(queueStore.getSize(), is(NUMBER_OF_ITEMS - 1));
+    assertThat(queueStore.poll(0), is(createTestDataForIndex(0)));
+    for (int i = 2; i < NUMBER_OF_ITEMS; i++) {
+      assertThat(queueStore.poll(0), is(createTestDataForIndex(i)));
+    }
+    queueStore.dispose();
+  }
+
+  private int countSegmentFiles(File queueFolder) {
+    return queueFolder.listFiles((dir, name) -> name.contains("-segment-")).length;
+  }
+
+  private boolean queueFilesExist(File queueFolder) {
+    for (File file : queueFolder.listFiles()) {
+      if (file.getName().contains(TEST_QUEUE_NAME)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private String createTestDataForIndex(int index) {
+    return "some value " + index;
+  }
+
+  private DefaultQueueStore createDefaultQueueStore() {
+    return new DefaultQueueStore(TEST_QUEUE_NAME, mockMuleContext, new DefaultQueueConfiguration(0, true));
+  }
+
+  private MappedFileQueueStoreDelegate createTestQueueStore() {
+    return new MappedFileQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext, 0);
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_RING_BUFFER;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+public class RingBufferQueueStoreDelegateTestCase extends QueueStoreTestCase {
+
+  @Rule
+  public SystemProperty useRingBuffer = new SystemProperty(MULE_QUEUE_RING_BUFFER, "true");
+
+  @Override
+  protected QueueStore createQueueInfoDelegate(int capacity, MuleContext mockMuleContext) {
+    return new DefaultQueueStore("testQueue", mockMuleContext, new DefaultQueueConfiguration(capacity, false));
+  }
+
+  @Test
+  public void drainTakesAvailableItemsUpToMax() throws Exception {
+    QueueStore queue = createQueue();
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queue.putNow(String.valueOf(i));
+    }
+    assertThat(queue.drainTo(3, SHORT_POLL_TIMEOUT), is(asList("0", "1", "2")));
+    assertThat(queue.getSize(), is(NUMBER_OF_ITEMS - 3));
+    assertThat(queue.drainTo(NUMBER_OF_ITEMS, SHORT_POLL_TIMEOUT).size(), is(NUMBER_OF_ITEMS - 3));
+    assertThat(queue.drainTo(NUMBER_OF_ITEMS, 0).isEmpty(), is(true));
+  }
+
+  @Test
+  public void drainReleasesCapacity() throws Exception {
+    QueueStore queue = createQueueWithCapacity(2);
+    queue.offer(VALUE, 0, OFFER_TIMEOUT);
+    queue.offer(ANOTHER_VALUE, 0, OFFER_TIMEOUT);
+    assertThat(queue.offer(VALUE, 0, OFFER_TIMEOUT), is(false));
+    assertThat(queue.drainTo(2, 0), is(asList(VALUE, ANOTHER_VALUE)));
+    assertThat(queue.offer(VALUE, 0, OFFER_TIMEOUT), is(true));
+  }
+
+  @Test
+  public void keepsOrderBeyondRingSize() throws Exception {
+    QueueStore queue = createQueue();
+    int items = RingBufferQueueStoreDelegate.MAX_RING_SIZE * 2;
+    for (int i = 0; i < items; i++) {
+      queue.putNow(i);
+    }
+    assertThat(queue.peek(), is(0));
+    for (int i = 0; i < items; i++) {
+      assertThat(queue.poll(0), is(i));
+    }
+    assertThat(queue.poll(0), nullValue());
+  }
+
+  @Test
+  public void concurrentProducersAndConsumers() throws Exception {
+    final QueueStore queue = createQueueWithCapacity(NUMBER_OF_ITEMS);
+    final int itemsPerProducer = 1000;
+    final int producers = 4;
+    ExecutorService executor = Executors.newFixedThreadPool(producers * 2);
+    try {
+      List<Future<List<Serializable>>> consumed = new ArrayList<>();
+      for (int p = 0; p < producers; p++) {
+        final int producer = p;
+        executor.submit(() -> {
+          for (int i = 0; i < itemsPerProducer; i++) {
+            queue.offer(producer * itemsPerProducer + i, 0, Long.MAX_VALUE);
+          }
+          return null;
+        });
+        consumed.add(executor.submit(() -> {
+          List<Serializable> items = new ArrayList<>();
+          List<Serializable> batch;
+          while (!(batch = queue.drainTo(NUMBER_OF_ITEMS, LONG_POLL_TIMEOUT)).isEmpty()) {
+            items.addAll(batch);
+          }
+          return items;
+        }));
+      }
+
+      List<Integer> all = new ArrayList<>();
+      for (Future<List<Serializable>> future : consumed) {
+        for (Serializable item : future.get(10, SECONDS)) {
+          all.add((Integer) item);
+        }
+      }
+      Collections.sort(all);
+      assertThat(all.size(), is(producers * itemsPerProducer));
+      for (int i = 0; i < all.size(); i++) {
+        assertThat(all.get(i), is(i));
+      }
+      assertThat(queue.getSize(), is(0));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class BoundedInMemoryStoreTestCase extends AbstractMuleTestCase {
+
+  private static final int THREADS = 8;
+
+  private long now = 0;
+
+  private BoundedInMemoryObjectStore<String> store = new BoundedInMemoryObjectStore<String>() {
+
+    @Override
+    protected long now() {
+      return now;
+    }
+  };
+
+  @After
+  public void disposeStore() {
+    store.dispose();
+  }
+
+  @Test
+  public void maxSizeIsEnforcedOnStore() throws Exception {
+    store.setMaxEntries(3);
+    store.setConcurrencyLevel(1);
+    store.initialise();
+
+    for (int i = 1; i <= 5; i++) {
+      store.store(String.valueOf(i), String.valueOf(i));
+      assertThat(store.size() <= 3, is(true));
+    }
+
+    assertThat(store.contains("1"), is(false));
+    assertThat(store.contains("2"), is(false));
+    assertThat(store.contains("3"), is(true));
+    assertThat(store.contains("5"), is(true));
+  }
+
+  @Test
+  public void maxSizeIsAGlobalBound() throws Exception {
+    store.setMaxEntries(100);
+    store.initialise();
+
+    for (int i = 0; i < 100; i++) {
+      store.store(String.valueOf(i), String.valueOf(i));
+    }
+    assertThat(store.size(), is(100));
+    for (int i = 0; i < 100; i++) {
+      assertThat(store.contains(String.valueOf(i)), is(true));
+    }
+
+    for (int i = 100; i < 1000; i++) {
+      store.store(String.valueOf(i), String.valueOf(i));
+      assertThat(store.size(), is(100));
+      assertThat(store.contains(String.valueOf(i)), is(true));
+    }
+    assertThat(store.allKeys().size(), is(100));
+  }
+
+  @Test
+  public void maxSizeIsEnforcedOnConcurrentStores() throws Exception {
+    store.setMaxEntries(100);
+    store.initialise();
+
+    ExecutorService executor = newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < THREADS; thread++) {
+        String prefix = thread + "-";
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 1000; i++) {
+            store.store(prefix + i, prefix + i);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(store.size(), is(100));
+    assertThat(store.allKeys().size(), is(100));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void concurrencyLevelCannotChangeOnceEntriesAreStored() throws Exception {
+    store.initialise();
+    store.store("1", "1");
+
+    store.setConcurrencyLevel(1);
+  }
+
+  @Test
+  public void leastRecentlyUsedEntryIsEvicted() throws Exception {
+    store.setMaxEntries(3);
+    store.setConcurrencyLevel(1);
+    store.initialise();
+
+    store.store("1", "1");
+    store.store("2", "2");
+    store.store("3", "3");
+    assertThat(store.retrieve("1"), is("1"));
+    store.store("4", "4");
+
+    assertThat(store.contains("2"), is(false));
+    assertThat(store.contains("1"), is(true));
+    assertThat(store.contains("3"), is(true));
+    assertThat(store.contains("4"), is(true));
+  }
+
+  @Test
+  public void reducingMaxSizeEvictsLeastRecentlyUsedEntries() throws Exception {
+    store.setMaxEntries(3);
+    store.setConcurrencyLevel(1);
+    store.initialise();
+
+    store.store("1", "1");
+    store.store("2", "2");
+    store.store("3", "3");
+    assertThat(store.contains("1"), is(true));
+    store.setMaxEntries(1);
+
+    assertThat(store.size(), is(1));
+    assertThat(store.contains("1"), is(true));
+  }
+
+  @Test
+  public void accessDoesNotExtendTimeToLive() throws Exception {
+    store.setEntryTTL(1000);
+    store.initialise();
+
+    store.store("1", "1");
+    store.store("2", "2");
+    now += MILLISECONDS.toNanos(500);
+    assertThat(store.retrieve("1"), is("1"));
+    now += MILLISECONDS.toNanos(500);
+
+    store.expire();
+
+    assertThat(store.size(), is(0));
+  }
+
+  @Test
+  public void expiredEntriesAreNotVisible() throws Exception {
+    store.setEntryTTL(1000);
+    store.initialise();
+
+    store.store("1", "1");
+    now += MILLISECONDS.toNanos(500);
+    store.store("2", "2");
+    now += MILLISECONDS.toNanos(500);
+
+    assertThat(store.contains("1"), is(false));
+    assertThat(store.contains("2"), is(true));
+    assertThat(store.retrieve("2"), is("2"));
+  }
+
+  @Test
+  public void expireDiscardsOldEntries() throws Exception {
+    store.setEntryTTL(1000);
+    store.initialise();
+
+    store.store("1", "1");
+    store.store("2", "2");
+    now += MILLISECONDS.toNanos(1000);
+    store.store("3", "3");
+
+    store.expire();
+
+    assertThat(store.size(), is(1));
+    assertThat(store.contains("3"), is(true));
+  }
+
+  @Test
+  public void expiredKeyCanBeStoredAgain() throws Exception {
+    store.setEntryTTL(1000);
+    store.initialise();
+
+    store.store("1", "first");
+    now += MILLISECONDS.toNanos(1000);
+    store.store("1", "second");
+
+    assertThat(store.retrieve("1"), is("second"));
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.util.store;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.util.store.LogStructuredObjectStorePartition.SEGMENT_FILE_EXTENSION;
+import static org.mule.runtime.core.util.store.LogStructuredObjectStorePartition.SEGMENT_SIZE_PROPERTY_KEY;
+import static org.mule.runtime.core.util.store.LogStructuredObjectStorePartition.isLogStructuredPartition;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.core.api.store.ObjectDoesNotExistException;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class LogStructuredObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  private static final int NUMBER_OF_ENTRIES = 200;
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty segmentSize = new SystemProperty(SEGMENT_SIZE_PROPERTY_KEY, "2048");
+
+  @Mock
+  private MuleContext muleContext;
+
+  private LogStructuredObjectStorePartition<String> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(muleContext);
+    partition = new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot(), null);
+    partition.open();
+  }
+
+  @Test
+  public void storeRetrieveAndRemove() throws Exception {
+    partition.store("key", "value");
+    assertThat(partition.contains("key"), is(true));
+    assertThat(partition.retrieve("key"), is("value"));
+
+    assertThat(partition.remove("key"), is("value"));
+    assertThat(partition.contains("key"), is(false));
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void cannotStoreExistingKey() throws Exception {
+    partition.store("key", "value");
+    partition.store("key", "value");
+  }
+
+  @Test(expected = ObjectDoesNotExistException.class)
+  public void cannotRetrieveRemovedKey() throws Exception {
+    partition.store("key", "value");
+    partition.remove("key");
+    partition.retrieve("key");
+  }
+
+  @Test
+  public void entriesAreRecoveredAfterReopening() throws Exception {
+    storeEntries();
+    partition.remove("key0");
+    partition.close();
+
+    partition = new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot(), null);
+    partition.open();
+    assertThat(partition.getPartitionName(), is("test"));
+    assertThat(partition.allKeys().size(), is(NUMBER_OF_ENTRIES - 1));
+    assertThat(partition.contains("key0"), is(false));
+    assertThat(partition.retrieve("key1"), is("value1"));
+  }
+
+  @Test
+  public void partitionIsRecognizedByItsDescriptorBeforeAnyWrite() throws Exception {
+    assertThat(isLogStructuredPartition(objectStoreFolder.getRoot()), is(true));
+
+    File filePerEntryDirectory = objectStoreFolder.newFolder("filePerEntry");
+    new PersistentObjectStorePartition<String>(muleContext, "filePerEntry", filePerEntryDirectory).open();
+    assertThat(isLogStructuredPartition(filePerEntryDirectory), is(false));
+
+    partition.close();
+    partition = new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot(), null);
+    assertThat(partition.getPartitionName(), is("test"));
+  }
+
+  @Test
+  public void concurrentWritesAreRecoveredAfterReopening() throws Exception {
+    final int writers = 4;
+    ExecutorService executor = Executors.newFixedThreadPool(writers);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int w = 0; w < writers; w++) {
+        final int writer = w;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < NUMBER_OF_ENTRIES; i++) {
+            partition.store("key" + writer + "-" + i, "value" + i);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    partition.close();
+
+    partition = new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot(), null);
+    assertThat(partition.allKeys().size(), is(writers * NUMBER_OF_ENTRIES));
+    assertThat(partition.retrieve("key3-" + (NUMBER_OF_ENTRIES - 1)), is("value" + (NUMBER_OF_ENTRIES - 1)));
+  }
+
+  @Test
+  public void incompleteRecordIsDiscardedOnReopening() throws Exception {
+    storeEntries();
+    partition.close();
+
+    File[] segments = objectStoreFolder.getRoot().listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION));
+    Arrays.sort(segments);
+    try (RandomAccessFile lastSegment = new RandomAccessFile(segments[segments.length - 1], "rw")) {
+      lastSegment.seek(lastSegment.length());
+      lastSegment.writeInt(500);
+      lastSegment.write(new byte[10]);
+    }
+
+    partition = new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot(), null);
+    assertThat(partition.allKeys().size(), is(NUMBER_OF_ENTRIES));
+    partition.store("newKey", "newValue");
+    assertThat(partition.retrieve("newKey"), is("newValue"));
+  }
+
+  @Test
+  public void compactionDeletesStaleSegments() throws Exception {
+    storeEntries();
+    for (int i = 0; i < NUMBER_OF_ENTRIES - 10; i++) {
+      partition.remove("key" + i);
+    }
+    int segmentsBefore = objectStoreFolder.getRoot().list().length;
+
+    partition.compact();
+
+    assertThat(objectStoreFolder.getRoot().list().length, lessThan(segmentsBefore));
+    assertThat(partition.allKeys().size(), is(10));
+    assertThat(partition.retrieve("key" + (NUMBER_OF_ENTRIES - 1)), is("value" + (NUMBER_OF_ENTRIES - 1)));
+
+    partition.close();
+    partition = new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot(), null);
+    assertThat(partition.allKeys().size(), is(10));
+    assertThat(partition.allKeys().get(0), is("key" + (NUMBER_OF_ENTRIES - 10)));
+    assertThat(partition.contains("key0"), is(false));
+  }
+
+  @Test
+  public void removeAfterCompactionExecutorIsShutDown() throws Exception {
+    partition.close();
+    ExecutorService compactionExecutor = Executors.newSingleThreadExecutor();
+    compactionExecutor.shutdown();
+    partition = new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot(), compactionExecutor);
+    partition.open();
+
+    storeEntries();
+    for (int i = 0; i < NUMBER_OF_ENTRIES - 10; i++) {
+      partition.remove("key" + i);
+    }
+    partition.expire(0, 5);
+
+    assertThat(partition.allKeys().size(), is(5));
+  }
+
+  @Test
+  public void expireTrimsToMaxEntries() throws Exception {
+    storeEntries();
+    partition.expire(0, 2);
+    assertThat(partition.allKeys(), contains("key" + (NUMBER_OF_ENTRIES - 2), "key" + (NUMBER_OF_ENTRIES - 1)));
+  }
+
+  @Test
+  public void expireDiscardsOldEntries() throws Exception {
+    storeEntries();
+    Thread.sleep(20);
+    partition.expire(10, 0);
+    assertThat(partition.allKeys(), is(empty()));
+
+    partition.close();
+    partition = new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot(), null);
+    assertThat(partition.allKeys(), is(empty()));
+  }
+
+  @Test
+  public void clear() throws Exception {
+    storeEntries();
+    partition.clear();
+    assertThat(partition.allKeys(), is(empty()));
+
+    partition.store("key", "value");
+    assertThat(partition.retrieve("key"), is("value"));
+  }
+
+  private void storeEntries() throws Exception {
+    for (int i = 0; i < NUMBER_OF_ENTRIES; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+  }
+}
@@ -99,6 +99,24 @@ public class PartitionedPersistentObjectStoreTestCase extends AbstractMuleTestCa
     this.assertAllValuesExistsInPartitionAreUnique(OBJECT_KEY, OBJECT_BASE_VALUE);
   }
 
+  @Test
+  public void logStructuredPartitionsAreReopenedAfterDispose() throws Exception {
+    os.setLogStructured(true);
+    openPartitions();
+    // only the default partition gets a segment, the other ones are recognized by their descriptor
+    os.store(OBJECT_KEY, OBJECT_BASE_VALUE);
+    os.dispose();
+    int partitionDirectories = new File(PartitionedPersistentObjectStore.OBJECT_STORE_DIR).list().length;
+
+    os = new PartitionedPersistentObjectStore<>(mockMuleContext);
+    openPartitions();
+    assertThat(new File(PartitionedPersistentObjectStore.OBJECT_STORE_DIR).list().length, is(partitionDirectories));
+    assertThat((String) os.retrieve(OBJECT_KEY), is(OBJECT_BASE_VALUE));
+    storeInPartitions("otherKey", OBJECT_BASE_VALUE);
+    assertAllValuesExistsInPartitionAreUnique("otherKey", OBJECT_BASE_VALUE);
+    os.dispose();
+  }
+
   @Test
   public void allowsAnyPartitionName() throws Exception {
     os.open("asdfsadfsa#$%@#$@#$@$%$#&8******ASDFWER??!?!");
@@ -196,5 +196,19 @@ public class MuleProperties {
   public static final String MULE_DEFAULT_PROCESSING_STRATEGY = SYSTEM_PROPERTY_PREFIX + "default.processing.strategy";
   public static final String MULE_FLOW_TRACE = SYSTEM_PROPERTY_PREFIX + "flowTrace";
   public static final String MULE_LOG_VERBOSE_CLASSLOADING = SYSTEM_PROPERTY_PREFIX + "classloading.verbose";
+  public static final String MULE_CLASSLOADER_INDEX = SYSTEM_PROPERTY_PREFIX + "classloading.index";
   public static final String MULE_MEL_AS_DEFAULT = SYSTEM_PROPERTY_PREFIX + "test.mel.default";
+  public static final String MULE_BOUNDED_IN_MEMORY_OBJECT_STORES = SYSTEM_PROPERTY_PREFIX + "objectStore.boundedInMemory";
+  public static final String MULE_LOG_STRUCTURED_OBJECT_STORE = SYSTEM_PROPERTY_PREFIX + "objectStore.logStructured";
+  public static final String MULE_BINARY_INTERNAL_SERIALIZATION = SYSTEM_PROPERTY_PREFIX + "serialization.binaryInternal";
+  public static final String MULE_NOTIFICATIONS_BUFFER_SIZE = SYSTEM_PROPERTY_PREFIX + "notifications.bufferSize";
+  public static final String MULE_NOTIFICATIONS_OVERFLOW_POLICY = SYSTEM_PROPERTY_PREFIX + "notifications.overflowPolicy";
+  public static final String MULE_NOTIFICATIONS_SAMPLE_RATE = SYSTEM_PROPERTY_PREFIX + "notifications.sampleRate";
+  public static final String MULE_QUEUE_TRANSACTION_JOURNAL_SHARDS = SYSTEM_PROPERTY_PREFIX + "queue.transactionJournal.shards";
+  public static final String MULE_QUEUE_MAPPED = SYSTEM_PROPERTY_PREFIX + "queue.mapped";
+  public static final String MULE_QUEUE_MAPPED_SEGMENT_SIZE = SYSTEM_PROPERTY_PREFIX + "queue.mapped.segmentSize";
+  public static final String MULE_QUEUE_MAPPED_SYNC = SYSTEM_PROPERTY_PREFIX + "queue.mapped.sync";
+  public static final String MULE_QUEUE_RING_BUFFER = SYSTEM_PROPERTY_PREFIX + "queue.ringBuffer";
+  public static final String MULE_CONCURRENT_LOCK_GROUP = SYSTEM_PROPERTY_PREFIX + "lock.concurrentGroup";
+  public static final String MULE_FAIR_LOCKS = SYSTEM_PROPERTY_PREFIX + "lock.fair";
 }
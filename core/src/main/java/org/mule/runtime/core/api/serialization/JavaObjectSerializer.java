@@ -7,20 +7,30 @@
 
 package org.mule.runtime.core.api.serialization;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_BINARY_INTERNAL_SERIALIZATION;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.internal.serialization.BinarySerializationProtocol;
 import org.mule.runtime.core.internal.serialization.JavaExternalSerializerProtocol;
 
 /**
  * Serializes objects using the default Java serialization mechanism provided by writeObject and readObject methods.
+ * <p>
+ * When the {@link org.mule.runtime.core.api.config.MuleProperties#MULE_BINARY_INTERNAL_SERIALIZATION} system property is
+ * set, the internal protocol is a {@link BinarySerializationProtocol} instead, which still uses Java serialization for
+ * the types it has no serializer for.
  */
 public class JavaObjectSerializer implements ObjectSerializer, MuleContextAware {
 
   private volatile JavaExternalSerializerProtocol javaSerializerProtocol = new JavaExternalSerializerProtocol();
+  private volatile AbstractSerializationProtocol internalSerializerProtocol =
+      getBoolean(MULE_BINARY_INTERNAL_SERIALIZATION) ? new BinarySerializationProtocol(javaSerializerProtocol)
+          : javaSerializerProtocol;
 
   @Override
   public SerializationProtocol getInternalProtocol() {
-    return javaSerializerProtocol;
+    return internalSerializerProtocol;
   }
 
   @Override
@@ -31,5 +41,6 @@ public class JavaObjectSerializer implements ObjectSerializer, MuleContextAware
   @Override
   public void setMuleContext(MuleContext context) {
     javaSerializerProtocol.setMuleContext(context);
+    internalSerializerProtocol.setMuleContext(context);
   }
 }
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.core.api.context.notification.ServerNotification;
+import org.mule.runtime.core.api.context.notification.ServerNotificationListener;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+/**
+ * Delivers the asynchronous notifications addressed to a single {@link ServerNotificationListener}.
+ * <p>
+ * Notifications are put in a bounded, lock free ring buffer that many threads can write to. A single task drains it in batches on
+ * the given {@link Executor}, so the executor receives a task per batch rather than one per notification, and the listener sees
+ * the notifications in the order they were enqueued. A new drain task is submitted only when the buffer goes from idle to having
+ * pending notifications.
+ * <p>
+ * When the buffer is full, the configured {@link NotificationOverflowPolicy} is applied. Discarded notifications are counted and
+ * available through {@link #getDroppedCount()}.
+ * <p>
+ * {@link #stop(long, TimeUnit)} delivers the pending notifications before stopping, waiting for them up to a given time, while
+ * {@link #stop()} discards them.
+ *
+ * @since 4.0
+ */
+class ListenerNotificationDispatcher {
+
+  private static final Logger logger = getLogger(ListenerNotificationDispatcher.class);
+
+  static final int MAX_BATCH_SIZE = 256;
+
+  private final ServerNotificationListener listener;
+  private final Executor executor;
+  private final NotificationOverflowPolicy overflowPolicy;
+  private final int sampleRate;
+
+  private final int capacity;
+  private final int mask;
+  private final AtomicReferenceArray<ServerNotification> buffer;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  private volatile long head;
+
+  private final AtomicBoolean draining = new AtomicBoolean(false);
+  private final AtomicLong overflowCount = new AtomicLong();
+  private final LongAdder droppedCount = new LongAdder();
+  private volatile boolean closed = false;
+  private volatile boolean stopped = false;
+
+  /**
+   * @param listener the listener to deliver the notifications to
+   * @param executor where notifications are delivered
+   * @param bufferSize maximum number of pending notifications. It is rounded up to a power of two.
+   * @param overflowPolicy what to do with notifications that do not fit in the buffer
+   * @param sampleRate the proportion of notifications kept by {@link NotificationOverflowPolicy#SAMPLE}
+   */
+  ListenerNotificationDispatcher(ServerNotificationListener listener, Executor executor, int bufferSize,
+                                 NotificationOverflowPolicy overflowPolicy, int sampleRate) {
+    this.listener = listener;
+    this.executor = executor;
+    this.overflowPolicy = overflowPolicy;
+    this.sampleRate = Math.max(sampleRate, 1);
+
+    int size = 1;
+    while (size < bufferSize) {
+      size <<= 1;
+    }
+    capacity = size;
+    mask = size - 1;
+    buffer = new AtomicReferenceArray<>(size);
+    sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Enqueues a notification for the listener, applying the overflow policy if the buffer is full.
+   */
+  void dispatch(ServerNotification notification) {
+    if (closed) {
+      droppedCount.increment();
+      return;
+    }
+
+    if (overflowPolicy == NotificationOverflowPolicy.SAMPLE && pending() >= capacity / 2
+        && overflowCount.getAndIncrement() % sampleRate != 0) {
+      droppedCount.increment();
+      return;
+    }
+
+    if (!offer(notification)) {
+      if (overflowPolicy == NotificationOverflowPolicy.CALLER_RUNS) {
+        deliver(notification);
+      } else {
+        droppedCount.increment();
+      }
+    }
+    // Also when the buffer is full, in case an earlier drain could not be submitted
+    scheduleDrain();
+  }
+
+  /**
+   * Discards the pending notifications and rejects any further one.
+   */
+  void stop() {
+    closed = true;
+    stopped = true;
+  }
+
+  /**
+   * Rejects any further notification and delivers the pending ones before stopping. They are delivered by the drain task if it is
+   * already running, or by the calling thread otherwise, since the executor may be shutting down. The ones still pending once the
+   * timeout elapses are discarded.
+   *
+   * @param timeout the maximum time to wait for the pending notifications to be delivered
+   * @param unit the unit of the {@code timeout}
+   */
+  void stop(long timeout, TimeUnit unit) {
+    closed = true;
+    final long deadline = nanoTime() + unit.toNanos(timeout);
+    try {
+      while (hasPublished() && nanoTime() - deadline < 0) {
+        if (draining.compareAndSet(false, true)) {
+          try {
+            ServerNotification notification;
+            while (nanoTime() - deadline < 0 && (notification = poll()) != null) {
+              deliver(notification);
+            }
+          } finally {
+            draining.set(false);
+          }
+        } else {
+          parkNanos(MILLISECONDS.toNanos(1));
+        }
+      }
+    } finally {
+      stopped = true;
+    }
+
+    int discarded = pending();
+    if (discarded > 0) {
+      droppedCount.add(discarded);
+      logger.warn(discarded + " notifications for listener " + listener + " were not delivered before stopping");
+    }
+  }
+
+  /**
+   * @return the number of notifications discarded by this dispatcher
+   */
+  long getDroppedCount() {
+    return droppedCount.sum();
+  }
+
+  int pending() {
+    return (int) (tail.get() - head);
+  }
+
+  private boolean offer(ServerNotification notification) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) position & mask;
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          buffer.lazySet(index, notification);
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Only called from the draining task, so there is a single consumer.
+   */
+  private ServerNotification poll() {
+    long position = head;
+    int index = (int) position & mask;
+    if (sequences.get(index) != position + 1) {
+      return null;
+    }
+    ServerNotification notification = buffer.get(index);
+    buffer.lazySet(index, null);
+    sequences.set(index, position + capacity);
+    head = position + 1;
+    return notification;
+  }
+
+  private boolean hasPublished() {
+    long position = head;
+    return sequences.get((int) position & mask) == position + 1;
+  }
+
+  private void scheduleDrain() {
+    if (draining.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        draining.set(false);
+        logger.warn("Notifications for listener " + listener + " could not be delivered: " + e.getMessage());
+      }
+    }
+  }
+
+  private void drain() {
+    try {
+      ServerNotification notification;
+      int delivered = 0;
+      while (!stopped && delivered < MAX_BATCH_SIZE && (notification = poll()) != null) {
+        deliver(notification);
+        delivered++;
+      }
+    } finally {
+      draining.set(false);
+    }
+
+    // A producer may have published after the last poll but before the flag was cleared. Resubmitting, rather than looping,
+    // also gives other listeners sharing the executor a chance to run after a full batch.
+    if (!stopped && hasPublished()) {
+      scheduleDrain();
+    }
+  }
+
+  private void deliver(ServerNotification notification) {
+    try {
+      listener.onNotification(notification);
+    } catch (Exception e) {
+      // Exceptions from listeners do not affect the notification processing
+      if (logger.isDebugEnabled()) {
+        logger.debug("Listener " + listener + " failed to process notification " + notification, e);
+      }
+    }
+  }
+}
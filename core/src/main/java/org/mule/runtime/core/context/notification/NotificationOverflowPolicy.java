@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+/**
+ * What to do with an asynchronous notification when the buffer of the listener it is addressed to is full.
+ *
+ * @since 4.0
+ */
+public enum NotificationOverflowPolicy {
+
+  /**
+   * The notification is discarded.
+   */
+  DROP,
+
+  /**
+   * The thread firing the notification delivers it to the listener itself, so no notification is lost and the firing threads are
+   * slowed down to the pace of the listener. Notifications delivered this way may reach the listener before the ones already in
+   * its buffer. The firing thread never waits for the buffer to have room, since it may be one of the threads the buffer is
+   * drained by.
+   */
+  CALLER_RUNS,
+
+  /**
+   * Once the buffer is half full only one of every {@code sampleRate} notifications is kept, and the rest are discarded. The
+   * notification is discarded if the buffer is full.
+   */
+  SAMPLE
+}
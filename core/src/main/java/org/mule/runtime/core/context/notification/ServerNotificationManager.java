@@ -8,7 +8,14 @@ package org.mule.runtime.core.context.notification;
 
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_NOTIFICATIONS_BUFFER_SIZE;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_NOTIFICATIONS_OVERFLOW_POLICY;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_NOTIFICATIONS_SAMPLE_RATE;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.lifecycle.Disposable;
@@ -26,8 +33,7 @@ import org.mule.runtime.core.util.ClassUtils;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 
@@ -56,18 +62,33 @@ import org.slf4j.Logger;
  * <li>Disabling an event or interface disables all uses of that class or any subclass.</li>
  * <li>Enquiring whether an event is enabled returns true if any subclass is enabled.</li>
  * </ul>
+ *
+ * <p>
+ * Asynchronous notifications are buffered per listener by a {@link ListenerNotificationDispatcher}, which delivers them in batches
+ * so firing a notification does not submit a task of its own. The size of those buffers and what happens when one fills up can
+ * be set with {@link #setNotificationBufferSize(int)}, {@link #setOverflowPolicy(NotificationOverflowPolicy)} and
+ * {@link #setSampleRate(int)}, or through their corresponding system properties.
  */
 public class ServerNotificationManager implements Initialisable, Disposable, ServerNotificationHandler, MuleContextAware {
 
   private static final Logger logger = getLogger(ServerNotificationManager.class);
 
+  private static final int DEFAULT_BUFFER_SIZE = 1024;
+  private static final int DEFAULT_SAMPLE_RATE = 10;
+
   private boolean dynamic = false;
-  private Configuration configuration = new Configuration();
-  private ReentrantReadWriteLock disposeLock = new ReentrantReadWriteLock();
-  private AtomicBoolean disposed = new AtomicBoolean(false);
+  private volatile Configuration configuration = new Configuration();
+  private volatile boolean disposed = false;
   private MuleContext muleContext;
-  private Scheduler notificationsLiteScheduler;
-  private Scheduler notificationsIoScheduler;
+  private volatile Scheduler notificationsLiteScheduler;
+  private volatile Scheduler notificationsIoScheduler;
+
+  private final Map<ServerNotificationListener, ListenerNotificationDispatcher> dispatchers = new ConcurrentHashMap<>();
+  private int notificationBufferSize = getInteger(MULE_NOTIFICATIONS_BUFFER_SIZE, DEFAULT_BUFFER_SIZE);
+  private NotificationOverflowPolicy overflowPolicy =
+      NotificationOverflowPolicy.valueOf(System.getProperty(MULE_NOTIFICATIONS_OVERFLOW_POLICY,
+                                                            NotificationOverflowPolicy.DROP.name()));
+  private int sampleRate = getInteger(MULE_NOTIFICATIONS_SAMPLE_RATE, DEFAULT_SAMPLE_RATE);
 
   @Override
   public boolean isNotificationDynamic() {
@@ -83,6 +104,40 @@ public class ServerNotificationManager implements Initialisable, Disposable, Ser
     this.dynamic = dynamic;
   }
 
+  /**
+   * @param notificationBufferSize the maximum number of asynchronous notifications pending delivery for each listener
+   */
+  public void setNotificationBufferSize(int notificationBufferSize) {
+    this.notificationBufferSize = notificationBufferSize;
+  }
+
+  /**
+   * @param overflowPolicy what to do with asynchronous notifications when the buffer of a listener is full
+   */
+  public void setOverflowPolicy(NotificationOverflowPolicy overflowPolicy) {
+    this.overflowPolicy = overflowPolicy;
+  }
+
+  /**
+   * @param sampleRate the proportion of notifications kept by {@link NotificationOverflowPolicy#SAMPLE}, one of every
+   *        {@code sampleRate}
+   */
+  public void setSampleRate(int sampleRate) {
+    this.sampleRate = sampleRate;
+  }
+
+  /**
+   * @return the number of asynchronous notifications discarded because of the overflow policy, for the currently registered
+   *         listeners
+   */
+  public long getDroppedNotificationsCount() {
+    long dropped = 0;
+    for (ListenerNotificationDispatcher dispatcher : dispatchers.values()) {
+      dropped += dispatcher.getDroppedCount();
+    }
+    return dropped;
+  }
+
   @Override
   public void initialise() throws InitialisationException {
     notificationsLiteScheduler = muleContext.getSchedulerService().cpuLightScheduler();
@@ -115,6 +170,10 @@ public class ServerNotificationManager implements Initialisable, Disposable, Ser
    */
   public void removeListener(ServerNotificationListener<?> listener) {
     configuration.removeListener(listener);
+    ListenerNotificationDispatcher dispatcher = dispatchers.remove(listener);
+    if (dispatcher != null) {
+      dispatcher.stop();
+    }
   }
 
   public void disableInterface(Class<? extends ServerNotificationListener> iface) throws ClassNotFoundException {
@@ -142,32 +201,42 @@ public class ServerNotificationManager implements Initialisable, Disposable, Ser
 
   @Override
   public void fireNotification(ServerNotification notification) {
-    disposeLock.readLock().lock();
-    try {
-      if (disposed.get()) {
+    if (disposed) {
+      logger.warn("Notification not enqueued after ServerNotificationManager disposal: " + notification);
+      return;
+    }
+
+    notification.setMuleContext(muleContext);
+    if (notification instanceof SynchronousServerEvent) {
+      notifyListeners(notification, (listener, nfn) -> listener.onNotification(nfn));
+    } else {
+      notifyListeners(notification, this::dispatch);
+    }
+  }
+
+  private void dispatch(ServerNotificationListener listener, ServerNotification notification) {
+    ListenerNotificationDispatcher dispatcher = dispatchers.get(listener);
+    if (dispatcher == null) {
+      // Read once, since dispose may clear them concurrently. A dispatcher created while disposing is never drained, and its
+      // notifications are discarded by the stopped scheduler.
+      Scheduler scheduler = listener.isBlocking() ? notificationsIoScheduler : notificationsLiteScheduler;
+      if (scheduler == null) {
         logger.warn("Notification not enqueued after ServerNotificationManager disposal: " + notification);
         return;
       }
-
-      notification.setMuleContext(muleContext);
-      if (notification instanceof SynchronousServerEvent) {
-        notifyListeners(notification, (listener, nfn) -> listener.onNotification(nfn));
-      } else {
-        notifyListeners(notification, (listener, nfn) -> {
-          if (listener.isBlocking()) {
-            notificationsIoScheduler.submit(() -> listener.onNotification(nfn));
-          } else {
-            notificationsLiteScheduler.submit(() -> listener.onNotification(nfn));
-          }
-        });
-      }
-    } finally {
-      disposeLock.readLock().unlock();
+      dispatcher = dispatchers.computeIfAbsent(listener, l -> new ListenerNotificationDispatcher(l, scheduler,
+                                                                                                 notificationBufferSize,
+                                                                                                 overflowPolicy, sampleRate));
     }
+    dispatcher.dispatch(notification);
   }
 
   protected void notifyListeners(ServerNotification notification, NotifierCallback notifier) {
-    configuration.getPolicy().dispatch(notification, notifier);
+    // read once, since dispose may clear it concurrently
+    Configuration currentConfiguration = configuration;
+    if (currentConfiguration != null) {
+      currentConfiguration.getPolicy().dispatch(notification, notifier);
+    }
   }
 
   @Override
@@ -183,25 +252,31 @@ public class ServerNotificationManager implements Initialisable, Disposable, Ser
   }
 
   @Override
-  public void dispose() {
-    disposeLock.writeLock().lock();
-    try {
-      final int shutdownTimeout = muleContext.getConfiguration().getShutdownTimeout();
-
-      if (notificationsLiteScheduler != null) {
-        notificationsLiteScheduler.stop(shutdownTimeout, MILLISECONDS);
-        notificationsLiteScheduler = null;
-      }
-      if (notificationsIoScheduler != null) {
-        notificationsIoScheduler.stop(shutdownTimeout, MILLISECONDS);
-        notificationsIoScheduler = null;
-      }
+  public synchronized void dispose() {
+    if (disposed) {
+      return;
+    }
+    disposed = true;
+
+    final int shutdownTimeout = muleContext.getConfiguration().getShutdownTimeout();
 
-      disposed.set(true);
-      configuration = null;
-    } finally {
-      disposeLock.writeLock().unlock();
+    // Notifications fired before disposal are still delivered, as long as it is within the shutdown timeout
+    final long deadline = nanoTime() + MILLISECONDS.toNanos(shutdownTimeout);
+    for (ListenerNotificationDispatcher dispatcher : dispatchers.values()) {
+      dispatcher.stop(max(deadline - nanoTime(), 0), NANOSECONDS);
     }
+    dispatchers.clear();
+
+    if (notificationsLiteScheduler != null) {
+      notificationsLiteScheduler.stop(shutdownTimeout, MILLISECONDS);
+      notificationsLiteScheduler = null;
+    }
+    if (notificationsIoScheduler != null) {
+      notificationsIoScheduler.stop(shutdownTimeout, MILLISECONDS);
+      notificationsIoScheduler = null;
+    }
+
+    configuration = null;
   }
 
   /**
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.lang.System.nanoTime;
+
+import org.mule.runtime.core.api.lock.LockProvider;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * {@link LockGroup} implementation for holding references to created locks inside a mule instance without a monitor shared by all
+ * of them.
+ * <p>
+ * Locks are kept in a {@link ConcurrentHashMap}, so getting the lock for an id only contends with ids in the same bin of the map.
+ * Each entry counts the threads holding or waiting for its lock, and is removed when the count gets to zero, so no lock is
+ * created for an id while another thread may still use the previous one.
+ * <p>
+ * The time spent waiting for the locks is measured, so contention on them can be monitored.
+ *
+ * @since 4.0
+ */
+public class ConcurrentLockGroup implements LockGroup {
+
+  private final ConcurrentMap<String, LockEntry> locks = new ConcurrentHashMap<>();
+  private final LockProvider lockProvider;
+
+  private final LongAdder acquiredLocks = new LongAdder();
+  private final LongAdder lockWaitNanos = new LongAdder();
+  private final LongAdder timedOutLocks = new LongAdder();
+
+  public ConcurrentLockGroup(LockProvider lockProvider) {
+    this.lockProvider = lockProvider;
+  }
+
+  @Override
+  public void lock(String lockId) {
+    final Lock lock = acquireEntry(lockId);
+    final long start = nanoTime();
+    try {
+      lock.lock();
+    } catch (RuntimeException e) {
+      releaseEntry(lockId);
+      throw e;
+    }
+    lockAcquired(start);
+  }
+
+  @Override
+  public void lockInterruptibly(String lockId) throws InterruptedException {
+    final Lock lock = acquireEntry(lockId);
+    final long start = nanoTime();
+    try {
+      lock.lockInterruptibly();
+    } catch (InterruptedException | RuntimeException e) {
+      releaseEntry(lockId);
+      throw e;
+    }
+    lockAcquired(start);
+  }
+
+  @Override
+  public boolean tryLock(String lockId, long timeout, TimeUnit timeUnit) throws InterruptedException {
+    final Lock lock = acquireEntry(lockId);
+    final long start = nanoTime();
+    final boolean lockAcquired;
+    try {
+      lockAcquired = lock.tryLock(timeout, timeUnit);
+    } catch (InterruptedException | RuntimeException e) {
+      releaseEntry(lockId);
+      throw e;
+    }
+    if (lockAcquired) {
+      lockAcquired(start);
+    } else {
+      timedOutLocks.increment();
+      releaseEntry(lockId);
+    }
+    return lockAcquired;
+  }
+
+  @Override
+  public boolean tryLock(String lockId) {
+    final Lock lock = acquireEntry(lockId);
+    final boolean lockAcquired;
+    try {
+      lockAcquired = lock.tryLock();
+    } catch (RuntimeException e) {
+      releaseEntry(lockId);
+      throw e;
+    }
+    if (lockAcquired) {
+      acquiredLocks.increment();
+    } else {
+      releaseEntry(lockId);
+    }
+    return lockAcquired;
+  }
+
+  @Override
+  public void unlock(String lockId) {
+    final LockEntry lockEntry = locks.get(lockId);
+    if (lockEntry != null) {
+      // The entry is still referenced by this thread, so it can't be removed before the lock is released
+      lockEntry.lock.unlock();
+      releaseEntry(lockId);
+    }
+  }
+
+  private Lock acquireEntry(String lockId) {
+    return locks.compute(lockId, (id, lockEntry) -> {
+      if (lockEntry == null) {
+        lockEntry = new LockEntry(lockProvider.createLock(id));
+      }
+      lockEntry.references++;
+      return lockEntry;
+    }).lock;
+  }
+
+  private void releaseEntry(String lockId) {
+    locks.computeIfPresent(lockId, (id, lockEntry) -> --lockEntry.references == 0 ? null : lockEntry);
+  }
+
+  private void lockAcquired(long start) {
+    lockWaitNanos.add(nanoTime() - start);
+    acquiredLocks.increment();
+  }
+
+  /**
+   * @return the number of ids with a lock held or waited for.
+   */
+  public int getLockEntries() {
+    return locks.size();
+  }
+
+  /**
+   * @return the number of times a lock was acquired.
+   */
+  public long getAcquiredLocks() {
+    return acquiredLocks.sum();
+  }
+
+  /**
+   * @return the average time, in nanoseconds, that the threads that acquired a lock waited for it.
+   */
+  public long getAverageLockWaitNanos() {
+    final long acquired = acquiredLocks.sum();
+    return acquired == 0 ? 0 : lockWaitNanos.sum() / acquired;
+  }
+
+  /**
+   * @return the number of times a lock could not be acquired within the given timeout.
+   */
+  public long getTimedOutLocks() {
+    return timedOutLocks.sum();
+  }
+
+  @Override
+  public void dispose() {
+    locks.clear();
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[lock entries = " + getLockEntries() + ", acquired locks = " + getAcquiredLocks()
+        + ", average lock wait = " + getAverageLockWaitNanos() + " ns, timed out locks = " + getTimedOutLocks() + "]";
+  }
+
+  /**
+   * Only accessed from within the mapping functions of {@link #locks}, which are run atomically for each id.
+   */
+  private static final class LockEntry {
+
+    private final Lock lock;
+    private int references;
+
+    private LockEntry(Lock lock) {
+      this.lock = lock;
+    }
+  }
+}
@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.lock;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_CONCURRENT_LOCK_GROUP;
+
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.config.MuleProperties;
 import org.mule.runtime.core.api.context.MuleContextAware;
@@ -37,7 +40,8 @@ public class MuleLockFactory implements LockFactory, MuleContextAware, Initialis
     if (lockProvider == null) {
       lockProvider = muleContext.getRegistry().get(MuleProperties.OBJECT_LOCK_PROVIDER);
     }
-    lockGroup = new InstanceLockGroup(lockProvider);
+    lockGroup = getBoolean(MULE_CONCURRENT_LOCK_GROUP) ? new ConcurrentLockGroup(lockProvider)
+        : new InstanceLockGroup(lockProvider);
   }
 
   public void setLockProvider(LockProvider lockProvider) {
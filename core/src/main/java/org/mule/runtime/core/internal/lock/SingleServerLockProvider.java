@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.core.internal.lock;
 
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.System.getProperty;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_FAIR_LOCKS;
+
 import org.mule.runtime.core.api.lock.LockProvider;
 
 import java.util.concurrent.locks.Lock;
@@ -16,9 +20,23 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public class SingleServerLockProvider implements LockProvider {
 
+  private final boolean fair;
+
+  public SingleServerLockProvider() {
+    this(parseBoolean(getProperty(MULE_FAIR_LOCKS, "true")));
+  }
+
+  /**
+   * @param fair whether the created locks are granted in the order they were requested. Unfair locks allow a higher throughput
+   *        under contention, but a thread may wait indefinitely for them.
+   */
+  public SingleServerLockProvider(boolean fair) {
+    this.fair = fair;
+  }
+
   @Override
   public Lock createLock(String lockId) {
-    return new ReentrantLock(true);
+    return new ReentrantLock(fair);
   }
 
 }
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.lang.Double.longBitsToDouble;
+import static java.lang.Float.intBitsToFloat;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.copyOfRange;
+import static org.mule.runtime.api.util.Preconditions.checkState;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.util.ClassUtils;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.primitives.Primitives;
+
+/**
+ * Reads the serialized form of an object written to a {@link BinaryOutput}.
+ *
+ * @since 4.0
+ */
+public final class BinaryInput {
+
+  private static final Map<String, Class<?>> PRIMITIVE_TYPES = new HashMap<>();
+
+  static {
+    for (Class<?> primitiveType : Primitives.allPrimitiveTypes()) {
+      PRIMITIVE_TYPES.put(primitiveType.getName(), primitiveType);
+    }
+  }
+
+  private final BinarySerializationProtocol protocol;
+  private final byte[] buffer;
+  private final int limit;
+  private final ClassLoader classLoader;
+  private final List<String> sharedStrings = new ArrayList<>();
+  private final List<Object> references = new ArrayList<>();
+
+  private int position;
+  private int depth;
+  private int currentReference = -1;
+
+  BinaryInput(BinarySerializationProtocol protocol, byte[] buffer, int offset, int limit, ClassLoader classLoader) {
+    this.protocol = protocol;
+    this.buffer = buffer;
+    this.position = offset;
+    this.limit = limit;
+    this.classLoader = classLoader;
+  }
+
+  /**
+   * @return the {@link MuleContext} of the protocol reading this input
+   */
+  public MuleContext getMuleContext() {
+    return protocol.getMuleContext();
+  }
+
+  /**
+   * @return the {@link ClassLoader} used to resolve the classes referenced in this input
+   */
+  public ClassLoader getClassLoader() {
+    return classLoader;
+  }
+
+  /**
+   * @return the number of bytes not read yet. As any value takes at least one byte, it is an upper bound for the size of
+   *         the collections that can be read.
+   */
+  public int remaining() {
+    return limit - position;
+  }
+
+  public byte readByte() {
+    require(1);
+    return buffer[position++];
+  }
+
+  public boolean readBoolean() {
+    return readByte() != 0;
+  }
+
+  public int readVarInt() {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      byte b = readByte();
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new SerializationException("Malformed variable length int");
+  }
+
+  public long readVarLong() {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new SerializationException("Malformed variable length long");
+  }
+
+  public int readInt() {
+    int value = readVarInt();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  public long readLong() {
+    long value = readVarLong();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  public float readFloat() {
+    require(4);
+    int bits = 0;
+    for (int i = 0; i < 4; i++) {
+      bits = (bits << 8) | (buffer[position++] & 0xFF);
+    }
+    return intBitsToFloat(bits);
+  }
+
+  public double readDouble() {
+    require(8);
+    long bits = 0;
+    for (int i = 0; i < 8; i++) {
+      bits = (bits << 8) | (buffer[position++] & 0xFF);
+    }
+    return longBitsToDouble(bits);
+  }
+
+  public byte[] readBytes() {
+    int length = readLength(readVarInt());
+    byte[] bytes = copyOfRange(buffer, position, position + length);
+    position += length;
+    return bytes;
+  }
+
+  public String readString() {
+    int length = readVarInt();
+    if (length == 0) {
+      return null;
+    }
+    return decode(readLength(length - 1));
+  }
+
+  public String readSharedString() {
+    int tag = readVarInt();
+    if (tag == 0) {
+      return null;
+    } else if ((tag & 1) != 0) {
+      int index = tag >>> 1;
+      if (index >= sharedStrings.size()) {
+        throw new SerializationException(format("Invalid reference to shared string %d", index));
+      }
+      return sharedStrings.get(index);
+    } else {
+      String value = decode(readLength((tag >>> 1) - 1));
+      sharedStrings.add(value);
+      return value;
+    }
+  }
+
+  /**
+   * Reads a class name written as a {@link BinaryOutput#writeSharedString(String) shared string} and loads it from the
+   * class loader of this input.
+   */
+  public Class<?> readClass() throws ClassNotFoundException {
+    String className = readSharedString();
+    if (className == null) {
+      return null;
+    }
+
+    Class<?> primitive = PRIMITIVE_TYPES.get(className);
+    return primitive != null ? primitive : ClassUtils.loadClass(className, classLoader);
+  }
+
+  /**
+   * Reads an object written with {@link BinaryOutput#writeValue(Object)}.
+   */
+  public <T> T readValue() throws Exception {
+    int id = readVarInt();
+    if (id == BinarySerializationProtocol.NULL_ID) {
+      return null;
+    }
+
+    if (id == BinarySerializationProtocol.REFERENCE_ID) {
+      int index = readVarInt();
+      if (index < 0 || index >= references.size()) {
+        throw new SerializationException(format("Invalid reference to value %d", index));
+      }
+      return (T) references.get(index);
+    }
+
+    if (id == BinarySerializationProtocol.FALLBACK_ID) {
+      int length = readLength(readVarInt());
+      T value = protocol.getFallbackProtocol().deserialize(new ByteArrayInputStream(buffer, position, length), classLoader);
+      position += length;
+      references.add(value);
+      return value;
+    }
+
+    BinarySerializationProtocol.Registration registration = protocol.getRegistration(id);
+    if (registration == null) {
+      throw new SerializationException(format("No serializer registered with id %d", id));
+    }
+    if (++depth > BinarySerializationProtocol.MAX_DEPTH) {
+      throw new SerializationException("Serialized object graph is too deep");
+    }
+    int parentReference = currentReference;
+    if (registration.tracksReferences) {
+      currentReference = references.size();
+      references.add(null);
+    } else {
+      currentReference = -1;
+    }
+    try {
+      T value = (T) registration.serializer.read(this);
+      if (registration.tracksReferences) {
+        references.set(currentReference, value);
+      }
+      return value;
+    } finally {
+      depth--;
+      currentReference = parentReference;
+    }
+  }
+
+  /**
+   * Makes the instance being read by a {@link BinarySerializer} that {@link BinarySerializer#tracksReferences() tracks
+   * references} available to the references to it found while reading its content, so cyclic graphs are read as such. Until
+   * this is called those references are read as null.
+   *
+   * @param value the instance being read, before its content is read
+   */
+  public void reference(Object value) {
+    checkState(currentReference >= 0, "The serializer of the value being read does not track references");
+    references.set(currentReference, value);
+  }
+
+  /**
+   * Reads the size of a collection, written with {@link BinaryOutput#writeVarInt(int)}.
+   */
+  public int readSize() {
+    int size = readVarInt();
+    if (size < 0) {
+      throw new SerializationException(format("Invalid size %d", size));
+    }
+    return size;
+  }
+
+  /**
+   * @return the initial capacity to use for a collection of the given size read from this input, bounded by the
+   *         {@link #remaining()} bytes so a corrupted input doesn't cause huge allocations
+   */
+  public int capacityFor(int size) {
+    return min(size, remaining());
+  }
+
+  private String decode(int length) {
+    String value = new String(buffer, position, length, UTF_8);
+    position += length;
+    return value;
+  }
+
+  private int readLength(int length) {
+    if (length < 0 || length > remaining()) {
+      throw new SerializationException(format("Invalid length %d, only %d bytes remaining", length, remaining()));
+    }
+    return length;
+  }
+
+  private void require(int length) {
+    if (remaining() < length) {
+      throw new SerializationException("Unexpected end of serialized data");
+    }
+  }
+}
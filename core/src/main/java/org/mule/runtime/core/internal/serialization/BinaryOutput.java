@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.lang.Double.doubleToRawLongBits;
+import static java.lang.Float.floatToRawIntBits;
+import static java.lang.Math.max;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.copyOf;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Growable buffer where a {@link BinarySerializationProtocol} writes the serialized form of an object.
+ * <p>
+ * Integers are written as variable length values, so small values, which are the most common ones, take a single byte.
+ * Strings that are expected to be repeated along the object graph, as class names and media types, can be written as
+ * {@link #writeSharedString(String) shared strings} so only a reference is written after their first appearance. The same
+ * applies to the values whose references are tracked, as collections, maps and the objects written by the fallback protocol,
+ * which are compared by identity.
+ * <p>
+ * Instances are reused by the protocol across serializations in the same thread, so they must not be kept by the
+ * {@link BinarySerializer}s.
+ *
+ * @since 4.0
+ */
+public final class BinaryOutput {
+
+  private final BinarySerializationProtocol protocol;
+  private final int initialCapacity;
+  private final Map<String, Integer> sharedStrings = new HashMap<>();
+  private final Map<Object, Integer> references = new IdentityHashMap<>();
+
+  private byte[] buffer;
+  private int position;
+  private int depth;
+  boolean inUse;
+
+  BinaryOutput(BinarySerializationProtocol protocol, int initialCapacity) {
+    this.protocol = protocol;
+    this.initialCapacity = initialCapacity;
+    this.buffer = new byte[initialCapacity];
+  }
+
+  /**
+   * @return the {@link MuleContext} of the protocol writing to this output
+   */
+  public MuleContext getMuleContext() {
+    return protocol.getMuleContext();
+  }
+
+  public void writeByte(int value) {
+    ensureCapacity(1);
+    buffer[position++] = (byte) value;
+  }
+
+  public void writeBoolean(boolean value) {
+    writeByte(value ? 1 : 0);
+  }
+
+  /**
+   * Writes a non negative int, using from 1 to 5 bytes depending on its magnitude.
+   */
+  public void writeVarInt(int value) {
+    ensureCapacity(5);
+    while ((value & ~0x7F) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position++] = (byte) value;
+  }
+
+  /**
+   * Writes a non negative long, using from 1 to 10 bytes depending on its magnitude.
+   */
+  public void writeVarLong(long value) {
+    ensureCapacity(10);
+    while ((value & ~0x7FL) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position++] = (byte) value;
+  }
+
+  /**
+   * Writes an int that may be negative, so small negative values take a few bytes too.
+   */
+  public void writeInt(int value) {
+    writeVarInt((value << 1) ^ (value >> 31));
+  }
+
+  /**
+   * Writes a long that may be negative, so small negative values take a few bytes too.
+   */
+  public void writeLong(long value) {
+    writeVarLong((value << 1) ^ (value >> 63));
+  }
+
+  public void writeFloat(float value) {
+    int bits = floatToRawIntBits(value);
+    ensureCapacity(4);
+    for (int shift = 24; shift >= 0; shift -= 8) {
+      buffer[position++] = (byte) (bits >>> shift);
+    }
+  }
+
+  public void writeDouble(double value) {
+    long bits = doubleToRawLongBits(value);
+    ensureCapacity(8);
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      buffer[position++] = (byte) (bits >>> shift);
+    }
+  }
+
+  /**
+   * Writes the given bytes preceded by their length.
+   */
+  public void writeBytes(byte[] bytes) {
+    writeVarInt(bytes.length);
+    writeRawBytes(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Writes a string, that may be null, as UTF-8.
+   */
+  public void writeString(String value) {
+    if (value == null) {
+      writeVarInt(0);
+      return;
+    }
+
+    int length = value.length();
+    // ASCII strings are written straight into the buffer, avoiding the intermediate encoded array
+    ensureCapacity(5 + length);
+    int start = position;
+    writeVarInt(length + 1);
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c >= 0x80) {
+        position = start;
+        byte[] encoded = value.getBytes(UTF_8);
+        writeVarInt(encoded.length + 1);
+        writeRawBytes(encoded, 0, encoded.length);
+        return;
+      }
+      buffer[position++] = (byte) c;
+    }
+  }
+
+  /**
+   * Writes a string, that may be null, that is likely to be written again while serializing the same object. Only a
+   * reference to the first occurrence is written for the following ones.
+   */
+  public void writeSharedString(String value) {
+    if (value == null) {
+      writeVarInt(0);
+      return;
+    }
+
+    Integer index = sharedStrings.get(value);
+    if (index != null) {
+      writeVarInt(index << 1 | 1);
+    } else {
+      sharedStrings.put(value, sharedStrings.size());
+      byte[] encoded = value.getBytes(UTF_8);
+      writeVarInt((encoded.length + 1) << 1);
+      writeRawBytes(encoded, 0, encoded.length);
+    }
+  }
+
+  /**
+   * Writes an object of any type, that may be null, using the {@link BinarySerializer} registered for its class in the
+   * protocol, or the fallback protocol if there is none. If the references of the object are tracked and it was already
+   * written, only a reference to it is written.
+   */
+  public void writeValue(Object value) throws Exception {
+    if (value == null) {
+      writeVarInt(BinarySerializationProtocol.NULL_ID);
+      return;
+    }
+
+    // deep graphs are left to the fallback protocol
+    BinarySerializationProtocol.Registration registration =
+        depth < BinarySerializationProtocol.MAX_DEPTH ? protocol.getRegistration(value.getClass()) : null;
+    if (registration == null || registration.tracksReferences) {
+      Integer reference = references.get(value);
+      if (reference != null) {
+        writeVarInt(BinarySerializationProtocol.REFERENCE_ID);
+        writeVarInt(reference);
+        return;
+      }
+      // the reference is taken before writing the content of the value, as it is done when reading it
+      references.put(value, references.size());
+    }
+
+    if (registration == null) {
+      writeVarInt(BinarySerializationProtocol.FALLBACK_ID);
+      writeBytes(protocol.getFallbackProtocol().serialize(value));
+      return;
+    }
+
+    writeVarInt(registration.id);
+    depth++;
+    try {
+      ((BinarySerializer<Object>) registration.serializer).write(this, value);
+    } finally {
+      depth--;
+    }
+  }
+
+  void writeRawBytes(byte[] bytes, int offset, int length) {
+    ensureCapacity(length);
+    System.arraycopy(bytes, offset, buffer, position, length);
+    position += length;
+  }
+
+  void writeTo(OutputStream out) throws IOException {
+    out.write(buffer, 0, position);
+  }
+
+  byte[] toByteArray() {
+    return copyOf(buffer, position);
+  }
+
+  /**
+   * Clears this output so it can be reused, releasing its buffer if it grew beyond the given size.
+   */
+  void reset(int maxRetainedCapacity) {
+    position = 0;
+    depth = 0;
+    sharedStrings.clear();
+    references.clear();
+    if (buffer.length > maxRetainedCapacity) {
+      buffer = new byte[initialCapacity];
+    }
+    inUse = false;
+  }
+
+  private void ensureCapacity(int length) {
+    if (buffer.length - position < length) {
+      buffer = copyOf(buffer, max(buffer.length * 2, position + length));
+    }
+  }
+}
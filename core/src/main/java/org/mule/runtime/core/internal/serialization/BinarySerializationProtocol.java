@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.lang.String.format;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.serialization.AbstractSerializationProtocol;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.util.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link SerializationProtocol} that writes objects in a compact binary form, meant for the internal use of the runtime,
+ * as persistent queues and object stores.
+ * <p>
+ * Types are registered along with a {@link BinarySerializer} that explicitly writes and reads their state, so only the
+ * id of the registration is written for each object instead of the class descriptors written by Java serialization.
+ * The {@link org.mule.runtime.core.api.Event}, {@link org.mule.runtime.core.api.message.InternalMessage} and their
+ * usual content, as {@link org.mule.runtime.api.metadata.TypedValue}s, {@link org.mule.runtime.api.metadata.DataType}s,
+ * strings, numbers and collections, are registered by default. Any other object is serialized with the fallback
+ * protocol, so it still has to be {@link java.io.Serializable}.
+ * <p>
+ * As with Java serialization, the identity of the collections, maps and objects serialized with the fallback protocol is kept
+ * within a serialized object: an instance found again in the graph is written as a back-reference, so shared instances are
+ * read as the same one and cyclic graphs can be written. Graphs deeper than {@value #MAX_DEPTH} levels are written from that
+ * level on with the fallback protocol, so an instance first found below it is read as a copy where it is found again.
+ * <p>
+ * As ids are assigned in registration order, the same types have to be registered in the same order in the protocol
+ * that serializes and the one that deserializes an object.
+ * <p>
+ * Serialized objects are written to a buffer reused by the following serializations in the same thread. Data written by
+ * the fallback protocol in Java serialization format, as the one persisted before switching to this protocol, is
+ * deserialized by the fallback protocol.
+ *
+ * @since 4.0
+ */
+public class BinarySerializationProtocol extends AbstractSerializationProtocol {
+
+  static final int NULL_ID = 0;
+  static final int FALLBACK_ID = 1;
+  static final int REFERENCE_ID = 2;
+  static final int MAX_DEPTH = 64;
+
+  private static final byte[] HEADER = {'M', 'B', 2};
+  private static final byte[] JAVA_SERIALIZATION_HEADER = {(byte) 0xAC, (byte) 0xED};
+
+  private static final int INITIAL_BUFFER_SIZE = 1024;
+  private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+
+  private final SerializationProtocol fallbackProtocol;
+  private final ThreadLocal<BinaryOutput> outputs = new ThreadLocal<>();
+
+  private volatile Map<Class<?>, Registration> registrationsByType = new HashMap<>();
+  private volatile List<Registration> registrations = new ArrayList<>();
+
+  /**
+   * Creates a protocol with the default serializers registered.
+   *
+   * @param fallbackProtocol protocol used to serialize the objects of types without a registered serializer
+   */
+  public BinarySerializationProtocol(SerializationProtocol fallbackProtocol) {
+    checkArgument(fallbackProtocol != null, "fallbackProtocol cannot be null");
+    this.fallbackProtocol = fallbackProtocol;
+    DefaultBinarySerializers.register(this);
+  }
+
+  /**
+   * Registers the serializer to use for the objects of the given class. Subclasses of it are not handled by the
+   * serializer, since it wouldn't be able to recreate them.
+   *
+   * @param type the class of the objects to serialize
+   * @param serializer the serializer to use for them
+   * @throws IllegalArgumentException if a serializer is already registered for the given class
+   */
+  public synchronized <T> void register(Class<T> type, BinarySerializer<? super T> serializer) {
+    checkArgument(!registrationsByType.containsKey(type), format("A serializer is already registered for %s", type.getName()));
+
+    Registration registration = new Registration(registrations.size() + REFERENCE_ID + 1, serializer);
+
+    List<Registration> newRegistrations = new ArrayList<>(registrations);
+    newRegistrations.add(registration);
+    Map<Class<?>, Registration> newRegistrationsByType = new HashMap<>(registrationsByType);
+    newRegistrationsByType.put(type, registration);
+
+    registrations = newRegistrations;
+    registrationsByType = newRegistrationsByType;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected byte[] doSerialize(Object object) throws Exception {
+    BinaryOutput output = acquireOutput();
+    try {
+      write(object, output);
+      return output.toByteArray();
+    } finally {
+      releaseOutput(output);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The object is written straight from the reused buffer to the {@code out} stream.
+   */
+  @Override
+  public void serialize(Object object, OutputStream out) throws SerializationException {
+    BinaryOutput output = acquireOutput();
+    try {
+      write(object, output);
+      output.writeTo(out);
+      out.flush();
+    } catch (IOException e) {
+      throw new SerializationException("Could not write to output stream", e);
+    } finally {
+      releaseOutput(output);
+      IOUtils.closeQuietly(out);
+    }
+  }
+
+  private void write(Object object, BinaryOutput output) throws SerializationException {
+    try {
+      output.writeRawBytes(HEADER, 0, HEADER.length);
+      output.writeValue(object);
+    } catch (SerializationException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new SerializationException("Could not serialize object", e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected <T> T doDeserialize(InputStream inputStream, ClassLoader classLoader) throws Exception {
+    byte[] bytes = IOUtils.toByteArray(inputStream);
+
+    if (startsWith(bytes, JAVA_SERIALIZATION_HEADER)) {
+      return fallbackProtocol.deserialize(bytes, classLoader);
+    }
+    if (!startsWith(bytes, HEADER)) {
+      throw new SerializationException("Serialized data was not written by this protocol");
+    }
+
+    return new BinaryInput(this, bytes, HEADER.length, bytes.length, classLoader).readValue();
+  }
+
+  /**
+   * Does nothing, since the registered serializers initialize the objects they read, and the fallback protocol
+   * initializes the ones it deserializes.
+   */
+  @Override
+  protected <T> T postInitialize(T object) {
+    return object;
+  }
+
+  SerializationProtocol getFallbackProtocol() {
+    return fallbackProtocol;
+  }
+
+  MuleContext getMuleContext() {
+    return muleContext;
+  }
+
+  Registration getRegistration(Class<?> type) {
+    return registrationsByType.get(type);
+  }
+
+  Registration getRegistration(int id) {
+    int index = id - REFERENCE_ID - 1;
+    List<Registration> current = registrations;
+    return index >= 0 && index < current.size() ? current.get(index) : null;
+  }
+
+  private BinaryOutput acquireOutput() {
+    BinaryOutput output = outputs.get();
+    if (output == null) {
+      output = new BinaryOutput(this, INITIAL_BUFFER_SIZE);
+      outputs.set(output);
+    } else if (output.inUse) {
+      // an object serializes another one with this same protocol while being written
+      return new BinaryOutput(this, INITIAL_BUFFER_SIZE);
+    }
+
+    output.inUse = true;
+    return output;
+  }
+
+  private void releaseOutput(BinaryOutput output) {
+    output.reset(MAX_RETAINED_BUFFER_SIZE);
+  }
+
+  private static boolean startsWith(byte[] bytes, byte[] prefix) {
+    if (bytes.length < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if (bytes[i] != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static final class Registration {
+
+    final int id;
+    final BinarySerializer<?> serializer;
+    final boolean tracksReferences;
+
+    private Registration(int id, BinarySerializer<?> serializer) {
+      this.id = id;
+      this.serializer = serializer;
+      this.tracksReferences = serializer.tracksReferences();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+/**
+ * Writes and reads the instances of a type registered in a {@link BinarySerializationProtocol}.
+ * <p>
+ * No type information is written along with the fields of an instance, so the fields have to be read in the same order
+ * they were written.
+ *
+ * @param <T> the type of the serialized instances
+ * @since 4.0
+ */
+public interface BinarySerializer<T> {
+
+  /**
+   * Writes the state of the given instance.
+   *
+   * @param out the output to write to
+   * @param value the instance to write. Not null
+   * @throws Exception if the instance cannot be written
+   */
+  void write(BinaryOutput out, T value) throws Exception;
+
+  /**
+   * Reads an instance previously written by {@link #write(BinaryOutput, Object)}.
+   *
+   * @param in the input to read from
+   * @return the read instance
+   * @throws Exception if the instance cannot be read
+   */
+  T read(BinaryInput in) throws Exception;
+
+  /**
+   * Whether the identity of the written instances is kept, so an instance found again in the same object graph is written as a
+   * reference to its first occurrence and read as the same instance. Serializers of mutable containers, which may be shared or
+   * contain themselves, should track references, and {@link BinaryInput#reference(Object) publish} the instance they are reading
+   * before reading its content. References are not tracked by default.
+   *
+   * @return whether the references to the instances of this serializer are tracked
+   */
+  default boolean tracksReferences() {
+    return false;
+  }
+}
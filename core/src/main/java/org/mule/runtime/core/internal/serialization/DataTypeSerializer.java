@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import org.mule.runtime.api.metadata.CollectionDataType;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.DataTypeBuilder.DataTypeCollectionTypeBuilder;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link BinarySerializer} for simple and collection {@link DataType}s.
+ * <p>
+ * The type is written as a class name, shared with the other data types of the serialized object. A class not
+ * available when reading is replaced by {@link Object}, since the actual type of a value is taken from the value
+ * itself when it is added to a message.
+ *
+ * @since 4.0
+ */
+final class DataTypeSerializer implements BinarySerializer<DataType> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DataTypeSerializer.class);
+
+  @Override
+  public void write(BinaryOutput out, DataType dataType) throws Exception {
+    out.writeSharedString(dataType.getType().getName());
+    out.writeSharedString(dataType.getMediaType().toRfcString());
+    if (dataType instanceof CollectionDataType) {
+      out.writeBoolean(true);
+      out.writeValue(((CollectionDataType) dataType).getItemDataType());
+    } else {
+      out.writeBoolean(false);
+    }
+  }
+
+  @Override
+  public DataType read(BinaryInput in) throws Exception {
+    Class<?> type;
+    try {
+      type = in.readClass();
+    } catch (ClassNotFoundException e) {
+      LOGGER.debug("Data type class not found, using Object instead", e);
+      type = Object.class;
+    }
+    String mediaType = in.readSharedString();
+    DataType itemType = in.readBoolean() ? in.readValue() : null;
+
+    if (!Collection.class.isAssignableFrom(type) && !Iterator.class.isAssignableFrom(type)) {
+      return DataType.builder().type(type).mediaType(mediaType).build();
+    }
+
+    DataTypeCollectionTypeBuilder builder = Collection.class.isAssignableFrom(type)
+        ? DataType.builder().collectionType((Class<? extends Collection>) type)
+        : DataType.builder().streamType((Class<? extends Iterator>) type);
+    if (itemType != null) {
+      builder.itemType(itemType.getType()).itemMediaType(itemType.getMediaType());
+    }
+    return builder.mediaType(mediaType).build();
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.message.DefaultEventBuilder.EventImplementation;
+import org.mule.runtime.core.message.DefaultMessageBuilder.MessageImplementation;
+import org.mule.runtime.core.message.GroupCorrelation;
+import org.mule.runtime.core.metadata.DefaultCollectionDataType;
+import org.mule.runtime.core.metadata.SimpleDataType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * The {@link BinarySerializer}s registered by default in a {@link BinarySerializationProtocol}.
+ * <p>
+ * The ids of the serialized data depend on the order of the registrations, so new serializers have to be registered
+ * after the existing ones.
+ *
+ * @since 4.0
+ */
+final class DefaultBinarySerializers {
+
+  private DefaultBinarySerializers() {}
+
+  static void register(BinarySerializationProtocol protocol) {
+    protocol.register(String.class, serializer((out, value) -> out.writeString(value), BinaryInput::readString));
+    protocol.register(Boolean.class, serializer((out, value) -> out.writeBoolean(value), BinaryInput::readBoolean));
+    protocol.register(Byte.class, serializer((out, value) -> out.writeByte(value), BinaryInput::readByte));
+    protocol.register(Short.class, serializer((out, value) -> out.writeInt(value), in -> (short) in.readInt()));
+    protocol.register(Character.class, serializer((out, value) -> out.writeVarInt(value), in -> (char) in.readVarInt()));
+    protocol.register(Integer.class, serializer((out, value) -> out.writeInt(value), BinaryInput::readInt));
+    protocol.register(Long.class, serializer((out, value) -> out.writeLong(value), BinaryInput::readLong));
+    protocol.register(Float.class, serializer((out, value) -> out.writeFloat(value), BinaryInput::readFloat));
+    protocol.register(Double.class, serializer((out, value) -> out.writeDouble(value), BinaryInput::readDouble));
+    protocol.register(BigInteger.class, serializer((out, value) -> out.writeBytes(value.toByteArray()),
+                                                   in -> new BigInteger(in.readBytes())));
+    protocol.register(BigDecimal.class, serializer((out, value) -> {
+      out.writeBytes(value.unscaledValue().toByteArray());
+      out.writeInt(value.scale());
+    }, in -> new BigDecimal(new BigInteger(in.readBytes()), in.readInt())));
+    protocol.register(byte[].class, serializer((out, value) -> out.writeBytes(value), BinaryInput::readBytes));
+    protocol.register(Date.class, serializer((out, value) -> out.writeLong(value.getTime()), in -> new Date(in.readLong())));
+
+    protocol.register(ArrayList.class, collection(ArrayList::new));
+    protocol.register(LinkedList.class, collection(capacity -> new LinkedList<>()));
+    protocol.register(HashSet.class, collection(HashSet::new));
+    protocol.register(LinkedHashSet.class, collection(LinkedHashSet::new));
+    protocol.register(HashMap.class, map(HashMap::new));
+    protocol.register(LinkedHashMap.class, map(LinkedHashMap::new));
+
+    protocol.register(SimpleDataType.class, new DataTypeSerializer());
+    protocol.register(DefaultCollectionDataType.class, new DataTypeSerializer());
+    protocol.register(TypedValue.class, serializer((out, value) -> {
+      out.writeValue(value.getValue());
+      out.writeValue(value.getDataType());
+    }, in -> new TypedValue<>(in.readValue(), in.<DataType>readValue())));
+    protocol.register(GroupCorrelation.class, serializer((out, value) -> {
+      out.writeValue(value.getGroupSize().orElse(null));
+      out.writeValue(value.getSequence().orElse(null));
+    }, in -> new GroupCorrelation(in.readValue(), in.readValue())));
+    protocol.register(MessageImplementation.class, new MessageSerializer());
+    protocol.register(EventImplementation.class, new EventSerializer());
+  }
+
+  private static <T> BinarySerializer<T> serializer(Writer<T> writer, Reader<T> reader) {
+    return new BinarySerializer<T>() {
+
+      @Override
+      public void write(BinaryOutput out, T value) throws Exception {
+        writer.write(out, value);
+      }
+
+      @Override
+      public T read(BinaryInput in) throws Exception {
+        return reader.read(in);
+      }
+    };
+  }
+
+  private static <C extends Collection<Object>> BinarySerializer<C> collection(IntFunction<C> factory) {
+    return new BinarySerializer<C>() {
+
+      @Override
+      public void write(BinaryOutput out, C value) throws Exception {
+        out.writeVarInt(value.size());
+        for (Object item : value) {
+          out.writeValue(item);
+        }
+      }
+
+      @Override
+      public C read(BinaryInput in) throws Exception {
+        int size = in.readSize();
+        C collection = factory.apply(in.capacityFor(size));
+        in.reference(collection);
+        for (int i = 0; i < size; i++) {
+          collection.add(in.readValue());
+        }
+        return collection;
+      }
+
+      @Override
+      public boolean tracksReferences() {
+        return true;
+      }
+    };
+  }
+
+  private static <M extends Map<Object, Object>> BinarySerializer<M> map(IntFunction<M> factory) {
+    return new BinarySerializer<M>() {
+
+      @Override
+      public void write(BinaryOutput out, M value) throws Exception {
+        out.writeVarInt(value.size());
+        for (Map.Entry<Object, Object> entry : value.entrySet()) {
+          out.writeValue(entry.getKey());
+          out.writeValue(entry.getValue());
+        }
+      }
+
+      @Override
+      public M read(BinaryInput in) throws Exception {
+        int size = in.readSize();
+        M map = factory.apply(in.capacityFor(size));
+        in.reference(map);
+        for (int i = 0; i < size; i++) {
+          map.put(in.readValue(), in.readValue());
+        }
+        return map;
+      }
+
+      @Override
+      public boolean tracksReferences() {
+        return true;
+      }
+    };
+  }
+
+  @FunctionalInterface
+  private interface Writer<T> {
+
+    void write(BinaryOutput out, T value) throws Exception;
+  }
+
+  @FunctionalInterface
+  private interface Reader<T> {
+
+    T read(BinaryInput in) throws Exception;
+  }
+}
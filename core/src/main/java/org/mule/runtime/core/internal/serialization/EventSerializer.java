@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.EventContext;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.MuleSession;
+import org.mule.runtime.core.api.connector.ReplyToHandler;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.construct.Pipeline;
+import org.mule.runtime.core.api.context.notification.FlowCallStack;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.message.DefaultEventBuilder;
+import org.mule.runtime.core.message.DefaultEventBuilder.EventImplementation;
+import org.mule.runtime.core.message.GroupCorrelation;
+
+/**
+ * {@link BinarySerializer} for {@link org.mule.runtime.core.api.Event}s.
+ * <p>
+ * As when using Java serialization, the flow of the event is written by name and looked up in the registry when the
+ * event is read, and the {@link EventContext} is kept in the {@link Pipeline#getSerializationEventContextCache()} of
+ * the flow, so the deserialized event keeps the subscribers of the original context when read in the same node.
+ *
+ * @since 4.0
+ */
+final class EventSerializer implements BinarySerializer<EventImplementation> {
+
+  @Override
+  public void write(BinaryOutput out, EventImplementation event) throws Exception {
+    FlowConstruct flow = event.getFlowConstruct();
+
+    out.writeValue(event.getContext());
+    out.writeString(flow != null ? flow.getName() : null);
+    out.writeValue(event.getMessage());
+
+    out.writeVarInt(event.getVariableNames().size());
+    for (String name : event.getVariableNames()) {
+      TypedValue<?> variable = event.getVariable(name);
+      out.writeString(name);
+      out.writeValue(variable.getValue());
+      out.writeValue(variable.getDataType());
+    }
+
+    out.writeValue(event.getSession());
+    out.writeValue(event.getReplyToHandler());
+    out.writeValue(event.getReplyToDestination());
+    out.writeValue(event.getFlowCallStack());
+    out.writeValue(event.getGroupCorrelation());
+    out.writeValue(event.getError().orElse(null));
+    out.writeString(event.getLegacyCorrelationId());
+    out.writeBoolean(event.isNotificationsEnabled());
+
+    if (flow instanceof Pipeline) {
+      ((Pipeline) flow).getSerializationEventContextCache().put(event.getContext().getId(), event.getContext());
+    }
+  }
+
+  @Override
+  public EventImplementation read(BinaryInput in) throws Exception {
+    EventContext context = in.readValue();
+    String flowName = in.readString();
+
+    FlowConstruct flow = null;
+    MuleContext muleContext = in.getMuleContext();
+    if (flowName != null && muleContext != null) {
+      flow = muleContext.getRegistry().lookupFlowConstruct(flowName);
+      if (flow instanceof Pipeline) {
+        EventContext cachedContext = ((Pipeline) flow).getSerializationEventContextCache().remove(context.getId());
+        context = cachedContext != null ? cachedContext : context;
+      }
+    }
+
+    DefaultEventBuilder builder = new DefaultEventBuilder(context);
+    builder.flow(flow);
+    builder.message(in.<InternalMessage>readValue());
+
+    int variables = in.readSize();
+    for (int i = 0; i < variables; i++) {
+      builder.addVariable(in.readString(), in.readValue(), in.<DataType>readValue());
+    }
+
+    builder.session(in.<MuleSession>readValue());
+    builder.replyToHandler(in.<ReplyToHandler>readValue());
+    builder.replyToDestination(in.readValue());
+    builder.flowCallStack(in.<FlowCallStack>readValue());
+    builder.groupCorrelation(in.<GroupCorrelation>readValue());
+    builder.error(in.<Error>readValue());
+    builder.correlationId(in.readString());
+    if (!in.readBoolean()) {
+      builder.disableNotifications();
+    }
+
+    return (EventImplementation) builder.build();
+  }
+}
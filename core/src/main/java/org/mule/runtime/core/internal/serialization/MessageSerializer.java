@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import org.mule.runtime.api.message.Attributes;
+import org.mule.runtime.api.metadata.CollectionDataType;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.message.ExceptionPayload;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.message.DefaultMessageBuilder.MessageImplementation;
+import org.mule.runtime.core.message.DefaultMessageBuilder.MessageImplementation.SerializedDataHandler;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.activation.DataHandler;
+
+/**
+ * {@link BinarySerializer} for {@link InternalMessage}s.
+ * <p>
+ * As when using Java serialization, a payload that is not {@link Serializable} is transformed to a byte array, and the
+ * attachments are written as {@link SerializedDataHandler}s.
+ *
+ * @since 4.0
+ */
+final class MessageSerializer implements BinarySerializer<MessageImplementation> {
+
+  @Override
+  public void write(BinaryOutput out, MessageImplementation message) throws Exception {
+    TypedValue<?> payload = message.getPayload();
+    if (payload.getValue() == null || payload.getValue() instanceof Serializable) {
+      out.writeValue(payload.getValue());
+      out.writeValue(payload.getDataType());
+    } else {
+      out.writeValue(out.getMuleContext().getTransformationService().transform(message, DataType.BYTE_ARRAY).getPayload()
+          .getValue());
+      out.writeValue(DataType.BYTE_ARRAY);
+    }
+
+    out.writeValue(message.getAttributes());
+    out.writeValue(message.getExceptionPayload());
+    writeProperties(out, message.getInboundPropertyNames(), message::getInboundProperty, message::getInboundPropertyDataType);
+    writeProperties(out, message.getOutboundPropertyNames(), message::getOutboundProperty,
+                    message::getOutboundPropertyDataType);
+    writeAttachments(out, message.getInboundAttachmentNames(), message::getInboundAttachment);
+    writeAttachments(out, message.getOutboundAttachmentNames(), message::getOutboundAttachment);
+  }
+
+  private void writeProperties(BinaryOutput out, Set<String> names, Function<String, Serializable> values,
+                               Function<String, DataType> dataTypes)
+      throws Exception {
+    out.writeVarInt(names.size());
+    for (String name : names) {
+      out.writeString(name);
+      out.writeValue(values.apply(name));
+      out.writeValue(dataTypes.apply(name));
+    }
+  }
+
+  private void writeAttachments(BinaryOutput out, Set<String> names, Function<String, DataHandler> attachments)
+      throws Exception {
+    MuleContext muleContext = out.getMuleContext();
+    out.writeVarInt(names.size());
+    for (String name : names) {
+      out.writeString(name);
+      out.writeValue(new SerializedDataHandler(name, attachments.apply(name), muleContext));
+    }
+  }
+
+  @Override
+  public MessageImplementation read(BinaryInput in) throws Exception {
+    Object value = in.readValue();
+    DataType dataType = in.readValue();
+
+    InternalMessage.Builder builder;
+    if (dataType instanceof CollectionDataType && value instanceof Collection) {
+      DataType itemType = ((CollectionDataType) dataType).getItemDataType();
+      builder = InternalMessage.builder().collectionPayload((Collection) value, itemType.getType())
+          .itemMediaType(itemType.getMediaType());
+    } else {
+      builder = InternalMessage.builder().payload(value);
+      if (dataType != null) {
+        builder.mediaType(dataType.getMediaType());
+      }
+    }
+
+    builder.attributes(in.<Attributes>readValue());
+    builder.exceptionPayload(in.<ExceptionPayload>readValue());
+
+    int inboundProperties = in.readSize();
+    for (int i = 0; i < inboundProperties; i++) {
+      builder.addInboundProperty(in.readString(), in.<Serializable>readValue(), in.<DataType>readValue());
+    }
+    int outboundProperties = in.readSize();
+    for (int i = 0; i < outboundProperties; i++) {
+      builder.addOutboundProperty(in.readString(), in.<Serializable>readValue(), in.<DataType>readValue());
+    }
+    int inboundAttachments = in.readSize();
+    for (int i = 0; i < inboundAttachments; i++) {
+      builder.addInboundAttachment(in.readString(), in.<SerializedDataHandler>readValue().getHandler());
+    }
+    int outboundAttachments = in.readSize();
+    for (int i = 0; i < outboundAttachments; i++) {
+      builder.addOutboundAttachment(in.readString(), in.<SerializedDataHandler>readValue().getHandler());
+    }
+
+    return (MessageImplementation) builder.build();
+  }
+}
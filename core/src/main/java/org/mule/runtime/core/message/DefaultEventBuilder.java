@@ -32,14 +32,13 @@ import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.api.connector.DefaultReplyToHandler;
 import org.mule.runtime.core.context.notification.DefaultFlowCallStack;
 import org.mule.runtime.core.session.DefaultMuleSession;
-import org.mule.runtime.core.util.CopyOnWriteCaseInsensitiveMap;
+import org.mule.runtime.core.util.PersistentCaseInsensitiveMap;
 import org.mule.runtime.core.util.store.DeserializationPostInitialisable;
 
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.nio.charset.Charset;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -54,7 +53,7 @@ public class DefaultEventBuilder implements Event.Builder {
 
   private EventContext context;
   private Message message;
-  private Map<String, TypedValue<Object>> flowVariables = new HashMap<>();
+  private PersistentCaseInsensitiveMap<TypedValue<?>> flowVariables = PersistentCaseInsensitiveMap.empty();
   private Error error;
   private FlowConstruct flow;
   private GroupCorrelation groupCorrelation = new GroupCorrelation(null, null);
@@ -90,8 +89,12 @@ public class DefaultEventBuilder implements Event.Builder {
     this.error = event.getError().orElse(null);
     this.notificationsEnabled = event.isNotificationsEnabled();
 
-    event.getVariableNames().forEach(key -> this.flowVariables
-        .put(key, event.getVariable(key)));
+    if (event instanceof EventImplementation) {
+      // The variables are immutable and shared with the original event until modified
+      this.flowVariables = ((EventImplementation) event).variables;
+    } else {
+      event.getVariableNames().forEach(key -> this.flowVariables = this.flowVariables.plus(key, event.getVariable(key)));
+    }
   }
 
   @Override
@@ -103,15 +106,16 @@ public class DefaultEventBuilder implements Event.Builder {
 
   @Override
   public Event.Builder variables(Map<String, Object> flowVariables) {
-    this.flowVariables.clear();
-    flowVariables.forEach((s, o) -> this.flowVariables.put(s, new TypedValue<>(o, DataType.fromObject(o))));
+    this.flowVariables = PersistentCaseInsensitiveMap.empty();
+    flowVariables.forEach((s, o) -> this.flowVariables =
+        this.flowVariables.plus(s, new TypedValue<>(o, DataType.fromObject(o))));
     this.modified = true;
     return this;
   }
 
   @Override
   public Event.Builder addVariable(String key, Object value) {
-    flowVariables.put(key, new TypedValue<>(value, DataType.fromObject(value)));
+    flowVariables = flowVariables.plus(key, new TypedValue<>(value, DataType.fromObject(value)));
     this.modified = true;
     return this;
 
@@ -119,14 +123,14 @@ public class DefaultEventBuilder implements Event.Builder {
 
   @Override
   public Event.Builder addVariable(String key, Object value, DataType dataType) {
-    flowVariables.put(key, new TypedValue<>(value, dataType));
+    flowVariables = flowVariables.plus(key, new TypedValue<>(value, dataType));
     this.modified = true;
     return this;
   }
 
   @Override
   public Event.Builder removeVariable(String key) {
-    flowVariables.remove(key);
+    flowVariables = flowVariables.minus(key);
     this.modified = true;
     return this;
   }
@@ -180,6 +184,18 @@ public class DefaultEventBuilder implements Event.Builder {
     return this;
   }
 
+  /**
+   * Sets the flow call stack of the event, used to restore the events read by a serializer.
+   *
+   * @param flowCallStack the flow call stack of the event
+   * @return the builder instance
+   */
+  public DefaultEventBuilder flowCallStack(FlowCallStack flowCallStack) {
+    this.flowCallStack = flowCallStack;
+    this.modified = true;
+    return this;
+  }
+
   @Override
   public Builder disableNotifications() {
     this.notificationsEnabled = false;
@@ -226,7 +242,7 @@ public class DefaultEventBuilder implements Event.Builder {
 
     private final boolean notificationsEnabled;
 
-    private final CopyOnWriteCaseInsensitiveMap<String, TypedValue> variables = new CopyOnWriteCaseInsensitiveMap<>();
+    private final PersistentCaseInsensitiveMap<TypedValue<?>> variables;
 
     private FlowCallStack flowCallStack = new DefaultFlowCallStack();
     private final String legacyCorrelationId;
@@ -236,8 +252,9 @@ public class DefaultEventBuilder implements Event.Builder {
     private String flowName;
 
     // Use this constructor from the builder
-    private EventImplementation(EventContext context, InternalMessage message, Map<String, TypedValue<Object>> variables,
-                                FlowConstruct flowConstruct, MuleSession session,
+    private EventImplementation(EventContext context, InternalMessage message,
+                                PersistentCaseInsensitiveMap<TypedValue<?>> variables, FlowConstruct flowConstruct,
+                                MuleSession session,
                                 Object replyToDestination, ReplyToHandler replyToHandler,
                                 FlowCallStack flowCallStack, GroupCorrelation groupCorrelation, Error error,
                                 String legacyCorrelationId, boolean notificationsEnabled) {
@@ -248,7 +265,7 @@ public class DefaultEventBuilder implements Event.Builder {
       }
       this.session = session;
       this.message = message;
-      variables.forEach((s, value) -> this.variables.put(s, new TypedValue<>(value.getValue(), value.getDataType())));
+      this.variables = variables;
 
       this.replyToHandler = replyToHandler;
       this.replyToDestination = replyToDestination;
@@ -434,7 +451,7 @@ public class DefaultEventBuilder implements Event.Builder {
       if (flowName != null && flowConstruct instanceof Pipeline) {
         ((Pipeline) flowConstruct).getSerializationEventContextCache().put(context.getId(), context);
       }
-      for (Map.Entry<String, TypedValue> entry : variables.entrySet()) {
+      for (Map.Entry<String, TypedValue<?>> entry : variables.entrySet()) {
         Object value = entry.getValue();
         if (value != null && !(value instanceof Serializable)) {
           String message = String.format(
@@ -456,7 +473,7 @@ public class DefaultEventBuilder implements Event.Builder {
 
     @Override
     public <T> TypedValue<T> getVariable(String key) {
-      TypedValue<T> typedValue = variables.get(key);
+      TypedValue<T> typedValue = (TypedValue<T>) variables.get(key);
 
       if (typedValue == null) {
         throw new NoSuchElementException("The flow variable '" + key + "' does not exist.");
@@ -19,17 +19,19 @@ import java.util.Optional;
 
 /**
  * Abstract implementation that performs the chaining of a set of policies and the {@link Processor} being intercepted.
+ * <p>
+ * A composite policy holds no state of its own executions, so it is composed once for a set of policies and reused for every
+ * execution they apply to. The state of each execution is kept in an {@code Execution} object created for it.
  *
  * @param <ParametersTransformer> the type of the function parameters transformer.
- * @param <ParametersProcessor> the type of the parameters processor that provides access to the initial value of the parameters.
+ * @param <Execution> the type of the state kept during a single execution of the policies.
  *
  * @since 4.0
  */
-public abstract class AbstractCompositePolicy<ParametersTransformer, ParametersProcessor> {
+public abstract class AbstractCompositePolicy<ParametersTransformer, Execution> {
 
   private final List<Policy> parameterizedPolicies;
   private final Optional<ParametersTransformer> parametersTransformer;
-  private final ParametersProcessor parametersProcessor;
 
   /**
    * Creates a new composite policy.
@@ -38,12 +40,10 @@ public abstract class AbstractCompositePolicy<ParametersTransformer, ParametersP
    * @param parametersTransformer transformer from the operation parameters to a message and vice versa.
    */
   public AbstractCompositePolicy(List<Policy> policies,
-                                 Optional<ParametersTransformer> parametersTransformer,
-                                 ParametersProcessor parametersProcessor) {
+                                 Optional<ParametersTransformer> parametersTransformer) {
     checkArgument(!policies.isEmpty(), "policies list cannot be empty");
     this.parameterizedPolicies = policies;
     this.parametersTransformer = parametersTransformer;
-    this.parametersProcessor = parametersProcessor;
   }
 
   /**
@@ -56,8 +56,8 @@ public abstract class AbstractCompositePolicy<ParametersTransformer, ParametersP
    * in the chain until the finally policy it's executed in which case then next operation of it, it will be the operation
    * execution.
    */
-  public final Event processPolicies(Event operationEvent) throws Exception {
-    return new AbstractCompositePolicy.NextOperationCall(operationEvent)
+  public final Event processPolicies(Event operationEvent, Execution execution) throws Exception {
+    return new AbstractCompositePolicy.NextOperationCall(operationEvent, execution)
         .process(operationEvent);
   }
 
@@ -68,21 +68,15 @@ public abstract class AbstractCompositePolicy<ParametersTransformer, ParametersP
     return parametersTransformer;
   }
 
-  /**
-   * @return the parameters processors that generates the parameters to be sent.
-   */
-  protected ParametersProcessor getParametersProcessor() {
-    return parametersProcessor;
-  }
-
   /**
    * Template method for executing the final processor of the chain.
    * 
    * @param event the event to use for executing the next operation.
+   * @param execution the state of the current execution.
    * @return the event to use for processing the after phase of the policy
    * @throws MuleException if there's an error executing processing the next operation.
    */
-  protected abstract Event processNextOperation(Event event) throws MuleException;
+  protected abstract Event processNextOperation(Event event, Execution execution) throws MuleException;
 
   /**
    * Template method for executing a policy.
@@ -91,10 +85,11 @@ public abstract class AbstractCompositePolicy<ParametersTransformer, ParametersP
    * @param nextProcessor the next processor to use as the {@link PolicyNextActionMessageProcessor}. It will invoke the next
    *        policy in the chain.
    * @param event the event to use for processing the policy.
+   * @param execution the state of the current execution.
    * @return the result to use for the next policy in the chain.
    * @throws Exception if the execution of the policy fails.
    */
-  protected abstract Event processPolicy(Policy policy, Processor nextProcessor, Event event)
+  protected abstract Event processPolicy(Policy policy, Processor nextProcessor, Event event, Execution execution)
       throws Exception;
 
   /**
@@ -103,22 +98,24 @@ public abstract class AbstractCompositePolicy<ParametersTransformer, ParametersP
   public class NextOperationCall extends AbstractAnnotatedObject implements Processor {
 
     private final Event originalEvent;
+    private final Execution execution;
     private int index = 0;
 
-    public NextOperationCall(Event originalEvent) {
+    public NextOperationCall(Event originalEvent, Execution execution) {
       this.originalEvent = originalEvent;
+      this.execution = execution;
     }
 
     @Override
     public Event process(Event event) throws MuleException {
       checkState(index <= parameterizedPolicies.size(), "composite policy index is greater that the number of policies.");
       if (index == parameterizedPolicies.size()) {
-        return processNextOperation(event);
+        return processNextOperation(event, execution);
       }
       Policy policy = parameterizedPolicies.get(index);
       index++;
       try {
-        return processPolicy(policy, this, originalEvent);
+        return processPolicy(policy, this, originalEvent, execution);
       } catch (MuleException e) {
         throw e;
       } catch (Exception e) {
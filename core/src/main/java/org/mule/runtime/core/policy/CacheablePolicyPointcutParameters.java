@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.policy;
+
+/**
+ * Marks a {@link PolicyPointcutParameters} class whose {@link Object#equals(Object)} and {@link Object#hashCode()} take into
+ * account every parameter a {@link PolicyPointcut} may match, so the policies found for an instance can be reused for any other
+ * equal instance.
+ * <p>
+ * Only the class that implements this interface itself opts in. A subclass of such a class has to implement it again, once its
+ * own parameters are part of {@code equals} and {@code hashCode}.
+ *
+ * @since 4.0
+ */
+public interface CacheablePolicyPointcutParameters {
+
+}
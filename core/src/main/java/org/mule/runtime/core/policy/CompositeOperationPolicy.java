@@ -20,19 +20,16 @@ import java.util.Map;
 import java.util.Optional;
 
 /**
- * {@link OperationPolicy} created from a list of {@link Policy}.
+ * Chain of operation {@link Policy policies}, from which an {@link OperationPolicy} is created for each operation call.
  * <p>
  * Implements the template methods from {@link AbstractCompositePolicy} required to work with operation policies.
  *
  * @since 4.0
  */
 public class CompositeOperationPolicy extends
-    AbstractCompositePolicy<OperationPolicyParametersTransformer, OperationParametersProcessor> implements OperationPolicy {
+    AbstractCompositePolicy<OperationPolicyParametersTransformer, CompositeOperationPolicy.OperationExecution> {
 
-
-  private final Processor nextOperation;
   private final OperationPolicyProcessorFactory operationPolicyProcessorFactory;
-  private Event nextOperationResponse;
 
   /**
    * Creates a new composite policy.
@@ -46,42 +43,36 @@ public class CompositeOperationPolicy extends
    * @param parameterizedPolicies list of {@link Policy} to chain together.
    * @param operationPolicyParametersTransformer transformer from the operation parameters to a message and vice versa.
    * @param operationPolicyProcessorFactory factory for creating each {@link OperationPolicy} from a {@link Policy}
-   * @param operationExecutionFunction the function that executes the operation.
    */
   public CompositeOperationPolicy(List<Policy> parameterizedPolicies,
                                   Optional<OperationPolicyParametersTransformer> operationPolicyParametersTransformer,
-                                  OperationPolicyProcessorFactory operationPolicyProcessorFactory,
-                                  OperationParametersProcessor operationParametersProcessor,
-                                  OperationExecutionFunction operationExecutionFunction) {
-    super(parameterizedPolicies, operationPolicyParametersTransformer, operationParametersProcessor);
-    this.nextOperation = (event) -> {
-      try {
-        Map<String, Object> parametersMap = new HashMap<>();
-        parametersMap.putAll(operationParametersProcessor.getOperationParameters());
-        if (operationPolicyParametersTransformer.isPresent()) {
-          parametersMap
-              .putAll(operationPolicyParametersTransformer.get().fromMessageToParameters(event.getMessage()));
-        }
-        return operationExecutionFunction.execute(parametersMap, event);
-      } catch (MuleException e) {
-        throw e;
-      } catch (Exception e) {
-        throw new DefaultMuleException(e);
-      }
-    };
+                                  OperationPolicyProcessorFactory operationPolicyProcessorFactory) {
+    super(parameterizedPolicies, operationPolicyParametersTransformer);
     this.operationPolicyProcessorFactory = operationPolicyProcessorFactory;
   }
 
   /**
-   * Stores the operation result so all the chains after the operation execution are executed with the actual operation result and
-   * not a modified version from another policy.
+   * Executes the operation, storing its result so all the chains after the operation execution are executed with the actual
+   * operation result and not a modified version from another policy.
    *
    * @param event the event to execute the operation.
+   * @param execution the operation call.
    */
   @Override
-  protected Event processNextOperation(Event event) throws MuleException {
-    nextOperationResponse = nextOperation.process(event);
-    return nextOperationResponse;
+  protected Event processNextOperation(Event event, OperationExecution execution) throws MuleException {
+    try {
+      Map<String, Object> parametersMap = new HashMap<>();
+      parametersMap.putAll(execution.operationParametersProcessor.getOperationParameters());
+      if (getParametersTransformer().isPresent()) {
+        parametersMap.putAll(getParametersTransformer().get().fromMessageToParameters(event.getMessage()));
+      }
+      execution.nextOperationResponse = execution.operationExecutionFunction.execute(parametersMap, event);
+      return execution.nextOperationResponse;
+    } catch (MuleException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DefaultMuleException(e);
+    }
   }
 
   /**
@@ -91,21 +82,50 @@ public class CompositeOperationPolicy extends
    * @param policy the policy to execute.
    * @param nextProcessor the processor to execute when the policy next-processor gets executed
    * @param event the event to use to execute the policy chain.
+   * @param execution the operation call.
    */
   @Override
-  protected Event processPolicy(Policy policy, Processor nextProcessor, Event event)
+  protected Event processPolicy(Policy policy, Processor nextProcessor, Event event, OperationExecution execution)
       throws Exception {
     Processor defaultOperationPolicy =
         operationPolicyProcessorFactory.createOperationPolicy(policy, nextProcessor);
     defaultOperationPolicy.process(event);
-    return nextOperationResponse;
+    return execution.nextOperationResponse;
   }
 
-  @Override
-  public Event process(Event operationEvent) throws Exception {
-    Message message = getParametersTransformer().isPresent()
-        ? getParametersTransformer().get().fromParametersToMessage(getParametersProcessor().getOperationParameters())
-        : operationEvent.getMessage();
-    return processPolicies(Event.builder(operationEvent).message((InternalMessage) message).build());
+  /**
+   * Creates the {@link OperationPolicy} for an operation call.
+   *
+   * @param operationParametersProcessor provides the parameters of the operation call
+   * @param operationExecutionFunction the function that executes the operation.
+   * @return an {@link OperationPolicy} that processes the operation call through the policies.
+   */
+  public OperationPolicy createOperationPolicy(OperationParametersProcessor operationParametersProcessor,
+                                               OperationExecutionFunction operationExecutionFunction) {
+    return new OperationExecution(operationParametersProcessor, operationExecutionFunction);
+  }
+
+  /**
+   * {@link OperationPolicy} for a single operation call, which keeps the state of its execution.
+   */
+  final class OperationExecution implements OperationPolicy {
+
+    private final OperationParametersProcessor operationParametersProcessor;
+    private final OperationExecutionFunction operationExecutionFunction;
+    private Event nextOperationResponse;
+
+    private OperationExecution(OperationParametersProcessor operationParametersProcessor,
+                               OperationExecutionFunction operationExecutionFunction) {
+      this.operationParametersProcessor = operationParametersProcessor;
+      this.operationExecutionFunction = operationExecutionFunction;
+    }
+
+    @Override
+    public Event process(Event operationEvent) throws Exception {
+      Message message = getParametersTransformer().isPresent()
+          ? getParametersTransformer().get().fromParametersToMessage(operationParametersProcessor.getOperationParameters())
+          : operationEvent.getMessage();
+      return processPolicies(Event.builder(operationEvent).message((InternalMessage) message).build(), this);
+    }
   }
 }
@@ -23,20 +23,16 @@ import java.util.Map;
 import java.util.Optional;
 
 /**
- * {@link SourcePolicy} created from a list of {@link Policy}.
+ * Chain of source {@link Policy policies}, from which a {@link SourcePolicy} is created for each event generated by a source.
  * <p>
  * Implements the template methods from {@link AbstractCompositePolicy} required to work with source policies.
  *
  * @since 4.0
  */
 public class CompositeSourcePolicy extends
-    AbstractCompositePolicy<SourcePolicyParametersTransformer, MessageSourceResponseParametersProcessor> implements SourcePolicy {
+    AbstractCompositePolicy<SourcePolicyParametersTransformer, CompositeSourcePolicy.SourceExecution> {
 
-  private final Processor flowExecutionProcessor;
   private final SourcePolicyProcessorFactory sourcePolicyProcessorFactory;
-  private Map<String, Object> originalResponseParameters;
-  private Map<String, Object> originalFailureResponseParameters;
-  private Event flowExecutionResponse;
 
   /**
    * Creates a new source policies composed by several {@link Policy} that will be chain together.
@@ -44,17 +40,12 @@ public class CompositeSourcePolicy extends
    * @param parameterizedPolicies the list of policies to use in this composite policy.
    * @param sourcePolicyParametersTransformer a transformer from a source response parameters to a message and vice versa
    * @param sourcePolicyProcessorFactory factory to create a {@link Processor} from each {@link Policy}
-   * @param flowExecutionProcessor the operation that executes the flow
-   * @param messageSourceResponseParametersProcessor processor that gives access to the set of parameters to be sent originally by
-   *        the source
    */
   public CompositeSourcePolicy(List<Policy> parameterizedPolicies,
                                Optional<SourcePolicyParametersTransformer> sourcePolicyParametersTransformer,
-                               SourcePolicyProcessorFactory sourcePolicyProcessorFactory, Processor flowExecutionProcessor,
-                               MessageSourceResponseParametersProcessor messageSourceResponseParametersProcessor) {
-    super(parameterizedPolicies, sourcePolicyParametersTransformer, messageSourceResponseParametersProcessor);
+                               SourcePolicyProcessorFactory sourcePolicyProcessorFactory) {
+    super(parameterizedPolicies, sourcePolicyParametersTransformer);
     this.sourcePolicyProcessorFactory = sourcePolicyProcessorFactory;
-    this.flowExecutionProcessor = flowExecutionProcessor;
   }
 
   /**
@@ -74,18 +65,20 @@ public class CompositeSourcePolicy extends
    * {@link MessagingException} to signal that the failure was through the the flow exception and not the policy logic.
    */
   @Override
-  protected Event processNextOperation(Event event) throws MuleException {
+  protected Event processNextOperation(Event event, SourceExecution execution) throws MuleException {
     try {
-      flowExecutionResponse = flowExecutionProcessor.process(event);
-      originalResponseParameters =
-          getParametersProcessor().getSuccessfulExecutionResponseParametersFunction().apply(flowExecutionResponse);
+      Event flowExecutionResponse = execution.flowExecutionProcessor.process(event);
+      Map<String, Object> originalResponseParameters = execution.messageSourceResponseParametersProcessor
+          .getSuccessfulExecutionResponseParametersFunction().apply(flowExecutionResponse);
+      execution.originalResponseParameters = originalResponseParameters;
       Message message = getParametersTransformer()
           .map(parametersTransformer -> parametersTransformer.fromSuccessResponseParametersToMessage(originalResponseParameters))
           .orElseGet(flowExecutionResponse::getMessage);
       return Event.builder(event).message((InternalMessage) message).build();
     } catch (MessagingException messagingException) {
-      originalFailureResponseParameters =
-          getParametersProcessor().getFailedExecutionResponseParametersFunction().apply(messagingException.getEvent());
+      Map<String, Object> originalFailureResponseParameters = execution.messageSourceResponseParametersProcessor
+          .getFailedExecutionResponseParametersFunction().apply(messagingException.getEvent());
+      execution.originalFailureResponseParameters = originalFailureResponseParameters;
       Message message = getParametersTransformer()
           .map(parametersTransformer -> parametersTransformer
               .fromFailureResponseParametersToMessage(originalFailureResponseParameters))
@@ -101,7 +94,7 @@ public class CompositeSourcePolicy extends
    * wrapped policy / flow.
    */
   @Override
-  protected Event processPolicy(Policy policy, Processor nextProcessor, Event event)
+  protected Event processPolicy(Policy policy, Processor nextProcessor, Event event, SourceExecution execution)
       throws Exception {
     Processor defaultSourcePolicy =
         sourcePolicyProcessorFactory.createSourcePolicy(policy, nextProcessor);
@@ -109,41 +102,16 @@ public class CompositeSourcePolicy extends
   }
 
   /**
-   * Process the set of policies.
-   * 
-   * When there's a {@link SourcePolicyParametersTransformer} then the final set of parameters to be sent by the response function
-   * and the error response function will be calculated based on the output of the policy chain. If there's no
-   * {@link SourcePolicyParametersTransformer} then those parameters will be exactly the one defined by the message source.
-   * 
-   * @param sourceEvent the event generated from the source.
-   * @return a {@link SuccessSourcePolicyResult} which contains the response parameters and the result event of the execution or a
-   *         {@link FailureSourcePolicyResult} which contains the failure response parameters and the {@link MessagingException}
-   *         thrown by the policy chain execution.
-   * @throws Exception if there was an unexpected failure thrown by executing the chain.
+   * Creates the {@link SourcePolicy} for an event generated by a source.
+   *
+   * @param flowExecutionProcessor the operation that executes the flow
+   * @param messageSourceResponseParametersProcessor processor that gives access to the set of parameters to be sent originally by
+   *        the source
+   * @return a {@link SourcePolicy} that processes the event through the policies.
    */
-  @Override
-  public Either<FailureSourcePolicyResult, SuccessSourcePolicyResult> process(Event sourceEvent) throws Exception {
-    try {
-      Event policiesResultEvent = processPolicies(sourceEvent);
-      Map<String, Object> responseParameters =
-          getParametersTransformer().map(parametersTransformer -> concatMaps(originalResponseParameters, parametersTransformer
-              .fromMessageToSuccessResponseParameters(policiesResultEvent.getMessage()))).orElse(originalResponseParameters);
-      return right(new SuccessSourcePolicyResult(policiesResultEvent, responseParameters, getParametersProcessor()));
-    } catch (FlowExecutionException e) {
-      Map<String, Object> responseParameters =
-          getParametersTransformer()
-              .map(parametersTransformer -> concatMaps(originalFailureResponseParameters, parametersTransformer
-                  .fromMessageToErrorResponseParameters(e.getEvent().getMessage())))
-              .orElse(originalFailureResponseParameters);
-      return left(new FailureSourcePolicyResult(e, responseParameters));
-    } catch (MessagingException e) {
-      Map<String, Object> responseParameters =
-          getParametersTransformer()
-              .map(parametersTransformer -> concatMaps(originalFailureResponseParameters, parametersTransformer
-                  .fromMessageToErrorResponseParameters(Message.builder().nullPayload().build())))
-              .orElse(originalFailureResponseParameters);
-      return left(new FailureSourcePolicyResult(e, responseParameters));
-    }
+  public SourcePolicy createSourcePolicy(Processor flowExecutionProcessor,
+                                         MessageSourceResponseParametersProcessor messageSourceResponseParametersProcessor) {
+    return new SourceExecution(flowExecutionProcessor, messageSourceResponseParametersProcessor);
   }
 
   private Map<String, Object> concatMaps(Map<String, Object> originalResponseParameters,
@@ -156,4 +124,60 @@ public class CompositeSourcePolicy extends
     return concatMap;
   }
 
+  /**
+   * {@link SourcePolicy} for a single event generated by a source, which keeps the state of its execution.
+   */
+  final class SourceExecution implements SourcePolicy {
+
+    private final Processor flowExecutionProcessor;
+    private final MessageSourceResponseParametersProcessor messageSourceResponseParametersProcessor;
+    private Map<String, Object> originalResponseParameters;
+    private Map<String, Object> originalFailureResponseParameters;
+
+    private SourceExecution(Processor flowExecutionProcessor,
+                            MessageSourceResponseParametersProcessor messageSourceResponseParametersProcessor) {
+      this.flowExecutionProcessor = flowExecutionProcessor;
+      this.messageSourceResponseParametersProcessor = messageSourceResponseParametersProcessor;
+    }
+
+    /**
+     * Process the set of policies.
+     * 
+     * When there's a {@link SourcePolicyParametersTransformer} then the final set of parameters to be sent by the response
+     * function and the error response function will be calculated based on the output of the policy chain. If there's no
+     * {@link SourcePolicyParametersTransformer} then those parameters will be exactly the one defined by the message source.
+     * 
+     * @param sourceEvent the event generated from the source.
+     * @return a {@link SuccessSourcePolicyResult} which contains the response parameters and the result event of the execution
+     *         or a {@link FailureSourcePolicyResult} which contains the failure response parameters and the
+     *         {@link MessagingException} thrown by the policy chain execution.
+     * @throws Exception if there was an unexpected failure thrown by executing the chain.
+     */
+    @Override
+    public Either<FailureSourcePolicyResult, SuccessSourcePolicyResult> process(Event sourceEvent) throws Exception {
+      try {
+        Event policiesResultEvent = processPolicies(sourceEvent, this);
+        Map<String, Object> responseParameters =
+            getParametersTransformer().map(parametersTransformer -> concatMaps(originalResponseParameters, parametersTransformer
+                .fromMessageToSuccessResponseParameters(policiesResultEvent.getMessage()))).orElse(originalResponseParameters);
+        return right(new SuccessSourcePolicyResult(policiesResultEvent, responseParameters,
+                                                   messageSourceResponseParametersProcessor));
+      } catch (FlowExecutionException e) {
+        Map<String, Object> responseParameters =
+            getParametersTransformer()
+                .map(parametersTransformer -> concatMaps(originalFailureResponseParameters, parametersTransformer
+                    .fromMessageToErrorResponseParameters(e.getEvent().getMessage())))
+                .orElse(originalFailureResponseParameters);
+        return left(new FailureSourcePolicyResult(e, responseParameters));
+      } catch (MessagingException e) {
+        Map<String, Object> responseParameters =
+            getParametersTransformer()
+                .map(parametersTransformer -> concatMaps(originalFailureResponseParameters, parametersTransformer
+                    .fromMessageToErrorResponseParameters(Message.builder().nullPayload().build())))
+                .orElse(originalFailureResponseParameters);
+        return left(new FailureSourcePolicyResult(e, responseParameters));
+      }
+    }
+  }
+
 }
@@ -6,7 +6,12 @@
  */
 package org.mule.runtime.core.policy;
 
+import static com.google.common.cache.CacheBuilder.newBuilder;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.api.functional.Either.right;
 
@@ -25,10 +30,16 @@ import org.mule.runtime.core.exception.MessagingException;
 import org.mule.runtime.core.api.functional.Either;
 import org.mule.runtime.dsl.api.component.config.ComponentIdentifier;
 
+import com.google.common.cache.Cache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -37,11 +48,27 @@ import javax.inject.Inject;
 
 /**
  * Default implementation of {@link PolicyManager}.
+ * <p>
+ * The pointcut parameters factory and the parameters transformer of each component are looked up once. If the
+ * {@link PolicyProvider} notifies when its policies change, the composite policy built from the policies found for each
+ * {@link PolicyPointcutParameters} is cached and reused for every execution until then. Only the pointcut parameters of a class
+ * that directly implements {@link CacheablePolicyPointcutParameters} are cached, the policies for any other are found on each
+ * execution.
  *
  * @since 4.0
  */
 public class DefaultPolicyManager implements PolicyManager, Initialisable {
 
+  private static final int MAX_CACHED_POINTCUT_PARAMETERS = 1024;
+
+  private static final ClassValue<Boolean> CACHEABLE_POINTCUT_PARAMETERS = new ClassValue<Boolean>() {
+
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      return asList(type.getInterfaces()).contains(CacheablePolicyPointcutParameters.class);
+    }
+  };
+
   @Inject
   private MuleContext muleContext;
 
@@ -56,13 +83,24 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
   private OperationPolicyProcessorFactory operationPolicyProcessorFactory;
   private SourcePolicyProcessorFactory sourcePolicyProcessorFactory;
 
+  private final Map<ComponentIdentifier, Optional<SourcePolicyPointcutParametersFactory>> sourcePointcutFactoryCache =
+      new ConcurrentHashMap<>();
+  private final Map<ComponentIdentifier, Optional<OperationPolicyPointcutParametersFactory>> operationPointcutFactoryCache =
+      new ConcurrentHashMap<>();
+  private final Map<ComponentIdentifier, Optional<SourcePolicyParametersTransformer>> sourceParametersTransformerCache =
+      new ConcurrentHashMap<>();
+  private final Map<ComponentIdentifier, Optional<OperationPolicyParametersTransformer>> operationParametersTransformerCache =
+      new ConcurrentHashMap<>();
+  private boolean cachePolicies;
+  private volatile ResolvedPolicies resolvedPolicies = new ResolvedPolicies();
+
   @Override
   public SourcePolicy createSourcePolicyInstance(ComponentIdentifier sourceIdentifier, Event sourceEvent,
                                                  Processor flowExecutionProcessor,
                                                  MessageSourceResponseParametersProcessor messageSourceResponseParametersProcessor) {
     PolicyPointcutParameters sourcePointcutParameters = createSourcePointcutParameters(sourceIdentifier, sourceEvent);
-    List<Policy> parameterizedPolicies = policyProvider.findSourceParameterizedPolicies(sourcePointcutParameters);
-    if (parameterizedPolicies.isEmpty()) {
+    Optional<CompositeSourcePolicy> compositeSourcePolicy = findSourcePolicy(sourceIdentifier, sourcePointcutParameters);
+    if (!compositeSourcePolicy.isPresent()) {
       return event -> {
         try {
           Event flowExecutionResult = flowExecutionProcessor.process(sourceEvent);
@@ -87,10 +125,7 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
         }
       };
     }
-    return new CompositeSourcePolicy(parameterizedPolicies,
-                                     lookupSourceParametersTransformer(sourceIdentifier),
-                                     sourcePolicyProcessorFactory, flowExecutionProcessor,
-                                     messageSourceResponseParametersProcessor);
+    return compositeSourcePolicy.get().createSourcePolicy(flowExecutionProcessor, messageSourceResponseParametersProcessor);
   }
 
   @Override
@@ -100,24 +135,66 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
 
     PolicyPointcutParameters operationPointcutParameters =
         createOperationPointcutParameters(operationIdentifier, operationParameters, event.getContext().getOriginatingFlowName());
-    List<Policy> parameterizedPolicies = policyProvider.findOperationParameterizedPolicies(operationPointcutParameters);
-    if (parameterizedPolicies.isEmpty()) {
+    Optional<CompositeOperationPolicy> compositeOperationPolicy =
+        findOperationPolicy(operationIdentifier, operationPointcutParameters);
+    if (!compositeOperationPolicy.isPresent()) {
       return (operationEvent) -> operationExecutionFunction.execute(operationParameters, operationEvent);
     }
-    return new CompositeOperationPolicy(parameterizedPolicies, lookupOperationParametersTransformer(operationIdentifier),
-                                        operationPolicyProcessorFactory, () -> operationParameters, operationExecutionFunction);
+    return compositeOperationPolicy.get().createOperationPolicy(() -> operationParameters, operationExecutionFunction);
+  }
+
+  private Optional<CompositeSourcePolicy> findSourcePolicy(ComponentIdentifier sourceIdentifier,
+                                                           PolicyPointcutParameters sourcePointcutParameters) {
+    return findPolicy(resolvedPolicies.sourcePolicies, sourcePointcutParameters, pointcutParameters -> {
+      List<Policy> parameterizedPolicies = policyProvider.findSourceParameterizedPolicies(pointcutParameters);
+      if (parameterizedPolicies.isEmpty()) {
+        return empty();
+      }
+      return of(new CompositeSourcePolicy(unmodifiableList(new ArrayList<>(parameterizedPolicies)),
+                                          lookupSourceParametersTransformer(sourceIdentifier), sourcePolicyProcessorFactory));
+    });
+  }
+
+  private Optional<CompositeOperationPolicy> findOperationPolicy(ComponentIdentifier operationIdentifier,
+                                                                 PolicyPointcutParameters operationPointcutParameters) {
+    return findPolicy(resolvedPolicies.operationPolicies, operationPointcutParameters, pointcutParameters -> {
+      List<Policy> parameterizedPolicies = policyProvider.findOperationParameterizedPolicies(pointcutParameters);
+      if (parameterizedPolicies.isEmpty()) {
+        return empty();
+      }
+      return of(new CompositeOperationPolicy(unmodifiableList(new ArrayList<>(parameterizedPolicies)),
+                                             lookupOperationParametersTransformer(operationIdentifier),
+                                             operationPolicyProcessorFactory));
+    });
+  }
+
+  private <T> Optional<T> findPolicy(Cache<PolicyPointcutParameters, Optional<T>> policiesCache,
+                                     PolicyPointcutParameters policyPointcutParameters,
+                                     Function<PolicyPointcutParameters, Optional<T>> policyComposer) {
+    if (!cachePolicies || !CACHEABLE_POINTCUT_PARAMETERS.get(policyPointcutParameters.getClass())) {
+      return policyComposer.apply(policyPointcutParameters);
+    }
+    try {
+      return policiesCache.get(policyPointcutParameters, () -> policyComposer.apply(policyPointcutParameters));
+    } catch (UncheckedExecutionException e) {
+      throw (RuntimeException) e.getCause();
+    } catch (ExecutionException e) {
+      throw new MuleRuntimeException(e.getCause());
+    }
   }
 
   private Optional<OperationPolicyParametersTransformer> lookupOperationParametersTransformer(ComponentIdentifier componentIdentifier) {
-    return operationPolicyParametersTransformerCollection.stream()
-        .filter(policyOperationParametersTransformer -> policyOperationParametersTransformer.supports(componentIdentifier))
-        .findAny();
+    return operationParametersTransformerCache
+        .computeIfAbsent(componentIdentifier, identifier -> operationPolicyParametersTransformerCollection.stream()
+            .filter(policyOperationParametersTransformer -> policyOperationParametersTransformer.supports(identifier))
+            .findAny());
   }
 
   private Optional<SourcePolicyParametersTransformer> lookupSourceParametersTransformer(ComponentIdentifier componentIdentifier) {
-    return sourcePolicyParametersTransformerCollection.stream()
-        .filter(policyOperationParametersTransformer -> policyOperationParametersTransformer.supports(componentIdentifier))
-        .findAny();
+    return sourceParametersTransformerCache
+        .computeIfAbsent(componentIdentifier, identifier -> sourcePolicyParametersTransformerCollection.stream()
+            .filter(policyOperationParametersTransformer -> policyOperationParametersTransformer.supports(identifier))
+            .findAny());
   }
 
 
@@ -136,6 +213,7 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
           muleContext.getRegistry().lookupObjects(OperationPolicyParametersTransformer.class);
       sourcePointcutFactories = muleContext.getRegistry().lookupObjects(SourcePolicyPointcutParametersFactory.class);
       operationPointcutFactories = muleContext.getRegistry().lookupObjects(OperationPolicyPointcutParametersFactory.class);
+      cachePolicies = policyProvider.onPoliciesChanged(() -> resolvedPolicies = new ResolvedPolicies());
     } catch (RegistrationException e) {
       throw new InitialisationException(e, this);
     }
@@ -144,6 +222,7 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
   private PolicyPointcutParameters createSourcePointcutParameters(ComponentIdentifier sourceIdentifier, Event sourceEvent) {
     return createPointcutParameters(sourceIdentifier, sourceEvent.getContext().getOriginatingFlowName(),
                                     SourcePolicyPointcutParametersFactory.class, sourcePointcutFactories,
+                                    sourcePointcutFactoryCache,
                                     factory -> factory.supportsSourceIdentifier(sourceIdentifier),
                                     factory -> factory.createPolicyPointcutParameters(sourceEvent.getContext()
                                         .getOriginatingFlowName(), sourceIdentifier, sourceEvent.getMessage().getAttributes()));
@@ -153,7 +232,7 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
                                                                      Map<String, Object> operationParameters,
                                                                      String originatingFlowName) {
     return createPointcutParameters(operationIdentifier, originatingFlowName, OperationPolicyPointcutParametersFactory.class,
-                                    operationPointcutFactories,
+                                    operationPointcutFactories, operationPointcutFactoryCache,
                                     factory -> factory.supportsOperationIdentifier(operationIdentifier),
                                     factory -> factory.createPolicyPointcutParameters(originatingFlowName, operationIdentifier,
                                                                                       operationParameters));
@@ -161,18 +240,22 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
 
   private <T> PolicyPointcutParameters createPointcutParameters(ComponentIdentifier componentIdentifier, String flowName,
                                                                 Class<T> factoryType, Collection<T> factories,
+                                                                Map<ComponentIdentifier, Optional<T>> factoryCache,
                                                                 Predicate<T> factoryFilter,
                                                                 Function<T, PolicyPointcutParameters> policyPointcutParametersCreationFunction) {
-    List<T> policyPointcutParametersFactories = factories.stream()
-        .filter(factoryFilter)
-        .collect(Collectors.toList());
-    if (policyPointcutParametersFactories.size() > 1) {
-      return throwMoreThanOneFactoryFoundException(componentIdentifier, factoryType);
-    }
-    if (policyPointcutParametersFactories.isEmpty()) {
+    Optional<T> policyPointcutParametersFactory = factoryCache.computeIfAbsent(componentIdentifier, identifier -> {
+      List<T> policyPointcutParametersFactories = factories.stream()
+          .filter(factoryFilter)
+          .collect(Collectors.toList());
+      if (policyPointcutParametersFactories.size() > 1) {
+        throwMoreThanOneFactoryFoundException(componentIdentifier, factoryType);
+      }
+      return policyPointcutParametersFactories.stream().findFirst();
+    });
+    if (!policyPointcutParametersFactory.isPresent()) {
       return new PolicyPointcutParameters(flowName, componentIdentifier);
     }
-    return policyPointcutParametersCreationFunction.apply(policyPointcutParametersFactories.get(0));
+    return policyPointcutParametersCreationFunction.apply(policyPointcutParametersFactory.get());
   }
 
   private PolicyPointcutParameters throwMoreThanOneFactoryFoundException(ComponentIdentifier sourceIdentifier,
@@ -187,4 +270,16 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
     policyStateHandler.destroyState(executionIdentifier);
   }
 
+  /**
+   * The composite policies built for each {@link PolicyPointcutParameters} since the last time the policies changed, empty when
+   * no policy applies.
+   */
+  private static final class ResolvedPolicies {
+
+    private final Cache<PolicyPointcutParameters, Optional<CompositeSourcePolicy>> sourcePolicies =
+        newBuilder().maximumSize(MAX_CACHED_POINTCUT_PARAMETERS).build();
+    private final Cache<PolicyPointcutParameters, Optional<CompositeOperationPolicy>> operationPolicies =
+        newBuilder().maximumSize(MAX_CACHED_POINTCUT_PARAMETERS).build();
+  }
+
 }
@@ -26,4 +26,10 @@ public class NullPolicyProvider implements PolicyProvider {
   public List<Policy> findOperationParameterizedPolicies(PolicyPointcutParameters policyPointcutParameters) {
     return emptyList();
   }
+
+  @Override
+  public boolean onPoliciesChanged(Runnable policiesChangedCallback) {
+    // The policies never change
+    return true;
+  }
 }
@@ -8,15 +8,20 @@ package org.mule.runtime.core.policy;
 
 import org.mule.runtime.dsl.api.component.config.ComponentIdentifier;
 
+import java.util.Objects;
+
 /**
  * This class defines a set of parameters related to the execution of a component. In particular to the execution of a source or
  * an operation.
  * 
  * These parameters will later by used during policy lookup in {@link PolicyProvider} to match it against a configured pointcut.
  * 
+ * The policies found for a set of parameters are cached only for the classes that implement
+ * {@link CacheablePolicyPointcutParameters}.
+ * 
  * @since 4.0
  */
-public class PolicyPointcutParameters {
+public class PolicyPointcutParameters implements CacheablePolicyPointcutParameters {
 
   private final ComponentIdentifier componentIdentifier;
   private final String flowName;
@@ -48,4 +53,21 @@ public class PolicyPointcutParameters {
     return flowName;
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    PolicyPointcutParameters that = (PolicyPointcutParameters) o;
+    return Objects.equals(flowName, that.flowName) && Objects.equals(componentIdentifier, that.componentIdentifier);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(flowName, componentIdentifier);
+  }
+
 }
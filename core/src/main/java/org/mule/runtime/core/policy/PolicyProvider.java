@@ -35,4 +35,18 @@ public interface PolicyProvider {
    */
   List<Policy> findOperationParameterizedPolicies(PolicyPointcutParameters policyPointcutParameters);
 
+  /**
+   * Registers a callback to be invoked every time the policies found by this provider may have changed, for instance because a
+   * policy was applied or removed.
+   * <p>
+   * The policies found by a provider that doesn't notify its changes are looked up again for every source or operation execution.
+   *
+   * @param policiesChangedCallback the callback to invoke when the policies change.
+   * @return {@code true} if the callback will be invoked on every change, {@code false} if this provider doesn't notify its
+   *         changes.
+   */
+  default boolean onPoliciesChanged(Runnable policiesChangedCallback) {
+    return false;
+  }
+
 }
@@ -9,14 +9,19 @@ package org.mule.runtime.core.routing;
 import static java.util.Collections.singletonList;
 import static org.mule.runtime.core.routing.MapSplitter.MAP_ENTRY_KEY;
 import org.mule.runtime.core.api.Event;
+import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.api.el.ExpressionEvaluator;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.expression.ExpressionConfig;
+import org.mule.runtime.core.routing.outbound.CollectionMessageSequence;
+import org.mule.runtime.core.routing.outbound.IteratorMessageSequence;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -49,20 +54,64 @@ public class ExpressionSplitter extends AbstractSplitter implements Initialisabl
     config.validate(expressionManager);
   }
 
+  /**
+   * An {@link Iterator} result is consumed as the parts are processed, instead of being read in advance.
+   */
+  @Override
+  protected MessageSequence<?> splitMessageIntoSequence(Event event) throws MuleException {
+    Object result = evaluate(event);
+    if (result instanceof Iterator<?>) {
+      Iterator<?> values = (Iterator<?>) result;
+      return new IteratorMessageSequence(new Iterator<Event>() {
+
+        @Override
+        public boolean hasNext() {
+          return values.hasNext();
+        }
+
+        @Override
+        public Event next() {
+          return createSplitEvent(event, values.next());
+        }
+      });
+    }
+    return new CollectionMessageSequence(splitResult(event, result));
+  }
+
   @Override
   protected List<Event> splitMessage(Event event) {
-    Object result =
-        muleContext.getExpressionManager().evaluate(config.getFullExpression(expressionManager), event, flowConstruct)
-            .getValue();
+    return splitResult(event, evaluate(event));
+  }
+
+  private Object evaluate(Event event) {
+    return muleContext.getExpressionManager().evaluate(config.getFullExpression(expressionManager), event, flowConstruct)
+        .getValue();
+  }
+
+  private Event createSplitEvent(Event event, Object value) {
+    return Event.builder(event).message(InternalMessage.builder().payload(value).build()).build();
+  }
+
+  private List<Event> splitResult(Event event, Object result) {
     if (result instanceof Object[]) {
       result = Arrays.asList((Object[]) result);
     }
     if (result instanceof Iterable<?>) {
-      List<Event> messages = new ArrayList<>();
-      ((Iterable<?>) result).iterator()
-          .forEachRemaining(value -> messages
-              .add(Event.builder(event).message(InternalMessage.builder().payload(value).build()).build()));
-      return messages;
+      // Only the values are copied, the event for each one is created when it is actually processed
+      List<Object> values = new ArrayList<>();
+      ((Iterable<?>) result).forEach(values::add);
+      return new AbstractList<Event>() {
+
+        @Override
+        public Event get(int index) {
+          return createSplitEvent(event, values.get(index));
+        }
+
+        @Override
+        public int size() {
+          return values.size();
+        }
+      };
     } else if (result instanceof Map<?, ?>) {
       List<Event> list = new LinkedList<>();
       Set<Map.Entry<?, ?>> set = ((Map) result).entrySet();
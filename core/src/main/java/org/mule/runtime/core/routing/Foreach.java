@@ -6,10 +6,14 @@
  */
 package org.mule.runtime.core.routing;
 
+import static java.lang.String.format;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.exception.LocatedMuleException.INFO_LOCATION_KEY;
 import static org.mule.runtime.core.api.processor.MessageProcessors.newChain;
+import static org.mule.runtime.core.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
 
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.Event;
@@ -18,6 +22,7 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.processor.MessageProcessorPathElement;
 import org.mule.runtime.core.api.transformer.TransformerException;
@@ -50,6 +55,10 @@ import org.w3c.dom.Document;
  * <p>
  * Defining a groupSize greater than one, allows iterating over collections of elements of the specified size.
  * <p>
+ * Defining a maxConcurrency greater than one, allows processing up to that number of elements at the same time. In that case
+ * the variables set while processing an element are not visible to the following ones, and the error of every element that
+ * failed is reported in a {@link CompositeRoutingException}.
+ * <p>
  * The {@link Event} sent to the next message processor is the same that arrived to foreach.
  */
 public class Foreach extends AbstractMessageProcessorOwner implements Initialisable, Processor {
@@ -69,6 +78,9 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
   private String rootMessageVariableName;
   private String counterVariableName;
   private boolean xpathCollection;
+  private int maxConcurrency = 1;
+  private boolean preserveOrder = true;
+  private Scheduler scheduler;
 
   @Override
   public Event process(Event event) throws MuleException {
@@ -181,6 +193,8 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     }
     splitter.setBatchSize(batchSize);
     splitter.setCounterVariableName(counterVariableName);
+    splitter.setMaxConcurrency(maxConcurrency);
+    splitter.setPreserveOrder(preserveOrder);
     splitter.setMuleContext(muleContext);
 
     List<Processor> chainProcessors = new ArrayList<>();
@@ -190,6 +204,27 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     super.initialise();
   }
 
+  @Override
+  public void start() throws MuleException {
+    if (maxConcurrency > 1) {
+      scheduler = muleContext.getSchedulerService()
+          .ioScheduler(config().withName(format("%s%s.%s", getPrefix(muleContext),
+                                                flowConstruct != null ? flowConstruct.getName() : "", "foreach")));
+      splitter.setScheduler(scheduler);
+    }
+    super.start();
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    super.stop();
+    if (scheduler != null) {
+      splitter.setScheduler(null);
+      scheduler.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
+      scheduler = null;
+    }
+  }
+
   private boolean isXPathExpression(String expression) {
     return expression.matches("^xpath\\(.+\\)$") || expression.matches("^xpath3\\(.+\\)$");
   }
@@ -202,6 +237,21 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     this.batchSize = batchSize;
   }
 
+  /**
+   * Maximum number of elements processed at the same time. Elements are processed one after the other by default.
+   */
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  /**
+   * Whether the results of elements processed concurrently are collected in the order of the collection rather than in the order
+   * in which they complete. {@code true} by default.
+   */
+  public void setPreserveOrder(boolean preserveOrder) {
+    this.preserveOrder = preserveOrder;
+  }
+
   public void setRootMessageVariableName(String rootMessageVariableName) {
     this.rootMessageVariableName = rootMessageVariableName;
   }
@@ -7,8 +7,14 @@
 
 package org.mule.runtime.core.routing;
 
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
 import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.toList;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.api.processor.MessageProcessors.newChain;
 import static org.mule.runtime.core.api.processor.MessageProcessors.newExplicitChain;
 import static org.mule.runtime.core.config.i18n.CoreMessages.noEndpointsForRouter;
@@ -16,12 +22,21 @@ import static org.mule.runtime.core.routing.AbstractRoutingStrategy.validateMess
 import static org.mule.runtime.core.api.rx.Exceptions.checkedConsumer;
 import static org.mule.runtime.core.api.rx.Exceptions.checkedFunction;
 import static org.mule.runtime.core.api.rx.Exceptions.rxExceptionToMuleException;
+import static org.mule.runtime.core.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
+import static reactor.core.Exceptions.unwrap;
+import static reactor.core.publisher.Flux.concat;
+import static reactor.core.publisher.Flux.defer;
+import static reactor.core.publisher.Flux.empty;
+import static reactor.core.publisher.Flux.error;
 import static reactor.core.publisher.Flux.from;
-import static reactor.core.publisher.Flux.fromIterable;
 import static reactor.core.publisher.Flux.just;
+import static reactor.core.publisher.Flux.mergeSequential;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.util.Preconditions;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.message.ExceptionPayload;
@@ -31,6 +46,10 @@ import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.routing.AggregationContext;
 import org.mule.runtime.core.api.routing.CouldNotRouteOutboundMessageException;
 import org.mule.runtime.core.api.routing.RoutePathNotFoundException;
+import org.mule.runtime.core.api.routing.RoutingException;
+import org.mule.runtime.core.api.rx.Exceptions.EventDroppedException;
+import org.mule.runtime.core.exception.MessagingException;
+import org.mule.runtime.core.message.ErrorBuilder;
 import org.mule.runtime.core.processor.AbstractMessageProcessorOwner;
 import org.mule.runtime.core.routing.outbound.MulticastingRouter;
 import org.mule.runtime.core.util.NotificationUtils;
@@ -38,13 +57,18 @@ import org.mule.runtime.core.util.NotificationUtils;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
 
 /**
  * <p>
@@ -60,15 +84,26 @@ import reactor.core.publisher.Mono;
  * <li>When using {@link MulticastingRouter} changes to the payload performed in route n are visible in route (n+1). When using
  * {@link ScatterGatherRouter}, each route has different shallow copies of the original event</li>
  * <li>{@link MulticastingRouter} throws {@link CouldNotRouteOutboundMessageException} upon route failure and stops processing.
- * When catching the exception, you'll have no information about the result of any prior routes. {@link ScatterGatherRouter} will
- * process all routes no matter what. It will also aggregate the results of all routes into a {@link Collection} in which each
- * entry has the {@link ExceptionPayload} set accordingly and then will throw a {@link CompositeRoutingException} which will give
- * you visibility over the output of other routes.</li>
+ * When catching the exception, you'll have no information about the result of any prior routes. {@link ScatterGatherRouter}
+ * aggregates the results of all routes into a {@link Collection} in which each entry has the {@link ExceptionPayload} set
+ * accordingly and then will throw a {@link CompositeRoutingException} which will give you visibility over the output of other
+ * routes.</li>
  * </ul>
  * <p>
  * For advanced use cases, a custom {@link AggregationStrategy} can be applied to customize the logic used to aggregate the route
  * responses back into one single element or to throw exception
  * <p>
+ * Routes are processed one after the other unless {@link #setParallel(boolean) parallel} is enabled, in which case all the
+ * routes of a started router are subscribed to at the same time, each one on its own thread, so the overall processing time is
+ * that of the slowest route instead of the sum of all of them. Parallel routing is enabled by default.
+ * <p>
+ * The {@link #setTimeout(long) timeout} is applied to each route, and the {@link #setOverallTimeout(long) overall timeout} to all
+ * the routes together. A route that is still running when the overall timeout expires fails as if its own timeout had expired.
+ * <p>
+ * A route that fails or times out cancels the routes still running and skips the ones not started yet. Each failure and
+ * cancellation is recorded in the event handed to the {@link AggregationStrategy} for that route index, which by default results
+ * in a {@link CompositeRoutingException}.
+ * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/BroadcastAggregate.html"<a/>
  * </p>
  * 
@@ -88,6 +123,11 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
    */
   private long timeout = 0;
 
+  /**
+   * Timeout in milliseconds to be applied to all the routes together. Values lower or equal to zero means no timeout
+   */
+  private long overallTimeout = 0;
+
   /**
    * The routes that the message will be sent to
    */
@@ -108,6 +148,11 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
    */
   private AggregationStrategy aggregationStrategy;
 
+  /**
+   * Scheduler used to subscribe to each route when running in parallel, only available while started
+   */
+  private volatile Scheduler routesScheduler;
+
   @Override
   public Event process(Event event) throws MuleException {
     try {
@@ -128,10 +173,101 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
     return from(publisher).doOnNext(checkedConsumer(event -> {
       assertMorethanOneRoute();
       validateMessageIsNotConsumable(event, event.getMessage());
-    })).concatMap(event -> from(fromIterable(routeChains).concatMap(processor -> just(event).transform(processor))).collectList()
+    })).concatMap(event -> route(event).collectList()
         .map(checkedFunction(list -> aggregationStrategy.aggregate(new AggregationContext(event, list)))));
   }
 
+  /**
+   * Routes the event to every route, either subscribing to all of them at once or one after the other. In both cases the results
+   * are emitted in route order, so the {@link AggregationContext} indexes correspond to the route indexes.
+   */
+  private Flux<Event> route(Event event) {
+    Scheduler scheduler = parallel ? routesScheduler : null;
+    long startNanos = nanoTime();
+    AtomicInteger failedRouteIndex = new AtomicInteger(-1);
+    MonoProcessor<Integer> routeFailed = MonoProcessor.create();
+    List<Flux<Event>> routeResults = new ArrayList<>(routeChains.size());
+    for (int i = 0; i < routeChains.size(); ++i) {
+      routeResults.add(routeResult(event, i, scheduler, startNanos, failedRouteIndex, routeFailed));
+    }
+    return scheduler != null ? mergeSequential(routeResults) : concat(routeResults);
+  }
+
+  /**
+   * @return the result of the route, or an event with the error of the route if it failed, timed out or was cancelled because
+   *         another route failed.
+   */
+  private Flux<Event> routeResult(Event event, int routeIndex, Scheduler scheduler, long startNanos,
+                                  AtomicInteger failedRouteIndex, MonoProcessor<Integer> routeFailed) {
+    Processor route = routeChains.get(routeIndex);
+    return defer(() -> {
+      if (failedRouteIndex.get() >= 0) {
+        return just(toCancelledRouteEvent(event, routeIndex, route, failedRouteIndex.get()));
+      }
+      long routeTimeout = routeTimeout(startNanos);
+      Flux<Event> result;
+      if (routeTimeout > 0) {
+        result = just(event).transform(route);
+        if (scheduler != null) {
+          result = result.subscribeOn(fromExecutorService(scheduler));
+        }
+        if (routeTimeout != Long.MAX_VALUE) {
+          result = result.timeoutMillis(routeTimeout);
+        }
+      } else {
+        // The overall timeout already expired while the previous routes were processed
+        result = error(new TimeoutException());
+      }
+      AtomicBoolean completed = new AtomicBoolean();
+      return result.doOnComplete(() -> completed.set(true)).takeUntilOther(routeFailed)
+          .switchIfEmpty(defer(() -> completed.get() ? Flux.<Event>empty()
+              : just(toCancelledRouteEvent(event, routeIndex, route, failedRouteIndex.get()))))
+          .onErrorResumeWith(EventDroppedException.class, ede -> empty())
+          .onErrorResumeWith(throwable -> {
+            if (failedRouteIndex.compareAndSet(-1, routeIndex)) {
+              routeFailed.onNext(routeIndex);
+            }
+            return just(toFailedRouteEvent(event, routeIndex, route, unwrap(throwable), routeTimeout));
+          });
+    });
+  }
+
+  /**
+   * @return the time in milliseconds a route subscribed to now may take, which is bounded both by the route timeout and by
+   *         what is left of the overall timeout of the routes started at {@code startNanos}.
+   */
+  private long routeTimeout(long startNanos) {
+    if (overallTimeout == Long.MAX_VALUE) {
+      return timeout;
+    }
+    return min(timeout, overallTimeout - NANOSECONDS.toMillis(nanoTime() - startNanos));
+  }
+
+  private Event toCancelledRouteEvent(Event event, int routeIndex, Processor route, int failedRouteIndex) {
+    return toFailedRouteEvent(event, routeIndex, route,
+                              new RoutingException(createStaticMessage(format("Route %d was cancelled because route %d failed",
+                                                                              routeIndex, failedRouteIndex)),
+                                                   route),
+                              timeout);
+  }
+
+  private Event toFailedRouteEvent(Event event, int routeIndex, Processor route, Throwable throwable, long routeTimeout) {
+    if (throwable instanceof MessagingException) {
+      Event failedEvent = ((MessagingException) throwable).getEvent();
+      if (failedEvent != null && failedEvent.getError().isPresent()) {
+        return failedEvent;
+      }
+    } else if (throwable instanceof TimeoutException) {
+      String message = routeTimeout < timeout
+          ? format("Route %d did not complete within the overall timeout of %d milliseconds", routeIndex, overallTimeout)
+          : format("Route %d did not complete within %d milliseconds", routeIndex, timeout);
+      throwable = new RoutingException(createStaticMessage(message), route, throwable);
+    }
+    return Event.builder(event)
+        .error(ErrorBuilder.builder(throwable).errorType(muleContext.getErrorTypeLocator().lookupErrorType(throwable)).build())
+        .build();
+  }
+
   @Override
   public void initialise() throws InitialisationException {
     try {
@@ -144,6 +280,10 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
       if (timeout <= 0) {
         timeout = Long.MAX_VALUE;
       }
+
+      if (overallTimeout <= 0) {
+        overallTimeout = Long.MAX_VALUE;
+      }
     } catch (Exception e) {
       throw new InitialisationException(e, this);
     }
@@ -152,6 +292,25 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
     initialised = true;
   }
 
+  @Override
+  public void start() throws MuleException {
+    if (parallel) {
+      routesScheduler = muleContext.getSchedulerService()
+          .ioScheduler(config().withName(format("%s%s.%s", getPrefix(muleContext),
+                                                flowConstruct != null ? flowConstruct.getName() : "", "scatter-gather")));
+    }
+    super.start();
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    super.stop();
+    if (routesScheduler != null) {
+      routesScheduler.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
+      routesScheduler = null;
+    }
+  }
+
   /**
    * {@inheritDoc}
    * 
@@ -202,6 +361,10 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
     this.timeout = timeout;
   }
 
+  public void setOverallTimeout(long overallTimeout) {
+    this.overallTimeout = overallTimeout;
+  }
+
   public void setRoutes(List<Processor> routes) {
     this.routes = routes;
   }
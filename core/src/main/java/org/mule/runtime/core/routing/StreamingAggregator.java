@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.lifecycle.Startable;
+import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.routing.RoutingException;
+import org.mule.runtime.core.message.GroupCorrelation;
+import org.mule.runtime.core.processor.AbstractInterceptingMessageProcessor;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Collector;
+
+/**
+ * Aggregates the parts of a group by folding each one into a {@link Collector} as it arrives, so neither the parts nor their
+ * events are kept until the group completes, as opposed to {@link SimpleCollectionAggregator}, which stores every event of the
+ * group. By default the payloads of the parts are collected in a {@link java.util.List}, in arrival order.
+ * <p>
+ * Parts are grouped by correlation id, and a group completes once the number of parts received is the group size of any of
+ * its parts, so it works with the parts of a {@link StreamingSplitter}, where only the last part has that size. The aggregated
+ * event is built from the last part received, with the result of the collector as payload. Events without a
+ * {@link GroupCorrelation} sequence are not parts of a group, and are processed as they are.
+ * <p>
+ * At most {@link #setMaxGroups(int) maxGroups} groups are aggregated at the same time. Groups older than the
+ * {@link #setTimeout(long) timeout}, as the ones whose last part was filtered out or failed, are discarded periodically while
+ * started, and when that number is reached. If no group can be discarded then, the part of a new group is rejected with a
+ * {@link RoutingException}.
+ * <p>
+ * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/Aggregator.html" >http://www.eaipatterns.com/Aggregator.html</a>
+ *
+ * @since 4.0
+ */
+public class StreamingAggregator extends AbstractInterceptingMessageProcessor implements Startable, Stoppable {
+
+  public static final int DEFAULT_MAX_GROUPS = 1000;
+  public static final long DEFAULT_TIMEOUT = 30 * 60 * 1000;
+
+  private static final long MAX_EXPIRY_INTERVAL = 60 * 1000;
+
+  @SuppressWarnings("unchecked")
+  private Collector<Event, Object, Object> collector =
+      (Collector) mapping((Event event) -> event.getMessage().getPayload().getValue(), toList());
+  private int maxGroups = DEFAULT_MAX_GROUPS;
+  private long timeout = DEFAULT_TIMEOUT;
+  private Scheduler expiryScheduler;
+  private ScheduledFuture<?> expiryTask;
+
+  // @GuardedBy itself
+  private final Map<String, Group> groups = new LinkedHashMap<>();
+
+  @Override
+  public Event process(Event event) throws MuleException {
+    GroupCorrelation correlation = event.getGroupCorrelation();
+    if (correlation == null || !correlation.getSequence().isPresent()) {
+      return processNext(event);
+    }
+
+    final String groupId = event.getCorrelationId();
+    final Group group = getGroup(groupId);
+    final Object result;
+    synchronized (group) {
+      collector.accumulator().accept(group.container, event);
+      group.received++;
+      if (correlation.getGroupSize().isPresent()) {
+        group.expectedSize = correlation.getGroupSize().get();
+      }
+      if (group.expectedSize == null || group.received < group.expectedSize) {
+        return null;
+      }
+
+      synchronized (groups) {
+        groups.remove(groupId);
+      }
+      result = collector.finisher().apply(group.container);
+    }
+
+    return processNext(Event.builder(event).message(InternalMessage.builder().payload(result).build()).build());
+  }
+
+  @Override
+  public void start() throws MuleException {
+    if (timeout > 0) {
+      final long expiryInterval = min(timeout, MAX_EXPIRY_INTERVAL);
+      expiryScheduler = muleContext.getSchedulerService().cpuLightScheduler();
+      expiryTask = expiryScheduler.scheduleWithFixedDelay(() -> {
+        synchronized (groups) {
+          expireGroups();
+        }
+      }, expiryInterval, expiryInterval, MILLISECONDS);
+    }
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    if (expiryTask != null) {
+      expiryTask.cancel(false);
+      expiryTask = null;
+    }
+    if (expiryScheduler != null) {
+      expiryScheduler.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
+      expiryScheduler = null;
+    }
+  }
+
+  /**
+   * @return the number of groups being aggregated.
+   */
+  int getGroupsInProgress() {
+    synchronized (groups) {
+      return groups.size();
+    }
+  }
+
+  private Group getGroup(String groupId) throws RoutingException {
+    synchronized (groups) {
+      Group group = groups.get(groupId);
+      if (group == null) {
+        if (groups.size() >= maxGroups) {
+          expireGroups();
+        }
+        if (groups.size() >= maxGroups) {
+          throw new RoutingException(createStaticMessage(format("Cannot aggregate group %s, %d groups are already in progress",
+                                                                groupId, maxGroups)),
+                                     this);
+        }
+        group = new Group(collector.supplier().get());
+        groups.put(groupId, group);
+      }
+      return group;
+    }
+  }
+
+  /**
+   * Groups are kept in creation order, so the expired ones are the first ones.
+   */
+  private void expireGroups() {
+    if (timeout <= 0) {
+      return;
+    }
+    for (Iterator<Map.Entry<String, Group>> iterator = groups.entrySet().iterator(); iterator.hasNext();) {
+      Map.Entry<String, Group> entry = iterator.next();
+      if (entry.getValue().created + timeout >= currentTimeMillis()) {
+        break;
+      }
+      logger.warn(format("Discarding group %s after %d milliseconds, with %d parts received", entry.getKey(), timeout,
+                         entry.getValue().received));
+      iterator.remove();
+    }
+  }
+
+  /**
+   * @param collector the {@link Collector} each part of a group is folded into. Parts are accumulated one at a time, so the
+   *        container of the collector does not need to be thread safe, and the combiner is never used.
+   */
+  @SuppressWarnings("unchecked")
+  public void setCollector(Collector<Event, ?, ?> collector) {
+    this.collector = (Collector<Event, Object, Object>) collector;
+  }
+
+  /**
+   * @param maxGroups the maximum number of groups aggregated at the same time. {@value #DEFAULT_MAX_GROUPS} by default.
+   */
+  public void setMaxGroups(int maxGroups) {
+    this.maxGroups = maxGroups;
+  }
+
+  /**
+   * @param timeout the milliseconds after which an incomplete group is discarded. {@value #DEFAULT_TIMEOUT} by default. Groups
+   *        are never discarded if not positive.
+   */
+  public void setTimeout(long timeout) {
+    this.timeout = timeout;
+  }
+
+  private static final class Group {
+
+    private final long created = currentTimeMillis();
+    private final Object container;
+    private int received;
+    private Integer expectedSize;
+
+    private Group(Object container) {
+      this.container = container;
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static org.mule.runtime.core.util.SystemUtils.getDefaultEncoding;
+
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.message.GroupCorrelation;
+import org.mule.runtime.core.routing.outbound.AbstractMessageSequenceSplitter;
+import org.mule.runtime.core.routing.outbound.CollectionMessageSequence;
+import org.mule.runtime.core.routing.outbound.InputStreamMessageSequence;
+import org.mule.runtime.core.util.collection.EventToMessageSequenceSplittingStrategy;
+import org.mule.runtime.core.util.collection.SplittingStrategy;
+
+import java.io.InputStream;
+import java.util.Collection;
+
+/**
+ * Splits a message without reading its payload in advance, so each part is processed, and can be released, before the
+ * following one is read. An {@link InputStream} payload is split in lines, decoded with the charset of the payload, and any
+ * other payload is split as {@link CollectionSplitter} does, except that a {@link Collection} is iterated in place instead of
+ * being copied first. The stream of the payload is closed once the split completes, even if a part fails before it is fully
+ * read.
+ * <p>
+ * Since the size of a stream is not known in advance, only the last part has the size of the group in its
+ * {@link GroupCorrelation}. {@link StreamingAggregator} relies on that to aggregate the parts without keeping them.
+ * <p>
+ * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/Sequencer.html">http://www.eaipatterns.com/Sequencer.html</a>
+ *
+ * @since 4.0
+ */
+public class StreamingSplitter extends AbstractMessageSequenceSplitter {
+
+  private final SplittingStrategy<Event, MessageSequence<?>> strategy = new EventToMessageSequenceSplittingStrategy();
+
+  @Override
+  @SuppressWarnings("unchecked")
+  protected MessageSequence<?> splitMessageIntoSequence(Event event) {
+    TypedValue<?> payload = event.getMessage().getPayload();
+    if (payload.getValue() instanceof InputStream) {
+      return new InputStreamMessageSequence((InputStream) payload.getValue(),
+                                            payload.getDataType().getMediaType().getCharset()
+                                                .orElse(getDefaultEncoding(muleContext)));
+    } else if (payload.getValue() instanceof Collection) {
+      return new CollectionMessageSequence((Collection) payload.getValue());
+    }
+    return strategy.split(event);
+  }
+
+  @Override
+  protected boolean isGroupSizeSetInLastPart() {
+    return true;
+  }
+}
@@ -7,22 +7,44 @@
 package org.mule.runtime.core.routing.outbound;
 
 import static java.util.Collections.emptySet;
+import static org.apache.commons.io.IOUtils.closeQuietly;
+import static org.mule.runtime.core.api.rx.Exceptions.checkedFunction;
+import static org.mule.runtime.core.api.rx.Exceptions.rxExceptionToMuleException;
+import static org.mule.runtime.core.internal.util.rx.Operators.nullSafeMap;
+import static reactor.core.Exceptions.unwrap;
+import static reactor.core.publisher.Flux.fromIterable;
+import static reactor.core.publisher.Flux.just;
+import static reactor.core.publisher.Mono.empty;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
 
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.Event.Builder;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.routing.RouterResultsHandler;
+import org.mule.runtime.core.api.rx.Exceptions.EventDroppedException;
+import org.mule.runtime.core.exception.MessagingException;
 import org.mule.runtime.core.message.GroupCorrelation;
 import org.mule.runtime.core.processor.AbstractInterceptingMessageProcessor;
 import org.mule.runtime.core.routing.AbstractSplitter;
+import org.mule.runtime.core.routing.CompositeRoutingException;
 import org.mule.runtime.core.routing.DefaultRouterResultsHandler;
 import org.mule.runtime.core.routing.MessageSequence;
 
+import java.io.Closeable;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
 
 /**
  * Base implementation of a {@link Message} splitter, that converts its payload in a {@link MessageSequence}, and process each
@@ -39,16 +61,26 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
   protected RouterResultsHandler resultsHandler = new DefaultRouterResultsHandler();
   protected int batchSize;
   protected String counterVariableName;
+  private Scheduler scheduler;
+  private int maxConcurrency = 1;
+  private boolean preserveOrder = true;
 
   @Override
   public final Event process(Event event) throws MuleException {
     if (isSplitRequired(event)) {
       MessageSequence<?> seq = splitMessageIntoSequence(event);
-      if (!seq.isEmpty()) {
-        return resultsHandler.aggregateResults(processParts(seq, event), event);
-      } else {
-        logger.warn("Splitter returned no results. If this is not expected, please check your split expression");
-        return event;
+      try {
+        if (!seq.isEmpty()) {
+          return resultsHandler.aggregateResults(processParts(seq, event), event);
+        } else {
+          logger.warn("Splitter returned no results. If this is not expected, please check your split expression");
+          return event;
+        }
+      } finally {
+        // A sequence over a resource, such as a stream, would be left open if a part fails before it is fully read
+        if (seq instanceof Closeable) {
+          closeQuietly((Closeable) seq);
+        }
       }
     } else {
       return processNext(event);
@@ -69,27 +101,24 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
   protected abstract MessageSequence<?> splitMessageIntoSequence(Event event) throws MuleException;
 
   protected List<Event> processParts(MessageSequence<?> seq, Event originalEvent) throws MuleException {
-    List<Event> resultEvents = new ArrayList<>();
-    int correlationSequence = 0;
     MessageSequence<?> messageSequence = seq;
     if (batchSize > 1) {
       messageSequence = new PartitionedMessageSequence(seq, batchSize);
     }
+    if (scheduler != null && maxConcurrency > 1) {
+      return processPartsConcurrently(messageSequence, originalEvent);
+    }
+
+    List<Event> resultEvents = new ArrayList<>();
+    int correlationSequence = 0;
     Integer count = messageSequence.size();
     Event lastResult = null;
     for (; messageSequence.hasNext();) {
       correlationSequence++;
 
-      final Builder builder = Event.builder(originalEvent);
-
-      propagateFlowVars(lastResult, builder);
-      if (counterVariableName != null) {
-        builder.addVariable(counterVariableName, correlationSequence);
-      }
-
-      builder.groupCorrelation(new GroupCorrelation(count, correlationSequence));
-      initEventBuilder(messageSequence.next(), originalEvent, builder, resolvePropagatedFlowVars(lastResult));
-      final Event event = builder.build();
+      final Object part = messageSequence.next();
+      final Event event = createPartEvent(part, originalEvent, lastResult, groupSize(count, messageSequence, correlationSequence),
+                                          correlationSequence);
       Event resultEvent = processNext(event);
       if (resultEvent != null) {
         resultEvents.add(resultEvent);
@@ -102,6 +131,91 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
     return resultEvents;
   }
 
+  /**
+   * Processes up to {@code maxConcurrency} parts at a time in the {@link #setScheduler(Scheduler) scheduler}. Parts are taken
+   * from the sequence only as previous ones complete, so it is never fully read in advance, and no new parts are taken once
+   * one of them has failed. Since parts run at the same time, the flow variables of a result are not propagated to the
+   * following parts.
+   *
+   * @throws MessagingException with a {@link CompositeRoutingException} cause holding the error of each failed part by its
+   *         sequence number.
+   */
+  private List<Event> processPartsConcurrently(MessageSequence<?> messageSequence, Event originalEvent) throws MuleException {
+    final Integer count = messageSequence.size();
+    final Map<Integer, Throwable> failures = new ConcurrentSkipListMap<>();
+
+    Iterable<Event> parts = () -> new Iterator<Event>() {
+
+      private int correlationSequence = 0;
+
+      @Override
+      public boolean hasNext() {
+        return failures.isEmpty() && messageSequence.hasNext();
+      }
+
+      @Override
+      public Event next() {
+        final Object part = messageSequence.next();
+        correlationSequence++;
+        return createPartEvent(part, originalEvent, null, groupSize(count, messageSequence, correlationSequence),
+                               correlationSequence);
+      }
+    };
+
+    reactor.core.scheduler.Scheduler partsScheduler = fromExecutorService(scheduler);
+    Function<Event, Publisher<Event>> processPart = part -> just(part)
+        .handle(nullSafeMap(checkedFunction(this::processNext)))
+        .subscribeOn(partsScheduler)
+        .onErrorResumeWith(EventDroppedException.class, ede -> empty())
+        .onErrorResumeWith(throwable -> {
+          failures.put(part.getGroupCorrelation().getSequence().get(), unwrap(throwable));
+          return empty();
+        });
+
+    List<Event> resultEvents;
+    try {
+      Flux<Event> results = preserveOrder
+          ? fromIterable(parts).flatMapSequential(processPart, maxConcurrency)
+          : fromIterable(parts).flatMap(processPart, maxConcurrency);
+      resultEvents = results.collectList().block();
+    } catch (Throwable throwable) {
+      throw rxExceptionToMuleException(throwable);
+    }
+
+    if (!failures.isEmpty()) {
+      throw new MessagingException(originalEvent, new CompositeRoutingException(failures), this);
+    }
+    return resultEvents;
+  }
+
+  private Integer groupSize(Integer count, MessageSequence<?> messageSequence, int correlationSequence) {
+    if (count == MessageSequence.UNKNOWN_SIZE && isGroupSizeSetInLastPart() && !messageSequence.hasNext()) {
+      return correlationSequence;
+    }
+    return count;
+  }
+
+  /**
+   * Whether the {@link GroupCorrelation} of the last part of a sequence of unknown size has the size of the sequence, which is
+   * known once that part is taken. The size is not set in any part by default.
+   */
+  protected boolean isGroupSizeSetInLastPart() {
+    return false;
+  }
+
+  private Event createPartEvent(Object part, Event originalEvent, Event lastResult, Integer count, int correlationSequence) {
+    final Builder builder = Event.builder(originalEvent);
+
+    propagateFlowVars(lastResult, builder);
+    if (counterVariableName != null) {
+      builder.addVariable(counterVariableName, correlationSequence);
+    }
+
+    builder.groupCorrelation(new GroupCorrelation(count, correlationSequence));
+    initEventBuilder(part, originalEvent, builder, resolvePropagatedFlowVars(lastResult));
+    return builder.build();
+  }
+
   protected Set<String> resolvePropagatedFlowVars(Event lastResult) {
     return emptySet();
   }
@@ -139,4 +253,27 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
   public void setCounterVariableName(String counterVariableName) {
     this.counterVariableName = counterVariableName;
   }
+
+  /**
+   * Scheduler in which the parts are processed when {@link #setMaxConcurrency(int) maxConcurrency} is greater than one.
+   */
+  public void setScheduler(Scheduler scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Maximum number of parts processed at the same time. Parts are processed one after the other in the calling thread unless
+   * this is greater than one and a {@link #setScheduler(Scheduler) scheduler} is set.
+   */
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  /**
+   * Whether the results of parts processed concurrently are kept in the order of the parts, or in the order in which they
+   * complete.
+   */
+  public void setPreserveOrder(boolean preserveOrder) {
+    this.preserveOrder = preserveOrder;
+  }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing.outbound;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.routing.AbstractMessageSequence;
+import org.mule.runtime.core.routing.MessageSequence;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.Validate;
+
+/**
+ * A {@link MessageSequence} of the lines of an {@link InputStream}. Lines are read as they are requested, so the stream is
+ * never held in memory as a whole, and the stream is closed once its last line has been read. Whoever stops reading it before
+ * that, for instance because a part failed, has to {@link #close()} it.
+ *
+ * @since 4.0
+ */
+public final class InputStreamMessageSequence extends AbstractMessageSequence<String> implements Closeable {
+
+  private final BufferedReader reader;
+  private String nextLine;
+  private boolean finished;
+
+  public InputStreamMessageSequence(InputStream stream, Charset charset) {
+    Validate.notNull(stream);
+    this.reader = new BufferedReader(new InputStreamReader(stream, charset));
+  }
+
+  @Override
+  public Integer size() {
+    return UNKNOWN_SIZE;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (nextLine == null && !finished) {
+      try {
+        nextLine = reader.readLine();
+      } catch (IOException e) {
+        finished = true;
+        IOUtils.closeQuietly(reader);
+        throw new MuleRuntimeException(createStaticMessage("Could not read the next line of the stream"), e);
+      }
+      if (nextLine == null) {
+        finished = true;
+        IOUtils.closeQuietly(reader);
+      }
+    }
+    return nextLine != null;
+  }
+
+  @Override
+  public String next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    String line = nextLine;
+    nextLine = null;
+    return line;
+  }
+
+  @Override
+  public void close() throws IOException {
+    finished = true;
+    nextLine = null;
+    reader.close();
+  }
+
+}
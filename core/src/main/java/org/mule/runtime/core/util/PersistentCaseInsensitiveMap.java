@@ -0,0 +1,503 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util;
+
+import static java.lang.Integer.bitCount;
+import static java.lang.System.arraycopy;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable {@link Map} with {@link String} keys that are compared ignoring their case, as in {@link CaseInsensitiveHashMap}.
+ * <p>
+ * Entries are stored in a hash array mapped trie, so {@link #plus(String, Object)} and {@link #minus(String)} return a new map in
+ * O(log n), copying only the path to the modified entry and sharing the rest with this map. The keys keep the case they were
+ * first added with.
+ * <p>
+ * The mutating methods of the {@link Map} interface throw {@link UnsupportedOperationException}.
+ *
+ * @param <V> the type of the values
+ * @since 4.0
+ */
+public final class PersistentCaseInsensitiveMap<V> extends AbstractMap<String, V> implements Serializable {
+
+  private static final long serialVersionUID = 2520425462383935361L;
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+
+  private static final PersistentCaseInsensitiveMap<?> EMPTY = new PersistentCaseInsensitiveMap<>(BitmapNode.EMPTY, 0);
+
+  private transient Node root;
+  private transient int size;
+  private transient Set<Entry<String, V>> entrySet;
+
+  /**
+   * @return an empty map.
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> PersistentCaseInsensitiveMap<V> empty() {
+    return (PersistentCaseInsensitiveMap<V>) EMPTY;
+  }
+
+  /**
+   * @param map the entries for the new map
+   * @return a map with the entries of the given {@code map}.
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> PersistentCaseInsensitiveMap<V> copyOf(Map<String, ? extends V> map) {
+    if (map instanceof PersistentCaseInsensitiveMap) {
+      return (PersistentCaseInsensitiveMap<V>) map;
+    }
+    PersistentCaseInsensitiveMap<V> copy = empty();
+    for (Entry<String, ? extends V> entry : map.entrySet()) {
+      copy = copy.plus(entry.getKey(), entry.getValue());
+    }
+    return copy;
+  }
+
+  private PersistentCaseInsensitiveMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * @param key the key of the entry to set
+   * @param value the value of the entry to set
+   * @return a map with the entries of this one plus the given one, replacing the value of any entry with an equivalent key.
+   */
+  public PersistentCaseInsensitiveMap<V> plus(String key, V value) {
+    requireNonNull(key);
+    final int hash = hash(key);
+    final Leaf existing = root.find(hash, key);
+    if (existing != null && existing.getValue() == value) {
+      return this;
+    }
+    return new PersistentCaseInsensitiveMap<>(root.put(new Leaf(key, value, hash), 0), existing == null ? size + 1 : size);
+  }
+
+  /**
+   * @param key the key of the entry to remove
+   * @return a map with the entries of this one but the one with the given key.
+   */
+  public PersistentCaseInsensitiveMap<V> minus(String key) {
+    requireNonNull(key);
+    final int hash = hash(key);
+    if (root.find(hash, key) == null) {
+      return this;
+    }
+    // The root is never collapsed into a leaf
+    return new PersistentCaseInsensitiveMap<>((Node) root.remove(hash, key, 0), size - 1);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    final Leaf leaf = root.find(hash((String) key), (String) key);
+    return leaf == null ? null : (V) leaf.getValue();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return key instanceof String && root.find(hash((String) key), (String) key) != null;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(BiConsumer<? super String, ? super V> action) {
+    root.forEach((BiConsumer<String, Object>) action);
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  /**
+   * Hash consistent with {@link String#equalsIgnoreCase(String)}, computed without creating a lower case copy of the key.
+   */
+  private static int hash(String key) {
+    int h = 0;
+    for (int i = 0; i < key.length(); ++i) {
+      h = 31 * h + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+    }
+    return h ^ (h >>> 16);
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(size);
+    for (Entry<String, V> entry : entrySet()) {
+      out.writeObject(entry.getKey());
+      out.writeObject(entry.getValue());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    final int entries = in.readInt();
+    PersistentCaseInsensitiveMap<V> map = empty();
+    for (int i = 0; i < entries; ++i) {
+      map = map.plus((String) in.readObject(), (V) in.readObject());
+    }
+    this.root = map.root;
+    this.size = map.size;
+  }
+
+  private Object readResolve() {
+    return size == 0 ? EMPTY : this;
+  }
+
+  private static final class Leaf extends SimpleImmutableEntry<String, Object> {
+
+    private static final long serialVersionUID = -1837473604370036917L;
+
+    private final int hash;
+
+    private Leaf(String key, Object value, int hash) {
+      super(key, value);
+      this.hash = hash;
+    }
+
+    private boolean matches(int hash, String key) {
+      return this.hash == hash && getKey().equalsIgnoreCase(key);
+    }
+  }
+
+  private static abstract class Node {
+
+    abstract Leaf find(int hash, String key);
+
+    abstract Node put(Leaf leaf, int shift);
+
+    /**
+     * @return the node without the entry, or the only {@link Leaf} left in it so the parent can hold it directly.
+     */
+    abstract Object remove(int hash, String key, int shift);
+
+    abstract void forEach(BiConsumer<String, Object> action);
+
+    abstract Object[] children();
+  }
+
+  private static final class BitmapNode extends Node {
+
+    private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+    private final int bitmap;
+    // Each child is either a Leaf or a Node
+    private final Object[] children;
+
+    private BitmapNode(int bitmap, Object[] children) {
+      this.bitmap = bitmap;
+      this.children = children;
+    }
+
+    @Override
+    Leaf find(int hash, String key) {
+      BitmapNode node = this;
+      int shift = 0;
+      while (true) {
+        final int bit = bit(hash, shift);
+        if ((node.bitmap & bit) == 0) {
+          return null;
+        }
+        final Object child = node.children[bitCount(node.bitmap & (bit - 1))];
+        if (child instanceof Leaf) {
+          return ((Leaf) child).matches(hash, key) ? (Leaf) child : null;
+        } else if (child instanceof BitmapNode) {
+          node = (BitmapNode) child;
+          shift += BITS;
+        } else {
+          return ((Node) child).find(hash, key);
+        }
+      }
+    }
+
+    @Override
+    Node put(Leaf leaf, int shift) {
+      final int bit = bit(leaf.hash, shift);
+      final int index = bitCount(bitmap & (bit - 1));
+
+      if ((bitmap & bit) == 0) {
+        final Object[] newChildren = new Object[children.length + 1];
+        arraycopy(children, 0, newChildren, 0, index);
+        newChildren[index] = leaf;
+        arraycopy(children, index, newChildren, index + 1, children.length - index);
+        return new BitmapNode(bitmap | bit, newChildren);
+      }
+
+      final Object child = children[index];
+      final Object newChild;
+      if (child instanceof Leaf) {
+        final Leaf existing = (Leaf) child;
+        if (existing.matches(leaf.hash, leaf.getKey())) {
+          // Keep the case the key was first added with, as CaseInsensitiveHashMap does
+          newChild = new Leaf(existing.getKey(), leaf.getValue(), existing.hash);
+        } else {
+          newChild = merge(existing, leaf, shift + BITS);
+        }
+      } else {
+        newChild = ((Node) child).put(leaf, shift + BITS);
+      }
+      return withChild(index, newChild);
+    }
+
+    @Override
+    Object remove(int hash, String key, int shift) {
+      final int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+      final int index = bitCount(bitmap & (bit - 1));
+      final Object child = children[index];
+
+      if (child instanceof Leaf) {
+        if (!((Leaf) child).matches(hash, key)) {
+          return this;
+        }
+        if (shift > 0 && children.length == 2 && children[1 - index] instanceof Leaf) {
+          return children[1 - index];
+        }
+        final Object[] newChildren = new Object[children.length - 1];
+        arraycopy(children, 0, newChildren, 0, index);
+        arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+        return new BitmapNode(bitmap & ~bit, newChildren);
+      }
+
+      final Object newChild = ((Node) child).remove(hash, key, shift + BITS);
+      if (newChild == child) {
+        return this;
+      }
+      if (newChild instanceof Leaf && shift > 0 && children.length == 1) {
+        return newChild;
+      }
+      return withChild(index, newChild);
+    }
+
+    private BitmapNode withChild(int index, Object child) {
+      final Object[] newChildren = children.clone();
+      newChildren[index] = child;
+      return new BitmapNode(bitmap, newChildren);
+    }
+
+    @Override
+    void forEach(BiConsumer<String, Object> action) {
+      for (Object child : children) {
+        if (child instanceof Leaf) {
+          action.accept(((Leaf) child).getKey(), ((Leaf) child).getValue());
+        } else {
+          ((Node) child).forEach(action);
+        }
+      }
+    }
+
+    @Override
+    Object[] children() {
+      return children;
+    }
+  }
+
+  private static Node merge(Leaf first, Leaf second, int shift) {
+    if (first.hash == second.hash) {
+      return new CollisionNode(first.hash, new Leaf[] {first, second});
+    }
+    final int firstBit = bit(first.hash, shift);
+    final int secondBit = bit(second.hash, shift);
+    if (firstBit == secondBit) {
+      return new BitmapNode(firstBit, new Object[] {merge(first, second, shift + BITS)});
+    }
+    // Children are kept in the order of their bits
+    return new BitmapNode(firstBit | secondBit,
+                          (firstBit & (secondBit - 1)) != 0 ? new Object[] {first, second} : new Object[] {second, first});
+  }
+
+  /**
+   * Holds the entries whose keys have the same hash.
+   */
+  private static final class CollisionNode extends Node {
+
+    private final int hash;
+    private final Leaf[] leaves;
+
+    private CollisionNode(int hash, Leaf[] leaves) {
+      this.hash = hash;
+      this.leaves = leaves;
+    }
+
+    @Override
+    Leaf find(int hash, String key) {
+      if (hash == this.hash) {
+        for (Leaf leaf : leaves) {
+          if (leaf.getKey().equalsIgnoreCase(key)) {
+            return leaf;
+          }
+        }
+      }
+      return null;
+    }
+
+    @Override
+    Node put(Leaf leaf, int shift) {
+      if (leaf.hash != hash) {
+        // Both hashes share the bits used so far, nest this node one level down and let it branch there.
+        return new BitmapNode(bit(hash, shift), new Object[] {this}).put(leaf, shift);
+      }
+      for (int i = 0; i < leaves.length; ++i) {
+        if (leaves[i].getKey().equalsIgnoreCase(leaf.getKey())) {
+          final Leaf[] newLeaves = leaves.clone();
+          newLeaves[i] = new Leaf(leaves[i].getKey(), leaf.getValue(), hash);
+          return new CollisionNode(hash, newLeaves);
+        }
+      }
+      final Leaf[] newLeaves = new Leaf[leaves.length + 1];
+      arraycopy(leaves, 0, newLeaves, 0, leaves.length);
+      newLeaves[leaves.length] = leaf;
+      return new CollisionNode(hash, newLeaves);
+    }
+
+    @Override
+    Object remove(int hash, String key, int shift) {
+      if (hash != this.hash) {
+        return this;
+      }
+      for (int i = 0; i < leaves.length; ++i) {
+        if (leaves[i].getKey().equalsIgnoreCase(key)) {
+          if (leaves.length == 2) {
+            return leaves[1 - i];
+          }
+          final Leaf[] newLeaves = new Leaf[leaves.length - 1];
+          arraycopy(leaves, 0, newLeaves, 0, i);
+          arraycopy(leaves, i + 1, newLeaves, i, leaves.length - i - 1);
+          return new CollisionNode(hash, newLeaves);
+        }
+      }
+      return this;
+    }
+
+    @Override
+    void forEach(BiConsumer<String, Object> action) {
+      for (Leaf leaf : leaves) {
+        action.accept(leaf.getKey(), leaf.getValue());
+      }
+    }
+
+    @Override
+    Object[] children() {
+      return leaves;
+    }
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<String, V>> {
+
+    @Override
+    public Iterator<Entry<String, V>> iterator() {
+      return new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Entry) || !(((Entry<?, ?>) o).getKey() instanceof String)) {
+        return false;
+      }
+      final Entry<?, ?> entry = (Entry<?, ?>) o;
+      final Leaf leaf = root.find(hash((String) entry.getKey()), (String) entry.getKey());
+      return leaf != null && leaf.equals(entry);
+    }
+  }
+
+  /**
+   * Depth first traversal of the trie, keeping the position within each node in the path to the current leaf.
+   */
+  private final class EntryIterator implements Iterator<Entry<String, V>> {
+
+    private final Deque<Object[]> nodes = new ArrayDeque<>();
+    private final Deque<Integer> positions = new ArrayDeque<>();
+    private Leaf next;
+
+    private EntryIterator() {
+      nodes.push(root.children());
+      positions.push(0);
+      advance();
+    }
+
+    private void advance() {
+      next = null;
+      while (!nodes.isEmpty()) {
+        final Object[] children = nodes.peek();
+        final int position = positions.pop();
+        if (position == children.length) {
+          nodes.pop();
+          continue;
+        }
+        positions.push(position + 1);
+        final Object child = children[position];
+        if (child instanceof Leaf) {
+          next = (Leaf) child;
+          return;
+        }
+        nodes.push(((Node) child).children());
+        positions.push(0);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Entry<String, V> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      final Leaf current = next;
+      advance();
+      return (Entry<String, V>) (Entry<String, ?>) current;
+    }
+  }
+}
@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.core.util;
 
+import static com.google.common.cache.CacheBuilder.newBuilder;
+
+import com.google.common.cache.Cache;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -18,6 +22,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * <code>TemplateParser</code> is a simple string parser that will substitute tokens in a string with values supplied in a Map.
+ * <p>
+ * Each template is split into its literal parts and tokens only the first time it is parsed. The result is cached for all the
+ * parsers of the same style, so parsing the same template again just resolves the tokens and concatenates them with the literal
+ * parts.
  */
 public final class TemplateParser {
 
@@ -50,8 +58,6 @@ public final class TemplateParser {
   protected static final Logger logger = LoggerFactory.getLogger(TemplateParser.class);
 
   private final Pattern pattern;
-  private final int pre;
-  private final int post;
   private final PatternInfo style;
 
 
@@ -74,8 +80,6 @@ public final class TemplateParser {
 
     }
     pattern = style.getPattern();
-    pre = style.getPrefix().length();
-    post = style.getSuffix().length();
   }
 
   /**
@@ -103,19 +107,22 @@ public final class TemplateParser {
   }
 
   protected String parse(Map<?, ?> props, String template, TemplateCallback callback) {
-    String result = template;
+    final CompiledTemplate compiledTemplate = style.compile(template);
+    if (compiledTemplate.tokens.length == 0) {
+      return template;
+    }
+
     Map<?, ?> newProps = props;
     if (props != null && !(props instanceof CaseInsensitiveHashMap)) {
       newProps = new CaseInsensitiveHashMap(props);
     }
 
-    Matcher m = pattern.matcher(result);
+    final StringBuilder result = new StringBuilder(template.length() + 16 * compiledTemplate.tokens.length);
+    for (int i = 0; i < compiledTemplate.tokens.length; ++i) {
+      result.append(compiledTemplate.literals[i]);
 
-    while (m.find()) {
       Object value = null;
-
-      String match = m.group();
-      String propname = match.substring(pre, match.length() - post);
+      String propname = compiledTemplate.tokens[i];
 
       if (callback != null) {
         value = callback.match(propname);
@@ -130,31 +137,12 @@ public final class TemplateParser {
         if (logger.isDebugEnabled()) {
           logger.debug("Value " + propname + " not found in context");
         }
+        result.append(compiledTemplate.matches[i]);
       } else {
-        String matchRegex = Pattern.quote(match);
-        String valueString = value.toString();
-        valueString = replaceBackSlash(valueString);
-        valueString = replaceDollarSign(valueString);
-
-        result = result.replaceAll(matchRegex, valueString);
+        result.append(value.toString());
       }
     }
-    return result;
-  }
-
-  private String replaceDollarSign(String valueString) {
-    if (valueString.indexOf('$') != -1) {
-      valueString = valueString.replace("$", "\\$");
-    }
-    return valueString;
-  }
-
-  private String replaceBackSlash(String valueString) {
-
-    if (valueString.indexOf("\\") != -1) {
-      valueString = valueString.replace("\\", "\\\\");
-    }
-    return valueString;
+    return result.append(compiledTemplate.literals[compiledTemplate.tokens.length]).toString();
   }
 
   /**
@@ -232,16 +220,56 @@ public final class TemplateParser {
   }
 
 
+  /**
+   * A template split into the literal parts and the tokens it has.
+   */
+  private static final class CompiledTemplate {
+
+    private final String[] literals;
+    private final String[] tokens;
+    private final String[] matches;
+
+    private CompiledTemplate(String template, Pattern pattern, int pre, int post) {
+      final List<String> literals = new ArrayList<>();
+      final List<String> tokens = new ArrayList<>();
+      final List<String> matches = new ArrayList<>();
+
+      final Matcher m = pattern.matcher(template);
+      int literalStart = 0;
+      while (m.find()) {
+        final String match = m.group();
+        literals.add(template.substring(literalStart, m.start()));
+        tokens.add(match.substring(pre, match.length() - post));
+        matches.add(match);
+        literalStart = m.end();
+      }
+      literals.add(template.substring(literalStart));
+
+      this.literals = literals.toArray(new String[literals.size()]);
+      this.tokens = tokens.toArray(new String[tokens.size()]);
+      this.matches = matches.toArray(new String[matches.size()]);
+    }
+  }
+
   public static class PatternInfo {
 
+    /**
+     * Maximum sum of the lengths of the templates kept compiled for each style.
+     */
+    private static final long MAX_COMPILED_TEMPLATES_LENGTH = 1024 * 1024;
+
     String name;
     String regEx;
     String prefix;
     String suffix;
+    private final Pattern pattern;
+    private final Cache<String, CompiledTemplate> compiledTemplates = newBuilder().maximumWeight(MAX_COMPILED_TEMPLATES_LENGTH)
+        .weigher((String template, CompiledTemplate compiledTemplate) -> template.length()).build();
 
     PatternInfo(String name, String regEx, String prefix, String suffix) {
       this.name = name;
       this.regEx = regEx;
+      this.pattern = Pattern.compile(regEx, Pattern.CASE_INSENSITIVE);
       if (prefix.length() < 1 || prefix.length() > 2) {
         throw new IllegalArgumentException("Prefix can only be one or two characters long: " + prefix);
       }
@@ -269,7 +297,16 @@ public final class TemplateParser {
     }
 
     public Pattern getPattern() {
-      return Pattern.compile(regEx, Pattern.CASE_INSENSITIVE);
+      return pattern;
+    }
+
+    private CompiledTemplate compile(String template) {
+      CompiledTemplate compiledTemplate = compiledTemplates.getIfPresent(template);
+      if (compiledTemplate == null) {
+        compiledTemplate = new CompiledTemplate(template, pattern, prefix.length(), suffix.length());
+        compiledTemplates.put(template, compiledTemplate);
+      }
+      return compiledTemplate;
     }
 
     public void validate(String expression) throws IllegalArgumentException {
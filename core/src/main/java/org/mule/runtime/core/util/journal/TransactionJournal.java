@@ -6,15 +6,36 @@
  */
 package org.mule.runtime.core.util.journal;
 
+import static com.google.common.collect.Iterables.skip;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
+import static java.lang.String.format;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.util.Preconditions;
+import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,66 +46,184 @@ import org.slf4j.LoggerFactory;
  *
  * Keeps a memory cache of the log entries for performance reasons. Once a transaction finishes the client of this class must
  * manually remove the entries related to such transaction to clear the cache.
+ *
+ * When created with more than one shard, each transaction is assigned to a shard by its identifier and each shard has its own
+ * pair of files in a subdirectory, so transactions in different shards don't contend with each other. Within a shard the entries
+ * logged concurrently are written together and forced to disk once per batch. The shards are loaded in parallel, and the journal
+ * is only usable once all of them are. The names of the shard subdirectories include the number of shards, so entries left by a
+ * journal with a different number of shards, or that wasn't sharded, are told apart and moved to the shards of this one when
+ * loaded.
  */
 public class TransactionJournal<T, K extends JournalEntry<T>> {
 
   public static final String TX1_LOG_FILE_NAME = "tx1.log";
   public static final String TX2_LOG_FILE_NAME = "tx2.log";
 
-  private static final int MAXIMUM_LOG_FILE_ENTRIES = 50000;
-  private static final int ONE_MEGABYTE_IN_BYTES = 1024 * 1024;
+  private static final String SHARD_DIRECTORY_NAME_PREFIX = "shard-";
+  private static final String SHARD_DIRECTORY_NAME_FORMAT = SHARD_DIRECTORY_NAME_PREFIX + "%02d-of-%02d";
+  private static final String SHARD_LOADER_THREAD_NAME = "transaction-journal-loader";
 
   private transient Logger logger = LoggerFactory.getLogger(getClass());
 
-  private final TransactionCompletePredicate transactionCompletePredicate;
-
-  /**
-   * Log file in which we are currently writing new entries.
-   */
-  private TransactionJournalFile<T, K> currentLogFile;
-  /**
-   * Log file which has old entries and will be cleared as soon as all the transaction in it are resolved.
-   */
-  private TransactionJournalFile<T, K> notCurrentLogFile;
-
-  /**
-   * Maximum transaction log file size in bytes.
-   */
-  private Long maximumFileSizeInBytes;
+  private final TransactionJournalShard<T, K>[] shards;
 
   /**
-   * Minimum transaction log file size in bytes to consider it ready for clear content.
+   * @param logFilesDirectory directory used to store the journal files.
    */
-  private Long clearFileMinimumSizeInBytes;
+  public TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
+                            JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes) {
+    this(logFilesDirectory, transactionCompletePredicate, journalEntrySerializer, maximumFileSizeInMegabytes, 1);
+  }
 
   /**
    * @param logFilesDirectory directory used to store the journal files.
+   * @param shards number of shards to split the transactions in. With a single shard, the journal files are stored directly in
+   *        {@code logFilesDirectory} and each entry is written as it is logged.
    */
   public TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
-                            JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes) {
+                            JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes, int shards) {
     File logFileDirectory = new File(logFilesDirectory);
     if (!logFileDirectory.exists()) {
       Preconditions.checkState(logFileDirectory.mkdirs(),
                                "Could not create directory for queue transaction logger " + logFileDirectory);
     }
-    calculateJournalFileSize(maximumFileSizeInMegabytes);
-    File logFile1 = new File(logFileDirectory, TX1_LOG_FILE_NAME);
-    File logFile2 = new File(logFileDirectory, TX2_LOG_FILE_NAME);
-    logger.info(String.format("Using files for tx logs %s and %s", logFile1.getAbsolutePath(), logFile2.getAbsolutePath()));
 
-    this.currentLogFile =
-        new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
-    this.notCurrentLogFile =
-        new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
-    this.transactionCompletePredicate = transactionCompletePredicate;
+    if (shards <= 1) {
+      this.shards = new TransactionJournalShard[] {new TransactionJournalShard(logFileDirectory, transactionCompletePredicate,
+                                                                               journalEntrySerializer,
+                                                                               maximumFileSizeInMegabytes, false)};
+    } else {
+      final Integer shardFileSizeInMegabytes =
+          maximumFileSizeInMegabytes == null ? null : max(1, maximumFileSizeInMegabytes / shards);
+      this.shards = loadShards(logFileDirectory, transactionCompletePredicate, journalEntrySerializer, shardFileSizeInMegabytes,
+                               shards);
+    }
+    moveEntriesOfOtherLayouts(logFileDirectory, transactionCompletePredicate, journalEntrySerializer);
+  }
+
+  /**
+   * Creates the shards, which reads the entries in their files, concurrently on a pool of threads of its own. Loading a shard
+   * blocks on reading its files, so the common ForkJoinPool is not used. Returns once all the shards are loaded, and if any of them
+   * fails the ones that were loaded are closed.
+   */
+  private TransactionJournalShard<T, K>[] loadShards(File logFileDirectory,
+                                                     TransactionCompletePredicate transactionCompletePredicate,
+                                                     JournalEntrySerializer journalEntrySerializer,
+                                                     Integer shardFileSizeInMegabytes, int shardsCount) {
+    final ExecutorService loader =
+        newFixedThreadPool(min(shardsCount, getRuntime().availableProcessors()),
+                           new DaemonThreadFactory(SHARD_LOADER_THREAD_NAME, TransactionJournal.class.getClassLoader()));
+    final List<Future<TransactionJournalShard<T, K>>> loadingShards = new ArrayList<>(shardsCount);
+    try {
+      for (int i = 0; i < shardsCount; ++i) {
+        final File shardDirectory = new File(logFileDirectory, format(SHARD_DIRECTORY_NAME_FORMAT, i, shardsCount));
+        loadingShards.add(loader.submit(() -> new TransactionJournalShard<T, K>(shardDirectory, transactionCompletePredicate,
+                                                                                 journalEntrySerializer,
+                                                                                 shardFileSizeInMegabytes, true)));
+      }
 
+      final TransactionJournalShard<T, K>[] loadedShards = new TransactionJournalShard[shardsCount];
+      Throwable failure = null;
+      for (int i = 0; i < shardsCount; ++i) {
+        try {
+          loadedShards[i] = loadingShards.get(i).get();
+        } catch (ExecutionException e) {
+          failure = failure == null ? e.getCause() : failure;
+        }
+      }
+      if (failure != null) {
+        for (TransactionJournalShard<T, K> shard : loadedShards) {
+          if (shard != null) {
+            shard.close();
+          }
+        }
+        throw new MuleRuntimeException(createStaticMessage("Could not load the transaction journal shards in "
+            + logFileDirectory), failure);
+      }
+      return loadedShards;
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      throw new MuleRuntimeException(createStaticMessage("Interrupted while loading the transaction journal shards in "
+          + logFileDirectory), e);
+    } finally {
+      loader.shutdownNow();
+    }
   }
 
-  private void calculateJournalFileSize(Integer maximumFileSizeInMegabytes) {
-    if (maximumFileSizeInMegabytes != null) {
-      this.maximumFileSizeInBytes = ((long) maximumFileSizeInMegabytes * ONE_MEGABYTE_IN_BYTES) / 2;
-      this.clearFileMinimumSizeInBytes = this.maximumFileSizeInBytes / 2;
+  /**
+   * Moves the entries left by a journal with a different number of shards to the shards of this one, and then deletes its files.
+   * If the process stops half way the entries are moved again on the next start, skipping the ones a shard already has.
+   */
+  private void moveEntriesOfOtherLayouts(File logFileDirectory, TransactionCompletePredicate transactionCompletePredicate,
+                                         JournalEntrySerializer journalEntrySerializer) {
+    final File logFile1 = new File(logFileDirectory, TX1_LOG_FILE_NAME);
+    final File logFile2 = new File(logFileDirectory, TX2_LOG_FILE_NAME);
+    final List<File> sourceDirectories = new ArrayList<>();
+    if (shards.length > 1 && (logFile1.exists() || logFile2.exists())) {
+      sourceDirectories.add(logFileDirectory);
+    }
+    final Set<String> shardDirectoryNames = new HashSet<>();
+    if (shards.length > 1) {
+      for (int i = 0; i < shards.length; ++i) {
+        shardDirectoryNames.add(format(SHARD_DIRECTORY_NAME_FORMAT, i, shards.length));
+      }
+    }
+    final File[] otherShardDirectories = logFileDirectory.listFiles(file -> file.isDirectory()
+        && file.getName().startsWith(SHARD_DIRECTORY_NAME_PREFIX) && !shardDirectoryNames.contains(file.getName()));
+    if (otherShardDirectories != null) {
+      Arrays.sort(otherShardDirectories);
+      sourceDirectories.addAll(Arrays.asList(otherShardDirectories));
     }
+    if (sourceDirectories.isEmpty()) {
+      return;
+    }
+
+    // A transaction may be in two of the sources if the journal stopped while moving it, the one with fewer entries being a copy
+    // of the first ones of the other
+    final Map<T, Collection<K>> logEntries = new LinkedHashMap<>();
+    for (File sourceDirectory : sourceDirectories) {
+      final TransactionJournalShard<T, K> source =
+          new TransactionJournalShard(sourceDirectory, transactionCompletePredicate, journalEntrySerializer, null, false);
+      final Multimap<T, K> sourceLogEntries = LinkedHashMultimap.create();
+      source.addAllLogEntriesTo(sourceLogEntries);
+      source.close();
+      for (T txId : sourceLogEntries.keySet()) {
+        final Collection<K> txLogEntries = sourceLogEntries.get(txId);
+        final Collection<K> otherTxLogEntries = logEntries.get(txId);
+        if (otherTxLogEntries == null || otherTxLogEntries.size() < txLogEntries.size()) {
+          logEntries.put(txId, txLogEntries);
+        }
+      }
+    }
+
+    if (!logEntries.isEmpty()) {
+      logger.info(format("Moving entries of %d transactions from %s to the %d journal shards", logEntries.size(),
+                         sourceDirectories, shards.length));
+    }
+    for (Map.Entry<T, Collection<K>> txLogEntries : logEntries.entrySet()) {
+      final TransactionJournalShard<T, K> shard = shardFor(txLogEntries.getKey());
+      // Entries moved before a failure to remove the source files are not moved again
+      for (K journalEntry : skip(txLogEntries.getValue(), shard.getLogEntriesForTx(txLogEntries.getKey()).size())) {
+        shard.logUpdateOperation(journalEntry);
+      }
+    }
+
+    for (File sourceDirectory : sourceDirectories) {
+      if (sourceDirectory.equals(logFileDirectory)) {
+        FileUtils.deleteQuietly(logFile1);
+        FileUtils.deleteQuietly(logFile2);
+      } else {
+        FileUtils.deleteQuietly(sourceDirectory);
+      }
+    }
+  }
+
+  private TransactionJournalShard<T, K> shardFor(T txId) {
+    if (shards.length == 1) {
+      return shards[0];
+    }
+    final int hash = txId.hashCode();
+    return shards[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % shards.length];
   }
 
   /**
@@ -92,9 +231,8 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the update operation details
    */
-  public synchronized void logUpdateOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
+  public void logUpdateOperation(JournalEntry<T> journalEntry) {
+    shardFor(journalEntry.getTxId()).logUpdateOperation(journalEntry);
   }
 
   /**
@@ -104,12 +242,8 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the checkpoint operation details
    */
-  public synchronized void logCheckpointOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
-    if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
-      logFile.clearEntriesForTransaction(journalEntry.getTxId());
-    }
+  public void logCheckpointOperation(JournalEntry<T> journalEntry) {
+    shardFor(journalEntry.getTxId()).logCheckpointOperation(journalEntry);
   }
 
   /**
@@ -117,80 +251,36 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    * @return all the transaction entries for a certain transaction identifier
    */
   public Collection<K> getLogEntriesForTx(T txId) {
-    TransactionJournalFile logFile = determineLogFileWithoutModifyingCurrent(txId);
-    if (logFile == null || !logFile.containsTx(txId)) {
-      return Collections.emptyList();
-    }
-    return logFile.getLogEntries(txId);
+    return shardFor(txId).getLogEntriesForTx(txId);
   }
 
   /**
    * @return all the transactional entries from the journal
    */
-  public synchronized Multimap<T, K> getAllLogEntries() {
+  public Multimap<T, K> getAllLogEntries() {
     LinkedHashMultimap<T, K> logEntries = LinkedHashMultimap.create();
-    logEntries.putAll(currentLogFile.getAllLogEntries());
-    logEntries.putAll(notCurrentLogFile.getAllLogEntries());
+    for (TransactionJournalShard<T, K> shard : shards) {
+      shard.addAllLogEntriesTo(logEntries);
+    }
     return logEntries;
   }
 
   /**
    * Release the resources used by the transaction journal
    */
-  public synchronized void close() {
-    currentLogFile.close();
-    notCurrentLogFile.close();
+  public void close() {
+    for (TransactionJournalShard<T, K> shard : shards) {
+      shard.close();
+    }
   }
 
   /**
    * Removes all the entries from the transactional journal
    */
-  public synchronized void clear() {
-    currentLogFile.clear();
-    notCurrentLogFile.clear();
-  }
-
-  private TransactionJournalFile determineLogFile(T txId) {
-    final TransactionJournalFile logFile = determineLogFileWithoutModifyingCurrent(txId);
-    if (logFile != null) {
-      return logFile;
-    }
-    // we keep this condition for backward compatibility.
-    if (maximumFileSizeInBytes == null) {
-      if (currentLogFile.size() > MAXIMUM_LOG_FILE_ENTRIES && notCurrentLogFile.size() == 0) {
-        debugLogFilesSwap();
-        changeCurrentLogFile();
-      }
-    } else {
-      if (currentLogFile.fileLength() > maximumFileSizeInBytes && notCurrentLogFile.size() == 0) {
-        debugLogFilesSwap();
-        changeCurrentLogFile();
-      }
-    }
-    return currentLogFile;
-  }
-
-  private void debugLogFilesSwap() {
-    if (logger.isDebugEnabled()) {
-      logger.debug("Changing files, current file size: " + currentLogFile.fileLength() + " other file size: "
-          + notCurrentLogFile.fileLength());
-    }
-  }
-
-  private void changeCurrentLogFile() {
-    TransactionJournalFile aux = currentLogFile;
-    currentLogFile = notCurrentLogFile;
-    notCurrentLogFile = aux;
-  }
-
-  private TransactionJournalFile determineLogFileWithoutModifyingCurrent(T txId) {
-    if (currentLogFile.containsTx(txId)) {
-      return currentLogFile;
-    }
-    if (notCurrentLogFile.containsTx(txId)) {
-      return notCurrentLogFile;
+  public void clear() {
+    for (TransactionJournalShard<T, K> shard : shards) {
+      shard.clear();
     }
-    return null;
   }
 
 }
@@ -12,6 +12,7 @@ import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -20,6 +21,8 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -30,6 +33,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Manages a transaction journal file.
+ * <p>
+ * When created for group commit, entries are not written when logged but appended to a pending batch. Whoever waits for its
+ * entry to be written through {@link #awaitWritten(long)} while no other thread is writing takes the whole batch, writes it with
+ * a single call and forces it to disk, so the threads that log concurrently share one write and one fsync.
  *
  * @param <T> type of the transaction identifier
  * @param <K> type of the journal entry
@@ -47,12 +54,22 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   private final File journalFile;
   private final JournalEntrySerializer<T, K> journalEntrySerializer;
   private final Long clearFileMinimumSizeInBytes;
+  private final boolean groupCommit;
 
   private Multimap<T, K> entries = LinkedHashMultimap.create();
 
   private DataOutputStream logFileOutputStream;
+  private FileChannel logFileChannel;
   private int journalOperations = 0;
 
+  private final ByteArrayOutputStream pendingWrites = new ByteArrayOutputStream();
+  private long appendedSequence = 0;
+  private long writtenSequence = 0;
+  private boolean writing = false;
+  private long failedFromSequence = 0;
+  private long failedToSequence = 0;
+  private IOException writeFailure;
+
   /**
    * @param journalFile journal file to use. Will be created if it doesn't exists. If exists then transaction entries will get
    *        loaded from it.
@@ -61,9 +78,24 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
                                 TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes) {
+    this(journalFile, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes, false);
+  }
+
+  /**
+   * @param journalFile journal file to use. Will be created if it doesn't exists. If exists then transaction entries will get
+   *        loaded from it.
+   * @param journalEntrySerializer serializer for {@link JournalEntry}
+   * @param transactionCompletePredicate a callback to determine if a transaction is complete.
+   * @param groupCommit whether entries are logged through {@link #appendOperation(JournalEntry, byte[])} and written in batches
+   *        instead of through {@link #logOperation(JournalEntry)}.
+   */
+  public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
+                                TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes,
+                                boolean groupCommit) {
     this.journalFile = journalFile;
     this.journalEntrySerializer = journalEntrySerializer;
     this.clearFileMinimumSizeInBytes = clearFileMinimumSizeInBytes;
+    this.groupCommit = groupCommit;
     if (journalFile.exists()) {
       loadAllEntries(transactionCompletePredicate);
     }
@@ -81,6 +113,90 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
     journalOperations++;
   }
 
+  /**
+   * Adds a journal entry for an operation done over a transactional resource to the batch pending to be written. Only for a
+   * journal file created for group commit.
+   *
+   * @param journalEntry operation details
+   * @param serializedEntry the bytes to write for {@code journalEntry}
+   * @return the sequence to pass to {@link #awaitWritten(long)} to wait for the entry to be in the file
+   */
+  public synchronized long appendOperation(K journalEntry, byte[] serializedEntry) {
+    entries.put(journalEntry.getTxId(), journalEntry);
+    pendingWrites.write(serializedEntry, 0, serializedEntry.length);
+    journalOperations++;
+    return ++appendedSequence;
+  }
+
+  /**
+   * Waits until the entry appended with the given sequence is written and forced to disk, writing the pending batch if no other
+   * thread is already doing it.
+   *
+   * @param sequence the value returned by {@link #appendOperation(JournalEntry, byte[])}
+   */
+  public void awaitWritten(long sequence) {
+    final byte[] batch;
+    final long batchSequence;
+    final FileChannel channel;
+    synchronized (this) {
+      boolean interrupted = false;
+      while (writing && writtenSequence < sequence) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      if (writtenSequence >= sequence) {
+        checkWritten(sequence);
+        return;
+      }
+      writing = true;
+      batch = pendingWrites.toByteArray();
+      pendingWrites.reset();
+      batchSequence = appendedSequence;
+      channel = logFileChannel;
+    }
+
+    IOException failure = null;
+    try {
+      writeFully(channel, batch);
+    } catch (IOException e) {
+      failure = e;
+    } finally {
+      synchronized (this) {
+        if (failure != null) {
+          failedFromSequence = writtenSequence + 1;
+          failedToSequence = batchSequence;
+          writeFailure = failure;
+        }
+        writtenSequence = Math.max(writtenSequence, batchSequence);
+        writing = false;
+        notifyAll();
+      }
+    }
+    if (failure != null) {
+      throw new MuleRuntimeException(failure);
+    }
+  }
+
+  private void checkWritten(long sequence) {
+    if (writeFailure != null && sequence >= failedFromSequence && sequence <= failedToSequence) {
+      throw new MuleRuntimeException(writeFailure);
+    }
+  }
+
+  private void writeFully(FileChannel channel, byte[] batch) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.wrap(batch);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    channel.force(false);
+  }
+
   /**
    * Removes all journal entries for a particular transactions.
    *
@@ -101,17 +217,28 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   }
 
   protected void clearFileIfNeeded() {
+    if (isClearNeeded()) {
+      if (groupCommit && writing) {
+        // Entries may be appended while waiting for the batch being written
+        awaitNotWriting();
+        if (!isClearNeeded()) {
+          return;
+        }
+      }
+      clear();
+      journalOperations = 0;
+    }
+  }
+
+  private boolean isClearNeeded() {
     if (this.entries.isEmpty()) {
       if (clearFileMinimumSizeInBytes != null) {
-        if (fileLength() > clearFileMinimumSizeInBytes) {
-          clear();
-          journalOperations = 0;
-        }
-      } else if (journalOperations > MINIMUM_ENTRIES_TO_CLEAR_FILE) {
-        clear();
-        journalOperations = 0;
+        return fileLength() > clearFileMinimumSizeInBytes;
+      } else {
+        return journalOperations > MINIMUM_ENTRIES_TO_CLEAR_FILE;
       }
     }
+    return false;
   }
 
   /**
@@ -120,6 +247,9 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * Will not remove the transaction context.
    */
   public synchronized void close() {
+    if (groupCommit) {
+      writePendingEntries();
+    }
     try {
       logFileOutputStream.close();
     } catch (IOException e) {
@@ -130,6 +260,24 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
     }
   }
 
+  private void writePendingEntries() {
+    awaitNotWriting();
+    try {
+      if (pendingWrites.size() > 0) {
+        writeFully(logFileChannel, pendingWrites.toByteArray());
+      }
+    } catch (IOException e) {
+      logger.warn(e.getMessage());
+      if (logger.isDebugEnabled()) {
+        logger.debug("Error writing pending entries to transaction journal file", e);
+      }
+    } finally {
+      pendingWrites.reset();
+      writtenSequence = appendedSequence;
+      notifyAll();
+    }
+  }
+
   /**
    * @param txId transaction identifier
    * @return a copy collection of the journal entries for txId
@@ -156,12 +304,33 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * Remove all the entries from the transaction journal and cleans the transaction journal fle.
    */
   public synchronized void clear() {
+    if (groupCommit) {
+      // What is pending belongs to transactions being removed, so there is no need to write it
+      awaitNotWriting();
+      pendingWrites.reset();
+      writtenSequence = appendedSequence;
+      notifyAll();
+    }
     close();
     entries.clear();
     FileUtils.deleteQuietly(journalFile);
     createLogOutputStream();
   }
 
+  private void awaitNotWriting() {
+    boolean interrupted = false;
+    while (writing) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   private void createLogOutputStream() {
     if (!journalFile.exists()) {
       try {
@@ -171,7 +340,9 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
       }
     }
     try {
-      this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
+      FileOutputStream fileOutputStream = new FileOutputStream(journalFile, true);
+      this.logFileChannel = fileOutputStream.getChannel();
+      this.logFileOutputStream = new DataOutputStream(fileOutputStream);
     } catch (FileNotFoundException e) {
       throw new MuleRuntimeException(e);
     }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.journal;
+
+import static org.mule.runtime.core.util.journal.TransactionJournal.TX1_LOG_FILE_NAME;
+import static org.mule.runtime.core.util.journal.TransactionJournal.TX2_LOG_FILE_NAME;
+
+import org.mule.runtime.api.util.Preconditions;
+
+import com.google.common.collect.Multimap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the transactions assigned to a {@link TransactionJournal} shard.
+ *
+ * Uses two files for keeping track of the transactions and empties a file once all the entries in such file are resolved.
+ *
+ * When created for group commit, entries are serialized before taking the lock of the shard and the lock is released before
+ * waiting for them to be written, so the entries logged meanwhile are written in the same batch.
+ *
+ * @param <T> type of the transaction identifier
+ * @param <K> type of the journal entry
+ */
+class TransactionJournalShard<T, K extends JournalEntry<T>> {
+
+  private static final int MAXIMUM_LOG_FILE_ENTRIES = 50000;
+  private static final int ONE_MEGABYTE_IN_BYTES = 1024 * 1024;
+
+  private transient Logger logger = LoggerFactory.getLogger(getClass());
+
+  private final TransactionCompletePredicate transactionCompletePredicate;
+  private final JournalEntrySerializer<T, K> journalEntrySerializer;
+  private final boolean groupCommit;
+
+  /**
+   * Log file in which we are currently writing new entries.
+   */
+  private TransactionJournalFile<T, K> currentLogFile;
+  /**
+   * Log file which has old entries and will be cleared as soon as all the transaction in it are resolved.
+   */
+  private TransactionJournalFile<T, K> notCurrentLogFile;
+
+  /**
+   * Maximum transaction log file size in bytes.
+   */
+  private Long maximumFileSizeInBytes;
+
+  /**
+   * Minimum transaction log file size in bytes to consider it ready for clear content.
+   */
+  private Long clearFileMinimumSizeInBytes;
+
+  /**
+   * @param logFileDirectory directory used to store the journal files.
+   * @param groupCommit whether the entries logged concurrently are written in a single batch.
+   */
+  TransactionJournalShard(File logFileDirectory, TransactionCompletePredicate transactionCompletePredicate,
+                          JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes,
+                          boolean groupCommit) {
+    if (!logFileDirectory.exists()) {
+      Preconditions.checkState(logFileDirectory.mkdirs(),
+                               "Could not create directory for queue transaction logger " + logFileDirectory);
+    }
+    calculateJournalFileSize(maximumFileSizeInMegabytes);
+    File logFile1 = new File(logFileDirectory, TX1_LOG_FILE_NAME);
+    File logFile2 = new File(logFileDirectory, TX2_LOG_FILE_NAME);
+    logger.info(String.format("Using files for tx logs %s and %s", logFile1.getAbsolutePath(), logFile2.getAbsolutePath()));
+
+    this.currentLogFile = new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate,
+                                                     clearFileMinimumSizeInBytes, groupCommit);
+    this.notCurrentLogFile = new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate,
+                                                        clearFileMinimumSizeInBytes, groupCommit);
+    this.transactionCompletePredicate = transactionCompletePredicate;
+    this.journalEntrySerializer = journalEntrySerializer;
+    this.groupCommit = groupCommit;
+  }
+
+  private void calculateJournalFileSize(Integer maximumFileSizeInMegabytes) {
+    if (maximumFileSizeInMegabytes != null) {
+      this.maximumFileSizeInBytes = ((long) maximumFileSizeInMegabytes * ONE_MEGABYTE_IN_BYTES) / 2;
+      this.clearFileMinimumSizeInBytes = this.maximumFileSizeInBytes / 2;
+    }
+  }
+
+  void logUpdateOperation(JournalEntry<T> journalEntry) {
+    if (!groupCommit) {
+      synchronized (this) {
+        determineLogFile(journalEntry.getTxId()).logOperation(journalEntry);
+      }
+      return;
+    }
+
+    final byte[] serializedEntry = serialize(journalEntry);
+    final TransactionJournalFile logFile;
+    final long sequence;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      sequence = logFile.appendOperation(journalEntry, serializedEntry);
+    }
+    logFile.awaitWritten(sequence);
+  }
+
+  void logCheckpointOperation(JournalEntry<T> journalEntry) {
+    if (!groupCommit) {
+      synchronized (this) {
+        TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
+        logFile.logOperation(journalEntry);
+        if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+          logFile.clearEntriesForTransaction(journalEntry.getTxId());
+        }
+      }
+      return;
+    }
+
+    final byte[] serializedEntry = serialize(journalEntry);
+    final TransactionJournalFile logFile;
+    final long sequence;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      sequence = logFile.appendOperation(journalEntry, serializedEntry);
+      if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+        logFile.clearEntriesForTransaction(journalEntry.getTxId());
+      }
+    }
+    logFile.awaitWritten(sequence);
+  }
+
+  private byte[] serialize(JournalEntry<T> journalEntry) {
+    final ByteArrayOutputStream serializedEntry = new ByteArrayOutputStream();
+    journalEntrySerializer.serialize((K) journalEntry, new DataOutputStream(serializedEntry));
+    return serializedEntry.toByteArray();
+  }
+
+  Collection<K> getLogEntriesForTx(T txId) {
+    TransactionJournalFile logFile = determineLogFileWithoutModifyingCurrent(txId);
+    if (logFile == null || !logFile.containsTx(txId)) {
+      return Collections.emptyList();
+    }
+    return logFile.getLogEntries(txId);
+  }
+
+  synchronized void addAllLogEntriesTo(Multimap<T, K> logEntries) {
+    logEntries.putAll(currentLogFile.getAllLogEntries());
+    logEntries.putAll(notCurrentLogFile.getAllLogEntries());
+  }
+
+  synchronized void close() {
+    currentLogFile.close();
+    notCurrentLogFile.close();
+  }
+
+  synchronized void clear() {
+    currentLogFile.clear();
+    notCurrentLogFile.clear();
+  }
+
+  private TransactionJournalFile determineLogFile(T txId) {
+    final TransactionJournalFile logFile = determineLogFileWithoutModifyingCurrent(txId);
+    if (logFile != null) {
+      return logFile;
+    }
+    // we keep this condition for backward compatibility.
+    if (maximumFileSizeInBytes == null) {
+      if (currentLogFile.size() > MAXIMUM_LOG_FILE_ENTRIES && notCurrentLogFile.size() == 0) {
+        debugLogFilesSwap();
+        changeCurrentLogFile();
+      }
+    } else {
+      if (currentLogFile.fileLength() > maximumFileSizeInBytes && notCurrentLogFile.size() == 0) {
+        debugLogFilesSwap();
+        changeCurrentLogFile();
+      }
+    }
+    return currentLogFile;
+  }
+
+  private void debugLogFilesSwap() {
+    if (logger.isDebugEnabled()) {
+      logger.debug("Changing files, current file size: " + currentLogFile.fileLength() + " other file size: "
+          + notCurrentLogFile.fileLength());
+    }
+  }
+
+  private void changeCurrentLogFile() {
+    TransactionJournalFile aux = currentLogFile;
+    currentLogFile = notCurrentLogFile;
+    notCurrentLogFile = aux;
+  }
+
+  private TransactionJournalFile determineLogFileWithoutModifyingCurrent(T txId) {
+    if (currentLogFile.containsTx(txId)) {
+      return currentLogFile;
+    }
+    if (notCurrentLogFile.containsTx(txId)) {
+      return notCurrentLogFile;
+    }
+    return null;
+  }
+
+}
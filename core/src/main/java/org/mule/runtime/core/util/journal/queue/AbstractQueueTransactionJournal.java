@@ -6,7 +6,10 @@
  */
 package org.mule.runtime.core.util.journal.queue;
 
+import static java.lang.Integer.getInteger;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_TRANSACTION_JOURNAL_SHARDS;
+
 import org.mule.runtime.core.util.journal.JournalEntry;
 import org.mule.runtime.core.util.journal.JournalEntrySerializer;
 import org.mule.runtime.core.util.journal.TransactionCompletePredicate;
@@ -23,6 +26,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Base implementation for a queue transaction journal.
+ * <p>
+ * The journal is split in the number of shards given by the {@code mule.queue.transactionJournal.shards} system property, one by
+ * default. See {@link TransactionJournal}.
  *
  * @param <T> type of transaction identifier
  * @param <K> type of the actual journal entry which must extend {@link org.mule.runtime.core.util.journal.JournalEntry}
@@ -44,7 +50,7 @@ public abstract class AbstractQueueTransactionJournal<T, K extends JournalEntry<
         AbstractQueueTxJournalEntry abstractQueueTxJournalEntry = (AbstractQueueTxJournalEntry) journalEntry;
         return abstractQueueTxJournalEntry.isCommit() || abstractQueueTxJournalEntry.isRollback();
       }
-    }, journalEntrySerializer, maximumFileSizeInMegabytes);
+    }, journalEntrySerializer, maximumFileSizeInMegabytes, getInteger(MULE_QUEUE_TRANSACTION_JOURNAL_SHARDS, 1));
   }
 
   public void logAdd(T txId, QueueStore queue, Serializable value) {
@@ -6,8 +6,12 @@
  */
 package org.mule.runtime.core.util.queue;
 
+import static java.util.Collections.emptyList;
+
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Abstract queue delegate implementation that forces common queue behaviour
@@ -74,6 +78,32 @@ public abstract class AbstractQueueStoreDelegate implements QueueStoreDelegate {
     }
   }
 
+  /**
+   * Takes all the members in a single hold of the queue monitor, so waiting producers are notified once per batch.
+   */
+  @Override
+  public final List<Serializable> drainTo(int maxItems, long timeout) throws InterruptedException {
+    checkInterrupted();
+    synchronized (this) {
+      long l1 = timeout > 0L ? System.currentTimeMillis() : 0L;
+      long l2 = timeout;
+      while (isEmpty()) {
+        if (l2 <= 0L) {
+          return emptyList();
+        }
+        this.wait(l2);
+        l2 = timeout - (System.currentTimeMillis() - l1);
+      }
+
+      List<Serializable> items = new ArrayList<>(Math.max(1, Math.min(maxItems, size())));
+      do {
+        items.add(removeFirst());
+      } while (items.size() < maxItems && !isEmpty());
+      this.notifyAll();
+      return items;
+    }
+  }
+
   @Override
   public final Serializable peek() throws InterruptedException {
     checkInterrupted();
@@ -7,6 +7,7 @@
 package org.mule.runtime.core.util.queue;
 
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * Wrapper for QueueStore so the cache in {@link org.mule.runtime.core.util.queue.AbstractQueueManager} gets cleaned up when a
@@ -42,6 +43,11 @@ class CacheAwareQueueStore implements QueueStore {
     return queueStore.poll(timeout);
   }
 
+  @Override
+  public List<Serializable> drainTo(int maxItems, long timeout) throws InterruptedException {
+    return queueStore.drainTo(maxItems, timeout);
+  }
+
   @Override
   public Serializable peek() throws InterruptedException {
     return queueStore.peek();
@@ -6,17 +6,27 @@
  */
 package org.mule.runtime.core.util.queue;
 
+import static java.lang.String.format;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_MAPPED;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_RING_BUFFER;
+
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleProperties;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
 
 import org.apache.commons.lang.NotImplementedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Internal queue implementation that will execute operations directly to the queue storage. Stores information about a Queue
  */
 public class DefaultQueueStore implements RecoverableQueueStore {
 
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
   private QueueConfiguration config;
   private String name;
   private QueueStoreDelegate delegate;
@@ -41,13 +51,42 @@ public class DefaultQueueStore implements RecoverableQueueStore {
       this.config = new DefaultQueueConfiguration();
     }
     if (this.config.isPersistent()) {
-      delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
-                                                            muleContext, this.config.getCapacity());
+      String workingDirectory = muleContext.getConfiguration().getWorkingDirectory();
+      if (Boolean.getBoolean(MULE_QUEUE_MAPPED)) {
+        delegate = new MappedFileQueueStoreDelegate(this.name, workingDirectory, muleContext, this.config.getCapacity());
+        if (DualRandomAccessFileQueueStoreDelegate.hasStoredData(this.name, workingDirectory)) {
+          DualRandomAccessFileQueueStoreDelegate previousDelegate =
+              new DualRandomAccessFileQueueStoreDelegate(this.name, workingDirectory, muleContext, this.config.getCapacity());
+          moveEntries(previousDelegate.allElements(), previousDelegate);
+        }
+      } else {
+        delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, workingDirectory, muleContext, this.config.getCapacity());
+        if (MappedFileQueueStoreDelegate.hasStoredData(this.name, workingDirectory)) {
+          MappedFileQueueStoreDelegate previousDelegate =
+              new MappedFileQueueStoreDelegate(this.name, workingDirectory, muleContext, this.config.getCapacity());
+          moveEntries(previousDelegate.allElements(), previousDelegate);
+        }
+      }
+    } else if (Boolean.getBoolean(MULE_QUEUE_RING_BUFFER)) {
+      delegate = new RingBufferQueueStoreDelegate(this.config.getCapacity());
     } else {
       delegate = new DefaultQueueStoreDelegate(this.config.getCapacity());
     }
   }
 
+  /**
+   * Moves the entries stored with the persistent format that is not selected by {@link MuleProperties#MULE_QUEUE_MAPPED}, so
+   * switching it does not leave them behind. The previous files are deleted once the entries are durable in the current ones,
+   * so entries may be moved twice if the process stops in between.
+   */
+  private void moveEntries(Collection<Serializable> entries, TransactionalQueueStoreDelegate previousDelegate) {
+    if (!entries.isEmpty()) {
+      logger.info(format("Moving %s entries of queue %s stored with the previous queue store format", entries.size(), name));
+      delegate.addAll(entries);
+    }
+    previousDelegate.dispose();
+  }
+
   @Override
   public boolean equals(Object obj) {
     return (obj instanceof DefaultQueueStore && name.equals(((DefaultQueueStore) obj).name));
@@ -74,6 +113,10 @@ public class DefaultQueueStore implements RecoverableQueueStore {
     return delegate.poll(timeout);
   }
 
+  public List<Serializable> drainTo(int maxItems, long timeout) throws InterruptedException {
+    return delegate.drainTo(maxItems, timeout);
+  }
+
   public Serializable peek() throws InterruptedException {
     return delegate.peek();
   }
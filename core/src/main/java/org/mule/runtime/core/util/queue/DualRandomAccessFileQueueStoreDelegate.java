@@ -90,6 +90,13 @@ public class DualRandomAccessFileQueueStoreDelegate extends AbstractQueueStoreDe
     return new File(workingDirectory + File.separator + QUEUE_STORE_DIRECTORY);
   }
 
+  /**
+   * @return whether a queue with the given name was stored with this delegate in the given working directory.
+   */
+  static boolean hasStoredData(String queueName, String workingDirectory) {
+    return QueueFileProvider.exists(getQueuesDirectory(workingDirectory), queueName + QUEUE_DATA_CONTROL_SUFFIX);
+  }
+
 
   public static File getFirstQueueFileForTesting(String queueName, String workingDirectory) {
     return new File(getQueuesDirectory(workingDirectory), queueName + QUEUE_STORE_1_SUFFIX);
@@ -188,8 +195,11 @@ public class DualRandomAccessFileQueueStoreDelegate extends AbstractQueueStoreDe
 
   public Collection<Serializable> allElements() {
     List<Serializable> elements = new LinkedList<Serializable>();
-    elements.addAll(deserializeValues(randomAccessFileQueueStore1.allElements()));
-    elements.addAll(deserializeValues(randomAccessFileQueueStore2.allElements()));
+    // the read file holds the oldest entries
+    elements.addAll(deserializeValues(readFile.allElements()));
+    if (writeFile != readFile) {
+      elements.addAll(deserializeValues(writeFile.allElements()));
+    }
     return elements;
   }
 
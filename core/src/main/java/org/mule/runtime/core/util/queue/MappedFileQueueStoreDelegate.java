@@ -0,0 +1,791 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_MAPPED_SEGMENT_SIZE;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_QUEUE_MAPPED_SYNC;
+import static org.mule.runtime.core.util.queue.MappedQueueSegment.END_OF_SEGMENT;
+import static org.mule.runtime.core.util.queue.MappedQueueSegment.HEAD;
+import static org.mule.runtime.core.util.queue.MappedQueueSegment.HEADER_SIZE;
+import static org.mule.runtime.core.util.queue.MappedQueueSegment.NORMAL;
+import static org.mule.runtime.core.util.queue.MappedQueueSegment.RECORD_HEADER_SIZE;
+import static org.mule.runtime.core.util.queue.MappedQueueSegment.REMOVED;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.util.Preconditions;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleProperties;
+import org.mule.runtime.core.api.serialization.ObjectSerializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link TransactionalQueueStoreDelegate} implementation that stores the queue data in an append only log of memory mapped
+ * segment files.
+ * <p/>
+ * Unlike {@link DualRandomAccessFileQueueStoreDelegate}, consumed entries are not flagged in the log. Instead, the position of
+ * the consumer is kept in a small memory mapped offset file, and a segment is recycled once the consumer moved past it. On
+ * start-up only the segments still in use need to be read, and only their record headers are visited to rebuild the queue
+ * state.
+ * <p/>
+ * Producers append to the log while holding the queue lock, but flushing the log to the storage device is done outside of it:
+ * the first producer waiting for its entry to be durable forces all the pending segments on behalf of every producer that
+ * appended until then (group commit). Flushing can be disabled through {@link MuleProperties#MULE_QUEUE_MAPPED_SYNC}, in which
+ * case durability is left to the operating system.
+ * <p/>
+ * Persistent queues use this delegate instead of {@link DualRandomAccessFileQueueStoreDelegate} when
+ * {@link MuleProperties#MULE_QUEUE_MAPPED} is set to {@code true}. Entries stored by the other implementation are moved when the
+ * queue is created, see {@link DefaultQueueStore}.
+ * <p/>
+ * Entries restored to the head of the queue with {@link #untake(Serializable)} are appended to the log flagged as head entries,
+ * and are the only records that get flagged in place once consumed.
+ *
+ * @since 4.0
+ */
+public class MappedFileQueueStoreDelegate implements TransactionalQueueStoreDelegate {
+
+  private static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+  private static final int MAX_FREE_SEGMENTS = 2;
+  private static final String QUEUE_STORE_DIRECTORY = "queuestore";
+  private static final String OFFSET_FILE_SUFFIX = "-offset";
+  private static final String SEGMENT_FILE_INFIX = "-segment-";
+
+  protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final int capacity;
+  private final int segmentSize;
+  private final boolean sync;
+  private final ObjectSerializer serializer;
+  private final File queuesDirectory;
+  private final String segmentFilePrefix;
+  private final QueueFileProvider offsetFileProvider;
+  private final MappedByteBuffer offsetBuffer;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+
+  private final Deque<MappedQueueSegment> segments = new ArrayDeque<>();
+  private final Deque<MappedQueueSegment> freeSegments = new ArrayDeque<>();
+  private final Deque<HeadRecord> heads = new ArrayDeque<>();
+  private MappedQueueSegment writeSegment;
+  private MappedQueueSegment readSegment;
+  private int readPosition;
+  private int size;
+  private int nextSequence = 1;
+  private int nextSegmentFileIndex;
+  private long appendTicket;
+
+  private final ReentrantLock syncLock = new ReentrantLock();
+  private final Condition syncCompleted = syncLock.newCondition();
+  private long syncedTicket;
+  private boolean syncInProgress;
+
+  private final Condition forcesCompleted = lock.newCondition();
+  private int forcesInProgress;
+  private boolean closed;
+
+  public MappedFileQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity) {
+    this.capacity = capacity;
+    this.serializer = muleContext.getObjectSerializer();
+    this.segmentSize = Integer.getInteger(MULE_QUEUE_MAPPED_SEGMENT_SIZE, DEFAULT_SEGMENT_SIZE);
+    this.sync = Boolean.parseBoolean(System.getProperty(MULE_QUEUE_MAPPED_SYNC, "true"));
+    queuesDirectory = new File(workingDirectory + File.separator + QUEUE_STORE_DIRECTORY);
+    if (!queuesDirectory.exists()) {
+      Preconditions.checkState(queuesDirectory.mkdirs(),
+                               "Could not create queue store directory " + queuesDirectory.getAbsolutePath());
+    }
+    // QueueFileProvider takes care of sanitizing the queue name, segments are named after the resulting file
+    offsetFileProvider = new QueueFileProvider(queuesDirectory, queueName + OFFSET_FILE_SUFFIX);
+    String offsetFileName = offsetFileProvider.getFile().getName();
+    segmentFilePrefix = offsetFileName.substring(0, offsetFileName.length() - OFFSET_FILE_SUFFIX.length()) + SEGMENT_FILE_INFIX;
+    try {
+      offsetBuffer = offsetFileProvider.getRandomAccessFile().getChannel().map(READ_WRITE, 0, 8);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+    recover();
+
+    if (logger.isDebugEnabled()) {
+      logger.debug(String.format("Queue %s has %s messages", queueName, size));
+    }
+  }
+
+  private void recover() {
+    File[] segmentFiles = queuesDirectory.listFiles((dir, name) -> name.startsWith(segmentFilePrefix));
+    List<MappedQueueSegment> usedSegments = new ArrayList<>();
+    if (segmentFiles != null) {
+      for (File segmentFile : segmentFiles) {
+        nextSegmentFileIndex = Math.max(nextSegmentFileIndex, segmentFileIndex(segmentFile) + 1);
+        MappedQueueSegment segment = new MappedQueueSegment(segmentFile, segmentSize);
+        if (segment.isFree()) {
+          freeSegments.add(segment);
+        } else {
+          usedSegments.add(segment);
+        }
+      }
+    }
+    usedSegments.sort((s1, s2) -> Integer.compare(s1.getSequence(), s2.getSequence()));
+    segments.addAll(usedSegments);
+    if (segments.isEmpty()) {
+      writeSegment = acquireSegment(0);
+      readSegment = writeSegment;
+      readPosition = HEADER_SIZE;
+      storeOffset();
+      return;
+    }
+    nextSequence = segments.getLast().getSequence() + 1;
+    writeSegment = segments.getLast();
+
+    long offset = offsetBuffer.getLong(0);
+    int offsetSequence = (int) (offset >>> 32);
+    int offsetPosition = (int) offset;
+    readSegment = null;
+    for (MappedQueueSegment segment : segments) {
+      if (segment.getSequence() >= offsetSequence) {
+        readSegment = segment;
+        readPosition = segment.getSequence() == offsetSequence ? Math.max(offsetPosition, HEADER_SIZE) : HEADER_SIZE;
+        break;
+      }
+    }
+
+    boolean consumed = true;
+    for (MappedQueueSegment segment : segments) {
+      int position = HEADER_SIZE;
+      while (true) {
+        if (segment == readSegment && position >= readPosition) {
+          consumed = false;
+        }
+        int length = segment.recordLength(position);
+        if ((length == END_OF_SEGMENT && segment != writeSegment) || (length == 0 && segment == writeSegment)) {
+          break;
+        }
+        if (!segment.isValidRecord(position)) {
+          // partially written record, discard it and anything after it
+          if (segment == writeSegment) {
+            segment.truncate(position);
+          } else {
+            segment.setWritePosition(position);
+            segment.markEnd();
+          }
+          break;
+        }
+        byte flag = segment.flag(position);
+        if (flag == HEAD) {
+          heads.addFirst(new HeadRecord(segment, position));
+          segment.incrementLiveHeads();
+          size++;
+        } else if (flag == NORMAL && !consumed) {
+          size++;
+        }
+        position = segment.next(position);
+        segment.setWritePosition(position);
+      }
+      if (segment == readSegment) {
+        consumed = false;
+      }
+    }
+
+    if (readSegment == null) {
+      // everything in the log was consumed
+      readSegment = writeSegment;
+      readPosition = writeSegment.getWritePosition();
+    }
+    recycleConsumedSegments();
+  }
+
+  /**
+   * @return whether a queue with the given name was stored with this delegate in the given working directory.
+   */
+  static boolean hasStoredData(String queueName, String workingDirectory) {
+    return QueueFileProvider.exists(new File(workingDirectory + File.separator + QUEUE_STORE_DIRECTORY),
+                                    queueName + OFFSET_FILE_SUFFIX);
+  }
+
+  private int segmentFileIndex(File segmentFile) {
+    try {
+      return Integer.parseInt(segmentFile.getName().substring(segmentFilePrefix.length()));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  @Override
+  public void putNow(Serializable o) {
+    byte[] data = serializer.getInternalProtocol().serialize(o);
+    long ticket;
+    lock.lock();
+    try {
+      checkOpen();
+      ticket = append(data);
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+    awaitSynced(ticket);
+  }
+
+  @Override
+  public boolean offer(Serializable o, int room, long timeout) throws InterruptedException {
+    checkInterrupted();
+    byte[] data = o != null ? serializer.getInternalProtocol().serialize(o) : null;
+    long ticket;
+    lock.lock();
+    try {
+      if (capacity > 0) {
+        if (capacity <= room) {
+          throw new IllegalStateException("Can not add more objects than the capacity in one time");
+        }
+        long nanos = MILLISECONDS.toNanos(timeout);
+        while (size >= capacity - room) {
+          if (nanos <= 0L) {
+            return false;
+          }
+          nanos = notFull.awaitNanos(nanos);
+        }
+      }
+      if (data == null) {
+        return true;
+      }
+      checkOpen();
+      ticket = append(data);
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+    awaitSynced(ticket);
+    return true;
+  }
+
+  @Override
+  public Serializable poll(long timeout) throws InterruptedException {
+    checkInterrupted();
+    byte[] data;
+    lock.lock();
+    try {
+      long nanos = MILLISECONDS.toNanos(timeout);
+      while (size == 0) {
+        if (nanos <= 0L) {
+          return null;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+      checkOpen();
+      data = removeFirst();
+      notFull.signal();
+    } finally {
+      lock.unlock();
+    }
+    return deserialize(data);
+  }
+
+  @Override
+  public Serializable peek() throws InterruptedException {
+    checkInterrupted();
+    byte[] data;
+    lock.lock();
+    try {
+      if (size == 0) {
+        return null;
+      }
+      checkOpen();
+      data = readFirst(false);
+    } finally {
+      lock.unlock();
+    }
+    return deserialize(data);
+  }
+
+  @Override
+  public void untake(Serializable item) throws InterruptedException {
+    checkInterrupted();
+    byte[] data = serializer.getInternalProtocol().serialize(item);
+    long ticket;
+    lock.lock();
+    try {
+      checkOpen();
+      ensureRoom(data.length);
+      int position = writeSegment.append(data, HEAD);
+      writeSegment.incrementLiveHeads();
+      heads.addFirst(new HeadRecord(writeSegment, position));
+      size++;
+      ticket = ++appendTicket;
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+    awaitSynced(ticket);
+  }
+
+  @Override
+  public int getSize() {
+    lock.lock();
+    try {
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() throws InterruptedException {
+    checkInterrupted();
+    long ticket;
+    lock.lock();
+    try {
+      checkOpen();
+      for (HeadRecord head : heads) {
+        head.segment.setFlag(head.position, REMOVED);
+        head.segment.decrementLiveHeads();
+      }
+      heads.clear();
+      readSegment = writeSegment;
+      readPosition = writeSegment.getWritePosition();
+      size = 0;
+      storeOffset();
+      recycleConsumedSegments();
+      ticket = ++appendTicket;
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    awaitSynced(ticket);
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Serializable> items) {
+    List<byte[]> serializedItems = new ArrayList<>(items.size());
+    for (Serializable item : items) {
+      serializedItems.add(serializer.getInternalProtocol().serialize(item));
+    }
+    long ticket;
+    lock.lock();
+    try {
+      checkOpen();
+      ticket = appendTicket;
+      for (byte[] data : serializedItems) {
+        ticket = append(data);
+      }
+      notEmpty.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    awaitSynced(ticket);
+    return true;
+  }
+
+  /**
+   * Use this method carefully since it deserializes every element in the queue.
+   *
+   * @return all the elements from the queue, in the order they would be polled.
+   */
+  public Collection<Serializable> allElements() {
+    List<Serializable> elements = new LinkedList<>();
+    lock.lock();
+    try {
+      checkOpen();
+      for (HeadRecord head : heads) {
+        elements.add(deserialize(head.segment.read(head.position)));
+      }
+      forEachLiveRecord((segment, position) -> {
+        if (segment.flag(position) == NORMAL) {
+          elements.add(deserialize(segment.read(position)));
+        }
+        return false;
+      });
+    } finally {
+      lock.unlock();
+    }
+    return elements;
+  }
+
+  @Override
+  public void remove(Serializable value) {
+    lock.lock();
+    try {
+      checkOpen();
+      forEachLiveRecord((segment, position) -> {
+        if (!deserialize(segment.read(position)).equals(value)) {
+          return false;
+        }
+        if (segment.flag(position) == HEAD) {
+          heads.removeIf(head -> head.segment == segment && head.position == position);
+          segment.decrementLiveHeads();
+        }
+        segment.setFlag(position, REMOVED);
+        size--;
+        notFull.signal();
+        return true;
+      });
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean contains(Serializable value) {
+    lock.lock();
+    try {
+      checkOpen();
+      return forEachLiveRecord((segment, position) -> deserialize(segment.read(position)).equals(value));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      doClose();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void dispose() {
+    lock.lock();
+    try {
+      awaitPendingForces();
+      for (MappedQueueSegment segment : segments) {
+        segment.delete();
+      }
+      for (MappedQueueSegment segment : freeSegments) {
+        segment.delete();
+      }
+      segments.clear();
+      freeSegments.clear();
+      heads.clear();
+      size = 0;
+      if (!closed) {
+        closed = true;
+        MappedQueueSegment.unmap(offsetBuffer);
+        try {
+          offsetFileProvider.close();
+        } catch (IOException e) {
+          logger.warn("Failure closing queue offset file " + e.getMessage());
+        }
+      }
+      offsetFileProvider.delete();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void doClose() {
+    if (closed) {
+      return;
+    }
+    if (sync) {
+      forcePendingSegments();
+    }
+    awaitPendingForces();
+    closed = true;
+    for (MappedQueueSegment segment : segments) {
+      segment.close();
+    }
+    for (MappedQueueSegment segment : freeSegments) {
+      segment.close();
+    }
+    MappedQueueSegment.unmap(offsetBuffer);
+    try {
+      offsetFileProvider.close();
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  /**
+   * Waits for the threads forcing the log outside of {@link #lock} to finish, so the buffers they force are not unmapped
+   * meanwhile. Must be called while holding {@link #lock}.
+   */
+  private void awaitPendingForces() {
+    while (forcesInProgress > 0) {
+      forcesCompleted.awaitUninterruptibly();
+    }
+  }
+
+  private void checkOpen() {
+    Preconditions.checkState(!closed, "Queue store was closed");
+  }
+
+  /**
+   * Appends a record at the end of the log. Must be called while holding {@link #lock}.
+   *
+   * @return the ticket to wait for in order for the record to be durable
+   */
+  private long append(byte[] data) {
+    ensureRoom(data.length);
+    writeSegment.append(data, NORMAL);
+    size++;
+    return ++appendTicket;
+  }
+
+  private void ensureRoom(int length) {
+    if (!writeSegment.hasRoomFor(length)) {
+      writeSegment.markEnd();
+      boolean readingWriteSegmentEnd = readSegment == writeSegment && readPosition == writeSegment.getWritePosition();
+      writeSegment = acquireSegment(length);
+      if (readingWriteSegmentEnd) {
+        readSegment = writeSegment;
+        readPosition = HEADER_SIZE;
+        storeOffset();
+      }
+    }
+  }
+
+  private MappedQueueSegment acquireSegment(int length) {
+    int required = HEADER_SIZE + RECORD_HEADER_SIZE + length + 4;
+    MappedQueueSegment segment = null;
+    for (Iterator<MappedQueueSegment> iterator = freeSegments.iterator(); iterator.hasNext();) {
+      MappedQueueSegment freeSegment = iterator.next();
+      if (freeSegment.getCapacity() >= required) {
+        iterator.remove();
+        segment = freeSegment;
+        break;
+      }
+    }
+    if (segment == null) {
+      segment = new MappedQueueSegment(new File(queuesDirectory, segmentFilePrefix + nextSegmentFileIndex++),
+                                       Math.max(segmentSize, required));
+    }
+    segment.assign(nextSequence++);
+    segments.addLast(segment);
+    return segment;
+  }
+
+  private byte[] removeFirst() {
+    byte[] data = readFirst(true);
+    size--;
+    recycleConsumedSegments();
+    return data;
+  }
+
+  /**
+   * Reads the first live record in the queue, which must not be empty. Must be called while holding {@link #lock}.
+   *
+   * @param consume whether the record has to be consumed
+   */
+  private byte[] readFirst(boolean consume) {
+    if (!heads.isEmpty()) {
+      HeadRecord head = consume ? heads.pollFirst() : heads.peekFirst();
+      byte[] data = head.segment.read(head.position);
+      if (consume) {
+        head.segment.setFlag(head.position, REMOVED);
+        head.segment.decrementLiveHeads();
+      }
+      return data;
+    }
+    MappedQueueSegment segment = readSegment;
+    int position = readPosition;
+    Iterator<MappedQueueSegment> nextSegments = null;
+    while (true) {
+      int length = segment.recordLength(position);
+      if (length == END_OF_SEGMENT) {
+        if (nextSegments == null) {
+          nextSegments = segmentsAfter(segment);
+        }
+        segment = nextSegments.next();
+        position = HEADER_SIZE;
+        continue;
+      }
+      Preconditions.checkState(length > 0, "Queue log is empty while its size is " + size);
+      byte flag = segment.flag(position);
+      int recordPosition = position;
+      position = segment.next(position);
+      if (flag == NORMAL) {
+        if (consume) {
+          readSegment = segment;
+          readPosition = position;
+          storeOffset();
+        }
+        return segment.read(recordPosition);
+      }
+    }
+  }
+
+  private Iterator<MappedQueueSegment> segmentsAfter(MappedQueueSegment segment) {
+    Iterator<MappedQueueSegment> iterator = segments.iterator();
+    while (iterator.next() != segment) {
+      // advance until the given segment
+    }
+    return iterator;
+  }
+
+  /**
+   * Visits every live record in the queue, in log order, until the visitor returns {@code true}.
+   *
+   * @return whether the visitor returned {@code true} for any record
+   */
+  private boolean forEachLiveRecord(RecordVisitor visitor) {
+    boolean consumed = true;
+    for (MappedQueueSegment segment : segments) {
+      int position = HEADER_SIZE;
+      while (position < segment.getWritePosition()) {
+        if (segment == readSegment && position >= readPosition) {
+          consumed = false;
+        }
+        byte flag = segment.flag(position);
+        if ((flag == HEAD || (flag == NORMAL && !consumed)) && visitor.visit(segment, position)) {
+          return true;
+        }
+        position = segment.next(position);
+      }
+      if (segment == readSegment) {
+        consumed = false;
+      }
+    }
+    return false;
+  }
+
+  private void recycleConsumedSegments() {
+    while (segments.size() > 1 && segments.getFirst() != readSegment && segments.getFirst().getLiveHeads() == 0) {
+      MappedQueueSegment segment = segments.removeFirst();
+      if (freeSegments.size() < MAX_FREE_SEGMENTS && segment.getCapacity() == segmentSize) {
+        segment.free();
+        freeSegments.add(segment);
+      } else {
+        segment.delete();
+      }
+    }
+  }
+
+  private void storeOffset() {
+    offsetBuffer.putLong(0, ((long) readSegment.getSequence() << 32) | (readPosition & 0xFFFFFFFFL));
+  }
+
+  /**
+   * Waits until all the records appended up to the given ticket are forced to the storage device. If no other thread is already
+   * doing it, the calling thread forces the log for every record appended so far.
+   */
+  private void awaitSynced(long ticket) {
+    if (!sync) {
+      return;
+    }
+    syncLock.lock();
+    try {
+      while (syncedTicket < ticket) {
+        if (syncInProgress) {
+          syncCompleted.awaitUninterruptibly();
+        } else {
+          syncInProgress = true;
+          long forcedTicket = syncedTicket;
+          syncLock.unlock();
+          try {
+            forcedTicket = forcePendingSegments();
+          } finally {
+            syncLock.lock();
+            syncInProgress = false;
+            syncedTicket = Math.max(syncedTicket, forcedTicket);
+            syncCompleted.signalAll();
+          }
+        }
+      }
+    } finally {
+      syncLock.unlock();
+    }
+  }
+
+  /**
+   * Forces the segments modified since the last call and the offset file. The segments are pinned while they are forced without
+   * holding {@link #lock}, so a segment recycled meanwhile is not unmapped until it is done.
+   *
+   * @return the last ticket covered by the forced segments
+   */
+  private long forcePendingSegments() {
+    long ticket;
+    List<MappedQueueSegment> pendingSegments = new ArrayList<>();
+    lock.lock();
+    try {
+      ticket = appendTicket;
+      if (closed) {
+        // the log was forced when closed
+        return ticket;
+      }
+      for (MappedQueueSegment segment : segments) {
+        if (segment.clearDirty()) {
+          pendingSegments.add(segment);
+        }
+      }
+      for (MappedQueueSegment segment : freeSegments) {
+        if (segment.clearDirty()) {
+          pendingSegments.add(segment);
+        }
+      }
+      for (MappedQueueSegment segment : pendingSegments) {
+        segment.pin();
+      }
+      forcesInProgress++;
+    } finally {
+      lock.unlock();
+    }
+    try {
+      for (MappedQueueSegment segment : pendingSegments) {
+        segment.force();
+      }
+      offsetBuffer.force();
+    } finally {
+      lock.lock();
+      try {
+        for (MappedQueueSegment segment : pendingSegments) {
+          segment.unpin();
+        }
+        forcesInProgress--;
+        if (forcesInProgress == 0) {
+          forcesCompleted.signalAll();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return ticket;
+  }
+
+  private Serializable deserialize(byte[] data) {
+    return serializer.getInternalProtocol().deserialize(data);
+  }
+
+  private void checkInterrupted() throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+
+  private interface RecordVisitor {
+
+    boolean visit(MappedQueueSegment segment, int position);
+  }
+
+  private static final class HeadRecord {
+
+    private final MappedQueueSegment segment;
+    private final int position;
+
+    private HeadRecord(MappedQueueSegment segment, int position) {
+      this.segment = segment;
+      this.position = position;
+    }
+  }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A memory mapped, append only, segment of a {@link MappedFileQueueStoreDelegate} log.
+ * <p/>
+ * The segment starts with a header holding its sequence number (or {@link #FREE} when it can be recycled), followed by records
+ * with the layout {@code [length][flag][crc][data]}. The length is written last so a record that was not completely written is
+ * seen as the end of the segment. A length of {@link #END_OF_SEGMENT} means the writer moved to the next segment.
+ * <p/>
+ * This class is not thread safe, access must be guarded by the owner delegate. The only exception is {@link #force()}, which may
+ * be called without holding the owner lock as long as the segment is {@link #pin() pinned}.
+ */
+class MappedQueueSegment {
+
+  static final int HEADER_SIZE = 8;
+  static final int RECORD_HEADER_SIZE = 9;
+  static final int FREE = 0;
+  static final int END_OF_SEGMENT = -1;
+
+  static final byte NORMAL = 0;
+  static final byte HEAD = 1;
+  static final byte REMOVED = 2;
+
+  private static final int FLAG_OFFSET = 4;
+  private static final int CRC_OFFSET = 5;
+  private static final int ZERO_CHUNK_SIZE = 8 * 1024;
+
+  private static final Logger logger = LoggerFactory.getLogger(MappedQueueSegment.class);
+
+  private final File file;
+  private final RandomAccessFile randomAccessFile;
+  private final MappedByteBuffer buffer;
+  private int sequence;
+  private int writePosition = HEADER_SIZE;
+  private int highWaterMark;
+  private int liveHeads;
+  private boolean dirty;
+  private int pins;
+  private boolean releasePending;
+  private boolean deletePending;
+  private boolean released;
+
+  MappedQueueSegment(File file, int size) {
+    this.file = file;
+    try {
+      boolean newFile = !file.exists();
+      randomAccessFile = new RandomAccessFile(file, "rw");
+      long length = Math.max(randomAccessFile.length(), size);
+      FileChannel channel = randomAccessFile.getChannel();
+      buffer = channel.map(READ_WRITE, 0, length);
+      sequence = buffer.getInt(0);
+      highWaterMark = newFile ? HEADER_SIZE : buffer.capacity();
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  File getFile() {
+    return file;
+  }
+
+  int getSequence() {
+    return sequence;
+  }
+
+  int getCapacity() {
+    return buffer.capacity();
+  }
+
+  boolean isFree() {
+    return sequence == FREE;
+  }
+
+  /**
+   * Prepares a free segment to be written again, discarding any previous record.
+   *
+   * @param newSequence sequence number of the segment in the log
+   */
+  void assign(int newSequence) {
+    buffer.putInt(0, FREE);
+    zero(HEADER_SIZE, Math.min(highWaterMark + 4, buffer.capacity()));
+    buffer.putInt(0, newSequence);
+    sequence = newSequence;
+    writePosition = HEADER_SIZE;
+    liveHeads = 0;
+    dirty = true;
+  }
+
+  /**
+   * Flags the segment as available for recycling.
+   */
+  void free() {
+    buffer.putInt(0, FREE);
+    sequence = FREE;
+    dirty = true;
+  }
+
+  /**
+   * @return whether a record of the given length fits, leaving room for the end of segment marker.
+   */
+  boolean hasRoomFor(int length) {
+    return writePosition + RECORD_HEADER_SIZE + length + 4 <= buffer.capacity();
+  }
+
+  /**
+   * Appends a record at the end of the segment.
+   *
+   * @return the position of the record within the segment
+   */
+  int append(byte[] data, byte flag) {
+    int position = writePosition;
+    buffer.put(position + FLAG_OFFSET, flag);
+    buffer.putInt(position + CRC_OFFSET, crc(data));
+    ByteBuffer view = buffer.duplicate();
+    view.position(position + RECORD_HEADER_SIZE);
+    view.put(data);
+    buffer.putInt(position, data.length);
+    writePosition = position + RECORD_HEADER_SIZE + data.length;
+    highWaterMark = Math.max(highWaterMark, writePosition);
+    dirty = true;
+    return position;
+  }
+
+  void markEnd() {
+    buffer.putInt(writePosition, END_OF_SEGMENT);
+    dirty = true;
+  }
+
+  /**
+   * Discards whatever was written from the given position on. Used on recovery when a partially written record is found.
+   */
+  void truncate(int position) {
+    zero(position, buffer.capacity());
+    writePosition = position;
+    dirty = true;
+  }
+
+  int getWritePosition() {
+    return writePosition;
+  }
+
+  void setWritePosition(int writePosition) {
+    this.writePosition = writePosition;
+    highWaterMark = Math.max(highWaterMark, writePosition);
+  }
+
+  int recordLength(int position) {
+    if (position + RECORD_HEADER_SIZE > buffer.capacity()) {
+      return END_OF_SEGMENT;
+    }
+    return buffer.getInt(position);
+  }
+
+  /**
+   * @return whether the record at the given position is complete and its content matches its checksum.
+   */
+  boolean isValidRecord(int position) {
+    int length = buffer.getInt(position);
+    if (length <= 0 || position + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+      return false;
+    }
+    byte flag = flag(position);
+    return (flag == NORMAL || flag == HEAD || flag == REMOVED) && crc(read(position)) == buffer.getInt(position + CRC_OFFSET);
+  }
+
+  byte flag(int position) {
+    return buffer.get(position + FLAG_OFFSET);
+  }
+
+  void setFlag(int position, byte flag) {
+    buffer.put(position + FLAG_OFFSET, flag);
+    dirty = true;
+  }
+
+  byte[] read(int position) {
+    byte[] data = new byte[buffer.getInt(position)];
+    ByteBuffer view = buffer.duplicate();
+    view.position(position + RECORD_HEADER_SIZE);
+    view.get(data);
+    return data;
+  }
+
+  int next(int position) {
+    return position + RECORD_HEADER_SIZE + buffer.getInt(position);
+  }
+
+  int getLiveHeads() {
+    return liveHeads;
+  }
+
+  void incrementLiveHeads() {
+    liveHeads++;
+  }
+
+  void decrementLiveHeads() {
+    liveHeads--;
+  }
+
+  /**
+   * @return whether the segment was modified since the last call to this method.
+   */
+  boolean clearDirty() {
+    boolean wasDirty = dirty;
+    dirty = false;
+    return wasDirty;
+  }
+
+  /**
+   * Forces the content of the segment to the storage device.
+   */
+  void force() {
+    buffer.force();
+  }
+
+  /**
+   * Keeps the segment mapped until {@link #unpin()} is called, so it can be forced without holding the owner lock. Closing or
+   * deleting a pinned segment is deferred until it is no longer pinned.
+   */
+  void pin() {
+    pins++;
+  }
+
+  void unpin() {
+    pins--;
+    if (pins == 0 && releasePending) {
+      releasePending = false;
+      release(deletePending);
+    }
+  }
+
+  void close() {
+    release(false);
+  }
+
+  void delete() {
+    release(true);
+  }
+
+  private void release(boolean deleteFile) {
+    if (pins > 0) {
+      releasePending = true;
+      deletePending |= deleteFile;
+      return;
+    }
+    if (!released) {
+      released = true;
+      unmap(buffer);
+      try {
+        randomAccessFile.close();
+      } catch (IOException e) {
+        throw new MuleRuntimeException(e);
+      }
+    }
+    if (deleteFile) {
+      FileUtils.deleteQuietly(file);
+    }
+  }
+
+  /**
+   * Releases the mapping of the given buffer right away instead of when it is garbage collected, which would keep the file open
+   * and its address space reserved until then. The buffer must not be accessed afterwards.
+   */
+  static void unmap(MappedByteBuffer buffer) {
+    try {
+      Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+      cleanerMethod.setAccessible(true);
+      Object cleaner = cleanerMethod.invoke(buffer);
+      if (cleaner != null) {
+        cleaner.getClass().getMethod("clean").invoke(cleaner);
+      }
+    } catch (Exception e) {
+      // The JVM does not allow it, the mapping is released once the buffer is garbage collected
+      if (logger.isDebugEnabled()) {
+        logger.debug("Could not unmap queue segment buffer", e);
+      }
+    }
+  }
+
+  private void zero(int from, int to) {
+    ByteBuffer view = buffer.duplicate();
+    view.position(from);
+    byte[] zeros = new byte[Math.min(ZERO_CHUNK_SIZE, Math.max(to - from, 0))];
+    while (view.position() < to) {
+      view.put(zeros, 0, Math.min(zeros.length, to - view.position()));
+    }
+  }
+
+  private static int crc(byte[] data) {
+    CRC32 crc = new CRC32();
+    crc.update(data, 0, data.length);
+    return (int) crc.getValue();
+  }
+}
@@ -12,6 +12,8 @@ import org.mule.runtime.api.meta.NamedObject;
 import org.mule.runtime.core.api.store.ObjectStoreException;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Interface for mule queues used for VM.
@@ -41,6 +43,21 @@ public interface Queue extends NamedObject {
 
   Serializable poll(long timeout) throws InterruptedException;
 
+  /**
+   * Retrieves up to {@code maxItems} objects from this queue, waiting up to {@code timeout} milliseconds for the first one only.
+   *
+   * @return the retrieved objects, in queue order, or an empty list if there is none after the timeout
+   */
+  default List<Serializable> drainTo(int maxItems, long timeout) throws InterruptedException {
+    List<Serializable> items = new ArrayList<>();
+    Serializable item = poll(timeout);
+    while (item != null) {
+      items.add(item);
+      item = items.size() < maxItems ? poll(0) : null;
+    }
+    return items;
+  }
+
   boolean offer(Serializable object, long timeout) throws InterruptedException, ObjectStoreException;
 
   /**
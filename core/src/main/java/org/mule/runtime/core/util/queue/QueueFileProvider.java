@@ -58,6 +58,13 @@ public class QueueFileProvider {
     queueFile = new RandomAccessFile(file, OPEN_FILE_OPTIONS);
   }
 
+  /**
+   * @return whether the queue file with the given name exists, without creating it.
+   */
+  public static boolean exists(File storeDirectory, String fileName) {
+    return new File(storeDirectory, fileName).exists() || new File(storeDirectory, toHex(fileName)).exists();
+  }
+
   private static String toHex(String filename) {
     try {
       return new BigInteger(filename.getBytes(UTF_8_ENCODING)).toString(16);
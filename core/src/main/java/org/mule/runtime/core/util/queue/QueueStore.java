@@ -7,6 +7,7 @@
 package org.mule.runtime.core.util.queue;
 
 import java.io.Serializable;
+import java.util.List;
 
 import org.apache.commons.lang.NotImplementedException;
 
@@ -24,6 +25,8 @@ public interface QueueStore {
 
   Serializable poll(long timeout) throws InterruptedException;
 
+  List<Serializable> drainTo(int maxItems, long timeout) throws InterruptedException;
+
   Serializable peek() throws InterruptedException;
 
   void untake(Serializable item) throws InterruptedException;
@@ -7,8 +7,12 @@
 
 package org.mule.runtime.core.util.queue;
 
+import static java.util.Collections.emptyList;
+
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * A DefaultQueueStore delegates the actual work of processing its queue to one of these.
@@ -30,6 +34,25 @@ public interface QueueStoreDelegate {
    */
   Serializable poll(long timeout) throws InterruptedException;
 
+  /**
+   * Poll the queue for its first members, waiting up to {@code timeout} milliseconds for the first one only, and remove and
+   * return up to {@code maxItems} of them.
+   *
+   * @return the removed members, in queue order, or an empty list if there is none after the timeout
+   */
+  default List<Serializable> drainTo(int maxItems, long timeout) throws InterruptedException {
+    Serializable item = poll(timeout);
+    if (item == null) {
+      return emptyList();
+    }
+    List<Serializable> items = new ArrayList<>();
+    items.add(item);
+    while (items.size() < maxItems && (item = poll(0)) != null) {
+      items.add(item);
+    }
+    return items;
+  }
+
   /**
    * return, but do not remove, the first member of the queue
    */
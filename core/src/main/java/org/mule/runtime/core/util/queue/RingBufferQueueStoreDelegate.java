@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import org.mule.runtime.core.api.config.MuleProperties;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Non persistent {@link QueueStoreDelegate} that keeps the members of the queue in a bounded multi producer multi consumer ring
+ * buffer, so adding and removing members never blocks on a lock shared by every producer and consumer, as
+ * {@link DefaultQueueStoreDelegate} does.
+ * <p/>
+ * Members that do not fit in the ring, either because the queue has no capacity or because they are added regardless of it
+ * with {@link #putNow(Serializable)}, are kept in an unbounded overflow queue and consumed after the ones in the ring. New
+ * members go to the overflow queue while it is not empty, so the order of the members added by a single producer is kept.
+ * Members restored with {@link #untake(Serializable)} are kept apart and consumed before any other.
+ * <p/>
+ * Consumers and producers only take the lock when they have to wait, and each added or removed member wakes a single waiting
+ * thread instead of all of them. {@link #drainTo(int, long)} takes a batch of members on a single wake up.
+ * <p/>
+ * Non persistent queues use it instead of {@link DefaultQueueStoreDelegate} when {@link MuleProperties#MULE_QUEUE_RING_BUFFER}
+ * is set to {@code true}.
+ *
+ * @since 4.0
+ */
+public class RingBufferQueueStoreDelegate implements QueueStoreDelegate {
+
+  static final int MAX_RING_SIZE = 1024;
+
+  private final int capacity;
+  private final int mask;
+  private final AtomicReferenceArray<Serializable> ring;
+  private final AtomicLongArray sequences;
+  private final AtomicLong enqueuePosition = new AtomicLong();
+  private final AtomicLong dequeuePosition = new AtomicLong();
+  private final Deque<Serializable> untaken = new ConcurrentLinkedDeque<>();
+  private final Deque<Serializable> overflow = new ConcurrentLinkedDeque<>();
+
+  // Counts the members being added as well, so the capacity can be reserved before adding them
+  private final AtomicInteger size = new AtomicInteger();
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+  private final AtomicInteger waitingConsumers = new AtomicInteger();
+  private final AtomicInteger waitingProducers = new AtomicInteger();
+
+  public RingBufferQueueStoreDelegate(int capacity) {
+    this.capacity = capacity;
+    int ringSize = 1;
+    while (ringSize < MAX_RING_SIZE && (capacity <= 0 || ringSize < capacity)) {
+      ringSize <<= 1;
+    }
+    this.mask = ringSize - 1;
+    this.ring = new AtomicReferenceArray<>(ringSize);
+    this.sequences = new AtomicLongArray(ringSize);
+    for (int i = 0; i < ringSize; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  @Override
+  public void putNow(Serializable o) {
+    size.incrementAndGet();
+    add(o);
+  }
+
+  @Override
+  public boolean offer(Serializable o, int room, long timeout) throws InterruptedException {
+    checkInterrupted();
+    if (capacity > 0) {
+      if (capacity <= room) {
+        throw new IllegalStateException("Can not add more objects than the capacity in one time");
+      }
+      if (!reserve(capacity - room, timeout)) {
+        return false;
+      }
+      if (o == null) {
+        release(1);
+        return true;
+      }
+    } else if (o == null) {
+      return true;
+    } else {
+      size.incrementAndGet();
+    }
+    add(o);
+    return true;
+  }
+
+  @Override
+  public Serializable poll(long timeout) throws InterruptedException {
+    checkInterrupted();
+    Serializable item = takeFirst();
+    return item != null ? item : awaitFirst(timeout);
+  }
+
+  @Override
+  public List<Serializable> drainTo(int maxItems, long timeout) throws InterruptedException {
+    Serializable item = poll(timeout);
+    if (item == null) {
+      return emptyList();
+    }
+    List<Serializable> items = new ArrayList<>(Math.max(1, Math.min(maxItems, size.get() + 1)));
+    items.add(item);
+    while (items.size() < maxItems && (item = removeFirst()) != null) {
+      items.add(item);
+    }
+    // The first one was already released when polled
+    release(items.size() - 1);
+    return items;
+  }
+
+  @Override
+  public Serializable peek() throws InterruptedException {
+    checkInterrupted();
+    Serializable item = untaken.peekFirst();
+    if (item == null) {
+      item = peekRing();
+    }
+    return item != null ? item : overflow.peekFirst();
+  }
+
+  @Override
+  public void untake(Serializable item) throws InterruptedException {
+    checkInterrupted();
+    size.incrementAndGet();
+    untaken.addFirst(item);
+    signalNotEmpty();
+  }
+
+  /**
+   * @return the number of members in the queue, including the ones being added at the moment
+   */
+  @Override
+  public int getSize() {
+    return size.get();
+  }
+
+  @Override
+  public void clear() throws InterruptedException {
+    checkInterrupted();
+    int removed = 0;
+    while (removeFirst() != null) {
+      removed++;
+    }
+    release(removed);
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Serializable> items) {
+    for (Serializable item : items) {
+      putNow(item);
+    }
+    return !items.isEmpty();
+  }
+
+  @Override
+  public void dispose() {
+    int removed = 0;
+    while (removeFirst() != null) {
+      removed++;
+    }
+    release(removed);
+  }
+
+  private void add(Serializable item) {
+    if (!overflow.isEmpty() || !offerToRing(item)) {
+      overflow.addLast(item);
+    }
+    signalNotEmpty();
+  }
+
+  private Serializable takeFirst() {
+    Serializable item = removeFirst();
+    if (item != null) {
+      release(1);
+    }
+    return item;
+  }
+
+  private Serializable removeFirst() {
+    Serializable item = untaken.pollFirst();
+    if (item == null) {
+      item = pollFromRing();
+    }
+    return item != null ? item : overflow.pollFirst();
+  }
+
+  private Serializable awaitFirst(long timeout) throws InterruptedException {
+    if (timeout <= 0L) {
+      return null;
+    }
+    long nanos = MILLISECONDS.toNanos(timeout);
+    lock.lockInterruptibly();
+    waitingConsumers.incrementAndGet();
+    try {
+      Serializable item;
+      // Producers check for waiting consumers after adding, so the queue has to be checked again once registered as one
+      while ((item = takeFirst()) == null) {
+        if (nanos <= 0L) {
+          return null;
+        }
+        try {
+          nanos = notEmpty.awaitNanos(nanos);
+        } catch (InterruptedException e) {
+          // The signal may have been meant for this thread, so pass it on
+          notEmpty.signal();
+          throw e;
+        }
+      }
+      return item;
+    } finally {
+      waitingConsumers.decrementAndGet();
+      lock.unlock();
+    }
+  }
+
+  private boolean reserve(int limit, long timeout) throws InterruptedException {
+    if (tryReserve(limit)) {
+      return true;
+    }
+    if (timeout <= 0L) {
+      return false;
+    }
+    long nanos = MILLISECONDS.toNanos(timeout);
+    lock.lockInterruptibly();
+    waitingProducers.incrementAndGet();
+    try {
+      while (!tryReserve(limit)) {
+        if (nanos <= 0L) {
+          return false;
+        }
+        try {
+          nanos = notFull.awaitNanos(nanos);
+        } catch (InterruptedException e) {
+          notFull.signal();
+          throw e;
+        }
+      }
+      return true;
+    } finally {
+      waitingProducers.decrementAndGet();
+      lock.unlock();
+    }
+  }
+
+  private boolean tryReserve(int limit) {
+    for (;;) {
+      int current = size.get();
+      if (current >= limit) {
+        return false;
+      }
+      if (size.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private void release(int count) {
+    if (count > 0) {
+      size.addAndGet(-count);
+      signal(notFull, waitingProducers, count);
+    }
+  }
+
+  private void signalNotEmpty() {
+    signal(notEmpty, waitingConsumers, 1);
+  }
+
+  private void signal(Condition condition, AtomicInteger waiting, int count) {
+    if (waiting.get() > 0) {
+      lock.lock();
+      try {
+        for (int i = 0; i < count; i++) {
+          condition.signal();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Each slot of the ring holds the position it is expected to be written at next, or that position plus one once it has been
+   * written and until it is read, so producers and consumers claim slots by advancing their position without any lock.
+   */
+  private boolean offerToRing(Serializable item) {
+    long position = enqueuePosition.get();
+    for (;;) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (enqueuePosition.compareAndSet(position, position + 1)) {
+          ring.set(index, item);
+          sequences.set(index, position + 1);
+          return true;
+        }
+      } else if (difference < 0) {
+        return false;
+      }
+      position = enqueuePosition.get();
+    }
+  }
+
+  private Serializable pollFromRing() {
+    long position = dequeuePosition.get();
+    for (;;) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - (position + 1);
+      if (difference == 0) {
+        if (dequeuePosition.compareAndSet(position, position + 1)) {
+          Serializable item = ring.get(index);
+          ring.set(index, null);
+          sequences.set(index, position + mask + 1);
+          return item;
+        }
+      } else if (difference < 0) {
+        return null;
+      }
+      position = dequeuePosition.get();
+    }
+  }
+
+  private Serializable peekRing() {
+    for (;;) {
+      long position = dequeuePosition.get();
+      int index = (int) (position & mask);
+      if (sequences.get(index) != position + 1) {
+        return null;
+      }
+      Serializable item = ring.get(index);
+      if (item != null && dequeuePosition.get() == position) {
+        return item;
+      }
+    }
+  }
+
+  private void checkInterrupted() throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+}
@@ -12,6 +12,8 @@ import org.mule.runtime.core.api.store.ObjectStoreException;
 import org.mule.runtime.core.util.store.DeserializationPostInitialisable;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -91,6 +93,34 @@ public class TransactionAwareQueueStore implements Queue {
     }
   }
 
+  /**
+   * Outside of a transaction the items are taken from the queue in a single batch. Within a transaction they are polled one by
+   * one through the transaction context, so each one of them is tracked by the transaction.
+   */
+  @Override
+  public List<Serializable> drainTo(int maxItems, long timeout) throws InterruptedException {
+    if (transactionContextProvider.isTransactional()) {
+      return Queue.super.drainTo(maxItems, timeout);
+    }
+    try {
+      List<Serializable> items = queue.drainTo(maxItems, timeout);
+      List<Serializable> processedItems = new ArrayList<>(items.size());
+      for (Serializable item : items) {
+        Serializable processedItem = postProcessIfNeeded(item);
+        if (processedItem != null) {
+          processedItems.add(processedItem);
+        }
+      }
+      return processedItems;
+    } catch (InterruptedException iex) {
+      if (!muleContext.isStopping()) {
+        throw iex;
+      }
+      // if stopping, ignore
+      return new ArrayList<>();
+    }
+  }
+
   @Override
   public Serializable peek() throws InterruptedException {
     if (transactionContextProvider.isTransactional()) {
@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.util.Preconditions.checkState;
+
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.store.ListableObjectStore;
+import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.core.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <code>BoundedInMemoryObjectStore</code> implements an optionally bounded in-memory store with expiry of old entries.
+ * <p>
+ * Unlike {@link InMemoryObjectStore}, entries are indexed by key so lookups take constant time, and the maximum size is a
+ * <i>hard</i> limit enforced on every insertion. Entries are spread across a number of independently locked stripes, so
+ * operations on keys of different stripes don't contend. Each stripe keeps its entries in two linked lists: one in access order,
+ * used for eviction, and one in insertion order, used for expiry, so both only visit the entries being discarded.
+ * <p>
+ * The maximum size applies to the whole store, but eviction is only approximately least recently used: an insertion that
+ * exceeds it evicts the least recently used entry of the stripe of the inserted key, or of the following stripes when that one
+ * holds no other entry. A concurrency level of 1 gives exact least recently used eviction, at the cost of a single lock.
+ * <p>
+ * Expired entries are discarded periodically, and are also treated as absent as soon as their time-to-live elapses. The
+ * time-to-live counts from when the entry was stored, accessing it does not extend it.
+ */
+public class BoundedInMemoryObjectStore<T extends Serializable> extends AbstractMonitoredObjectStore<T>
+    implements ListableObjectStore<T> {
+
+  private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+  private final AtomicInteger entries = new AtomicInteger();
+  private Stripe[] stripes = createStripes(DEFAULT_CONCURRENCY_LEVEL);
+  private boolean ownsScheduler;
+
+  @Override
+  public void initialise() throws InitialisationException {
+    ownsScheduler = scheduler == null;
+    super.initialise();
+  }
+
+  @Override
+  public void dispose() {
+    // the scheduler may be shared when provided by an ObjectStoreManager
+    if (ownsScheduler) {
+      super.dispose();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Stripe[] createStripes(int concurrencyLevel) {
+    int stripesCount = 1;
+    while (stripesCount * 2 <= concurrencyLevel) {
+      stripesCount *= 2;
+    }
+    Stripe[] newStripes = new BoundedInMemoryObjectStore.Stripe[stripesCount];
+    for (int i = 0; i < stripesCount; i++) {
+      newStripes[i] = new Stripe();
+    }
+    return newStripes;
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return false;
+  }
+
+  @Override
+  public boolean contains(Serializable key) throws ObjectStoreException {
+    if (key == null) {
+      throw new ObjectStoreException(CoreMessages.objectIsNull("id"));
+    }
+    Stripe stripe = stripes[stripeIndex(key)];
+    synchronized (stripe) {
+      return stripe.get(key, now(), ttlNanos()) != null;
+    }
+  }
+
+  @Override
+  public void store(Serializable key, T value) throws ObjectStoreException {
+    if (key == null) {
+      throw new ObjectStoreException(CoreMessages.objectIsNull("id"));
+    }
+    int stripeIndex = stripeIndex(key);
+    Stripe stripe = stripes[stripeIndex];
+    synchronized (stripe) {
+      long now = now();
+      if (stripe.get(key, now, ttlNanos()) != null) {
+        throw new ObjectAlreadyExistsException();
+      }
+      stripe.add(key, value, now);
+    }
+    // Done once the lock of the stripe is released, so no thread ever holds the locks of two stripes
+    evictExceedingEntries(stripeIndex);
+  }
+
+  @Override
+  public T retrieve(Serializable key) throws ObjectStoreException {
+    Stripe stripe = stripes[stripeIndex(key)];
+    synchronized (stripe) {
+      Node<T> node = stripe.get(key, now(), ttlNanos());
+      if (node != null) {
+        return node.value;
+      }
+    }
+    throw new ObjectDoesNotExistException(CoreMessages.objectNotFound(key));
+  }
+
+  @Override
+  public T remove(Serializable key) throws ObjectStoreException {
+    Stripe stripe = stripes[stripeIndex(key)];
+    synchronized (stripe) {
+      Node<T> node = stripe.get(key, now(), ttlNanos());
+      if (node != null) {
+        stripe.unlink(node);
+        return node.value;
+      }
+    }
+    throw new ObjectDoesNotExistException(CoreMessages.objectNotFound(key));
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        stripe.clear();
+      }
+    }
+  }
+
+  @Override
+  public void open() throws ObjectStoreException {
+    // Nothing to do
+  }
+
+  @Override
+  public void close() throws ObjectStoreException {
+    // Nothing to do
+  }
+
+  @Override
+  public List<Serializable> allKeys() throws ObjectStoreException {
+    List<Serializable> keys = new ArrayList<>();
+    long now = now();
+    long ttlNanos = ttlNanos();
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        for (Node<T> node = stripe.eldestStored; node != null; node = node.nextStored) {
+          if (!isExpired(node, now, ttlNanos)) {
+            keys.add(node.key);
+          }
+        }
+      }
+    }
+    return keys;
+  }
+
+  /**
+   * @return the number of entries currently held, including the expired ones not yet discarded.
+   */
+  public int size() {
+    return entries.get();
+  }
+
+  @Override
+  protected void expire() {
+    if (entryTTL <= 0) {
+      return;
+    }
+    int expiredEntries = 0;
+    long now = now();
+    long ttlNanos = ttlNanos();
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        while (stripe.eldestStored != null && isExpired(stripe.eldestStored, now, ttlNanos)) {
+          stripe.unlink(stripe.eldestStored);
+          expiredEntries++;
+        }
+      }
+    }
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Expired " + expiredEntries + " old entries");
+    }
+  }
+
+  @Override
+  public void setMaxEntries(int maxEntries) {
+    super.setMaxEntries(maxEntries);
+    evictExceedingEntries(0);
+  }
+
+  /**
+   * @param concurrencyLevel the maximum number of independently locked stripes. It is rounded down to a power of two.
+   * @throws IllegalStateException if the store already holds entries
+   */
+  public void setConcurrencyLevel(int concurrencyLevel) {
+    checkState(entries.get() == 0, "The concurrency level can't be changed once entries are stored");
+    this.stripes = createStripes(concurrencyLevel);
+  }
+
+  private int stripeIndex(Serializable key) {
+    int hash = key.hashCode();
+    hash ^= (hash >>> 16);
+    return hash & (stripes.length - 1);
+  }
+
+  /**
+   * Evicts the least recently used entries of the stripes, starting from the given one, until the maximum size is no longer
+   * exceeded. The most recently used entry of a stripe is only evicted if no stripe holds more than one entry, so an insertion
+   * doesn't evict the entry it has just added.
+   */
+  private void evictExceedingEntries(int firstStripe) {
+    for (int minStripeSize = 2; minStripeSize > 0 && exceedsMaxEntries(); minStripeSize--) {
+      for (int i = 0; i < stripes.length && exceedsMaxEntries(); i++) {
+        Stripe stripe = stripes[(firstStripe + i) & (stripes.length - 1)];
+        synchronized (stripe) {
+          while (stripe.index.size() >= minStripeSize && reserveEviction()) {
+            stripe.remove(stripe.eldestAccessed);
+          }
+        }
+      }
+    }
+  }
+
+  private boolean exceedsMaxEntries() {
+    return maxEntries >= 0 && entries.get() > maxEntries;
+  }
+
+  /**
+   * Accounts for the eviction of an entry if the maximum size is exceeded, so concurrent insertions never evict more entries than
+   * needed.
+   *
+   * @return whether an entry has to be evicted
+   */
+  private boolean reserveEviction() {
+    int current;
+    do {
+      current = entries.get();
+      if (maxEntries < 0 || current <= maxEntries) {
+        return false;
+      }
+    } while (!entries.compareAndSet(current, current - 1));
+    return true;
+  }
+
+  protected long now() {
+    return System.nanoTime();
+  }
+
+  private long ttlNanos() {
+    return entryTTL > 0 ? MILLISECONDS.toNanos(entryTTL) : -1;
+  }
+
+  private static boolean isExpired(Node<?> node, long now, long ttlNanos) {
+    return ttlNanos >= 0 && now - node.storedAt >= ttlNanos;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + " " + name;
+  }
+
+  private final class Stripe {
+
+    private final Map<Serializable, Node<T>> index = new HashMap<>();
+    // access order, the eldest is the least recently used
+    private Node<T> eldestAccessed;
+    private Node<T> latestAccessed;
+    // insertion order, the eldest is the first to expire
+    private Node<T> eldestStored;
+    private Node<T> latestStored;
+
+    /**
+     * @return the live node for the given key, discarding it if it has already expired. A live node becomes the most recently
+     *         used one of the stripe.
+     */
+    private Node<T> get(Serializable key, long now, long ttlNanos) {
+      Node<T> node = index.get(key);
+      if (node == null) {
+        return null;
+      }
+      if (isExpired(node, now, ttlNanos)) {
+        unlink(node);
+        return null;
+      }
+      if (node != latestAccessed) {
+        unlinkAccessed(node);
+        linkAccessed(node);
+      }
+      return node;
+    }
+
+    private void add(Serializable key, T value, long now) {
+      Node<T> node = new Node<>(key, value, now);
+      index.put(key, node);
+      entries.incrementAndGet();
+      linkAccessed(node);
+      if (latestStored == null) {
+        eldestStored = node;
+      } else {
+        latestStored.nextStored = node;
+        node.previousStored = latestStored;
+      }
+      latestStored = node;
+    }
+
+    private void unlink(Node<T> node) {
+      remove(node);
+      entries.decrementAndGet();
+    }
+
+    /**
+     * Removes the node from the stripe without accounting for it in the size of the store.
+     */
+    private void remove(Node<T> node) {
+      index.remove(node.key);
+      unlinkAccessed(node);
+      if (node.previousStored == null) {
+        eldestStored = node.nextStored;
+      } else {
+        node.previousStored.nextStored = node.nextStored;
+      }
+      if (node.nextStored == null) {
+        latestStored = node.previousStored;
+      } else {
+        node.nextStored.previousStored = node.previousStored;
+      }
+      node.previousStored = null;
+      node.nextStored = null;
+    }
+
+    private void linkAccessed(Node<T> node) {
+      if (latestAccessed == null) {
+        eldestAccessed = node;
+      } else {
+        latestAccessed.nextAccessed = node;
+        node.previousAccessed = latestAccessed;
+      }
+      latestAccessed = node;
+    }
+
+    private void unlinkAccessed(Node<T> node) {
+      if (node.previousAccessed == null) {
+        eldestAccessed = node.nextAccessed;
+      } else {
+        node.previousAccessed.nextAccessed = node.nextAccessed;
+      }
+      if (node.nextAccessed == null) {
+        latestAccessed = node.previousAccessed;
+      } else {
+        node.nextAccessed.previousAccessed = node.previousAccessed;
+      }
+      node.previousAccessed = null;
+      node.nextAccessed = null;
+    }
+
+    private void clear() {
+      entries.addAndGet(-index.size());
+      index.clear();
+      eldestAccessed = null;
+      latestAccessed = null;
+      eldestStored = null;
+      latestStored = null;
+    }
+  }
+
+  private static final class Node<V> {
+
+    private final Serializable key;
+    private final V value;
+    private final long storedAt;
+    private Node<V> previousAccessed;
+    private Node<V> nextAccessed;
+    private Node<V> previousStored;
+    private Node<V> nextStored;
+
+    private Node(Serializable key, V value, long storedAt) {
+      this.key = key;
+      this.value = value;
+      this.storedAt = storedAt;
+    }
+  }
+}
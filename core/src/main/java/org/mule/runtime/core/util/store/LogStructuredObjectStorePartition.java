@@ -0,0 +1,695 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.lang.String.format;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.store.ObjectStoreManager.UNBOUNDED;
+import static org.mule.runtime.core.util.FileUtils.readFileToString;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.i18n.I18nMessage;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.core.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.store.ObjectStoreNotAvaliableException;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.util.FileUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link PersistentPartition} that appends its entries to segment files instead of writing one file per key.
+ * <p/>
+ * Each record has the layout {@code [length][crc][type][timestamp][key length][key][value]}. Removing an entry appends a
+ * tombstone record. The offsets of the live records are kept in an in-memory index so reading an entry takes a single positional
+ * read, and opening the partition only needs to scan the segments sequentially.
+ * <p/>
+ * Once the segment being written reaches {@link #SEGMENT_SIZE_PROPERTY_KEY} bytes it is sealed and a new one is started. When the
+ * proportion of stale records in the sealed segments reaches {@link #COMPACTION_THRESHOLD_PROPERTY_KEY} percent, the live records
+ * are copied to the current segment in the background and the sealed segments are deleted.
+ * <p/>
+ * An operation that writes returns once its records are on disk. Writers that wait for the disk at the same time are committed
+ * together by a single force of the segment. The partition descriptor starts with a format marker, so the directory is known to
+ * hold a partition of this kind even before its first segment is written.
+ */
+public class LogStructuredObjectStorePartition<T extends Serializable> implements PersistentPartition<T> {
+
+  public static final String SEGMENT_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "objectStore.logStructured.segmentSize";
+  public static final String COMPACTION_THRESHOLD_PROPERTY_KEY =
+      SYSTEM_PROPERTY_PREFIX + "objectStore.logStructured.compactionThreshold";
+
+  static final String SEGMENT_FILE_EXTENSION = ".seg";
+
+  private static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
+  private static final String FORMAT_MARKER = "log-structured-1\n";
+  private static final long DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+  private static final int DEFAULT_COMPACTION_THRESHOLD = 50;
+  private static final int RECORD_HEADER_SIZE = 8;
+  private static final int TYPE_OFFSET = RECORD_HEADER_SIZE;
+  private static final int TIMESTAMP_OFFSET = TYPE_OFFSET + 1;
+  private static final int KEY_LENGTH_OFFSET = TIMESTAMP_OFFSET + 8;
+  private static final int KEY_OFFSET = KEY_LENGTH_OFFSET + 4;
+  private static final byte PUT = 1;
+  private static final byte DELETE = 2;
+  private static final byte[] NO_VALUE = new byte[0];
+
+  protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+  private final MuleContext muleContext;
+  private final ObjectSerializer serializer;
+  private final Executor compactionExecutor;
+  private final long segmentSize = Long.getLong(SEGMENT_SIZE_PROPERTY_KEY, DEFAULT_SEGMENT_SIZE);
+  private final int compactionThreshold = Integer.getInteger(COMPACTION_THRESHOLD_PROPERTY_KEY, DEFAULT_COMPACTION_THRESHOLD);
+
+  private final File partitionDirectory;
+  private String partitionName;
+
+  private final Map<Serializable, RecordLocation> index = new LinkedHashMap<>();
+  private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+  private Segment activeSegment;
+  private boolean opened = false;
+  private boolean compactionScheduled = false;
+  private long appendedBytes = 0;
+
+  private final Object syncLock = new Object();
+  private long syncedBytes = 0;
+
+  LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory,
+                                    Executor compactionExecutor) {
+    this.muleContext = muleContext;
+    serializer = muleContext.getObjectSerializer();
+    this.partitionName = partitionName;
+    this.partitionDirectory = partitionDirectory;
+    this.compactionExecutor = compactionExecutor;
+  }
+
+  LogStructuredObjectStorePartition(MuleContext muleContext, File partitionDirectory, Executor compactionExecutor)
+      throws ObjectStoreNotAvaliableException {
+    this.muleContext = muleContext;
+    serializer = muleContext.getObjectSerializer();
+    this.partitionDirectory = partitionDirectory;
+    this.compactionExecutor = compactionExecutor;
+    this.partitionName = readPartitionFileName(partitionDirectory);
+  }
+
+  /**
+   * @return whether the given directory holds a partition written by this class.
+   */
+  static boolean isLogStructuredPartition(File partitionDirectory) {
+    File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+    try {
+      return partitionDescriptorFile.exists() && readFileToString(partitionDescriptorFile).startsWith(FORMAT_MARKER);
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private String readPartitionFileName(File partitionDirectory) throws ObjectStoreNotAvaliableException {
+    File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+    try {
+      String descriptor = readFileToString(partitionDescriptorFile);
+      if (!descriptor.startsWith(FORMAT_MARKER)) {
+        throw new IOException("Not a log structured partition descriptor: " + partitionDescriptorFile.getAbsolutePath());
+      }
+      return descriptor.substring(FORMAT_MARKER.length());
+    } catch (IOException e) {
+      throw new ObjectStoreNotAvaliableException(e);
+    }
+  }
+
+  @Override
+  public synchronized void open() throws ObjectStoreException {
+    if (opened) {
+      return;
+    }
+    createDirectory(partitionDirectory);
+    createOrRetrievePartitionDescriptorFile();
+    loadSegments();
+    opened = true;
+    scheduleCompactionIfNeeded();
+  }
+
+  @Override
+  public synchronized void close() throws ObjectStoreException {
+    if (!opened) {
+      return;
+    }
+    if (activeSegment != null) {
+      try {
+        activeSegment.force();
+      } catch (IOException e) {
+        logger.warn("Could not force the ObjectStore file " + activeSegment.file.getAbsolutePath(), e);
+      }
+    }
+    for (Segment segment : segments.values()) {
+      segment.close();
+    }
+    segments.clear();
+    index.clear();
+    activeSegment = null;
+    opened = false;
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return true;
+  }
+
+  @Override
+  public synchronized List<Serializable> allKeys() throws ObjectStoreException {
+    open();
+    return Collections.unmodifiableList(new ArrayList<>(index.keySet()));
+  }
+
+  @Override
+  public synchronized boolean contains(Serializable key) throws ObjectStoreException {
+    open();
+    return index.containsKey(key);
+  }
+
+  @Override
+  public void store(Serializable key, T value) throws ObjectStoreException {
+    long written;
+    synchronized (this) {
+      open();
+      if (index.containsKey(key)) {
+        throw new ObjectAlreadyExistsException();
+      }
+      ByteBuffer record = createRecord(PUT, System.currentTimeMillis(), serialize(key), serialize(value));
+      RecordLocation location = append(record);
+      location.segment.liveBytes += location.size;
+      index.put(key, location);
+      written = appendedBytes;
+    }
+    sync(written);
+  }
+
+  @Override
+  public synchronized T retrieve(Serializable key) throws ObjectStoreException {
+    open();
+    return readValue(key, getLocation(key));
+  }
+
+  @Override
+  public T remove(Serializable key) throws ObjectStoreException {
+    T value;
+    long written;
+    synchronized (this) {
+      open();
+      RecordLocation location = getLocation(key);
+      value = readValue(key, location);
+      delete(key);
+      scheduleCompactionIfNeeded();
+      written = appendedBytes;
+    }
+    sync(written);
+    return value;
+  }
+
+  @Override
+  public synchronized void clear() throws ObjectStoreException {
+    open();
+    for (Segment segment : segments.values()) {
+      segment.delete();
+    }
+    segments.clear();
+    index.clear();
+    activeSegment = null;
+  }
+
+  @Override
+  public void expire(int entryTTL, int maxEntries) throws ObjectStoreException {
+    long written;
+    synchronized (this) {
+      open();
+      List<Serializable> expiredKeys = new ArrayList<>();
+      int excess = maxEntries == UNBOUNDED ? 0 : index.size() - maxEntries;
+      final long now = System.currentTimeMillis();
+
+      // the index iterates in insertion order, so the oldest entries come first
+      for (Map.Entry<Serializable, RecordLocation> entry : index.entrySet()) {
+        if (excess > 0) {
+          excess--;
+        } else if (entryTTL == UNBOUNDED || now - entry.getValue().timestamp < entryTTL) {
+          break;
+        }
+        expiredKeys.add(entry.getKey());
+      }
+
+      if (expiredKeys.isEmpty()) {
+        return;
+      }
+      for (Serializable key : expiredKeys) {
+        delete(key);
+      }
+      scheduleCompactionIfNeeded();
+      written = appendedBytes;
+    }
+    sync(written);
+  }
+
+  @Override
+  public String getPartitionName() {
+    return partitionName;
+  }
+
+  private RecordLocation getLocation(Serializable key) throws ObjectDoesNotExistException {
+    RecordLocation location = index.get(key);
+    if (location == null) {
+      String message = "Key does not exist: " + key;
+      throw new ObjectDoesNotExistException(CoreMessages.createStaticMessage(message));
+    }
+    return location;
+  }
+
+  /**
+   * Appends a tombstone for the given key and discards its live record.
+   */
+  private void delete(Serializable key) throws ObjectStoreException {
+    RecordLocation location = index.get(key);
+    append(createRecord(DELETE, System.currentTimeMillis(), serialize(key), NO_VALUE));
+    index.remove(key);
+    location.segment.liveBytes -= location.size;
+  }
+
+  @SuppressWarnings("unchecked")
+  private T readValue(Serializable key, RecordLocation location) throws ObjectStoreException {
+    try {
+      ByteBuffer record = location.segment.read(location.position, location.size);
+      int keyLength = record.getInt(KEY_LENGTH_OFFSET);
+      byte[] value = new byte[location.size - KEY_OFFSET - keyLength];
+      record.position(KEY_OFFSET + keyLength);
+      record.get(value);
+      T storedValue = serializer.getInternalProtocol().deserialize(value);
+      if (storedValue instanceof DeserializationPostInitialisable) {
+        DeserializationPostInitialisable.Implementation.init(storedValue, muleContext);
+      }
+      return storedValue;
+    } catch (Exception e) {
+      throw new ObjectStoreException(CoreMessages.createStaticMessage("Could not read the value stored for key: " + key), e);
+    }
+  }
+
+  private byte[] serialize(Serializable object) throws ObjectStoreException {
+    try {
+      return serializer.getInternalProtocol().serialize(object);
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private static ByteBuffer createRecord(byte type, long timestamp, byte[] key, byte[] value) {
+    ByteBuffer record = ByteBuffer.allocate(KEY_OFFSET + key.length + value.length);
+    record.putInt(record.capacity() - RECORD_HEADER_SIZE);
+    record.putInt(0);
+    record.put(type);
+    record.putLong(timestamp);
+    record.putInt(key.length);
+    record.put(key);
+    record.put(value);
+    record.putInt(4, crc(record));
+    record.flip();
+    return record;
+  }
+
+  private static int crc(ByteBuffer record) {
+    CRC32 crc = new CRC32();
+    crc.update(record.array(), RECORD_HEADER_SIZE, record.capacity() - RECORD_HEADER_SIZE);
+    return (int) crc.getValue();
+  }
+
+  private RecordLocation append(ByteBuffer record) throws ObjectStoreException {
+    try {
+      if (activeSegment == null || (activeSegment.size > 0 && activeSegment.size + record.remaining() > segmentSize)) {
+        startSegment();
+      }
+      long timestamp = record.getLong(TIMESTAMP_OFFSET);
+      int size = record.remaining();
+      long position = activeSegment.append(record);
+      appendedBytes += size;
+      return new RecordLocation(activeSegment, position, size, timestamp);
+    } catch (IOException e) {
+      String message = "Could not write to ObjectStore partition " + partitionDirectory.getAbsolutePath();
+      throw new ObjectStoreException(CoreMessages.createStaticMessage(message), e);
+    }
+  }
+
+  /**
+   * Waits until the records appended up to {@code written} bytes are on disk. The thread that forces the active segment commits
+   * every record appended by then, so the writers that were waiting behind it usually find theirs already on disk.
+   */
+  private void sync(long written) throws ObjectStoreException {
+    synchronized (syncLock) {
+      if (syncedBytes >= written) {
+        return;
+      }
+      Segment segment;
+      long appended;
+      synchronized (this) {
+        segment = activeSegment;
+        appended = appendedBytes;
+      }
+      try {
+        if (segment != null) {
+          segment.force();
+        }
+      } catch (ClosedChannelException e) {
+        // the partition was closed, which forces the segment, or cleared
+      } catch (IOException e) {
+        String message = "Could not write to ObjectStore partition " + partitionDirectory.getAbsolutePath();
+        throw new ObjectStoreException(CoreMessages.createStaticMessage(message), e);
+      }
+      syncedBytes = appended;
+    }
+  }
+
+  private void startSegment() throws IOException {
+    if (activeSegment != null) {
+      // sealed segments are not forced by the writers anymore
+      activeSegment.force();
+    }
+    int sequence = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+    activeSegment = new Segment(new File(partitionDirectory, format("%010d%s", sequence, SEGMENT_FILE_EXTENSION)), sequence);
+    segments.put(sequence, activeSegment);
+  }
+
+  private void loadSegments() throws ObjectStoreException {
+    File[] files = partitionDirectory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION));
+    if (files == null) {
+      return;
+    }
+    // segment names are zero padded sequence numbers, so this is the order in which they were written
+    Arrays.sort(files);
+
+    try {
+      for (int i = 0; i < files.length; i++) {
+        String fileName = files[i].getName();
+        Segment segment = new Segment(files[i], Integer.parseInt(fileName.substring(0, fileName.indexOf('.'))));
+        segments.put(segment.sequence, segment);
+        replay(segment, i == files.length - 1);
+      }
+      sortIndexByTimestamp();
+      activeSegment = segments.isEmpty() ? null : segments.lastEntry().getValue();
+    } catch (Exception e) {
+      for (Segment segment : segments.values()) {
+        segment.close();
+      }
+      segments.clear();
+      index.clear();
+      String message = format("Could not restore object store data from %1s", partitionDirectory.getAbsolutePath());
+      throw new ObjectStoreException(CoreMessages.createStaticMessage(message), e);
+    }
+  }
+
+  /**
+   * Rebuilds the index entries for the records of the given segment.
+   */
+  private void replay(Segment segment, boolean lastSegment) throws Exception {
+    long position = 0;
+    long length = segment.channel.size();
+    while (position + KEY_OFFSET <= length) {
+      ByteBuffer header = segment.read(position, RECORD_HEADER_SIZE);
+      int size = RECORD_HEADER_SIZE + header.getInt(0);
+      if (size < KEY_OFFSET || position + size > length) {
+        break;
+      }
+      ByteBuffer record = segment.read(position, size);
+      if (record.getInt(4) != crc(record)) {
+        break;
+      }
+
+      long timestamp = record.getLong(TIMESTAMP_OFFSET);
+      byte[] key = new byte[record.getInt(KEY_LENGTH_OFFSET)];
+      record.position(KEY_OFFSET);
+      record.get(key);
+      Serializable realKey = serializer.getInternalProtocol().deserialize(key);
+
+      RecordLocation previous = index.remove(realKey);
+      if (previous != null) {
+        previous.segment.liveBytes -= previous.size;
+      }
+      if (record.get(TYPE_OFFSET) == PUT) {
+        index.put(realKey, new RecordLocation(segment, position, size, timestamp));
+        segment.liveBytes += size;
+      }
+      position += size;
+    }
+
+    if (position < length) {
+      if (lastSegment) {
+        logger.warn(format("Discarding incomplete record at the end of the ObjectStore file %s", segment.file.getName()));
+        segment.channel.truncate(position);
+      } else {
+        logger.warn(format("Could not read the ObjectStore file %s after offset %d, the remaining records will be skipped",
+                           segment.file.getName(), position));
+      }
+    }
+    segment.size = position;
+  }
+
+  /**
+   * Records copied by a compaction are written after newer ones, so the expiration order has to be restored from their
+   * timestamps.
+   */
+  private void sortIndexByTimestamp() {
+    long lastTimestamp = Long.MIN_VALUE;
+    boolean ordered = true;
+    for (RecordLocation location : index.values()) {
+      ordered &= location.timestamp >= lastTimestamp;
+      lastTimestamp = location.timestamp;
+    }
+    if (ordered) {
+      return;
+    }
+
+    List<Map.Entry<Serializable, RecordLocation>> entries = new ArrayList<>(index.entrySet());
+    entries.sort((e1, e2) -> Long.compare(e1.getValue().timestamp, e2.getValue().timestamp));
+    index.clear();
+    for (Map.Entry<Serializable, RecordLocation> entry : entries) {
+      index.put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  private void scheduleCompactionIfNeeded() {
+    if (compactionScheduled || compactionExecutor == null) {
+      return;
+    }
+    long sealedBytes = 0;
+    long liveBytes = 0;
+    for (Segment segment : segments.values()) {
+      if (segment != activeSegment) {
+        sealedBytes += segment.size;
+        liveBytes += segment.liveBytes;
+      }
+    }
+    if (sealedBytes > 0 && (sealedBytes - liveBytes) * 100 >= sealedBytes * compactionThreshold) {
+      compactionScheduled = true;
+      try {
+        compactionExecutor.execute(this::compact);
+      } catch (RejectedExecutionException e) {
+        // the store was disposed, the stale segments are compacted when the partition is opened again
+        compactionScheduled = false;
+        logger.debug("Compaction of ObjectStore partition " + partitionName + " skipped, the store is being disposed");
+      }
+    }
+  }
+
+  /**
+   * Copies the live records of the sealed segments to the active one and deletes the sealed segments. Tombstones are not copied,
+   * since every record they could hide is in a segment being deleted.
+   * <p/>
+   * Segments are processed and deleted in the order they were written, so if the process stops half way, a tombstone is never
+   * lost while an older record for the same key is still on disk.
+   */
+  void compact() {
+    try {
+      List<Segment> sealedSegments;
+      synchronized (this) {
+        sealedSegments = new ArrayList<>(segments.values());
+        sealedSegments.remove(activeSegment);
+      }
+
+      for (Segment segment : sealedSegments) {
+        if (!compact(segment)) {
+          return;
+        }
+      }
+    } catch (Exception e) {
+      logger.warn("Could not compact ObjectStore partition " + partitionName, e);
+    } finally {
+      synchronized (this) {
+        compactionScheduled = false;
+      }
+    }
+  }
+
+  private boolean compact(Segment segment) throws Exception {
+    long position = 0;
+    while (position < segment.size) {
+      synchronized (this) {
+        if (segments.get(segment.sequence) != segment) {
+          // the partition was cleared or closed
+          return false;
+        }
+        ByteBuffer header = segment.read(position, RECORD_HEADER_SIZE);
+        int size = RECORD_HEADER_SIZE + header.getInt(0);
+        ByteBuffer record = segment.read(position, size);
+        if (record.get(TYPE_OFFSET) == PUT) {
+          byte[] key = new byte[record.getInt(KEY_LENGTH_OFFSET)];
+          record.position(KEY_OFFSET);
+          record.get(key);
+          Serializable realKey = serializer.getInternalProtocol().deserialize(key);
+          RecordLocation location = index.get(realKey);
+          if (location != null && location.segment == segment && location.position == position) {
+            record.rewind();
+            RecordLocation newLocation = append(record);
+            newLocation.segment.liveBytes += size;
+            // replacing the value keeps the position of the entry in the expiration order
+            index.put(realKey, newLocation);
+          }
+        }
+        position += size;
+      }
+    }
+
+    synchronized (this) {
+      if (segments.get(segment.sequence) != segment) {
+        return false;
+      }
+      activeSegment.force();
+      segments.remove(segment.sequence);
+      segment.delete();
+      return true;
+    }
+  }
+
+  protected void createDirectory(File directory) throws ObjectStoreException {
+    try {
+      if (!directory.exists() && !directory.mkdirs()) {
+        I18nMessage message = CoreMessages.failedToCreate("object store directory " + directory.getAbsolutePath());
+        throw new MuleRuntimeException(message);
+      }
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  protected File createOrRetrievePartitionDescriptorFile() throws ObjectStoreException {
+    try {
+      File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+      if (partitionDescriptorFile.exists()) {
+        this.partitionName = readPartitionFileName(partitionDirectory);
+        return partitionDescriptorFile;
+      }
+      try (FileOutputStream outputStream = new FileOutputStream(partitionDescriptorFile, false);
+          Writer writer = new OutputStreamWriter(outputStream)) {
+        writer.write(FORMAT_MARKER);
+        writer.write(partitionName);
+        writer.flush();
+        outputStream.getFD().sync();
+      }
+      return partitionDescriptorFile;
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private static final class Segment {
+
+    private final File file;
+    private final int sequence;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+    private long size;
+    private long liveBytes;
+
+    private Segment(File file, int sequence) throws IOException {
+      this.file = file;
+      this.sequence = sequence;
+      randomAccessFile = new RandomAccessFile(file, "rw");
+      channel = randomAccessFile.getChannel();
+      size = channel.size();
+    }
+
+    private long append(ByteBuffer record) throws IOException {
+      long position = size;
+      long writePosition = position;
+      while (record.hasRemaining()) {
+        writePosition += channel.write(record, writePosition);
+      }
+      size = writePosition;
+      return position;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+      ByteBuffer buffer = ByteBuffer.allocate(length);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, position + buffer.position()) < 0) {
+          throw new IOException(format("Unexpected end of file %s at offset %d", file.getName(), position));
+        }
+      }
+      buffer.flip();
+      return buffer;
+    }
+
+    private void force() throws IOException {
+      channel.force(false);
+    }
+
+    private void close() {
+      try {
+        randomAccessFile.close();
+      } catch (IOException e) {
+        LoggerFactory.getLogger(LogStructuredObjectStorePartition.class).warn("error closing file " + file.getAbsolutePath());
+      }
+    }
+
+    private void delete() {
+      close();
+      FileUtils.deleteQuietly(file);
+    }
+  }
+
+  private static final class RecordLocation {
+
+    private final Segment segment;
+    private final long position;
+    private final int size;
+    private final long timestamp;
+
+    private RecordLocation(Segment segment, long position, int size, long timestamp) {
+      this.segment = segment;
+      this.position = position;
+      this.size = size;
+      this.timestamp = timestamp;
+    }
+  }
+}
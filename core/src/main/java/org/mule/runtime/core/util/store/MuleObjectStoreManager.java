@@ -7,6 +7,8 @@
 
 package org.mule.runtime.core.util.store;
 
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_BOUNDED_IN_MEMORY_OBJECT_STORES;
+
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.core.api.config.MuleProperties;
@@ -43,6 +45,7 @@ public class MuleObjectStoreManager implements ObjectStoreManager, MuleContextAw
   private String basePersistentStoreKey = MuleProperties.OBJECT_STORE_DEFAULT_PERSISTENT_NAME;
   private String baseTransientUserStoreKey = MuleProperties.DEFAULT_USER_TRANSIENT_OBJECT_STORE_NAME;
   private String basePersistentUserStoreKey = MuleProperties.DEFAULT_USER_OBJECT_STORE_NAME;
+  private boolean boundedInMemoryStores = Boolean.getBoolean(MULE_BOUNDED_IN_MEMORY_OBJECT_STORES);
 
   @Override
   public <T extends ObjectStore<? extends Serializable>> T getObjectStore(String name) {
@@ -87,6 +90,11 @@ public class MuleObjectStoreManager implements ObjectStoreManager, MuleContextAw
       return (T) stores.get(name);
     }
 
+    if (boundedInMemoryStores && baseStore instanceof PartitionedInMemoryObjectStore
+        && (maxEntries != UNBOUNDED || entryTTL != UNBOUNDED)) {
+      return (T) createBoundedInMemoryStore(name, maxEntries, entryTTL, expirationInterval);
+    }
+
     T store = null;
     try {
       store = this.getPartitionFromBaseObjectStore(baseStore, name);
@@ -102,6 +110,30 @@ public class MuleObjectStoreManager implements ObjectStoreManager, MuleContextAw
     }
   }
 
+  /**
+   * Creates a store that enforces its bounds on every operation instead of being trimmed periodically by a {@link Monitor}.
+   * Expiration is still run periodically using the scheduler of this manager.
+   */
+  private BoundedInMemoryObjectStore<Serializable> createBoundedInMemoryStore(String name, int maxEntries, int entryTTL,
+                                                                              int expirationInterval) {
+    BoundedInMemoryObjectStore<Serializable> store = new BoundedInMemoryObjectStore<>();
+    store.setName(name);
+    store.setMaxEntries(maxEntries);
+    store.setEntryTTL(entryTTL);
+    store.setMuleContext(muleContext);
+    store.setScheduler(scheduler);
+    try {
+      store.initialise();
+    } catch (InitialisationException e) {
+      throw new MuleRuntimeException(e);
+    }
+    stores.put(name, store);
+    if (entryTTL != UNBOUNDED && expirationInterval > 0) {
+      monitors.put(name, scheduler.scheduleWithFixedDelay(store, 0, expirationInterval, TimeUnit.MILLISECONDS));
+    }
+    return store;
+  }
+
   private <T extends ListableObjectStore<? extends Serializable>> T getBaseUserStore(boolean persistent) {
     T baseStore;
     if (persistent) {
@@ -228,6 +260,12 @@ public class MuleObjectStoreManager implements ObjectStoreManager, MuleContextAw
         logger.warn(String.format("ObjectStore of class %s does not support clearing", store.getClass().getCanonicalName()), e);
       }
       try {
+        if (store instanceof BoundedInMemoryObjectStore) {
+          ScheduledFuture<?> future = monitors.remove(((BoundedInMemoryObjectStore) store).getName());
+          if (future != null) {
+            future.cancel(false);
+          }
+        }
         stores.values().remove(store);
       } catch (Exception e) {
         logger.warn("Can not remove object store" + store.toString(), e);
@@ -272,6 +310,15 @@ public class MuleObjectStoreManager implements ObjectStoreManager, MuleContextAw
     return monitors.size();
   }
 
+  /**
+   * @param boundedInMemoryStores whether bounded transient stores are backed by a {@link BoundedInMemoryObjectStore} instead of a
+   *        periodically trimmed partition of the default in-memory store. Defaults to the value of the
+   *        {@link MuleProperties#MULE_BOUNDED_IN_MEMORY_OBJECT_STORES} system property.
+   */
+  public void setBoundedInMemoryStores(boolean boundedInMemoryStores) {
+    this.boundedInMemoryStores = boundedInMemoryStores;
+  }
+
   public void setBasePersistentStoreKey(String basePersistentStoreKey) {
     this.basePersistentStoreKey = basePersistentStoreKey;
   }
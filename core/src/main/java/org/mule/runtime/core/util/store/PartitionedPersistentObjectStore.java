@@ -6,8 +6,14 @@
  */
 package org.mule.runtime.core.util.store;
 
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_LOG_STRUCTURED_OBJECT_STORE;
+
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.store.ObjectStoreException;
 import org.mule.runtime.core.api.store.PartitionableExpirableObjectStore;
@@ -15,6 +21,7 @@ import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.api.i18n.I18nMessage;
 import org.mule.runtime.core.util.FileUtils;
 import org.mule.runtime.core.util.UUID;
+import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
 
 import java.io.File;
 import java.io.FileFilter;
@@ -24,16 +31,20 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 
 public class PartitionedPersistentObjectStore<T extends Serializable> extends AbstractPartitionedObjectStore<T>
-    implements MuleContextAware, PartitionableExpirableObjectStore<T> {
+    implements MuleContextAware, PartitionableExpirableObjectStore<T>, Disposable {
 
   public static final String OBJECT_STORE_DIR = "objectstore";
 
   private MuleContext muleContext;
   private File storeDirectory;
-  private Map<String, PersistentObjectStorePartition> partitionsByName = new HashMap<String, PersistentObjectStorePartition>();
+  private Map<String, PersistentPartition> partitionsByName = new HashMap<String, PersistentPartition>();
   private boolean initialized = false;
+  private boolean logStructured = Boolean.getBoolean(MULE_LOG_STRUCTURED_OBJECT_STORE);
+  private ThreadPoolExecutor compactionExecutor;
 
   public PartitionedPersistentObjectStore() {
     super();
@@ -71,12 +82,27 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
   public void close(String partitionName) throws ObjectStoreException {}
 
   private void createPartition(String partitionName) throws ObjectStoreException {
-    PersistentObjectStorePartition persistentObjectStorePartition =
-        new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory());
+    PersistentPartition persistentObjectStorePartition;
+    if (logStructured) {
+      persistentObjectStorePartition =
+          new LogStructuredObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory(), getCompactionExecutor());
+    } else {
+      persistentObjectStorePartition = new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory());
+    }
     persistentObjectStorePartition.open();
     partitionsByName.put(partitionName, persistentObjectStorePartition);
   }
 
+  private synchronized ThreadPoolExecutor getCompactionExecutor() {
+    if (compactionExecutor == null) {
+      // the thread goes away while there is nothing to compact, and the executor is shut down on dispose
+      compactionExecutor = new ThreadPoolExecutor(1, 1, 30, SECONDS, new LinkedBlockingQueue<>(),
+                                                  new DaemonThreadFactory("objectstore-compaction", getClass().getClassLoader()));
+      compactionExecutor.allowCoreThreadTimeOut(true);
+    }
+    return compactionExecutor;
+  }
+
   private File getNewPartitionDirectory() {
     return new File(storeDirectory, UUID.getUUID());
   }
@@ -116,7 +142,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     this.getPartitionObjectStore(partitionName).clear();
   }
 
-  private PersistentObjectStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
+  private PersistentPartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
     if (!partitionsByName.containsKey(partitionName)) {
       throw new ObjectStoreException(CoreMessages.createStaticMessage("No partition named: " + partitionName));
     }
@@ -177,8 +203,13 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     }
     for (File partitionDirectory : directories) {
       try {
-        PersistentObjectStorePartition persistentObjectStorePartition =
-            new PersistentObjectStorePartition(muleContext, partitionDirectory);
+        PersistentPartition persistentObjectStorePartition;
+        if (LogStructuredObjectStorePartition.isLogStructuredPartition(partitionDirectory)) {
+          persistentObjectStorePartition =
+              new LogStructuredObjectStorePartition(muleContext, partitionDirectory, getCompactionExecutor());
+        } else {
+          persistentObjectStorePartition = new PersistentObjectStorePartition(muleContext, partitionDirectory);
+        }
         persistentObjectStorePartition.open();
         partitionsByName.put(persistentObjectStorePartition.getPartitionName(), persistentObjectStorePartition);
       } catch (Exception e) {
@@ -192,6 +223,47 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     muleContext = context;
   }
 
+  /**
+   * @param logStructured whether new partitions append their entries to segment files instead of writing a file per entry.
+   *        Existing partitions keep the format they were created with.
+   */
+  public void setLogStructured(boolean logStructured) {
+    this.logStructured = logStructured;
+  }
+
+  /**
+   * Waits for a running compaction to finish and closes the partitions, so their pending writes are forced to disk. Partitions
+   * used after this skip compaction until the store is created again.
+   */
+  @Override
+  public void dispose() {
+    ThreadPoolExecutor executor;
+    synchronized (this) {
+      executor = compactionExecutor;
+      compactionExecutor = null;
+    }
+    if (executor != null) {
+      executor.shutdown();
+      try {
+        if (!executor.awaitTermination(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS)) {
+          logger.warn("ObjectStore compaction did not finish before the shutdown timeout");
+        }
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+      }
+    }
+
+    synchronized (this) {
+      for (PersistentPartition partition : partitionsByName.values()) {
+        try {
+          partition.close();
+        } catch (ObjectStoreException e) {
+          logger.warn("Could not close ObjectStore partition " + partition.getPartitionName(), e);
+        }
+      }
+    }
+  }
+
   @Override
   public void expire(int entryTTL, int maxEntries) throws ObjectStoreException {
     expire(entryTTL, maxEntries, DEFAULT_PARTITION);
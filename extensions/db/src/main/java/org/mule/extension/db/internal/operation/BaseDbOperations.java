@@ -50,6 +50,7 @@ abstract class BaseDbOperations {
 
   private static final Logger LOGGER = getLogger(DmlOperations.class);
   protected static final int DEFAULT_FETCH_SIZE = 10;
+  protected static final int MAX_TUNED_FETCH_SIZE = 1000;
   protected static final String QUERY_GROUP = "Query";
   protected static final String QUERY_SETTINGS = "Query Settings";
 
@@ -69,7 +70,8 @@ abstract class BaseDbOperations {
       if (statementAttributes.getFetchSize() != null) {
         statementFactory.setFetchSize(statementAttributes.getFetchSize());
       } else if (streaming) {
-        LOGGER.warn("Streaming mode needs to configure fetchSize property. Using default value: " + DEFAULT_FETCH_SIZE);
+        LOGGER.debug("Streaming mode without fetchSize property. Starting with fetch size " + DEFAULT_FETCH_SIZE
+            + ", increased as rows are consumed up to " + MAX_TUNED_FETCH_SIZE);
         statementFactory.setFetchSize(DEFAULT_FETCH_SIZE);
       }
     }
@@ -79,6 +81,14 @@ abstract class BaseDbOperations {
     return statementFactory;
   }
 
+  /**
+   * @return the maximum fetch size a streamed result set is tuned up to, which is only done when the fetch size is not
+   *         explicitly configured. {@code 0} when the fetch size must not be tuned.
+   */
+  protected int getMaxTunedFetchSize(StatementAttributes statementAttributes, boolean streaming) {
+    return streaming && statementAttributes != null && statementAttributes.getFetchSize() == null ? MAX_TUNED_FETCH_SIZE : 0;
+  }
+
   protected StatementResult executeUpdate(QueryDefinition query,
                                           StatementAttributes statementAttributes,
                                           AutoGeneratedKeyAttributes autoGeneratedKeyAttributes,
@@ -16,6 +16,7 @@ import static org.mule.extension.db.internal.domain.query.QueryType.TRUNCATE;
 import static org.mule.extension.db.internal.domain.query.QueryType.UPDATE;
 import static org.mule.extension.db.internal.operation.AutoGeneratedKeyAttributes.AUTO_GENERATED_KEYS;
 import static org.mule.runtime.api.meta.ExpressionSupport.NOT_SUPPORTED;
+import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.extension.db.api.StatementResult;
 import org.mule.extension.db.api.param.QueryDefinition;
 import org.mule.extension.db.api.param.StoredProcedureCall;
@@ -33,10 +34,13 @@ import org.mule.extension.db.internal.resolver.query.StoredProcedureQueryResolve
 import org.mule.extension.db.internal.result.resultset.IteratorResultSetHandler;
 import org.mule.extension.db.internal.result.resultset.ListResultSetHandler;
 import org.mule.extension.db.internal.result.resultset.ResultSetHandler;
+import org.mule.extension.db.internal.result.resultset.ResultSetIterator;
 import org.mule.extension.db.internal.result.row.InsensitiveMapRowHandler;
 import org.mule.extension.db.internal.result.statement.EagerStatementResultHandler;
 import org.mule.extension.db.internal.result.statement.StatementResultHandler;
 import org.mule.extension.db.internal.result.statement.StreamingStatementResultHandler;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.message.Message;
 import org.mule.runtime.extension.api.annotation.Expression;
 import org.mule.runtime.extension.api.annotation.metadata.OutputResolver;
 import org.mule.runtime.extension.api.annotation.param.Connection;
@@ -52,6 +56,8 @@ import java.util.Map;
 
 import javax.inject.Inject;
 
+import org.slf4j.Logger;
+
 /**
  * Contains a set of operations for performing single statement DML operations
  *
@@ -59,6 +65,8 @@ import javax.inject.Inject;
  */
 public class DmlOperations extends BaseDbOperations {
 
+  private static final Logger LOGGER = getLogger(DmlOperations.class);
+
   @Inject
   private StatementStreamingResultSetCloser resultSetCloser;
 
@@ -89,7 +97,7 @@ public class DmlOperations extends BaseDbOperations {
     QueryStatementFactory statementFactory = getStatementFactory(statementAttributes, streaming, query);
     InsensitiveMapRowHandler recordHandler = new InsensitiveMapRowHandler();
     ResultSetHandler resultSetHandler = streaming
-        ? new IteratorResultSetHandler(recordHandler, resultSetCloser)
+        ? new IteratorResultSetHandler(recordHandler, resultSetCloser, getMaxTunedFetchSize(statementAttributes, streaming))
         : new ListResultSetHandler(recordHandler);
 
     Object result = new SelectExecutor(statementFactory, resultSetHandler).execute(connection, resolvedQuery);
@@ -187,7 +195,8 @@ public class DmlOperations extends BaseDbOperations {
     InsensitiveMapRowHandler recordHandler = new InsensitiveMapRowHandler();
 
     StatementResultHandler resultHandler = streaming
-        ? new StreamingStatementResultHandler(new IteratorResultSetHandler(recordHandler, resultSetCloser))
+        ? new StreamingStatementResultHandler(new IteratorResultSetHandler(recordHandler, resultSetCloser,
+                                                                           getMaxTunedFetchSize(statementAttributes, streaming)))
         : new EagerStatementResultHandler(new ListResultSetHandler(recordHandler));
 
     Map<String, Object> result = (Map<String, Object>) new StoredProcedureExecutor(statementFactory, resultHandler)
@@ -205,6 +214,22 @@ public class DmlOperations extends BaseDbOperations {
         return result;
       }
 
+      /**
+       * A streamed result set that was not fully consumed by the intercepted chain, and is not the payload it returned, would
+       * keep its statement and connection until the connection is closed, so it is closed here.
+       */
+      @Override
+      public void onSuccess(Message resultMessage) {
+        Object payload = resultMessage.getPayload().getValue();
+        if (result instanceof ResultSetIterator) {
+          closeUnlessReturned((ResultSetIterator) result, payload);
+        } else if (result instanceof Map) {
+          ((Map<?, ?>) result).values().stream()
+              .filter(value -> value instanceof ResultSetIterator)
+              .forEach(value -> closeUnlessReturned((ResultSetIterator) value, payload));
+        }
+      }
+
       @Override
       public void onException(Exception exception) {
         resultSetCloser.closeResultSets(connection);
@@ -212,6 +237,17 @@ public class DmlOperations extends BaseDbOperations {
     };
   }
 
+  private void closeUnlessReturned(ResultSetIterator iterator, Object payload) {
+    if (iterator == payload || (payload instanceof Map && ((Map<?, ?>) payload).containsValue(iterator))) {
+      return;
+    }
+    try {
+      iterator.close();
+    } catch (MuleException e) {
+      LOGGER.warn("Could not close the result set not consumed by the intercepted chain", e);
+    }
+  }
+
   protected Query resolveQuery(StoredProcedureCall call,
                                DbConnector connector,
                                DbConnection connection,
@@ -23,10 +23,21 @@ public class IteratorResultSetHandler implements ResultSetHandler {
 
   private final RowHandler rowHandler;
   private final StatementStreamingResultSetCloser streamingResultSetCloser;
+  private final int maxFetchSize;
 
   public IteratorResultSetHandler(RowHandler rowHandler, StatementStreamingResultSetCloser streamingResultSetCloser) {
+    this(rowHandler, streamingResultSetCloser, 0);
+  }
+
+  /**
+   * @param maxFetchSize the maximum fetch size the returned {@link ResultSetIterator} increases the fetch size up to as rows
+   *        are consumed. The fetch size is not changed when not greater than the fetch size of the {@link ResultSet}
+   */
+  public IteratorResultSetHandler(RowHandler rowHandler, StatementStreamingResultSetCloser streamingResultSetCloser,
+                                  int maxFetchSize) {
     this.rowHandler = rowHandler;
     this.streamingResultSetCloser = streamingResultSetCloser;
+    this.maxFetchSize = maxFetchSize;
   }
 
   @Override
@@ -34,7 +45,7 @@ public class IteratorResultSetHandler implements ResultSetHandler {
     streamingResultSetCloser.trackResultSet(connection, resultSet);
     connection.beginStreaming();
 
-    return new ResultSetIterator(connection, resultSet, rowHandler, streamingResultSetCloser);
+    return new ResultSetIterator(connection, resultSet, rowHandler, streamingResultSetCloser, maxFetchSize);
   }
 
   @Override
@@ -24,6 +24,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Iterates a {@link ResultSet} to provide rows streaming
+ * <p/>
+ * When created with a maximum fetch size, the fetch size of the {@link ResultSet} is doubled each time as many rows as the
+ * current fetch size have been consumed, up to that maximum. That way a consumer that only reads the first rows does not pay
+ * for a big fetch, while one that reads the whole result set needs fewer round trips to the database.
  */
 public class ResultSetIterator implements Iterator<Map<String, Object>>, Closeable {
 
@@ -32,11 +36,24 @@ public class ResultSetIterator implements Iterator<Map<String, Object>>, Closeab
   private final ResultSet resultSet;
   private final RowHandler rowHandler;
   private final StreamingResultSetCloser streamingResultSetCloser;
+  private final int maxFetchSize;
   private DbConnection connection;
   private Boolean cachedNext = null;
+  private boolean closed = false;
+  private int fetchSize;
+  private int fetchedRows;
 
   public ResultSetIterator(DbConnection connection, ResultSet resultSet, RowHandler rowHandler,
                            StreamingResultSetCloser streamingResultSetCloser) {
+    this(connection, resultSet, rowHandler, streamingResultSetCloser, 0);
+  }
+
+  /**
+   * @param maxFetchSize the maximum fetch size the fetch size of the {@code resultSet} is increased up to. If it is not greater
+   *        than the current fetch size of the {@code resultSet}, the fetch size is not changed
+   */
+  public ResultSetIterator(DbConnection connection, ResultSet resultSet, RowHandler rowHandler,
+                           StreamingResultSetCloser streamingResultSetCloser, int maxFetchSize) {
     if (connection == null) {
       throw new NullPointerException();
     }
@@ -44,6 +61,14 @@ public class ResultSetIterator implements Iterator<Map<String, Object>>, Closeab
     this.rowHandler = rowHandler;
     this.streamingResultSetCloser = streamingResultSetCloser;
     this.connection = connection;
+    this.maxFetchSize = maxFetchSize;
+    if (maxFetchSize > 0) {
+      try {
+        fetchSize = resultSet.getFetchSize();
+      } catch (SQLException e) {
+        LOGGER.debug("Unable to obtain the fetch size of the resultSet, it will not be tuned", e);
+      }
+    }
   }
 
   @Override
@@ -85,6 +110,7 @@ public class ResultSetIterator implements Iterator<Map<String, Object>>, Closeab
         cachedNext = null;
       }
 
+      tuneFetchSize();
       return rowHandler.process(resultSet);
     } catch (SQLException e) {
       LOGGER.warn("Unable to obtain next row", e);
@@ -92,13 +118,41 @@ public class ResultSetIterator implements Iterator<Map<String, Object>>, Closeab
     }
   }
 
+  private void tuneFetchSize() {
+    if (fetchSize <= 0 || fetchSize >= maxFetchSize) {
+      return;
+    }
+
+    if (++fetchedRows >= fetchSize) {
+      fetchSize = Math.min(fetchSize * 2, maxFetchSize);
+      fetchedRows = 0;
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Increasing fetch size to " + fetchSize);
+      }
+      try {
+        resultSet.setFetchSize(fetchSize);
+      } catch (SQLException e) {
+        LOGGER.debug("Unable to change the fetch size of the resultSet, it will not be tuned anymore", e);
+        fetchSize = 0;
+      }
+    }
+  }
+
   @Override
   public void remove() {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Closes the {@link ResultSet} and releases the connection it came from. Closing an already closed iterator has no effect.
+   */
   @Override
   public void close() throws MuleException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Closing resultSet");
     }
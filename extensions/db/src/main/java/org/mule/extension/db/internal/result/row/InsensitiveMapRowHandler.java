@@ -7,27 +7,35 @@
 
 package org.mule.extension.db.internal.result.row;
 
+import static java.util.Locale.ROOT;
+
 import org.mule.runtime.core.util.CaseInsensitiveHashMap;
 
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.SQLXML;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Maps a row using returning a case insensitive map
+ * <p/>
+ * The column labels are read from the {@link ResultSetMetaData} and validated once per {@link ResultSet}, instead of once per
+ * row. A new map is still returned for each row, since the rows may be kept by whoever consumes them.
  */
 public class InsensitiveMapRowHandler implements RowHandler {
 
+  private volatile ColumnLabels columnLabels;
+
   @Override
   public Map<String, Object> process(ResultSet resultSet) throws SQLException {
-    CaseInsensitiveHashMap result = new CaseInsensitiveHashMap();
-    ResultSetMetaData metaData = resultSet.getMetaData();
-    int cols = metaData.getColumnCount();
+    String[] columns = getColumnLabels(resultSet);
+    CaseInsensitiveHashMap result = new CaseInsensitiveHashMap(columns.length * 4 / 3 + 1);
 
-    for (int i = 1; i <= cols; i++) {
-      String column = metaData.getColumnLabel(i);
+    for (int i = 1; i <= columns.length; i++) {
+      String column = columns[i - 1];
       Object value = resultSet.getObject(i);
 
       if (value instanceof SQLXML) {
@@ -39,10 +47,40 @@ public class InsensitiveMapRowHandler implements RowHandler {
       }
     }
 
-    if (cols != result.size()) {
-      throw new IllegalArgumentException("Record cannot be mapped as it contains multiple columns with the same label. Define column aliases to solve this problem");
+    return result;
+  }
+
+  private String[] getColumnLabels(ResultSet resultSet) throws SQLException {
+    ColumnLabels current = columnLabels;
+    if (current == null || current.resultSet != resultSet) {
+      ResultSetMetaData metaData = resultSet.getMetaData();
+      int cols = metaData.getColumnCount();
+      String[] labels = new String[cols];
+      Set<String> uniqueLabels = new HashSet<>();
+
+      for (int i = 1; i <= cols; i++) {
+        labels[i - 1] = metaData.getColumnLabel(i);
+        uniqueLabels.add(labels[i - 1].toLowerCase(ROOT));
+      }
+
+      if (cols != uniqueLabels.size()) {
+        throw new IllegalArgumentException("Record cannot be mapped as it contains multiple columns with the same label. Define column aliases to solve this problem");
+      }
+
+      current = new ColumnLabels(resultSet, labels);
+      columnLabels = current;
     }
+    return current.labels;
+  }
 
-    return result;
+  private static final class ColumnLabels {
+
+    private final ResultSet resultSet;
+    private final String[] labels;
+
+    private ColumnLabels(ResultSet resultSet, String[] labels) {
+      this.resultSet = resultSet;
+      this.labels = labels;
+    }
   }
 }
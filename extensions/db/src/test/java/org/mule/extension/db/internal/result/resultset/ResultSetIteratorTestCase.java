@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.db.internal.result.resultset;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mule.extension.db.internal.domain.connection.DbConnection;
+import org.mule.extension.db.internal.result.row.RowHandler;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.ResultSet;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+@SmallTest
+public class ResultSetIteratorTestCase extends AbstractMuleTestCase {
+
+  private final DbConnection connection = mock(DbConnection.class);
+  private final ResultSet resultSet = mock(ResultSet.class);
+  private final RowHandler rowHandler = mock(RowHandler.class);
+  private final StreamingResultSetCloser resultSetCloser = mock(StreamingResultSetCloser.class);
+
+  @Before
+  public void setUp() throws Exception {
+    when(resultSet.getFetchSize()).thenReturn(2);
+    when(resultSet.next()).thenReturn(true, true, true, true, true, true, false);
+  }
+
+  @Test
+  public void increasesFetchSizeAsRowsAreConsumed() throws Exception {
+    ResultSetIterator iterator = new ResultSetIterator(connection, resultSet, rowHandler, resultSetCloser, 8);
+    while (iterator.hasNext()) {
+      iterator.next();
+    }
+
+    InOrder inOrder = inOrder(resultSet);
+    inOrder.verify(resultSet).setFetchSize(4);
+    inOrder.verify(resultSet).setFetchSize(8);
+    verify(resultSet, times(2)).setFetchSize(anyInt());
+  }
+
+  @Test
+  public void keepsFetchSizeWithoutMaxFetchSize() throws Exception {
+    ResultSetIterator iterator = new ResultSetIterator(connection, resultSet, rowHandler, resultSetCloser);
+    while (iterator.hasNext()) {
+      iterator.next();
+    }
+
+    verify(resultSet, never()).setFetchSize(anyInt());
+  }
+
+  @Test
+  public void closesOnce() throws Exception {
+    ResultSetIterator iterator = new ResultSetIterator(connection, resultSet, rowHandler, resultSetCloser);
+    iterator.next();
+
+    iterator.close();
+    iterator.close();
+
+    verify(resultSetCloser).close(connection, resultSet);
+  }
+}
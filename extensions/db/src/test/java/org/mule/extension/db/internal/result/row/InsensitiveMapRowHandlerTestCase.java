@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.db.internal.result.row;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.Locale;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class InsensitiveMapRowHandlerTestCase extends AbstractMuleTestCase {
+
+  private final ResultSet resultSet = mock(ResultSet.class);
+  private final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+  private Locale defaultLocale;
+
+  @Before
+  public void setUp() throws Exception {
+    defaultLocale = Locale.getDefault();
+    when(resultSet.getMetaData()).thenReturn(metaData);
+  }
+
+  @After
+  public void tearDown() {
+    Locale.setDefault(defaultLocale);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void labelsDifferingInCaseAreDuplicatedRegardlessOfDefaultLocale() throws Exception {
+    // the dotted and dotless i make "ID" and "id" lower case differently
+    Locale.setDefault(new Locale("tr", "TR"));
+    when(metaData.getColumnCount()).thenReturn(2);
+    when(metaData.getColumnLabel(1)).thenReturn("ID");
+    when(metaData.getColumnLabel(2)).thenReturn("id");
+
+    new InsensitiveMapRowHandler().process(resultSet);
+  }
+}
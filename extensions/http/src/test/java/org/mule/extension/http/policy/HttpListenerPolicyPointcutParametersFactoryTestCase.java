@@ -7,6 +7,7 @@
 package org.mule.extension.http.policy;
 
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -25,6 +26,7 @@ public class HttpListenerPolicyPointcutParametersFactoryTestCase extends Abstrac
 
   private static final ComponentIdentifier HTTP_LISTENER_COMPONENT_IDENTIFIER =
       new Builder().withNamespace("http").withName("listener").build();
+  private static final String TEST_LISTENER_PATH = "test-listener-path/*";
   private static final String TEST_REQUEST_PATH = "test-request-path";
   private static final String TEST_METHOD = "PUT";
   private static final String FLOW_NAME = "flow-name";
@@ -59,13 +61,32 @@ public class HttpListenerPolicyPointcutParametersFactoryTestCase extends Abstrac
 
   @Test
   public void policyPointcutParameters() {
+    when(httpAttributes.getListenerPath()).thenReturn(TEST_LISTENER_PATH);
     when(httpAttributes.getRequestPath()).thenReturn(TEST_REQUEST_PATH);
     when(httpAttributes.getMethod()).thenReturn(TEST_METHOD);
     HttpListenerPolicyPointcutParameters policyPointcutParameters = (HttpListenerPolicyPointcutParameters) factory
         .createPolicyPointcutParameters(FLOW_NAME, HTTP_LISTENER_COMPONENT_IDENTIFIER, httpAttributes);
     assertThat(policyPointcutParameters.getComponentIdentifier(), is(HTTP_LISTENER_COMPONENT_IDENTIFIER));
+    assertThat(policyPointcutParameters.getListenerPath(), is(TEST_LISTENER_PATH));
     assertThat(policyPointcutParameters.getPath(), is(TEST_REQUEST_PATH));
     assertThat(policyPointcutParameters.getMethod(), is(TEST_METHOD));
   }
 
+  @Test
+  public void requestPathIsPartOfTheCacheKey() {
+    HttpListenerPolicyPointcutParameters parameters =
+        new HttpListenerPolicyPointcutParameters(FLOW_NAME, HTTP_LISTENER_COMPONENT_IDENTIFIER, TEST_LISTENER_PATH,
+                                                 TEST_REQUEST_PATH, TEST_METHOD);
+    HttpListenerPolicyPointcutParameters samePath =
+        new HttpListenerPolicyPointcutParameters(FLOW_NAME, HTTP_LISTENER_COMPONENT_IDENTIFIER, TEST_LISTENER_PATH,
+                                                 TEST_REQUEST_PATH, TEST_METHOD);
+    HttpListenerPolicyPointcutParameters otherPath =
+        new HttpListenerPolicyPointcutParameters(FLOW_NAME, HTTP_LISTENER_COMPONENT_IDENTIFIER, TEST_LISTENER_PATH,
+                                                 "other-request-path", TEST_METHOD);
+
+    assertThat(parameters, is(samePath));
+    assertThat(parameters.hashCode(), is(samePath.hashCode()));
+    assertThat(parameters, is(not(otherPath)));
+  }
+
 }
@@ -7,10 +7,12 @@
 package org.mule.extensions.jms.api.connection;
 
 import static java.lang.String.format;
+import static java.util.Collections.synchronizedMap;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang.RandomStringUtils.randomAlphanumeric;
 import static org.mule.extensions.jms.api.config.AckMode.MANUAL;
 import static org.mule.extensions.jms.api.config.AckMode.TRANSACTED;
+import static org.mule.extensions.jms.internal.publish.JmsPublisherPool.DEFAULT_IDLE_TIMEOUT;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.extensions.jms.api.config.AckMode;
@@ -18,15 +20,17 @@ import org.mule.extensions.jms.api.destination.ConsumerType;
 import org.mule.extensions.jms.api.exception.JmsAckException;
 import org.mule.extensions.jms.internal.consume.JmsMessageConsumer;
 import org.mule.extensions.jms.internal.publish.JmsMessageProducer;
+import org.mule.extensions.jms.internal.publish.JmsPublisher;
+import org.mule.extensions.jms.internal.publish.JmsPublisherPool;
 import org.mule.extensions.jms.internal.support.JmsSupport;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.Stoppable;
 
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.jms.Connection;
 import javax.jms.Destination;
@@ -53,14 +57,28 @@ public final class JmsConnection implements Stoppable, Disposable {
 
   private final JmsSupport jmsSupport;
   private final Connection connection;
-  private final Map<String, Message> pendingAckSessions = new HashMap<>();
-  private final List<JmsMessageConsumer> createdConsumers = new LinkedList<>();
-  private final List<JmsMessageProducer> createdProducers = new LinkedList<>();
-  private final List<JmsSession> createdSessions = new LinkedList<>();
+  // Sessions and consumers are created and used from the threads of every consumer of a listener
+  private final Map<String, Message> pendingAckSessions = synchronizedMap(new HashMap<>());
+  private final List<JmsMessageConsumer> createdConsumers = new CopyOnWriteArrayList<>();
+  private final List<JmsMessageProducer> createdProducers = new CopyOnWriteArrayList<>();
+  private final List<JmsSession> createdSessions = new CopyOnWriteArrayList<>();
+  private final JmsPublisherPool publisherPool;
 
   public JmsConnection(JmsSupport jmsSupport, Connection connection) {
+    this(jmsSupport, connection, 0);
+  }
+
+  /**
+   * Creates a new {@link JmsConnection} which keeps up to {@code publisherPoolSize} idle {@link JmsPublisher}s
+   *
+   * @param jmsSupport        the {@link JmsSupport} of the {@link Connection}
+   * @param connection        the JMS {@link Connection}
+   * @param publisherPoolSize the maximum number of idle {@link JmsPublisher}s to keep
+   */
+  public JmsConnection(JmsSupport jmsSupport, Connection connection, int publisherPoolSize) {
     this.jmsSupport = jmsSupport;
     this.connection = connection;
+    this.publisherPool = new JmsPublisherPool(jmsSupport, connection, publisherPoolSize, DEFAULT_IDLE_TIMEOUT);
   }
 
   public JmsSupport getJmsSupport() {
@@ -135,6 +153,47 @@ public final class JmsConnection implements Stoppable, Disposable {
     return wrapper;
   }
 
+  /**
+   * Obtains a {@link JmsPublisher} with a {@link Session} and a {@link MessageProducer} for the given destination, reusing an
+   * idle one from this connection's pool when possible.
+   * The {@link JmsPublisher} is not released along with the other resources of this connection, so it has to be given
+   * back using {@link #releasePublisher} once the message was published, or {@link #invalidatePublisher} if it failed.
+   *
+   * @param ackMode     the {@link Session} {@link AckMode}
+   * @param destination the name of the {@link Destination} to where the {@link Message}s will be published
+   * @param isTopic     if {@code true} the given {@link Destination} has a {@link Topic} destination type
+   * @return a {@link JmsPublisher} for the given destination
+   * @throws JMSException if an error occurs while creating the {@link JmsPublisher}
+   */
+  public JmsPublisher borrowPublisher(AckMode ackMode, String destination, boolean isTopic) throws JMSException {
+    return publisherPool.borrow(ackMode, destination, isTopic);
+  }
+
+  /**
+   * Gives back a {@link JmsPublisher} obtained through {@link #borrowPublisher} so it can be reused
+   *
+   * @param publisher the {@link JmsPublisher} to give back
+   */
+  public void releasePublisher(JmsPublisher publisher) {
+    publisherPool.release(publisher);
+  }
+
+  /**
+   * Closes a {@link JmsPublisher} obtained through {@link #borrowPublisher} that failed, so it is not reused
+   *
+   * @param publisher the {@link JmsPublisher} to close
+   */
+  public void invalidatePublisher(JmsPublisher publisher) {
+    publisherPool.invalidate(publisher);
+  }
+
+  /**
+   * @return the {@link JmsPublisherPool} of this connection, which exposes its usage metrics
+   */
+  public JmsPublisherPool getPublisherPool() {
+    return publisherPool;
+  }
+
   /**
    * Registers the {@link Message} to the {@link Session} using the {@code ackId} in order to being
    * able later to perform a {@link AckMode#MANUAL} ACK
@@ -206,6 +265,7 @@ public final class JmsConnection implements Stoppable, Disposable {
       }
 
       releaseResources();
+      publisherPool.dispose();
       connection.close();
       pendingAckSessions.clear();
     } catch (javax.jms.IllegalStateException ex) {
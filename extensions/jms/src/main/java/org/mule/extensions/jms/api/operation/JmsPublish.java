@@ -19,6 +19,7 @@ import org.mule.extensions.jms.api.exception.JmsPublishException;
 import org.mule.extensions.jms.api.exception.JmsPublisherErrorTypeProvider;
 import org.mule.extensions.jms.api.message.MessageBuilder;
 import org.mule.extensions.jms.internal.publish.JmsPublishParameters;
+import org.mule.extensions.jms.internal.publish.JmsPublisher;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 import org.mule.runtime.extension.api.annotation.error.Throws;
 import org.mule.runtime.extension.api.annotation.param.Connection;
@@ -76,18 +77,21 @@ public final class JmsPublish {
         LOGGER.debug("Begin publish");
       }
 
-      JmsSession session = connection.createSession(AUTO, destinationType.isTopic());
-      Message message = messageBuilder.build(connection.getJmsSupport(), session.get(), config);
+      JmsPublisher publisher = connection.borrowPublisher(AUTO, destination, destinationType.isTopic());
+      try {
+        JmsSession session = publisher.getSession();
+        Message message = messageBuilder.build(connection.getJmsSupport(), session.get(), config);
 
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug(format("Message built, sending message to [%s] using session [%s]", destination, session.get()));
-      }
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug(format("Message built, sending message to [%s] using session [%s]", destination, session.get()));
+        }
 
-      Destination jmsDestination = connection.getJmsSupport()
-          .createDestination(session.get(), destination, destinationType.isTopic());
-
-      connection.createProducer(session.get(), jmsDestination, destinationType.isTopic())
-          .publish(message, producerConfig, overrides);
+        publisher.getProducer().publish(message, producerConfig, overrides);
+      } catch (Exception e) {
+        connection.invalidatePublisher(publisher);
+        throw e;
+      }
+      connection.releasePublisher(publisher);
 
       if (LOGGER.isDebugEnabled()) {
         LOGGER.debug("Finished publish");
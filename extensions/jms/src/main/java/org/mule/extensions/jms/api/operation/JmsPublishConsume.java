@@ -30,6 +30,7 @@ import org.mule.extensions.jms.internal.consume.JmsMessageConsumer;
 import org.mule.extensions.jms.internal.message.JmsResultFactory;
 import org.mule.extensions.jms.internal.metadata.JmsOutputResolver;
 import org.mule.extensions.jms.internal.publish.JmsPublishParameters;
+import org.mule.extensions.jms.internal.publish.JmsPublisher;
 import org.mule.extensions.jms.internal.support.JmsSupport;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 import org.mule.runtime.extension.api.annotation.error.Throws;
@@ -94,6 +95,7 @@ public class JmsPublishConsume {
                                                               name = "Publish Configuration") JmsPublishParameters overrides)
       throws JmsExtensionException {
 
+    JmsPublisher publisher = null;
     JmsSession session;
     Message message;
     ConsumerType replyConsumerType;
@@ -103,7 +105,8 @@ public class JmsPublishConsume {
       }
 
       JmsSupport jmsSupport = connection.getJmsSupport();
-      session = connection.createSession(AUTO, false);
+      publisher = connection.borrowPublisher(AUTO, destination, false);
+      session = publisher.getSession();
 
       message = messageBuilder.build(jmsSupport, session.get(), config);
       replyConsumerType = setReplyDestination(messageBuilder, session, jmsSupport, message);
@@ -112,21 +115,24 @@ public class JmsPublishConsume {
         LOGGER.debug(format("Message built, sending message to [%s]", destination));
       }
 
-      Destination jmsDestination = jmsSupport.createDestination(session.get(), destination, false);
-      connection.createProducer(session.get(), jmsDestination, false)
-          .publish(message, config.getProducerConfig(), overrides);
+      publisher.getProducer().publish(message, config.getProducerConfig(), overrides);
 
       if (LOGGER.isDebugEnabled()) {
         LOGGER.debug(format("Message sent to destination [%s], prepare for response.", destination));
       }
     } catch (Exception e) {
+      if (publisher != null) {
+        connection.invalidatePublisher(publisher);
+      }
       String msg = format("An error occurred while sending a message to destination [%s] of type QUEUE: ", destination);
       LOGGER.error(msg, e);
       throw new JmsPublishException(msg, e);
     }
 
+    JmsMessageConsumer consumer = null;
+    boolean failed = false;
     try {
-      JmsMessageConsumer consumer = connection.createConsumer(session.get(), message.getJMSReplyTo(), "", replyConsumerType);
+      consumer = connection.createConsumer(session.get(), message.getJMSReplyTo(), "", replyConsumerType);
 
       if (LOGGER.isDebugEnabled()) {
         LOGGER.debug(format("Waiting for incoming message in destination [%s]",
@@ -149,8 +155,31 @@ public class JmsPublishConsume {
                                         config.getEncoding(),
                                         session.getAckId());
     } catch (Exception e) {
+      failed = true;
       LOGGER.error("An error occurred while listening for the reply: ", e);
       throw new JmsConsumeException("An error occurred while listening for the reply: ", e);
+    } finally {
+      releasePublisher(connection, publisher, consumer, failed);
+    }
+  }
+
+  private void releasePublisher(JmsConnection connection, JmsPublisher publisher, JmsMessageConsumer consumer,
+                                boolean failed) {
+    boolean reusable = !failed;
+    // The reply consumer has to be closed before the session is used by another operation
+    if (consumer != null) {
+      try {
+        consumer.close();
+      } catch (Exception e) {
+        LOGGER.warn("Failed to close the reply consumer: ", e);
+        reusable = false;
+      }
+    }
+
+    if (!reusable) {
+      connection.invalidatePublisher(publisher);
+    } else {
+      connection.releasePublisher(publisher);
     }
   }
 
@@ -6,6 +6,7 @@
  */
 package org.mule.extensions.jms.api.source;
 
+import static java.lang.Boolean.TRUE;
 import static java.lang.String.format;
 import static org.mule.extensions.jms.api.config.AckMode.AUTO;
 import static org.mule.extensions.jms.internal.common.JmsOperationCommons.evaluateMessageAck;
@@ -18,6 +19,7 @@ import org.mule.extensions.jms.api.config.JmsConsumerConfig;
 import org.mule.extensions.jms.api.connection.JmsConnection;
 import org.mule.extensions.jms.api.connection.JmsSession;
 import org.mule.extensions.jms.api.destination.ConsumerType;
+import org.mule.extensions.jms.api.destination.TopicConsumer;
 import org.mule.extensions.jms.api.exception.JmsExtensionException;
 import org.mule.extensions.jms.api.message.JmsAttributes;
 import org.mule.extensions.jms.api.message.MessageBuilder;
@@ -49,6 +51,11 @@ import org.mule.runtime.extension.api.runtime.source.Source;
 import org.mule.runtime.extension.api.runtime.source.SourceCallback;
 import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
 import javax.inject.Inject;
 import javax.jms.Destination;
 import javax.jms.JMSException;
@@ -73,6 +80,8 @@ public class JmsListener extends Source<Object, JmsAttributes> {
 
   private static final String MESSAGE_TO_ACK = "MESSAGE_TO_ACK";
   private static final String REPLY_TO_DESTINATION = "REPLY_TO_DESTINATION";
+  private static final String MESSAGE_SESSION = "MESSAGE_SESSION";
+  private static final String IN_FLIGHT = "IN_FLIGHT";
 
   private final JmsResultFactory resultFactory = new JmsResultFactory();
 
@@ -90,10 +99,14 @@ public class JmsListener extends Source<Object, JmsAttributes> {
   @Connection
   private JmsConnection connection;
 
-  private JmsSession session;
-
   private JmsSupport jmsSupport;
 
+  private final List<JmsMessageConsumer> consumers = new CopyOnWriteArrayList<>();
+  private final List<JmsSession> sessions = new CopyOnWriteArrayList<>();
+
+  private final LongAdder receivedMessages = new LongAdder();
+  private final AtomicInteger inFlightMessages = new AtomicInteger();
+
   @Parameter
   @XmlHints(allowReferences = false)
   @Summary("The name of the Destination from where the Message should be consumed")
@@ -124,6 +137,15 @@ public class JmsListener extends Source<Object, JmsAttributes> {
   @Summary("The encoding of the message body")
   private String encoding;
 
+  /**
+   * The number of concurrent consumers that will be used to receive JMS Messages, each one with its own {@link JmsSession}.
+   * Only one consumer is used for {@link Topic}s unless the subscription is shared, since each non shared subscriber
+   * receives all the messages.
+   */
+  @Parameter
+  @Optional(defaultValue = "1")
+  @Summary("The number of concurrent consumers that will be used to receive JMS Messages")
+  private int numberOfConsumers;
 
   @Override
   public void onStart(SourceCallback<Object, JmsAttributes> sourceCallback) throws MuleException {
@@ -138,28 +160,17 @@ public class JmsListener extends Source<Object, JmsAttributes> {
     encoding = resolveOverride(config.getEncoding(), encoding);
 
     try {
-      session = connection.createSession(ackMode, consumerType.isTopic());
       jmsSupport = connection.getJmsSupport();
-      final Destination jmsDestination = jmsSupport.createDestination(session.get(), destination, consumerType.isTopic());
-      final JmsMessageConsumer consumer = connection.createConsumer(session.get(), jmsDestination, selector, consumerType);
+      final int consumersCount = resolveNumberOfConsumers();
 
       if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug(format("Starting Message listener on destination [%s] of type [%s]",
+        LOGGER.debug(format("Starting [%s] Message listeners on destination [%s] of type [%s]", consumersCount,
                             destination, consumerType.isTopic() ? "TOPIC" : "QUEUE"));
       }
 
-      consumer.listen(message -> {
-        SourceCallbackContext context = sourceCallback.createContext();
-
-        if (message != null) {
-          evaluateAckAction(sourceCallback, session, message);
-          contentType = resolveContentType(message);
-          saveMessageForAck(message, context);
-          saveReplyToDestination(sourceCallback, message, context);
-        }
-
-        produceMessageResult(sourceCallback, jmsSupport, session, message, context);
-      });
+      for (int i = 0; i < consumersCount; i++) {
+        startConsumer(sourceCallback);
+      }
 
     } catch (Exception e) {
       LOGGER.error("An error occurred while consuming a message: ", e);
@@ -167,30 +178,107 @@ public class JmsListener extends Source<Object, JmsAttributes> {
     }
   }
 
+  private void startConsumer(SourceCallback<Object, JmsAttributes> sourceCallback) throws Exception {
+    // JMS Sessions are single threaded, so each consumer gets its own Session to receive and ACK its messages
+    final JmsSession session = connection.createSession(ackMode, consumerType.isTopic());
+    sessions.add(session);
+    final Destination jmsDestination = jmsSupport.createDestination(session.get(), destination, consumerType.isTopic());
+    final JmsMessageConsumer consumer = connection.createConsumer(session.get(), jmsDestination, selector, consumerType);
+    consumers.add(consumer);
+
+    consumer.listen(message -> {
+      SourceCallbackContext context = sourceCallback.createContext();
+      String messageContentType = contentType;
+
+      if (message != null) {
+        receivedMessages.increment();
+        evaluateAckAction(sourceCallback, session, message);
+        messageContentType = resolveContentType(message);
+        saveMessageForAck(message, context);
+        saveReplyToDestination(sourceCallback, message, context);
+      }
+
+      context.addVariable(MESSAGE_SESSION, session);
+      context.addVariable(IN_FLIGHT, true);
+      inFlightMessages.incrementAndGet();
+      produceMessageResult(sourceCallback, jmsSupport, session, message, messageContentType, context);
+    });
+  }
+
+  private int resolveNumberOfConsumers() {
+    if (consumerType.isTopic() && !(consumerType instanceof TopicConsumer && ((TopicConsumer) consumerType).isShared())
+        && numberOfConsumers != 1) {
+      LOGGER.info(format("Destination [%s] is a non shared topic, but [%s] consumers have been requested. Will configure only 1.",
+                         destination, numberOfConsumers));
+      return 1;
+    }
+    return numberOfConsumers < 1 ? 1 : numberOfConsumers;
+  }
+
   @Override
   public void onStop() {
     if (LOGGER.isDebugEnabled()) {
-      LOGGER.debug("Stopping JMSSubscriber source");
+      LOGGER.debug(format("Stopping JMSSubscriber source with [%s] messages received and [%s] in flight", getReceivedMessages(),
+                          getInFlightMessages()));
+    }
+
+    consumers.forEach(this::closeQuietly);
+    consumers.clear();
+    // Sessions with pending MANUAL ACKs are released by the connection
+    sessions.stream().filter(session -> !session.getAckId().isPresent()).forEach(this::closeQuietly);
+    sessions.clear();
+  }
+
+  private void closeQuietly(AutoCloseable closeable) {
+    try {
+      closeable.close();
+    } catch (Exception e) {
+      LOGGER.warn("Failed to close jms listener resource: ", e);
     }
   }
 
+  /**
+   * @return the number of {@link Message}s received by all the consumers of this listener since it was created
+   */
+  public long getReceivedMessages() {
+    return receivedMessages.sum();
+  }
+
+  /**
+   * @return the number of {@link Message}s received by this listener which are still being processed by the flow
+   */
+  public int getInFlightMessages() {
+    return inFlightMessages.get();
+  }
+
   @OnSuccess
   public void onSuccess(@Optional @NullSafe JmsListenerResponseBuilder response,
                         SourceCallbackContext callbackContext) {
+    try {
+      ackOriginalMessage(callbackContext);
 
-    ackOriginalMessage(callbackContext);
-
-    Destination replyTo = callbackContext.getVariable(REPLY_TO_DESTINATION);
-    if (replyTo != null) {
-      doReply(response.getMessageBuilder(), response.getOverrides(), callbackContext, replyTo);
+      Destination replyTo = callbackContext.getVariable(REPLY_TO_DESTINATION);
+      if (replyTo != null) {
+        doReply(response.getMessageBuilder(), response.getOverrides(), callbackContext, replyTo);
+      }
+    } finally {
+      messageProcessed(callbackContext);
     }
   }
 
   @OnError
   public void onError(Error error, SourceCallbackContext context) {
+    messageProcessed(context);
     LOGGER.error(error.getDescription(), error.getCause());
   }
 
+  private void messageProcessed(SourceCallbackContext context) {
+    if (TRUE.equals(context.getVariable(IN_FLIGHT))) {
+      context.addVariable(IN_FLIGHT, false);
+      inFlightMessages.decrementAndGet();
+    }
+  }
+
   private void doReply(MessageBuilder messageBuilder, JmsPublishParameters overrides,
                        SourceCallbackContext callbackContext, Destination replyTo) {
     try {
@@ -201,6 +289,7 @@ public class JmsListener extends Source<Object, JmsAttributes> {
         LOGGER.debug(format("Begin reply to destination [%s] of type [%s]", destinationName, replyToTopic ? "TOPIC" : "QUEUE"));
       }
 
+      JmsSession session = callbackContext.getVariable(MESSAGE_SESSION);
       Message message = messageBuilder.build(connection.getJmsSupport(), session.get(), config);
 
       if (LOGGER.isDebugEnabled()) {
@@ -218,7 +307,8 @@ public class JmsListener extends Source<Object, JmsAttributes> {
   }
 
   private void produceMessageResult(SourceCallback<Object, JmsAttributes> sourceCallback, JmsSupport jmsSupport,
-                                    JmsSession session, Message message, SourceCallbackContext context) {
+                                    JmsSession session, Message message, String contentType,
+                                    SourceCallbackContext context) {
     try {
 
       Result<Object, JmsAttributes> result = resultFactory.createResult(message, jmsSupport.getSpecification(), contentType,
@@ -227,6 +317,7 @@ public class JmsListener extends Source<Object, JmsAttributes> {
 
     } catch (Exception e) {
       LOGGER.error("An error occurred while creating the initial message", e);
+      messageProcessed(context);
       sourceCallback.onSourceException(e);
     }
   }
@@ -114,7 +114,10 @@ public abstract class BaseConnectionProvider implements PoolingConnectionProvide
     try {
       Connection connection = createConnection();
       connection.start();
-      return new JmsConnection(jmsSupport, connection);
+      return cachingStrategy.strategyConfiguration()
+          .map(caching -> new JmsConnection(jmsSupport, connection,
+                                            caching.isProducersCache() ? caching.getSessionCacheSize() : 0))
+          .orElseGet(() -> new JmsConnection(jmsSupport, connection));
 
     } catch (Exception e) {
       try {
@@ -90,7 +90,12 @@ public final class JmsMessageProducer implements AutoCloseable {
 
     setDisableMessageID(dissableId);
     setDisableMessageTimestamp(dissableTimeStamp);
-    deliveryDelay.ifPresent(this::setDeliveryDelay);
+    if (deliveryDelay.isPresent()) {
+      setDeliveryDelay(deliveryDelay.get());
+    } else if (jmsSupport.getSpecification().equals(JMS_2_0)) {
+      // Pooled producers are reused among publishes, so the delay of a previous one has to be cleared
+      setDeliveryDelay(0L);
+    }
   }
 
   private void setDeliveryDelay(Long value) {
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extensions.jms.internal.publish;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import org.mule.extensions.jms.api.connection.JmsSession;
+
+import javax.jms.Destination;
+import javax.jms.Session;
+
+import org.slf4j.Logger;
+
+/**
+ * A {@link JmsSession} together with a {@link JmsMessageProducer} for a given {@link Destination}, which can be borrowed
+ * from a {@link JmsPublisherPool} to publish messages to that {@link Destination}.
+ * <p>
+ * Since JMS {@link Session}s are single threaded, a {@link JmsPublisher} must be used by only one thread until it is
+ * released back to its pool.
+ *
+ * @since 4.0
+ */
+public final class JmsPublisher implements AutoCloseable {
+
+  private static final Logger LOGGER = getLogger(JmsPublisher.class);
+
+  private final JmsPublisherPool.PublisherKey key;
+  private final JmsSession session;
+  private final Destination destination;
+  private final JmsMessageProducer producer;
+  private long lastUsed;
+
+  JmsPublisher(JmsPublisherPool.PublisherKey key, JmsSession session, Destination destination, JmsMessageProducer producer) {
+    this.key = key;
+    this.session = session;
+    this.destination = destination;
+    this.producer = producer;
+  }
+
+  /**
+   * @return the {@link JmsSession} used to create the {@link Destination} and the {@link JmsMessageProducer}
+   */
+  public JmsSession getSession() {
+    return session;
+  }
+
+  /**
+   * @return the {@link Destination} to where the {@link JmsMessageProducer} publishes
+   */
+  public Destination getDestination() {
+    return destination;
+  }
+
+  /**
+   * @return the {@link JmsMessageProducer} for the {@link Destination}
+   */
+  public JmsMessageProducer getProducer() {
+    return producer;
+  }
+
+  JmsPublisherPool.PublisherKey getKey() {
+    return key;
+  }
+
+  long getLastUsed() {
+    return lastUsed;
+  }
+
+  void setLastUsed(long lastUsed) {
+    this.lastUsed = lastUsed;
+  }
+
+  /**
+   * Closes the {@link JmsMessageProducer} and the {@link JmsSession}. Errors are logged, since the publisher is discarded
+   * anyway.
+   */
+  @Override
+  public void close() {
+    try {
+      producer.close();
+    } catch (Exception e) {
+      LOGGER.warn("Failed to close jms producer: ", e);
+    }
+    try {
+      session.close();
+    } catch (Exception e) {
+      LOGGER.warn("Failed to close jms session: ", e);
+    }
+  }
+}
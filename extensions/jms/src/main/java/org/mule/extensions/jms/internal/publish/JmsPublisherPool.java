@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extensions.jms.internal.publish;
+
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.extensions.jms.api.config.AckMode.AUTO;
+import static org.mule.extensions.jms.api.config.AckMode.DUPS_OK;
+import static org.slf4j.LoggerFactory.getLogger;
+import org.mule.extensions.jms.api.config.AckMode;
+import org.mule.extensions.jms.api.connection.JmsSession;
+import org.mule.extensions.jms.internal.support.JmsSupport;
+import org.mule.runtime.api.lifecycle.Disposable;
+
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.jms.Connection;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Session;
+
+import org.slf4j.Logger;
+
+/**
+ * Pool of {@link JmsPublisher}s of a single JMS {@link Connection}, so that publishing a message doesn't require creating a
+ * {@link Session}, a {@link Destination} and a {@link JmsMessageProducer} each time.
+ * <p>
+ * Publishers are pooled by {@link AckMode}, destination name and destination type. At most {@code maxIdle} publishers are
+ * kept idle among all the keys, and the ones that were idle for more than {@code idleTimeout} milliseconds are closed.
+ * Idle publishers are evicted lazily while the pool is used, so no thread is required to maintain it.
+ * <p>
+ * Only {@link AckMode#AUTO} and {@link AckMode#DUPS_OK} publishers are pooled, since the {@link Session}s of the other modes
+ * have to be acknowledged or committed by their users.
+ *
+ * @since 4.0
+ */
+public final class JmsPublisherPool implements Disposable {
+
+  /**
+   * Time in milliseconds after which idle publishers of the connections' pools are closed
+   */
+  public static final long DEFAULT_IDLE_TIMEOUT = 60000;
+
+  private static final Logger LOGGER = getLogger(JmsPublisherPool.class);
+
+  private final JmsSupport jmsSupport;
+  private final Connection connection;
+  private final int maxIdle;
+  private final long idleTimeoutNanos;
+
+  private final ConcurrentMap<PublisherKey, Deque<JmsPublisher>> idlePublishers = new ConcurrentHashMap<>();
+  private final AtomicInteger idleCount = new AtomicInteger();
+  private final AtomicLong lastEviction = new AtomicLong(nanoTime());
+  private volatile boolean disposed = false;
+
+  private final LongAdder createdPublishers = new LongAdder();
+  private final LongAdder reusedPublishers = new LongAdder();
+  private final LongAdder closedPublishers = new LongAdder();
+
+  /**
+   * Creates a new {@link JmsPublisherPool}
+   *
+   * @param jmsSupport  the {@link JmsSupport} used to create the {@link Session}s, {@link Destination}s and producers
+   * @param connection  the {@link Connection} from which the {@link Session}s are created
+   * @param maxIdle     the maximum number of idle publishers to keep. No publisher is pooled if it is not positive.
+   * @param idleTimeout the time in milliseconds after which an idle publisher is closed. Idle publishers are never closed
+   *                    because of their idle time if it is not positive.
+   */
+  public JmsPublisherPool(JmsSupport jmsSupport, Connection connection, int maxIdle, long idleTimeout) {
+    this.jmsSupport = jmsSupport;
+    this.connection = connection;
+    this.maxIdle = maxIdle;
+    this.idleTimeoutNanos = idleTimeout > 0 ? MILLISECONDS.toNanos(idleTimeout) : Long.MAX_VALUE;
+  }
+
+  /**
+   * Obtains a {@link JmsPublisher} for the given destination, reusing an idle one when available. The obtained publisher
+   * has to be given back through {@link #release} or {@link #invalidate}.
+   *
+   * @param ackMode     the {@link AckMode} of the {@link Session}
+   * @param destination the name of the {@link Destination} to publish to
+   * @param isTopic     {@code true} if the {@link Destination} is a topic
+   * @return a {@link JmsPublisher} for the given destination
+   * @throws JMSException if an error occurs while creating a new publisher
+   */
+  public JmsPublisher borrow(AckMode ackMode, String destination, boolean isTopic) throws JMSException {
+    PublisherKey key = new PublisherKey(ackMode, destination, isTopic);
+    Deque<JmsPublisher> publishers = idlePublishers.get(key);
+    // The most recently used publisher is taken, so the ones left at the end of the deque are the first to expire
+    JmsPublisher publisher = publishers != null ? publishers.pollFirst() : null;
+    if (publisher != null) {
+      idleCount.decrementAndGet();
+      reusedPublishers.increment();
+      return publisher;
+    }
+
+    return create(key);
+  }
+
+  /**
+   * Gives back a {@link JmsPublisher} that was successfully used, so it can be reused. The publisher is closed instead if it
+   * can't be pooled or the pool is full.
+   *
+   * @param publisher the {@link JmsPublisher} obtained through {@link #borrow}
+   */
+  public void release(JmsPublisher publisher) {
+    PublisherKey key = publisher.getKey();
+    boolean pooled = false;
+    if (!disposed && isPoolable(key.ackMode)) {
+      if (idleCount.incrementAndGet() <= maxIdle) {
+        publisher.setLastUsed(nanoTime());
+        // Done within compute so it can't race with the removal of an empty deque
+        Deque<JmsPublisher> pooledIn = idlePublishers.compute(key, (k, publishers) -> {
+          if (publishers == null) {
+            publishers = new ConcurrentLinkedDeque<>();
+          }
+          publishers.offerFirst(publisher);
+          return publishers;
+        });
+        // If the pool was disposed meanwhile, the publisher may have been added after it was drained. Whoever takes it out of the
+        // deque, either this or dispose(), closes it.
+        if (disposed && pooledIn.remove(publisher)) {
+          idleCount.decrementAndGet();
+        } else {
+          pooled = true;
+        }
+      } else {
+        idleCount.decrementAndGet();
+      }
+    }
+
+    if (!pooled) {
+      close(publisher);
+    }
+
+    evictIdlePublishers();
+  }
+
+  /**
+   * Closes a {@link JmsPublisher} which failed, instead of giving it back to the pool, since its {@link Session} may be
+   * no longer usable.
+   *
+   * @param publisher the {@link JmsPublisher} obtained through {@link #borrow}
+   */
+  public void invalidate(JmsPublisher publisher) {
+    close(publisher);
+  }
+
+  private JmsPublisher create(PublisherKey key) throws JMSException {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(format("Creating publisher for destination [%s]", key.destination));
+    }
+
+    Session session = jmsSupport.createSession(connection, key.isTopic, false, key.ackMode.getAckMode());
+    try {
+      Destination destination = jmsSupport.createDestination(session, key.destination, key.isTopic);
+      JmsMessageProducer producer =
+          new JmsMessageProducer(jmsSupport, jmsSupport.createProducer(session, destination, key.isTopic), key.isTopic);
+      createdPublishers.increment();
+      return new JmsPublisher(key, new JmsSession(session), destination, producer);
+    } catch (JMSException | RuntimeException e) {
+      session.close();
+      throw e;
+    }
+  }
+
+  private boolean isPoolable(AckMode ackMode) {
+    return maxIdle > 0 && (ackMode == AUTO || ackMode == DUPS_OK);
+  }
+
+  private void evictIdlePublishers() {
+    final long now = nanoTime();
+    final long last = lastEviction.get();
+    // Only one thread checks for expired publishers, at most once every half the idle timeout
+    if (now - last < idleTimeoutNanos / 2 || !lastEviction.compareAndSet(last, now)) {
+      return;
+    }
+
+    idlePublishers.forEach((key, publishers) -> {
+      JmsPublisher publisher;
+      while ((publisher = publishers.pollLast()) != null) {
+        if (now - publisher.getLastUsed() < idleTimeoutNanos) {
+          publishers.offerLast(publisher);
+          break;
+        }
+        idleCount.decrementAndGet();
+        close(publisher);
+      }
+      idlePublishers.computeIfPresent(key, (k, current) -> current.isEmpty() ? null : current);
+    });
+  }
+
+  private void close(JmsPublisher publisher) {
+    publisher.close();
+    closedPublishers.increment();
+  }
+
+  /**
+   * @return the number of publishers that are idle in the pool
+   */
+  public int getIdlePublishers() {
+    return idleCount.get();
+  }
+
+  /**
+   * @return the number of publishers created by this pool
+   */
+  public long getCreatedPublishers() {
+    return createdPublishers.sum();
+  }
+
+  /**
+   * @return the number of times an idle publisher was reused instead of creating a new one
+   */
+  public long getReusedPublishers() {
+    return reusedPublishers.sum();
+  }
+
+  /**
+   * @return the number of publishers closed by this pool, either because they failed, the pool was full or they expired
+   */
+  public long getClosedPublishers() {
+    return closedPublishers.sum();
+  }
+
+  /**
+   * Closes all the idle publishers. Publishers released after the pool is disposed are closed.
+   */
+  @Override
+  public void dispose() {
+    disposed = true;
+    idlePublishers.values().forEach(publishers -> {
+      JmsPublisher publisher;
+      while ((publisher = publishers.pollFirst()) != null) {
+        idleCount.decrementAndGet();
+        close(publisher);
+      }
+    });
+    idlePublishers.clear();
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[idle = " + getIdlePublishers() + ", created = " + getCreatedPublishers()
+        + ", reused = " + getReusedPublishers() + ", closed = " + getClosedPublishers() + "]";
+  }
+
+  static final class PublisherKey {
+
+    private final AckMode ackMode;
+    private final String destination;
+    private final boolean isTopic;
+
+    PublisherKey(AckMode ackMode, String destination, boolean isTopic) {
+      this.ackMode = ackMode;
+      this.destination = destination;
+      this.isTopic = isTopic;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PublisherKey)) {
+        return false;
+      }
+      PublisherKey that = (PublisherKey) o;
+      return ackMode == that.ackMode && isTopic == that.isTopic && destination.equals(that.destination);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(ackMode, destination, isTopic);
+    }
+  }
+}
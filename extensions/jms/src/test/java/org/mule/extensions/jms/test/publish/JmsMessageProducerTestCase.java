@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extensions.jms.test.publish;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.extensions.jms.api.connection.JmsSpecification.JMS_1_1;
+import static org.mule.extensions.jms.api.connection.JmsSpecification.JMS_2_0;
+import org.mule.extensions.jms.api.config.JmsProducerConfig;
+import org.mule.extensions.jms.internal.publish.JmsMessageProducer;
+import org.mule.extensions.jms.internal.publish.JmsPublishParameters;
+import org.mule.extensions.jms.internal.support.JmsSupport;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import javax.jms.Message;
+import javax.jms.MessageProducer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+@SmallTest
+public class JmsMessageProducerTestCase extends AbstractMuleTestCase {
+
+  private final JmsSupport jmsSupport = mock(JmsSupport.class);
+  private final MessageProducer producer = mock(MessageProducer.class);
+  private final JmsProducerConfig config = mock(JmsProducerConfig.class);
+
+  @Before
+  public void before() {
+    when(config.getTimeToLiveUnit()).thenReturn(MILLISECONDS);
+    when(config.getDeliveryDelayUnit()).thenReturn(MILLISECONDS);
+  }
+
+  @Test
+  public void deliveryDelayIsClearedForLaterPublishes() throws Exception {
+    when(jmsSupport.getSpecification()).thenReturn(JMS_2_0);
+    JmsMessageProducer messageProducer = new JmsMessageProducer(jmsSupport, producer, false);
+
+    messageProducer.publish(mock(Message.class), config, overrides(5L));
+    messageProducer.publish(mock(Message.class), config, overrides(null));
+
+    InOrder inOrder = inOrder(producer);
+    inOrder.verify(producer).setDeliveryDelay(5000L);
+    inOrder.verify(producer).setDeliveryDelay(0L);
+  }
+
+  @Test
+  public void deliveryDelayIsNotSetBeforeJms2() throws Exception {
+    when(jmsSupport.getSpecification()).thenReturn(JMS_1_1);
+    JmsMessageProducer messageProducer = new JmsMessageProducer(jmsSupport, producer, false);
+
+    messageProducer.publish(mock(Message.class), config, overrides(null));
+
+    verify(producer, never()).setDeliveryDelay(anyLong());
+  }
+
+  private JmsPublishParameters overrides(Long deliveryDelay) {
+    JmsPublishParameters overrides = mock(JmsPublishParameters.class);
+    when(overrides.getDeliveryDelay()).thenReturn(deliveryDelay);
+    when(overrides.getDeliveryDelayUnit()).thenReturn(SECONDS);
+    return overrides;
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extensions.jms.test.publish;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.extensions.jms.api.config.AckMode.AUTO;
+import static org.mule.extensions.jms.api.config.AckMode.MANUAL;
+import org.mule.extensions.jms.internal.publish.JmsPublisher;
+import org.mule.extensions.jms.internal.publish.JmsPublisherPool;
+import org.mule.extensions.jms.internal.support.JmsSupport;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+
+import javax.jms.Connection;
+import javax.jms.Destination;
+import javax.jms.MessageProducer;
+import javax.jms.Queue;
+import javax.jms.Session;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class JmsPublisherPoolTestCase extends AbstractMuleTestCase {
+
+  private static final int MAX_IDLE = 4;
+  private static final long IDLE_TIMEOUT = 60000;
+
+  private final JmsSupport jmsSupport = mock(JmsSupport.class);
+
+  @Before
+  public void before() throws Exception {
+    when(jmsSupport.createSession(any(Connection.class), anyBoolean(), anyBoolean(), anyInt()))
+        .thenAnswer(invocation -> mock(Session.class));
+    when(jmsSupport.createDestination(any(Session.class), anyString(), anyBoolean())).thenReturn(mock(Queue.class));
+    when(jmsSupport.createProducer(any(Session.class), any(Destination.class), anyBoolean()))
+        .thenAnswer(invocation -> mock(MessageProducer.class));
+  }
+
+  @Test
+  public void releasedPublisherIsReused() throws Exception {
+    JmsPublisherPool pool = createPool(MAX_IDLE, IDLE_TIMEOUT);
+
+    JmsPublisher publisher = borrow(pool, "destination");
+    pool.release(publisher);
+    assertThat(pool.getIdlePublishers(), is(1));
+
+    assertThat(borrow(pool, "destination"), is(sameInstance(publisher)));
+    assertThat(pool.getIdlePublishers(), is(0));
+    assertThat(pool.getCreatedPublishers(), is(1L));
+    assertThat(pool.getReusedPublishers(), is(1L));
+    verify(sessionOf(publisher), never()).close();
+  }
+
+  @Test
+  public void publisherIsNotReusedForOtherDestination() throws Exception {
+    JmsPublisherPool pool = createPool(MAX_IDLE, IDLE_TIMEOUT);
+
+    JmsPublisher publisher = borrow(pool, "destination");
+    pool.release(publisher);
+
+    assertThat(borrow(pool, "otherDestination"), is(not(sameInstance(publisher))));
+    assertThat(pool.getCreatedPublishers(), is(2L));
+  }
+
+  @Test
+  public void manualAckPublisherIsClosedOnRelease() throws Exception {
+    JmsPublisherPool pool = createPool(MAX_IDLE, IDLE_TIMEOUT);
+
+    JmsPublisher publisher = pool.borrow(MANUAL, "destination", false);
+    pool.release(publisher);
+
+    assertThat(pool.getIdlePublishers(), is(0));
+    verify(sessionOf(publisher)).close();
+  }
+
+  @Test
+  public void publisherIsClosedWhenPoolIsFull() throws Exception {
+    JmsPublisherPool pool = createPool(1, IDLE_TIMEOUT);
+
+    JmsPublisher first = borrow(pool, "destination");
+    JmsPublisher second = borrow(pool, "destination");
+    pool.release(first);
+    pool.release(second);
+
+    assertThat(pool.getIdlePublishers(), is(1));
+    verify(sessionOf(first), never()).close();
+    verify(sessionOf(second)).close();
+  }
+
+  @Test
+  public void invalidatedPublisherIsClosed() throws Exception {
+    JmsPublisherPool pool = createPool(MAX_IDLE, IDLE_TIMEOUT);
+
+    JmsPublisher publisher = borrow(pool, "destination");
+    pool.invalidate(publisher);
+
+    assertThat(pool.getIdlePublishers(), is(0));
+    assertThat(pool.getClosedPublishers(), is(1L));
+    verify(sessionOf(publisher)).close();
+  }
+
+  @Test
+  public void idlePublishersExpire() throws Exception {
+    JmsPublisherPool pool = createPool(MAX_IDLE, 10);
+
+    JmsPublisher expired = borrow(pool, "destination");
+    JmsPublisher active = borrow(pool, "otherDestination");
+    pool.release(expired);
+    Thread.sleep(50);
+    pool.release(active);
+
+    assertThat(pool.getIdlePublishers(), is(1));
+    verify(sessionOf(expired)).close();
+    verify(sessionOf(active), never()).close();
+  }
+
+  @Test
+  public void disposeClosesIdlePublishers() throws Exception {
+    JmsPublisherPool pool = createPool(MAX_IDLE, IDLE_TIMEOUT);
+
+    JmsPublisher publisher = borrow(pool, "destination");
+    pool.release(publisher);
+    pool.dispose();
+
+    assertThat(pool.getIdlePublishers(), is(0));
+    verify(sessionOf(publisher)).close();
+  }
+
+  @Test
+  public void publisherReleasedAfterDisposeIsClosed() throws Exception {
+    JmsPublisherPool pool = createPool(MAX_IDLE, IDLE_TIMEOUT);
+
+    JmsPublisher publisher = borrow(pool, "destination");
+    pool.dispose();
+    pool.release(publisher);
+
+    assertThat(pool.getIdlePublishers(), is(0));
+    verify(sessionOf(publisher)).close();
+  }
+
+  @Test
+  public void publishersReleasedWhileDisposingAreClosed() throws Exception {
+    for (int i = 0; i < 50; ++i) {
+      JmsPublisherPool pool = createPool(MAX_IDLE, IDLE_TIMEOUT);
+      List<JmsPublisher> publishers = new ArrayList<>();
+      for (int j = 0; j < MAX_IDLE; ++j) {
+        publishers.add(borrow(pool, "destination"));
+      }
+
+      CyclicBarrier barrier = new CyclicBarrier(MAX_IDLE + 1);
+      CountDownLatch released = new CountDownLatch(MAX_IDLE);
+      for (JmsPublisher publisher : publishers) {
+        new Thread(() -> {
+          await(barrier);
+          pool.release(publisher);
+          released.countDown();
+        }).start();
+      }
+      await(barrier);
+      pool.dispose();
+      assertThat(released.await(5, SECONDS), is(true));
+
+      assertThat(pool.getIdlePublishers(), is(0));
+      for (JmsPublisher publisher : publishers) {
+        verify(sessionOf(publisher), times(1)).close();
+      }
+    }
+  }
+
+  private JmsPublisherPool createPool(int maxIdle, long idleTimeout) {
+    return new JmsPublisherPool(jmsSupport, mock(Connection.class), maxIdle, idleTimeout);
+  }
+
+  private JmsPublisher borrow(JmsPublisherPool pool, String destination) throws Exception {
+    return pool.borrow(AUTO, destination, false);
+  }
+
+  private Session sessionOf(JmsPublisher publisher) {
+    return publisher.getSession().get();
+  }
+
+  private void await(CyclicBarrier barrier) {
+    try {
+      barrier.await(5, SECONDS);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
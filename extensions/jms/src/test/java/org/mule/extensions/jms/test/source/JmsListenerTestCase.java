@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extensions.jms.test.source;
+
+import static java.util.Collections.emptyEnumeration;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.extensions.jms.api.config.AckMode.AUTO;
+import static org.mule.extensions.jms.api.connection.JmsSpecification.JMS_1_1;
+import static org.mule.runtime.core.util.ClassUtils.setFieldValue;
+import org.mule.extensions.jms.api.config.JmsConfig;
+import org.mule.extensions.jms.api.config.JmsConsumerConfig;
+import org.mule.extensions.jms.api.connection.JmsConnection;
+import org.mule.extensions.jms.api.destination.ConsumerType;
+import org.mule.extensions.jms.api.destination.QueueConsumer;
+import org.mule.extensions.jms.api.destination.TopicConsumer;
+import org.mule.extensions.jms.api.message.JmsAttributes;
+import org.mule.extensions.jms.api.source.JmsListener;
+import org.mule.extensions.jms.internal.support.JmsSupport;
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.runtime.source.SourceCallback;
+import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.jms.Connection;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageListener;
+import javax.jms.Queue;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class JmsListenerTestCase extends AbstractMuleTestCase {
+
+  private static final String MESSAGE_SESSION = "MESSAGE_SESSION";
+
+  private final JmsSupport jmsSupport = mock(JmsSupport.class);
+  private final SourceCallback<Object, JmsAttributes> sourceCallback = mock(SourceCallback.class);
+  private final JmsListener listener = new JmsListener();
+
+  private final List<Session> sessions = new ArrayList<>();
+  private final List<MessageConsumer> consumers = new ArrayList<>();
+  private final List<MessageListener> messageListeners = new ArrayList<>();
+  private final List<SourceCallbackContext> contexts = new ArrayList<>();
+
+  @Before
+  public void before() throws Exception {
+    when(jmsSupport.getSpecification()).thenReturn(JMS_1_1);
+    when(jmsSupport.createSession(any(Connection.class), anyBoolean(), anyBoolean(), anyInt())).thenAnswer(invocation -> {
+      Session session = mock(Session.class);
+      sessions.add(session);
+      return session;
+    });
+    when(jmsSupport.createDestination(any(Session.class), anyString(), anyBoolean())).thenReturn(mock(Queue.class));
+    when(jmsSupport.createConsumer(any(Session.class), any(Queue.class), anyString(), any(ConsumerType.class)))
+        .thenAnswer(invocation -> {
+          MessageConsumer consumer = mock(MessageConsumer.class);
+          doAnswer(listenerInvocation -> messageListeners.add((MessageListener) listenerInvocation.getArguments()[0]))
+              .when(consumer).setMessageListener(any(MessageListener.class));
+          consumers.add(consumer);
+          return consumer;
+        });
+    when(sourceCallback.createContext()).thenAnswer(invocation -> createContext());
+
+    JmsConfig config = mock(JmsConfig.class);
+    when(config.getConsumerConfig()).thenReturn(mock(JmsConsumerConfig.class));
+    when(config.getContentType()).thenReturn("text/plain");
+    when(config.getEncoding()).thenReturn("UTF-8");
+
+    setFieldValue(listener, "config", config, false);
+    setFieldValue(listener, "connection", new JmsConnection(jmsSupport, mock(Connection.class)), false);
+    setFieldValue(listener, "destination", "destination", false);
+    setFieldValue(listener, "consumerType", new QueueConsumer(), false);
+    setFieldValue(listener, "ackMode", AUTO, false);
+  }
+
+  @Test
+  public void singleConsumerByDefault() throws Exception {
+    Optional optional = JmsListener.class.getDeclaredField("numberOfConsumers").getAnnotation(Optional.class);
+    assertThat(optional.defaultValue(), is("1"));
+  }
+
+  @Test
+  public void eachConsumerDispatchesWithItsOwnSession() throws Exception {
+    setNumberOfConsumers(3);
+    listener.onStart(sourceCallback);
+
+    assertThat(sessions.size(), is(3));
+    assertThat(messageListeners.size(), is(3));
+
+    for (MessageListener messageListener : messageListeners) {
+      messageListener.onMessage(createMessage());
+    }
+
+    verify(sourceCallback, times(3)).handle(any(), any(SourceCallbackContext.class));
+    assertThat(listener.getReceivedMessages(), is(3L));
+    Object firstSession = contexts.get(0).getVariable(MESSAGE_SESSION);
+    assertThat(contexts.get(1).getVariable(MESSAGE_SESSION), is(not(sameInstance(firstSession))));
+    assertThat(contexts.get(2).getVariable(MESSAGE_SESSION), is(not(sameInstance(firstSession))));
+  }
+
+  @Test
+  public void nonSharedTopicUsesSingleConsumer() throws Exception {
+    setFieldValue(listener, "consumerType", new TopicConsumer(), false);
+    setNumberOfConsumers(4);
+    listener.onStart(sourceCallback);
+
+    assertThat(sessions.size(), is(1));
+    assertThat(messageListeners.size(), is(1));
+  }
+
+  @Test
+  public void inFlightMessagesAreCountedUntilProcessed() throws Exception {
+    setNumberOfConsumers(2);
+    listener.onStart(sourceCallback);
+
+    messageListeners.get(0).onMessage(createMessage());
+    messageListeners.get(1).onMessage(createMessage());
+    assertThat(listener.getInFlightMessages(), is(2));
+
+    listener.onSuccess(null, contexts.get(0));
+    assertThat(listener.getInFlightMessages(), is(1));
+
+    listener.onError(mock(Error.class), contexts.get(1));
+    assertThat(listener.getInFlightMessages(), is(0));
+
+    // a message is only completed once
+    listener.onSuccess(null, contexts.get(0));
+    assertThat(listener.getInFlightMessages(), is(0));
+    assertThat(listener.getReceivedMessages(), is(2L));
+  }
+
+  @Test
+  public void stopClosesConsumersAndSessions() throws Exception {
+    setNumberOfConsumers(2);
+    listener.onStart(sourceCallback);
+
+    listener.onStop();
+
+    for (MessageConsumer consumer : consumers) {
+      verify(consumer).close();
+    }
+    for (Session session : sessions) {
+      verify(session).close();
+    }
+  }
+
+  private void setNumberOfConsumers(int numberOfConsumers) throws Exception {
+    setFieldValue(listener, "numberOfConsumers", numberOfConsumers, false);
+  }
+
+  private TextMessage createMessage() throws Exception {
+    TextMessage message = mock(TextMessage.class);
+    when(message.getText()).thenReturn("message");
+    when(message.getPropertyNames()).thenReturn(emptyEnumeration());
+    return message;
+  }
+
+  private SourceCallbackContext createContext() {
+    Map<String, Object> variables = new HashMap<>();
+    SourceCallbackContext context = mock(SourceCallbackContext.class);
+    doAnswer(invocation -> variables.put((String) invocation.getArguments()[0], invocation.getArguments()[1]))
+        .when(context).addVariable(anyString(), any());
+    when(context.getVariable(anyString())).thenAnswer(invocation -> variables.get(invocation.getArguments()[0]));
+    when(context.getSourceCallback()).thenReturn(sourceCallback);
+    contexts.add(context);
+    return context;
+  }
+}
@@ -13,11 +13,13 @@ import org.mule.extension.socket.api.SocketAttributes;
 import org.mule.extension.socket.api.connection.ListenerConnection;
 import org.mule.extension.socket.api.connection.udp.UdpListenerConnection;
 import org.mule.extension.socket.api.socket.factory.SimpleServerSocketFactory;
+import org.mule.extension.socket.api.socket.factory.TcpServerSocketFactory;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
 import org.mule.extension.socket.api.socket.tcp.TcpServerSocketProperties;
 import org.mule.extension.socket.api.socket.tcp.TcpSocketProperties;
 import org.mule.extension.socket.api.worker.SocketWorker;
 import org.mule.extension.socket.api.worker.TcpWorker;
+import org.mule.extension.socket.internal.nio.NioTcpServer;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.extension.api.runtime.source.Source;
@@ -31,6 +33,8 @@ import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.channels.ServerSocketChannel;
+import java.util.Optional;
 
 /**
  * Implementation of {@link ListenerConnection} for receiving TCP connections.
@@ -42,6 +46,7 @@ public final class TcpListenerConnection extends AbstractTcpConnection implement
   private final TcpServerSocketProperties socketProperties;
   private final SimpleServerSocketFactory serverSocketFactory;
   private ServerSocket serverSocket;
+  private NioTcpServer nioServer;
 
   public TcpListenerConnection(SocketConnectionSettings connectionSettings, TcpProtocol protocol,
                                TcpServerSocketProperties socketProperties, SimpleServerSocketFactory serverSocketFactory)
@@ -66,11 +71,43 @@ public final class TcpListenerConnection extends AbstractTcpConnection implement
       throws IOException, ConnectionException {
     Socket newConnection = acceptConnection();
     configureConnection(newConnection, socketProperties);
+    if (nioServer != null) {
+      return nioServer.createWorker(newConnection, callback);
+    }
+
     return new TcpWorker(newConnection, protocol, callback);
   }
 
+  /**
+   * Decides whether the accepted connections are read through {@link java.nio.channels.Selector}s. That is only possible
+   * when {@link TcpServerSocketProperties#isNonBlocking()} is set, the connection is not secured and the {@link TcpProtocol}
+   * is able to split the messages as they arrive. Otherwise, each connection blocks a thread of its own {@link TcpWorker}.
+   *
+   * @return the {@link NioTcpServer} that reads the accepted connections, if they are read through
+   *         {@link java.nio.channels.Selector}s
+   */
+  public synchronized Optional<NioTcpServer> getNioServer() {
+    if (nioServer == null && serverSocket != null && serverSocket.getChannel() != null) {
+      if (protocol.createFrameDecoder().isPresent()) {
+        nioServer = new NioTcpServer(protocol, socketProperties.getSelectorCount());
+      } else {
+        LOGGER.warn(format("TCP protocol '%s' can't be read without blocking, a thread will be used per connection",
+                           protocol.getClass().getSimpleName()));
+      }
+    }
+
+    return Optional.ofNullable(nioServer);
+  }
+
   @Override
   public void doDisconnect() {
+    synchronized (this) {
+      if (nioServer != null) {
+        nioServer.stop();
+        nioServer = null;
+      }
+    }
+
     try {
       serverSocket.close();
     } catch (IOException e) {
@@ -86,7 +123,7 @@ public final class TcpListenerConnection extends AbstractTcpConnection implement
   @Override
   public void connect() throws ConnectionException {
     try {
-      serverSocket = serverSocketFactory.createServerSocket();
+      serverSocket = createServerSocket();
 
       if (socketProperties.getReceiveBufferSize() != null) {
         serverSocket.setReceiveBufferSize(socketProperties.getReceiveBufferSize());
@@ -112,6 +149,19 @@ public final class TcpListenerConnection extends AbstractTcpConnection implement
     }
   }
 
+  private ServerSocket createServerSocket() throws IOException {
+    if (socketProperties.isNonBlocking()) {
+      if (serverSocketFactory instanceof TcpServerSocketFactory) {
+        // the accepted sockets have a channel that can be registered in a selector
+        return ServerSocketChannel.open().socket();
+      }
+
+      LOGGER.warn("Secure TCP connections can't be read without blocking, a thread will be used per connection");
+    }
+
+    return serverSocketFactory.createServerSocket();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -6,6 +6,9 @@
  */
 package org.mule.extension.socket.api.connection.tcp.protocol;
 
+import static java.util.Optional.empty;
+
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
@@ -45,4 +48,12 @@ public class CustomClassLoadingLengthProtocol extends LengthProtocol {
   public void setClassLoader(ClassLoader classLoader) {
     this.classLoader = classLoader;
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public java.util.Optional<TcpFrameDecoder> createFrameDecoder() {
+    return empty();
+  }
 }
@@ -8,6 +8,7 @@ package org.mule.extension.socket.api.connection.tcp.protocol;
 
 import static java.lang.String.format;
 
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
@@ -21,6 +22,7 @@ import org.mule.runtime.extension.api.annotation.param.display.Summary;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Optional;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -62,4 +64,12 @@ public class CustomProtocol implements TcpProtocol, Initialisable {
       throw new RuntimeException(format("Could not load class '%s'", clazz));
     }
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<TcpFrameDecoder> createFrameDecoder() {
+    return delegate.createFrameDecoder();
+  }
 }
@@ -6,13 +6,17 @@
  */
 package org.mule.extension.socket.api.connection.tcp.protocol;
 
+import static java.util.Optional.of;
 import static org.mule.extension.socket.internal.SocketUtils.getByteArray;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
+import org.mule.extension.socket.internal.nio.DirectFrameDecoder;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Optional;
 
 import org.apache.commons.io.output.ByteArrayOutputStream;
 
@@ -99,4 +103,12 @@ public class DirectProtocol extends AbstractByteProtocol {
   public void write(OutputStream os, Object data, String encoding) throws IOException {
     this.writeByteArray(os, getByteArray(data, streamOk, encoding, objectSerializer));
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<TcpFrameDecoder> createFrameDecoder() {
+    return of(new DirectFrameDecoder());
+  }
 }
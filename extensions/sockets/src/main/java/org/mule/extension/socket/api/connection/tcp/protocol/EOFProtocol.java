@@ -6,10 +6,16 @@
  */
 package org.mule.extension.socket.api.connection.tcp.protocol;
 
+import static java.util.Optional.of;
+
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
+import org.mule.extension.socket.internal.nio.EofFrameDecoder;
 import org.mule.runtime.extension.api.annotation.Alias;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 
+import java.util.Optional;
+
 /**
  * This protocol is an application level {@link TcpProtocol} that does nothing. Reading is terminated by the stream being closed
  * by the client.
@@ -33,4 +39,11 @@ public class EOFProtocol extends DirectProtocol {
     return true;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<TcpFrameDecoder> createFrameDecoder() {
+    return of(new EofFrameDecoder());
+  }
 }
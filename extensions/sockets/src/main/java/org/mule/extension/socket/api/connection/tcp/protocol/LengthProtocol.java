@@ -7,8 +7,11 @@
 package org.mule.extension.socket.api.connection.tcp.protocol;
 
 import static java.lang.String.format;
+import static java.util.Optional.of;
 import org.mule.extension.socket.api.exceptions.LengthExceededException;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
+import org.mule.extension.socket.internal.nio.LengthFrameDecoder;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 import org.mule.runtime.extension.api.annotation.param.Optional;
@@ -129,4 +132,12 @@ public class LengthProtocol extends DirectProtocol {
   protected boolean isRepeat(int len, int available) {
     return true;
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public java.util.Optional<TcpFrameDecoder> createFrameDecoder() {
+    return of(new LengthFrameDecoder(maxMessageLength));
+  }
 }
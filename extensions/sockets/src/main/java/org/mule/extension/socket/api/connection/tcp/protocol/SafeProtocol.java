@@ -6,7 +6,11 @@
  */
 package org.mule.extension.socket.api.connection.tcp.protocol;
 
+import static java.util.Optional.of;
+
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
+import org.mule.extension.socket.internal.nio.SafeFrameDecoder;
 import org.mule.runtime.core.api.serialization.DefaultObjectSerializer;
 import org.mule.runtime.core.api.serialization.ObjectSerializer;
 import org.mule.runtime.core.util.IOUtils;
@@ -135,4 +139,11 @@ public class SafeProtocol extends AbstractByteProtocol {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public java.util.Optional<TcpFrameDecoder> createFrameDecoder() {
+    return of(new SafeFrameDecoder(NO_MAX_LENGTH));
+  }
 }
@@ -6,12 +6,14 @@
  */
 package org.mule.extension.socket.api.connection.tcp.protocol;
 
+import static java.util.Optional.empty;
 import static org.mule.extension.socket.internal.SocketUtils.getByteArray;
 import static org.mule.runtime.core.util.IOUtils.copyLarge;
 
 import org.mule.extension.socket.api.SocketOperations;
 import org.mule.extension.socket.api.config.RequesterConfig;
 import org.mule.extension.socket.api.connection.RequesterConnection;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
 import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
 import org.mule.extension.socket.internal.TcpInputStream;
 import org.mule.runtime.api.message.Message;
@@ -20,6 +22,7 @@ import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Optional;
 
 /**
  * This protocol is an application level {@link TcpProtocol} that wraps an {@link InputStream} and does not consume it. This
@@ -60,6 +63,12 @@ public class StreamingProtocol extends EOFProtocol {
       this.writeByteArray(os, getByteArray(data, true, encoding, objectSerializer));
     }
   }
-}
-
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<TcpFrameDecoder> createFrameDecoder() {
+    return empty();
+  }
+}
@@ -6,9 +6,15 @@
  */
 package org.mule.extension.socket.api.connection.tcp.protocol;
 
+import static java.util.Optional.of;
+
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+import org.mule.extension.socket.internal.nio.XmlFrameDecoder;
 import org.mule.runtime.extension.api.annotation.Alias;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 
+import java.util.Optional;
+
 /**
  * Extend {@link XmlMessageProtocol} to continue reading until either a new message or EOF is found.
  */
@@ -29,4 +35,11 @@ public class XmlMessageEOFProtocol extends XmlMessageProtocol {
     return patternIndex < 0;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<TcpFrameDecoder> createFrameDecoder() {
+    return of(new XmlFrameDecoder(true));
+  }
 }
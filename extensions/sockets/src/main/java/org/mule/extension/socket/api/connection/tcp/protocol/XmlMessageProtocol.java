@@ -6,14 +6,18 @@
  */
 package org.mule.extension.socket.api.connection.tcp.protocol;
 
+import static java.util.Optional.of;
 import static org.mule.extension.socket.internal.SocketUtils.getByteArray;
 
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+import org.mule.extension.socket.internal.nio.XmlFrameDecoder;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PushbackInputStream;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -132,4 +136,12 @@ public class XmlMessageProtocol extends AbstractByteProtocol {
   protected boolean isRepeat(int patternIndex, int len, int available) {
     return patternIndex < 0 && len == READ_BUFFER_SIZE && available > 0;
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<TcpFrameDecoder> createFrameDecoder() {
+    return of(new XmlFrameDecoder(false));
+  }
 }
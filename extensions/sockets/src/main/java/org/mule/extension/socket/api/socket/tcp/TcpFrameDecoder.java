@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.api.socket.tcp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Splits the bytes received by a single non blocking TCP connection into the messages of a {@link TcpProtocol}, as they
+ * arrive.
+ * <p>
+ * The bytes are offered in {@link ByteBuffer}s which are reused for reading from other connections, so a decoder keeps a
+ * copy of the bytes of a message that is not complete yet. Instances are not thread safe, since the bytes of a connection
+ * are always decoded by the same thread.
+ *
+ * @since 4.0
+ */
+public interface TcpFrameDecoder {
+
+  /**
+   * Consumes bytes from the given buffer until a whole message is read.
+   *
+   * @param buffer the bytes received, ready to be read
+   * @return an {@link InputStream} containing a full message, or {@code null} if all the remaining bytes of the
+   *         {@code buffer} were consumed without completing a message
+   * @throws IOException if the received bytes don't comply with the protocol
+   */
+  InputStream decode(ByteBuffer buffer) throws IOException;
+
+  /**
+   * Notifies that the remote end finished sending data.
+   *
+   * @return an {@link InputStream} containing the last message, for protocols that delimit messages with the end of the
+   *         stream, or {@code null} if there is no message left
+   * @throws IOException if the stream ended in the middle of a message that can't be returned
+   */
+  InputStream endOfStream() throws IOException;
+}
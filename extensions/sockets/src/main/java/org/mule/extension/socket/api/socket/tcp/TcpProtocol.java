@@ -6,11 +6,14 @@
  */
 package org.mule.extension.socket.api.socket.tcp;
 
+import static java.util.Optional.empty;
+
 import org.mule.extension.socket.api.SocketsExtension;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Optional;
 
 /**
  * This interface enables to plug different application level protocols into the {@link SocketsExtension}.
@@ -37,4 +40,15 @@ public interface TcpProtocol {
    * @throws IOException if an exception occurs
    */
   void write(OutputStream os, Object data, String encoding) throws IOException;
+
+  /**
+   * Creates a {@link TcpFrameDecoder} that splits the data received by a single connection into the same messages that
+   * {@link #read(InputStream)} returns, so the connection can be read without blocking a thread.
+   *
+   * @return a new {@link TcpFrameDecoder}, or {@link Optional#empty()} if this protocol can only read from a blocking
+   *         {@link InputStream}
+   */
+  default Optional<TcpFrameDecoder> createFrameDecoder() {
+    return empty();
+  }
 }
@@ -39,6 +39,24 @@ public class TcpServerSocketProperties extends AbstractTcpSocketProperties {
   @Placement(tab = ADVANCED_TAB)
   private int receiveBacklog = 50;
 
+  /**
+   * If set, the accepted connections are read without blocking by a small pool of selector threads, instead of having a
+   * thread for each connection, so a large number of mostly idle connections can be kept open. It only applies to plain TCP
+   * connections using a protocol that supports it, otherwise each connection is read by its own thread.
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Placement(tab = ADVANCED_TAB)
+  private boolean nonBlocking = false;
+
+  /**
+   * The number of selector threads used to read the accepted connections when {@code nonBlocking} is set.
+   */
+  @Parameter
+  @Optional(defaultValue = "2")
+  @Placement(tab = ADVANCED_TAB)
+  private int selectorCount = 2;
+
   /**
    * The maximum queue length for incoming connections.
    */
@@ -54,4 +72,18 @@ public class TcpServerSocketProperties extends AbstractTcpSocketProperties {
   public Integer getServerTimeout() {
     return serverTimeout;
   }
+
+  /**
+   * Whether the accepted connections should be read without blocking by a pool of selector threads.
+   */
+  public boolean isNonBlocking() {
+    return nonBlocking;
+  }
+
+  /**
+   * The number of selector threads used to read the accepted connections in non blocking mode.
+   */
+  public int getSelectorCount() {
+    return selectorCount;
+  }
 }
@@ -16,11 +16,14 @@ import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
 import org.mule.extension.socket.api.SocketAttributes;
 import org.mule.extension.socket.api.config.ListenerConfig;
 import org.mule.extension.socket.api.connection.ListenerConnection;
+import org.mule.extension.socket.api.connection.tcp.TcpListenerConnection;
 import org.mule.extension.socket.api.worker.SocketWorker;
+import org.mule.extension.socket.internal.nio.NioTcpServer;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.message.Error;
 import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.construct.FlowConstructAware;
@@ -37,6 +40,7 @@ import org.mule.runtime.extension.api.runtime.source.Source;
 import org.mule.runtime.extension.api.runtime.source.SourceCallback;
 import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -75,6 +79,7 @@ public final class SocketListener extends Source<InputStream, SocketAttributes>
   private AtomicBoolean stopRequested = new AtomicBoolean(false);
   private Scheduler workManager;
   private Scheduler listenerExecutor;
+  private NioTcpServer nioServer;
 
   private Future<?> submittedListenerTask;
 
@@ -88,8 +93,24 @@ public final class SocketListener extends Source<InputStream, SocketAttributes>
 
     stopRequested.set(false);
 
-    listenerExecutor = schedulerService.customScheduler(config().withMaxConcurrentTasks(1)
+    nioServer = connection instanceof TcpListenerConnection
+        ? ((TcpListenerConnection) connection).getNioServer().orElse(null) : null;
+
+    // the selectors of a non blocking listener run in the listener executor along with the accepting task
+    int selectorCount = nioServer != null ? nioServer.getSelectorCount() : 0;
+    listenerExecutor = schedulerService.customScheduler(config().withMaxConcurrentTasks(1 + selectorCount)
         .withName(format("%s%s.socket.listener", getPrefix(muleContext), flowConstruct.getName())));
+
+    if (nioServer != null) {
+      try {
+        nioServer.start(listenerExecutor);
+      } catch (IOException e) {
+        listenerExecutor.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
+        workManager.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
+        throw new DefaultMuleException("Could not open the selectors of the TCP listener", e);
+      }
+    }
+
     submittedListenerTask = listenerExecutor.submit(() -> listen(sourceCallback));
   }
 
@@ -114,6 +135,9 @@ public final class SocketListener extends Source<InputStream, SocketAttributes>
   public void onStop() {
     submittedListenerTask.cancel(false);
     stopRequested.set(true);
+    if (nioServer != null) {
+      nioServer.stop();
+    }
     listenerExecutor.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
     workManager.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
   }
@@ -153,7 +177,7 @@ public final class SocketListener extends Source<InputStream, SocketAttributes>
             sourceCallback.onSourceException(t);
           }
         });
-        workManager.execute(worker);
+        worker.start(workManager);
       } catch (ConnectionException e) {
         if (!isRequestedToStop()) {
           sourceCallback.onSourceException(e);
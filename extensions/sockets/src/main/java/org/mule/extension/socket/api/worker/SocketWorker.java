@@ -15,6 +15,7 @@ import org.mule.runtime.extension.api.runtime.source.SourceCallback;
 import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
 
 import java.io.InputStream;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 public abstract class SocketWorker implements Disposable, Runnable {
@@ -35,6 +36,15 @@ public abstract class SocketWorker implements Disposable, Runnable {
     this.errorHandler = handler;
   }
 
+  /**
+   * Starts handling the connection of this worker. By default, the worker is run in the given {@code executor}.
+   *
+   * @param executor the {@link Executor} in which the received messages are processed
+   */
+  public void start(Executor executor) {
+    executor.execute(this);
+  }
+
   @Override
   public final void run() {
     try {
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal.nio;
+
+import org.mule.extension.socket.api.connection.tcp.protocol.DirectProtocol;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link TcpFrameDecoder} for the {@link DirectProtocol}, which takes all the data available at once as a message.
+ *
+ * @since 4.0
+ */
+public class DirectFrameDecoder implements TcpFrameDecoder {
+
+  @Override
+  public InputStream decode(ByteBuffer buffer) {
+    if (!buffer.hasRemaining()) {
+      return null;
+    }
+
+    byte[] message = new byte[buffer.remaining()];
+    buffer.get(message);
+    return new ByteArrayInputStream(message);
+  }
+
+  @Override
+  public InputStream endOfStream() {
+    return null;
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal.nio;
+
+import org.mule.extension.socket.api.connection.tcp.protocol.EOFProtocol;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link TcpFrameDecoder} for the {@link EOFProtocol}, which takes all the data received until the remote end closes its
+ * output as a single message.
+ *
+ * @since 4.0
+ */
+public class EofFrameDecoder implements TcpFrameDecoder {
+
+  private final FrameBuffer message = new FrameBuffer();
+
+  @Override
+  public InputStream decode(ByteBuffer buffer) {
+    message.append(buffer, buffer.remaining());
+    return null;
+  }
+
+  @Override
+  public InputStream endOfStream() {
+    return message.size() == 0 ? null : new ByteArrayInputStream(message.take(message.size()));
+  }
+}
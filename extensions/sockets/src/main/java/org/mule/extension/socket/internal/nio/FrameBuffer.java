@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal.nio;
+
+import static java.lang.Math.max;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.copyOfRange;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Growable array which keeps the bytes of a message until it is complete. The array is only allocated once some data is
+ * received, so idle connections don't hold any buffer.
+ *
+ * @since 4.0
+ */
+final class FrameBuffer {
+
+  private static final int INITIAL_CAPACITY = 256;
+
+  private byte[] bytes;
+  private int size;
+
+  /**
+   * Copies up to {@code length} bytes from the {@code source} buffer.
+   *
+   * @return the number of bytes copied
+   */
+  int append(ByteBuffer source, int length) {
+    final int count = Math.min(length, source.remaining());
+    ensureCapacity(size + count);
+    source.get(bytes, size, count);
+    size += count;
+    return count;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * @return the index of the first occurrence of {@code pattern} at or after {@code from}, or -1 if not found
+   */
+  int indexOf(byte[] pattern, int from) {
+    outer: for (int i = from; i <= size - pattern.length; i++) {
+      for (int j = 0; j < pattern.length; j++) {
+        if (bytes[i + j] != pattern[j]) {
+          continue outer;
+        }
+      }
+      return i;
+    }
+    return -1;
+  }
+
+  /**
+   * Removes the first {@code length} bytes, keeping the rest for the next message.
+   *
+   * @return the removed bytes
+   */
+  byte[] take(int length) {
+    byte[] taken = copyOf(bytes, length);
+    if (length == size) {
+      // The next message allocates its own array, so a big message doesn't keep its array while the connection is idle
+      bytes = null;
+      size = 0;
+    } else {
+      bytes = copyOfRange(bytes, length, size);
+      size -= length;
+    }
+    return taken;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (bytes == null) {
+      bytes = new byte[max(capacity, INITIAL_CAPACITY)];
+    } else if (capacity > bytes.length) {
+      bytes = copyOf(bytes, max(capacity, bytes.length * 2));
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal.nio;
+
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static org.mule.extension.socket.api.connection.tcp.protocol.LengthProtocol.LENGTH_EXCEEDED;
+
+import org.mule.extension.socket.api.connection.tcp.protocol.LengthProtocol;
+import org.mule.extension.socket.api.exceptions.LengthExceededException;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link TcpFrameDecoder} for the {@link LengthProtocol}, which reads an int with the length of the message before the
+ * message itself.
+ *
+ * @since 4.0
+ */
+public class LengthFrameDecoder implements TcpFrameDecoder {
+
+  private static final int SIZE_INT = Integer.BYTES;
+
+  private final int maxMessageLength;
+
+  private int headerRead;
+  private int length;
+  private byte[] message;
+  private int messageRead;
+
+  /**
+   * @param maxMessageLength the maximum length of a message, or a non positive value if there is no limit
+   */
+  public LengthFrameDecoder(int maxMessageLength) {
+    this.maxMessageLength = maxMessageLength;
+  }
+
+  @Override
+  public InputStream decode(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (message == null) {
+        while (headerRead < SIZE_INT && buffer.hasRemaining()) {
+          length = (length << 8) | (buffer.get() & 0xFF);
+          headerRead++;
+        }
+        if (headerRead < SIZE_INT) {
+          return null;
+        }
+        if (length < 0 || (maxMessageLength > 0 && length > maxMessageLength)) {
+          throw new LengthExceededException(format(LENGTH_EXCEEDED, length, maxMessageLength));
+        }
+        // The array is allocated once the whole length is known, so the message is never copied
+        message = new byte[length];
+        messageRead = 0;
+      }
+
+      final int count = min(buffer.remaining(), length - messageRead);
+      buffer.get(message, messageRead, count);
+      messageRead += count;
+
+      if (messageRead == length) {
+        byte[] result = message;
+        message = null;
+        headerRead = 0;
+        length = 0;
+        // Empty messages carry no data to process, just like with LengthProtocol#read
+        if (result.length > 0) {
+          return new ByteArrayInputStream(result);
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return whether part of a message has been received
+   */
+  boolean isReadingMessage() {
+    return headerRead > 0;
+  }
+
+  @Override
+  public InputStream endOfStream() throws IOException {
+    if (isReadingMessage()) {
+      throw new IOException("Length Protocol could not read the whole message before the end of the stream");
+    }
+    return null;
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal.nio;
+
+import static java.lang.Math.floorMod;
+import static java.nio.ByteBuffer.allocateDirect;
+
+import org.mule.extension.socket.api.SocketAttributes;
+import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
+import org.mule.runtime.extension.api.runtime.source.SourceCallback;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads the connections accepted by a TCP listener through a fixed number of {@link Selector}s, instead of blocking a
+ * thread per connection. The messages are split by the {@link TcpProtocol#createFrameDecoder() frame decoder} of the
+ * protocol, and only processed in a worker thread once they are complete.
+ *
+ * @since 4.0
+ */
+public final class NioTcpServer {
+
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+  private final TcpProtocol protocol;
+  private final int selectorCount;
+  private final AtomicInteger nextLoop = new AtomicInteger();
+  private final AtomicInteger openConnections = new AtomicInteger();
+  private volatile SelectorLoop[] loops = new SelectorLoop[0];
+
+  /**
+   * @param protocol the {@link TcpProtocol} of the connections. It has to provide a frame decoder.
+   * @param selectorCount the number of {@link Selector}s, each one with its own thread
+   */
+  public NioTcpServer(TcpProtocol protocol, int selectorCount) {
+    this.protocol = protocol;
+    this.selectorCount = selectorCount < 1 ? 1 : selectorCount;
+  }
+
+  /**
+   * Opens the {@link Selector}s and runs a loop for each one in the given {@code executor}.
+   *
+   * @param executor an {@link Executor} able to run {@link #getSelectorCount()} tasks which only end when this server is
+   *        stopped
+   * @throws IOException if a {@link Selector} could not be opened
+   */
+  public synchronized void start(Executor executor) throws IOException {
+    SelectorLoop[] newLoops = new SelectorLoop[selectorCount];
+    try {
+      for (int i = 0; i < selectorCount; i++) {
+        newLoops[i] = new SelectorLoop(Selector.open(), allocateDirect(READ_BUFFER_SIZE));
+      }
+    } catch (IOException e) {
+      for (SelectorLoop loop : newLoops) {
+        if (loop != null) {
+          loop.close();
+        }
+      }
+      throw e;
+    }
+
+    loops = newLoops;
+    for (SelectorLoop loop : newLoops) {
+      executor.execute(loop);
+    }
+  }
+
+  /**
+   * Stops reading and closes all the connections.
+   */
+  public synchronized void stop() {
+    SelectorLoop[] currentLoops = loops;
+    loops = new SelectorLoop[0];
+    for (SelectorLoop loop : currentLoops) {
+      loop.stop();
+    }
+  }
+
+  /**
+   * Creates the worker that reads the given accepted connection once it is started.
+   *
+   * @param socket a {@link Socket} obtained from a {@link java.nio.channels.ServerSocketChannel}
+   * @param callback the {@link SourceCallback} to which the received messages are sent
+   * @return a new {@link NioTcpWorker}
+   * @throws IOException if the connection can't be set as non blocking
+   */
+  public NioTcpWorker createWorker(Socket socket, SourceCallback<InputStream, SocketAttributes> callback) throws IOException {
+    SocketChannel channel = socket.getChannel();
+    channel.configureBlocking(false);
+    return new NioTcpWorker(this, channel, protocol, protocol.createFrameDecoder().get(), callback);
+  }
+
+  void register(NioTcpWorker worker) {
+    openConnections.incrementAndGet();
+    SelectorLoop[] currentLoops = loops;
+    if (currentLoops.length == 0) {
+      worker.close();
+      return;
+    }
+
+    currentLoops[floorMod(nextLoop.getAndIncrement(), currentLoops.length)].register(worker);
+  }
+
+  void connectionClosed() {
+    openConnections.decrementAndGet();
+  }
+
+  /**
+   * @return the number of {@link Selector}s used by this server
+   */
+  public int getSelectorCount() {
+    return selectorCount;
+  }
+
+  /**
+   * @return the number of connections currently being read by this server
+   */
+  public int getOpenConnections() {
+    return openConnections.get();
+  }
+}
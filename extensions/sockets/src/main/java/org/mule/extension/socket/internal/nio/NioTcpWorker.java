@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal.nio;
+
+import static java.lang.String.format;
+import static java.nio.channels.SelectionKey.OP_READ;
+import static java.nio.channels.SelectionKey.OP_WRITE;
+
+import org.mule.extension.socket.api.ImmutableSocketAttributes;
+import org.mule.extension.socket.api.SocketAttributes;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+import org.mule.extension.socket.api.socket.tcp.TcpProtocol;
+import org.mule.extension.socket.api.worker.SocketWorker;
+import org.mule.extension.socket.api.worker.TcpWorker;
+import org.mule.runtime.extension.api.runtime.source.SourceCallback;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Non blocking counterpart of {@link TcpWorker}. Its connection is read by a {@link SelectorLoop} of a {@link NioTcpServer},
+ * and a thread of the worker {@link Executor} is only used once a whole message was received.
+ * <p>
+ * Messages are dispatched in the order they were received, and the connection is closed once the sender closes it and
+ * every message was answered. When the flow doesn't keep up, the connection stops being read once
+ * {@value #MAX_PENDING_MESSAGES} messages are waiting for their response, and is read again once half of them were answered,
+ * so a fast sender is slowed down by TCP flow control instead of filling the memory.
+ *
+ * @since 4.0
+ */
+public final class NioTcpWorker extends SocketWorker {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NioTcpWorker.class);
+  private static final int MAX_READS_PER_SELECTION = 16;
+  static final int MAX_PENDING_MESSAGES = 64;
+  private static final int RESUME_PENDING_MESSAGES = MAX_PENDING_MESSAGES / 2;
+
+  private final NioTcpServer server;
+  private final SocketChannel channel;
+  private final TcpProtocol protocol;
+  private final TcpFrameDecoder decoder;
+
+  private final Queue<InputStream> messages = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean(false);
+  private final AtomicInteger pendingResponses = new AtomicInteger();
+  private final Queue<ByteBuffer> pendingWrites = new ArrayDeque<>();
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  private Executor executor;
+  private volatile SelectorLoop loop;
+  private volatile SelectionKey key;
+  private volatile boolean inputClosed = false;
+  private volatile boolean readingPaused = false;
+  private SocketAttributes attributes;
+
+  NioTcpWorker(NioTcpServer server, SocketChannel channel, TcpProtocol protocol, TcpFrameDecoder decoder,
+               SourceCallback<InputStream, SocketAttributes> callback) {
+    super(callback);
+    this.server = server;
+    this.channel = channel;
+    this.protocol = protocol;
+    this.decoder = decoder;
+  }
+
+  /**
+   * Registers the connection in one of the selectors of the server. Messages are processed in the given {@code executor}
+   * as they are received.
+   */
+  @Override
+  public void start(Executor executor) {
+    this.executor = executor;
+    server.register(this);
+  }
+
+  SocketChannel getChannel() {
+    return channel;
+  }
+
+  void registered(SelectorLoop loop, SelectionKey key) {
+    this.key = key;
+    this.loop = loop;
+    if (closed.get()) {
+      key.cancel();
+    }
+  }
+
+  /**
+   * Reads the available bytes, dispatching every message completed by them. Invoked by the selector thread.
+   * <p>
+   * The whole buffer is always decoded, since it is reused for other connections, so the pending messages may exceed the bound
+   * by the ones that fit in a buffer.
+   */
+  void read(ByteBuffer buffer) throws IOException {
+    int read;
+    int reads = 0;
+    do {
+      buffer.clear();
+      read = channel.read(buffer);
+      buffer.flip();
+
+      InputStream message;
+      while ((message = decoder.decode(buffer)) != null) {
+        dispatch(message);
+      }
+    } while (read == buffer.capacity() && ++reads < MAX_READS_PER_SELECTION
+        && pendingResponses.get() < MAX_PENDING_MESSAGES);
+
+    if (read < 0) {
+      InputStream message = decoder.endOfStream();
+      if (message != null) {
+        dispatch(message);
+      }
+      stopReading();
+    } else if (pendingResponses.get() >= MAX_PENDING_MESSAGES) {
+      pauseReading();
+    }
+  }
+
+  /**
+   * Stops reading until enough pending messages were answered. Invoked by the selector thread.
+   */
+  private void pauseReading() {
+    readingPaused = true;
+    key.interestOps(key.interestOps() & ~OP_READ);
+    // the responses may have been sent before the flag was set, so nobody would resume reading
+    if (pendingResponses.get() <= RESUME_PENDING_MESSAGES) {
+      resumeReading();
+    }
+  }
+
+  /**
+   * Reads the connection again if it was paused. Invoked by the selector thread.
+   */
+  private void resumeReading() {
+    if (!readingPaused) {
+      return;
+    }
+    readingPaused = false;
+    if (!inputClosed && key.isValid()) {
+      key.interestOps(key.interestOps() | OP_READ);
+    }
+  }
+
+  int getPendingMessages() {
+    return pendingResponses.get();
+  }
+
+  /**
+   * Writes the responses that didn't fit in the socket buffer. Invoked by the selector thread.
+   */
+  void flush() throws IOException {
+    synchronized (pendingWrites) {
+      ByteBuffer data;
+      while ((data = pendingWrites.peek()) != null) {
+        channel.write(data);
+        if (data.hasRemaining()) {
+          return;
+        }
+        pendingWrites.poll();
+      }
+    }
+
+    key.interestOps(key.interestOps() & ~OP_WRITE);
+    closeIfFinished();
+  }
+
+  private void dispatch(InputStream message) {
+    pendingResponses.incrementAndGet();
+    messages.add(message);
+    schedule();
+  }
+
+  private void schedule() {
+    if (scheduled.compareAndSet(false, true)) {
+      executor.execute(this);
+    }
+  }
+
+  @Override
+  protected void doRun() {
+    try {
+      if (attributes == null) {
+        attributes = new ImmutableSocketAttributes(channel.socket());
+      }
+
+      InputStream message;
+      while (!closed.get() && (message = messages.poll()) != null) {
+        try {
+          handle(message, attributes);
+        } catch (RuntimeException e) {
+          responded();
+          throw e;
+        }
+      }
+    } finally {
+      scheduled.set(false);
+      // a message may have been received after the queue was drained but before the flag was reset
+      if (!messages.isEmpty() && !closed.get()) {
+        schedule();
+      }
+    }
+  }
+
+  @Override
+  public void onComplete(Object result) {
+    try {
+      ByteArrayOutputStream response = new ByteArrayOutputStream();
+      protocol.write(response, result, encoding);
+      write(ByteBuffer.wrap(response.toByteArray()));
+    } catch (IOException e) {
+      callback.onSourceException(new IOException(format("An error occurred while sending TCP response to address '%s'",
+                                                        channel.socket().getRemoteSocketAddress()),
+                                                 e));
+    } finally {
+      responded();
+    }
+  }
+
+  @Override
+  public void onError(Throwable e) {
+    LOGGER.error("TCP worker will not answer back due an exception was received", e);
+
+    // end worker's execution
+    SelectorLoop currentLoop = loop;
+    if (currentLoop != null) {
+      currentLoop.execute(this::stopReading);
+    }
+    responded();
+  }
+
+  private void write(ByteBuffer data) throws IOException {
+    synchronized (pendingWrites) {
+      if (pendingWrites.isEmpty()) {
+        channel.write(data);
+        if (!data.hasRemaining()) {
+          return;
+        }
+      }
+      pendingWrites.add(data);
+    }
+
+    // the socket buffer is full, the selector writes the rest once the connection is writable again
+    loop.execute(() -> {
+      if (key.isValid()) {
+        key.interestOps(key.interestOps() | OP_WRITE);
+      }
+    });
+  }
+
+  private void stopReading() {
+    inputClosed = true;
+    if (key.isValid()) {
+      key.interestOps(key.interestOps() & ~OP_READ);
+    }
+    closeIfFinished();
+  }
+
+  private void responded() {
+    if (pendingResponses.decrementAndGet() <= RESUME_PENDING_MESSAGES && readingPaused) {
+      SelectorLoop currentLoop = loop;
+      if (currentLoop != null) {
+        currentLoop.execute(this::resumeReading);
+      }
+    }
+    closeIfFinished();
+  }
+
+  private void closeIfFinished() {
+    if (!inputClosed || pendingResponses.get() > 0) {
+      return;
+    }
+
+    synchronized (pendingWrites) {
+      if (!pendingWrites.isEmpty()) {
+        return;
+      }
+    }
+
+    close();
+  }
+
+  /**
+   * Closes the connection. Messages being processed are not answered.
+   */
+  void close() {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+
+    SelectionKey currentKey = key;
+    if (currentKey != null) {
+      currentKey.cancel();
+    }
+
+    try {
+      channel.close();
+    } catch (IOException e) {
+      if (LOGGER.isWarnEnabled()) {
+        LOGGER.warn("TCP Worker socket close failed", e);
+      }
+    } finally {
+      server.connectionClosed();
+    }
+  }
+
+  @Override
+  public void dispose() {
+    close();
+  }
+}
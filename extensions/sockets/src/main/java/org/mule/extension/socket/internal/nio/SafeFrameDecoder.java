@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal.nio;
+
+import static org.mule.extension.socket.api.connection.tcp.protocol.SafeProtocol.COOKIE;
+
+import org.mule.extension.socket.api.connection.tcp.protocol.SafeProtocol;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+import org.mule.runtime.core.util.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link TcpFrameDecoder} for the {@link SafeProtocol}, which reads a length prefixed cookie before each length prefixed
+ * message.
+ *
+ * @since 4.0
+ */
+public class SafeFrameDecoder implements TcpFrameDecoder {
+
+  private final LengthFrameDecoder cookieDecoder = new LengthFrameDecoder(COOKIE.length());
+  private final LengthFrameDecoder messageDecoder;
+  private boolean cookieRead = false;
+
+  /**
+   * @param maxMessageLength the maximum length of a message, or a non positive value if there is no limit
+   */
+  public SafeFrameDecoder(int maxMessageLength) {
+    this.messageDecoder = new LengthFrameDecoder(maxMessageLength);
+  }
+
+  @Override
+  public InputStream decode(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (!cookieRead) {
+        InputStream cookie;
+        try {
+          cookie = cookieDecoder.decode(buffer);
+        } catch (IOException e) {
+          throw new IOException("An error occurred while verifying your connection.  "
+              + "You may not be using a consistent protocol on your TCP transport. "
+              + "Please read the documentation for the TCP transport, paying particular attention to the protocol parameter.",
+                                e);
+        }
+        if (cookie == null) {
+          return null;
+        }
+        if (!COOKIE.equals(IOUtils.toString(cookie))) {
+          throw inconsistentProtocol();
+        }
+        cookieRead = true;
+      }
+
+      InputStream message = messageDecoder.decode(buffer);
+      if (message != null) {
+        cookieRead = false;
+        return message;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public InputStream endOfStream() throws IOException {
+    if (cookieRead || cookieDecoder.isReadingMessage()) {
+      // EOF after cookie but before data
+      throw inconsistentProtocol();
+    }
+    return null;
+  }
+
+  private IOException inconsistentProtocol() {
+    return new IOException("You are not using a consistent protocol on your TCP transport. "
+        + "Please read the documentation for the TCP transport, paying particular attention to the protocol parameter.");
+  }
+}
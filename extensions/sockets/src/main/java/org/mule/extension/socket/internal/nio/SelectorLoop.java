@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal.nio;
+
+import static java.lang.Thread.currentThread;
+import static java.nio.channels.SelectionKey.OP_READ;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Waits for the {@link NioTcpWorker}s registered in its {@link Selector} to be readable or writable, and reads from or
+ * writes to them.
+ * <p>
+ * A single direct {@link ByteBuffer} is used for reading from all the connections of a loop, since they are all read by
+ * the same thread. Any change to the registered channels is done through {@link #execute(Runnable)}, so the
+ * {@link Selector} is only accessed by that thread.
+ *
+ * @since 4.0
+ */
+final class SelectorLoop implements Runnable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SelectorLoop.class);
+
+  private final Selector selector;
+  private final ByteBuffer readBuffer;
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private volatile boolean running = true;
+
+  SelectorLoop(Selector selector, ByteBuffer readBuffer) {
+    this.selector = selector;
+    this.readBuffer = readBuffer;
+  }
+
+  /**
+   * Registers the given worker, so its connection starts being read by this loop.
+   */
+  void register(NioTcpWorker worker) {
+    tasks.add(() -> {
+      try {
+        SelectionKey key = worker.getChannel().register(selector, OP_READ, worker);
+        worker.registered(this, key);
+      } catch (IOException | ClosedSelectorException e) {
+        LOGGER.debug("Could not register TCP connection", e);
+        worker.close();
+      }
+    });
+
+    if (running) {
+      selector.wakeup();
+    } else {
+      // the loop may be already gone, the registration fails right away since the selector is closed
+      runTasks();
+    }
+  }
+
+  /**
+   * Runs the given task in the thread of this loop.
+   */
+  void execute(Runnable task) {
+    if (!running) {
+      return;
+    }
+
+    tasks.add(task);
+    selector.wakeup();
+  }
+
+  /**
+   * Stops this loop, closing all its connections.
+   */
+  void stop() {
+    running = false;
+    selector.wakeup();
+  }
+
+  @Override
+  public void run() {
+    try {
+      while (running && !currentThread().isInterrupted()) {
+        selector.select();
+        runTasks();
+        processSelectedKeys();
+      }
+    } catch (IOException | ClosedSelectorException e) {
+      if (running) {
+        LOGGER.error("An error occurred while selecting TCP connections, closing them", e);
+      }
+    } finally {
+      close();
+    }
+  }
+
+  private void runTasks() {
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      try {
+        task.run();
+      } catch (CancelledKeyException e) {
+        // the connection was closed meanwhile
+      } catch (Exception e) {
+        LOGGER.warn("An error occurred while updating a TCP connection", e);
+      }
+    }
+  }
+
+  private void processSelectedKeys() {
+    Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+    while (selectedKeys.hasNext()) {
+      SelectionKey key = selectedKeys.next();
+      selectedKeys.remove();
+
+      NioTcpWorker worker = (NioTcpWorker) key.attachment();
+      try {
+        if (key.isValid() && key.isWritable()) {
+          worker.flush();
+        }
+        if (key.isValid() && key.isReadable()) {
+          worker.read(readBuffer);
+        }
+      } catch (IOException | RuntimeException e) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("An error occurred while reading from the TCP Worker connection", e);
+        }
+        worker.close();
+      }
+    }
+  }
+
+  /**
+   * Closes the {@link Selector} and all its connections. Invoked by the loop itself once stopped.
+   */
+  void close() {
+    running = false;
+
+    List<NioTcpWorker> workers = new ArrayList<>();
+    try {
+      for (SelectionKey key : selector.keys()) {
+        workers.add((NioTcpWorker) key.attachment());
+      }
+    } catch (ClosedSelectorException e) {
+      // already closed
+    }
+    workers.forEach(NioTcpWorker::close);
+
+    try {
+      selector.close();
+    } catch (IOException e) {
+      LOGGER.warn("TCP selector close failed", e);
+    }
+
+    // pending registrations fail now that the selector is closed, closing their connections
+    runTasks();
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal.nio;
+
+import org.mule.extension.socket.api.connection.tcp.protocol.XmlMessageEOFProtocol;
+import org.mule.extension.socket.api.connection.tcp.protocol.XmlMessageProtocol;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link TcpFrameDecoder} for the {@link XmlMessageProtocol} and the {@link XmlMessageEOFProtocol}, which split the data
+ * received before each XML declaration.
+ * <p>
+ * Just like {@link XmlMessageProtocol}, the data received so far is taken as a message once no more data is available,
+ * unless it is configured to wait for the end of the stream as {@link XmlMessageEOFProtocol} does.
+ *
+ * @since 4.0
+ */
+public class XmlFrameDecoder implements TcpFrameDecoder {
+
+  // TODO support encoding MULE-9900
+  private static final byte[] XML_PATTERN = "<?xml".getBytes();
+
+  private final boolean untilEndOfStream;
+  private final FrameBuffer message = new FrameBuffer();
+  // start search at 2nd character (index=1) to indicate whether we have reached a new document
+  private int searchFrom = 1;
+
+  /**
+   * @param untilEndOfStream whether the last message is only complete when the end of the stream is reached
+   */
+  public XmlFrameDecoder(boolean untilEndOfStream) {
+    this.untilEndOfStream = untilEndOfStream;
+  }
+
+  @Override
+  public InputStream decode(ByteBuffer buffer) {
+    message.append(buffer, buffer.remaining());
+
+    int patternIndex = message.indexOf(XML_PATTERN, searchFrom);
+    if (patternIndex > 0) {
+      searchFrom = 1;
+      return new ByteArrayInputStream(message.take(patternIndex));
+    }
+    // The bytes already searched don't need to be searched again when more data is received
+    searchFrom = Math.max(1, message.size() - XML_PATTERN.length + 1);
+
+    if (!untilEndOfStream && message.size() > 0) {
+      searchFrom = 1;
+      return new ByteArrayInputStream(message.take(message.size()));
+    }
+    return null;
+  }
+
+  @Override
+  public InputStream endOfStream() {
+    return message.size() == 0 ? null : new ByteArrayInputStream(message.take(message.size()));
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.internal.nio;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.extension.socket.internal.nio.NioTcpWorker.MAX_PENDING_MESSAGES;
+import org.mule.extension.socket.api.SocketAttributes;
+import org.mule.extension.socket.api.connection.tcp.protocol.LengthProtocol;
+import org.mule.extension.socket.api.worker.SocketWorker;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.source.SourceCallback;
+import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the non blocking TCP listener path through real connections: a {@link NioTcpServer} reads the accepted connections and
+ * each received message is answered with its content in upper case.
+ */
+@SmallTest
+public class NioTcpServerTestCase extends AbstractMuleTestCase {
+
+  private static final int SELECTORS = 2;
+  private static final int TIMEOUT_MILLIS = 5000;
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+  private final SourceCallback<InputStream, SocketAttributes> callback = mock(SourceCallback.class);
+  private final NioTcpServer server = new NioTcpServer(new LengthProtocol(), SELECTORS);
+  private final ExecutorService selectorExecutor = Executors.newCachedThreadPool();
+  private final ExecutorService workerExecutor = Executors.newCachedThreadPool();
+  private final List<Socket> clients = new ArrayList<>();
+  private ServerSocketChannel serverChannel;
+  private String responseSuffix = "";
+  private volatile CountDownLatch handleLatch;
+  private NioTcpWorker lastWorker;
+
+  @Before
+  public void before() throws Exception {
+    when(callback.createContext()).thenAnswer(invocation -> {
+      SourceCallbackContext context = mock(SourceCallbackContext.class);
+      AtomicReference<Object> worker = new AtomicReference<>();
+      doAnswer(addInvocation -> {
+        worker.set(addInvocation.getArguments()[1]);
+        return null;
+      }).when(context).addVariable(anyString(), any());
+      when(context.getVariable(anyString())).thenAnswer(getInvocation -> worker.get());
+      return context;
+    });
+    doAnswer(invocation -> {
+      Result<InputStream, SocketAttributes> result = (Result<InputStream, SocketAttributes>) invocation.getArguments()[0];
+      SourceCallbackContext context = (SourceCallbackContext) invocation.getArguments()[1];
+      CountDownLatch latch = handleLatch;
+      if (latch != null) {
+        latch.await(TIMEOUT_MILLIS, MILLISECONDS);
+      }
+      String request = IOUtils.toString(result.getOutput());
+      ((SocketWorker) context.getVariable("work")).onComplete(request.toUpperCase() + responseSuffix);
+      return null;
+    }).when(callback).handle(any(Result.class), any(SourceCallbackContext.class));
+
+    serverChannel = ServerSocketChannel.open();
+    serverChannel.bind(new InetSocketAddress("localhost", 0));
+    server.start(selectorExecutor);
+  }
+
+  @After
+  public void after() throws Exception {
+    server.stop();
+    for (Socket client : clients) {
+      client.close();
+    }
+    serverChannel.close();
+    selectorExecutor.shutdownNow();
+    workerExecutor.shutdownNow();
+  }
+
+  @Test
+  public void answersMessagesOfSeveralConnections() throws Exception {
+    List<Socket> sockets = new ArrayList<>();
+    for (int i = 0; i < SELECTORS * 2; ++i) {
+      sockets.add(connect());
+    }
+
+    for (int i = 0; i < sockets.size(); ++i) {
+      send(sockets.get(i).getOutputStream(), "first" + i);
+      send(sockets.get(i).getOutputStream(), "second" + i);
+    }
+    for (int i = 0; i < sockets.size(); ++i) {
+      assertThat(receive(sockets.get(i)), is("FIRST" + i));
+      assertThat(receive(sockets.get(i)), is("SECOND" + i));
+    }
+    assertThat(server.getOpenConnections(), is(sockets.size()));
+  }
+
+  @Test
+  public void partialFramesAreJoined() throws Exception {
+    Socket socket = connect();
+    byte[] frame = frame("hello");
+    OutputStream output = socket.getOutputStream();
+    for (byte b : frame) {
+      output.write(b);
+      output.flush();
+      Thread.sleep(5);
+    }
+
+    assertThat(receive(socket), is("HELLO"));
+  }
+
+  @Test
+  public void severalFramesInSingleWrite() throws Exception {
+    Socket socket = connect();
+    byte[] first = frame("first");
+    byte[] second = frame("second");
+    byte[] both = new byte[first.length + second.length];
+    System.arraycopy(first, 0, both, 0, first.length);
+    System.arraycopy(second, 0, both, first.length, second.length);
+    socket.getOutputStream().write(both);
+
+    assertThat(receive(socket), is("FIRST"));
+    assertThat(receive(socket), is("SECOND"));
+  }
+
+  @Test
+  public void responseLargerThanSocketBufferIsWrittenOnceWritable() throws Exception {
+    StringBuilder suffix = new StringBuilder();
+    for (int i = 0; i < 1024 * 1024; ++i) {
+      suffix.append((char) ('a' + i % 26));
+    }
+    responseSuffix = suffix.toString();
+
+    Socket socket = connect();
+    send(socket.getOutputStream(), "large");
+    // nothing is read meanwhile, so the response fills the socket buffers
+    Thread.sleep(200);
+
+    assertThat(receive(socket), is("LARGE" + responseSuffix));
+  }
+
+  @Test
+  public void readingStopsWhileTooManyMessagesArePending() throws Exception {
+    final int messages = MAX_PENDING_MESSAGES * 8;
+    final int messageSize = 1024;
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < messageSize; ++i) {
+      content.append('a');
+    }
+    handleLatch = new CountDownLatch(1);
+
+    Socket socket = connect();
+    ExecutorService sender = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> sent = sender.submit(() -> {
+        for (int i = 0; i < messages; ++i) {
+          send(socket.getOutputStream(), content.toString());
+        }
+        return null;
+      });
+      // the flow is blocked, so the sender fills the socket buffers
+      Thread.sleep(500);
+      assertThat(lastWorker.getPendingMessages(), lessThanOrEqualTo(MAX_PENDING_MESSAGES + READ_BUFFER_SIZE / messageSize));
+
+      handleLatch.countDown();
+      for (int i = 0; i < messages; ++i) {
+        assertThat(receive(socket), is(content.toString().toUpperCase()));
+      }
+      sent.get(TIMEOUT_MILLIS, MILLISECONDS);
+    } finally {
+      sender.shutdownNow();
+    }
+  }
+
+  @Test
+  public void connectionIsClosedOnceAnsweredAfterClientClosesOutput() throws Exception {
+    Socket socket = connect();
+    send(socket.getOutputStream(), "last");
+    socket.shutdownOutput();
+
+    assertThat(receive(socket), is("LAST"));
+    assertThat(socket.getInputStream().read(), is(-1));
+    awaitOpenConnections(0);
+  }
+
+  @Test
+  public void stopClosesConnectionsAndSelectors() throws Exception {
+    Socket socket = connect();
+    send(socket.getOutputStream(), "before stop");
+    assertThat(receive(socket), is("BEFORE STOP"));
+
+    server.stop();
+
+    assertThat(socket.getInputStream().read(), is(-1));
+    awaitOpenConnections(0);
+    selectorExecutor.shutdown();
+    assertThat(selectorExecutor.awaitTermination(TIMEOUT_MILLIS, MILLISECONDS), is(true));
+  }
+
+  @Test
+  public void connectionAcceptedAfterStopIsClosed() throws Exception {
+    server.stop();
+
+    Socket socket = connect();
+
+    assertThat(socket.getInputStream().read(), is(-1));
+    assertThat(server.getOpenConnections(), is(0));
+  }
+
+  private Socket connect() throws IOException {
+    Socket client = new Socket("localhost", serverChannel.socket().getLocalPort());
+    client.setSoTimeout(TIMEOUT_MILLIS);
+    clients.add(client);
+
+    NioTcpWorker worker = server.createWorker(serverChannel.accept().socket(), callback);
+    worker.setEncoding(UTF_8.name());
+    worker.start(workerExecutor);
+    lastWorker = worker;
+    return client;
+  }
+
+  private void awaitOpenConnections(int connections) {
+    new PollingProber(TIMEOUT_MILLIS, 10).check(new JUnitLambdaProbe(() -> {
+      assertThat(server.getOpenConnections(), is(connections));
+      return true;
+    }));
+  }
+
+  private void send(OutputStream output, String message) throws IOException {
+    output.write(frame(message));
+    output.flush();
+  }
+
+  private byte[] frame(String message) throws IOException {
+    ByteArrayOutputStream frame = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(frame);
+    byte[] content = message.getBytes(UTF_8);
+    output.writeInt(content.length);
+    output.write(content);
+    return frame.toByteArray();
+  }
+
+  private String receive(Socket socket) throws IOException {
+    DataInputStream input = new DataInputStream(socket.getInputStream());
+    try {
+      byte[] content = new byte[input.readInt()];
+      input.readFully(content);
+      return new String(content, UTF_8);
+    } catch (EOFException e) {
+      throw new IOException("Connection closed before receiving the response", e);
+    }
+  }
+}
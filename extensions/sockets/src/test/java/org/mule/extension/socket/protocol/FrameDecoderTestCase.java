@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.socket.protocol;
+
+import static java.nio.ByteBuffer.wrap;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+import org.mule.extension.socket.api.exceptions.LengthExceededException;
+import org.mule.extension.socket.api.socket.tcp.TcpFrameDecoder;
+import org.mule.extension.socket.internal.nio.EofFrameDecoder;
+import org.mule.extension.socket.internal.nio.LengthFrameDecoder;
+import org.mule.extension.socket.internal.nio.XmlFrameDecoder;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Test the decoders used by non blocking listeners, feeding them the bytes in chunks as they could be read from a TCP
+ * connection.
+ */
+@SmallTest
+public class FrameDecoderTestCase extends AbstractMuleTestCase {
+
+  private static final String XML_MESSAGE = "<?xml version=\"1.0\"?><data>hello</data>";
+
+  @Test
+  public void lengthMessagesSplitInSingleBytes() throws Exception {
+    byte[] data = lengthEncode("first", "", "second");
+    assertThat(decodeInChunks(new LengthFrameDecoder(-1), data, 1), contains("first", "second"));
+  }
+
+  @Test
+  public void lengthMessagesInSingleRead() throws Exception {
+    byte[] data = lengthEncode("first", "second", "third");
+    assertThat(decodeInChunks(new LengthFrameDecoder(-1), data, data.length), contains("first", "second", "third"));
+  }
+
+  @Test(expected = LengthExceededException.class)
+  public void lengthExceeded() throws Exception {
+    decodeInChunks(new LengthFrameDecoder(4), lengthEncode("stringy"), 3);
+  }
+
+  @Test(expected = IOException.class)
+  public void lengthStreamEndedWithinMessage() throws Exception {
+    byte[] data = lengthEncode("truncated");
+    TcpFrameDecoder decoder = new LengthFrameDecoder(-1);
+    decoder.decode(wrap(data, 0, data.length - 1));
+    decoder.endOfStream();
+  }
+
+  @Test
+  public void eofMessage() throws Exception {
+    assertThat(decodeInChunks(new EofFrameDecoder(), "hello world".getBytes(), 4), contains("hello world"));
+  }
+
+  @Test
+  public void eofWithoutData() throws Exception {
+    assertThat(decodeInChunks(new EofFrameDecoder(), new byte[0], 1), empty());
+  }
+
+  @Test
+  public void xmlMessagesUntilEndOfStream() throws Exception {
+    byte[] data = (XML_MESSAGE + XML_MESSAGE + XML_MESSAGE).getBytes();
+    assertThat(decodeInChunks(new XmlFrameDecoder(true), data, 7), contains(XML_MESSAGE, XML_MESSAGE, XML_MESSAGE));
+  }
+
+  private List<String> decodeInChunks(TcpFrameDecoder decoder, byte[] data, int chunkSize) throws IOException {
+    List<String> messages = new ArrayList<>();
+    for (int offset = 0; offset < data.length; offset += chunkSize) {
+      ByteBuffer buffer = wrap(data, offset, Math.min(chunkSize, data.length - offset));
+      InputStream message;
+      while ((message = decoder.decode(buffer)) != null) {
+        messages.add(IOUtils.toString(message));
+      }
+    }
+
+    InputStream last = decoder.endOfStream();
+    if (last != null) {
+      messages.add(IOUtils.toString(last));
+    }
+    return messages;
+  }
+
+  private byte[] lengthEncode(String... messages) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    for (String message : asList(messages)) {
+      out.writeInt(message.length());
+      out.write(message.getBytes());
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -11,6 +11,7 @@ import org.mule.extension.validation.internal.CustomValidatorOperation;
 import org.mule.extension.validation.internal.NumberValidationOperation;
 import org.mule.extension.validation.internal.ValidationMessages;
 import org.mule.extension.validation.internal.ValidationStrategies;
+import org.mule.extension.validation.internal.ValidatorCache;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.meta.NamedObject;
@@ -58,6 +59,8 @@ public class ValidationExtension implements Config, NamedObject, Initialisable {
 
   private ValidationMessages messageFactory;
 
+  private final ValidatorCache validatorCache = new ValidatorCache();
+
   @Inject
   private MuleContext muleContext;
 
@@ -82,6 +85,10 @@ public class ValidationExtension implements Config, NamedObject, Initialisable {
     return messageFactory;
   }
 
+  public ValidatorCache getValidatorCache() {
+    return validatorCache;
+  }
+
   @Override
   public String getName() {
     return "Validation";
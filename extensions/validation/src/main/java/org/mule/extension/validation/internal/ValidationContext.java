@@ -19,6 +19,7 @@ public final class ValidationContext {
   private final ValidationMessages messages;
   private final ValidationOptions options;
   private final ValidationExtension config;
+  private final ValidatorCache validatorCache;
 
   public ValidationContext(ValidationMessages messages, ValidationOptions options) {
     this(messages, options, null);
@@ -33,6 +34,7 @@ public final class ValidationContext {
     this.messages = messages;
     this.options = options;
     this.config = config;
+    this.validatorCache = config != null ? config.getValidatorCache() : new ValidatorCache();
   }
 
   /**
@@ -61,4 +63,13 @@ public final class ValidationContext {
   public ValidationExtension getConfig() {
     return config;
   }
+
+  /**
+   * Returns the {@link ValidatorCache} of the {@link #getConfig() config}, or one owned by this context if there is no config
+   *
+   * @return a {@link ValidatorCache}
+   */
+  public ValidatorCache getValidatorCache() {
+    return validatorCache;
+  }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.validation.internal;
+
+import static com.google.common.base.Throwables.propagate;
+
+import org.mule.extension.validation.api.ValidationExtension;
+
+import java.util.Objects;
+
+import org.apache.commons.validator.routines.RegexValidator;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Keeps the compiled delegates of the validators so they are not built again for each validated value. Each
+ * {@link ValidationExtension} config owns one.
+ * <p/>
+ * The cached delegates are immutable and thread-safe. Since the settings they are built from may be expressions, the number of
+ * cached delegates is bounded.
+ *
+ * @since 4.0
+ */
+public final class ValidatorCache {
+
+  static final int MAX_CACHED_VALIDATORS = 1000;
+
+  private final LoadingCache<RegexKey, RegexValidator> regexValidators =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_VALIDATORS).build(new CacheLoader<RegexKey, RegexValidator>() {
+
+        @Override
+        public RegexValidator load(RegexKey key) throws Exception {
+          return new RegexValidator(new String[] {key.regex}, key.caseSensitive);
+        }
+      });
+
+  /**
+   * Returns the {@link RegexValidator} for the given settings, compiling the {@code regex} only the first time
+   *
+   * @param regex the regular expression to match
+   * @param caseSensitive whether matching is case sensitive or not
+   * @return a {@link RegexValidator}
+   */
+  public RegexValidator getRegexValidator(String regex, boolean caseSensitive) {
+    try {
+      return regexValidators.getUnchecked(new RegexKey(regex, caseSensitive));
+    } catch (UncheckedExecutionException e) {
+      // Invalid patterns fail as they did when compiled for each validation
+      throw propagate(e.getCause());
+    }
+  }
+
+  private static final class RegexKey {
+
+    private final String regex;
+    private final boolean caseSensitive;
+
+    private RegexKey(String regex, boolean caseSensitive) {
+      this.regex = regex;
+      this.caseSensitive = caseSensitive;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof RegexKey)) {
+        return false;
+      }
+      RegexKey other = (RegexKey) obj;
+      return caseSensitive == other.caseSensitive && Objects.equals(regex, other.regex);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(regex, caseSensitive);
+    }
+  }
+}
@@ -12,6 +12,7 @@ import org.mule.extension.validation.api.ValidationResult;
 import org.mule.extension.validation.api.Validator;
 import org.mule.extension.validation.internal.ValidationContext;
 import org.mule.extension.validation.internal.ValidationMessages;
+import org.mule.extension.validation.internal.ValidatorCache;
 
 /**
  * Base class for all {@link Validator}s provided out of the box. Because this module provides out of the box validators which
@@ -37,6 +38,15 @@ abstract class AbstractValidator implements Validator {
     return validationContext.getMessages();
   }
 
+  /**
+   * Returns the {@link ValidatorCache} to take compiled delegates from
+   *
+   * @return a {@link ValidatorCache}
+   */
+  protected ValidatorCache getValidatorCache() {
+    return validationContext.getValidatorCache();
+  }
+
   /**
    * Implementations need to implement this method to return the error message in case the validation failed
    *
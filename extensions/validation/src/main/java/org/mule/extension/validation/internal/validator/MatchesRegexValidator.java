@@ -44,7 +44,7 @@ public class MatchesRegexValidator extends AbstractValidator {
 
   @Override
   public ValidationResult validate() {
-    RegexValidator validator = new RegexValidator(new String[] {regex}, caseSensitive);
+    RegexValidator validator = getValidatorCache().getRegexValidator(regex, caseSensitive);
     return validator.isValid(value) ? ok() : fail();
   }
 
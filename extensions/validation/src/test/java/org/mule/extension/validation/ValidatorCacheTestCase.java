@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.validation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import org.mule.extension.validation.internal.ValidatorCache;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.regex.PatternSyntaxException;
+
+import org.apache.commons.validator.routines.RegexValidator;
+import org.junit.Test;
+
+@SmallTest
+public class ValidatorCacheTestCase extends AbstractMuleTestCase {
+
+  private static final String REGEX = "[tT]rue";
+
+  private final ValidatorCache cache = new ValidatorCache();
+
+  @Test
+  public void regexValidatorIsReused() {
+    RegexValidator validator = cache.getRegexValidator(REGEX, true);
+    assertThat(cache.getRegexValidator(REGEX, true), is(sameInstance(validator)));
+    assertThat(validator.isValid("true"), is(true));
+  }
+
+  @Test
+  public void regexValidatorPerCaseSensitivity() {
+    RegexValidator caseSensitive = cache.getRegexValidator(REGEX, true);
+    RegexValidator caseInsensitive = cache.getRegexValidator(REGEX, false);
+    assertThat(caseInsensitive, is(not(sameInstance(caseSensitive))));
+    assertThat(caseSensitive.isValid("TRUE"), is(false));
+    assertThat(caseInsensitive.isValid("TRUE"), is(true));
+  }
+
+  @Test(expected = PatternSyntaxException.class)
+  public void invalidRegex() {
+    cache.getRegexValidator("[", true);
+  }
+}
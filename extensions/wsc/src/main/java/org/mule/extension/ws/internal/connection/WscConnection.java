@@ -17,8 +17,8 @@ import org.mule.extension.ws.internal.generator.attachment.MtomResponseEnricher;
 import org.mule.extension.ws.internal.generator.attachment.SoapAttachmentRequestEnricher;
 import org.mule.extension.ws.internal.generator.attachment.SoapAttachmentResponseEnricher;
 import org.mule.extension.ws.internal.introspection.WsdlIntrospecter;
+import org.mule.extension.ws.internal.introspection.WsdlModelCache;
 import org.mule.metadata.api.TypeLoader;
-import org.mule.metadata.xml.XmlTypeLoader;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.service.http.api.HttpService;
@@ -52,17 +52,18 @@ public class WscConnection {
                        boolean mtomEnabled,
                        List<SecurityStrategy> securities,
                        HttpService httpService,
-                       String transportConfig)
+                       String transportConfig,
+                       WsdlModelCache wsdlModelCache)
       throws ConnectionException {
 
-    this.wsdlIntrospecter = new WsdlIntrospecter(wsdlLocation, service, port);
+    this.wsdlIntrospecter = wsdlModelCache.getIntrospecter(wsdlLocation, service, port);
 
     if (wsdlIntrospecter.isRpcStyle()) {
       // TODO: MULE-11082
       throw new ConnectionException(format("The provided WSDL [%s] is RPC style, RPC WSDLs are not supported", wsdlLocation));
     }
 
-    this.typeLoader = new XmlTypeLoader(wsdlIntrospecter.getSchemas());
+    this.typeLoader = wsdlModelCache.getTypeLoader(wsdlLocation);
     this.client = clientFactory.create(findAddress(address), version, mtomEnabled, securities, httpService, transportConfig);
 
     // TODO: MULE-10889 -> instead of creating this enrichers, interceptors that works with the live stream would be ideal
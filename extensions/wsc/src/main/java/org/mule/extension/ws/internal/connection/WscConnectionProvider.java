@@ -8,6 +8,7 @@ package org.mule.extension.ws.internal.connection;
 
 import org.mule.extension.ws.api.SoapVersion;
 import org.mule.extension.ws.api.security.SecurityStrategy;
+import org.mule.extension.ws.internal.introspection.WsdlModelCache;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
@@ -31,6 +32,11 @@ public class WscConnectionProvider implements PoolingConnectionProvider<WscConne
   @Inject
   private HttpService httpService;
 
+  /**
+   * Shared by every config of the application, since the classes of the extension are loaded once for each application.
+   */
+  private static final WsdlModelCache wsdlModelCache = new WsdlModelCache();
+
   /**
    * The WSDL file URL remote or local.
    */
@@ -95,7 +101,8 @@ public class WscConnectionProvider implements PoolingConnectionProvider<WscConne
                              mtomEnabled,
                              securityStrategies,
                              httpService,
-                             null);
+                             null,
+                             wsdlModelCache);
   }
 
   /**
@@ -104,6 +111,7 @@ public class WscConnectionProvider implements PoolingConnectionProvider<WscConne
   @Override
   public void disconnect(WscConnection client) {
     client.disconnect();
+    wsdlModelCache.invalidate(wsdlLocation);
   }
 
   /**
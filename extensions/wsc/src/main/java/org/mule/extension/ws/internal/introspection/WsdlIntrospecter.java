@@ -68,7 +68,14 @@ public class WsdlIntrospecter {
   private final Port port;
 
   public WsdlIntrospecter(String wsdlLocation, String serviceName, String portName) {
-    this.definition = parseWsdl(wsdlLocation);
+    this(parseWsdl(wsdlLocation), serviceName, portName);
+  }
+
+  /**
+   * Introspects an already parsed WSDL {@link Definition}, which is only read, so it can be shared with other introspecters.
+   */
+  WsdlIntrospecter(Definition definition, String serviceName, String portName) {
+    this.definition = definition;
     this.service = findService(serviceName);
     this.port = findPort(portName);
   }
@@ -226,7 +233,7 @@ public class WsdlIntrospecter {
    *
    * @param wsdlLocation path to the desired WSDL file
    */
-  private Definition parseWsdl(final String wsdlLocation) {
+  static Definition parseWsdl(final String wsdlLocation) {
     try {
       validateBlankString(wsdlLocation, "wsdl Location");
 
@@ -248,7 +255,7 @@ public class WsdlIntrospecter {
     }
   }
 
-  private ExtensionRegistry initExtensionRegistry(WSDLFactory factory) throws WSDLException {
+  private static ExtensionRegistry initExtensionRegistry(WSDLFactory factory) throws WSDLException {
     ExtensionRegistry registry = factory.newPopulatedExtensionRegistry();
     registry.registerSerializer(Types.class,
                                 new QName("http://www.w3.org/2001/XMLSchema", "schema"),
@@ -272,13 +279,13 @@ public class WsdlIntrospecter {
     return registry;
   }
 
-  private void validateNotNull(Object paramValue, String errorMessage) {
+  private static void validateNotNull(Object paramValue, String errorMessage) {
     if (paramValue == null) {
       throw new IllegalArgumentException(errorMessage);
     }
   }
 
-  private void validateBlankString(String paramValue, String paramName) {
+  private static void validateBlankString(String paramValue, String paramName) {
     if (isBlank(paramValue)) {
       throw new IllegalArgumentException("The [" + paramName + "] can not be blank nor null.");
     }
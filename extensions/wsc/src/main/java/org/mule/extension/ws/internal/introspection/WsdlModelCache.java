@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.ws.internal.introspection;
+
+import static com.google.common.base.Throwables.propagate;
+
+import org.mule.extension.ws.internal.connection.WscConnectionProvider;
+import org.mule.metadata.api.TypeLoader;
+import org.mule.metadata.xml.XmlTypeLoader;
+
+import javax.wsdl.Definition;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Keeps the parsed WSDL {@link Definition}s, so a WSDL is fetched and parsed once instead of every time a pooled connection is
+ * created. One instance is shared by all the {@link WscConnectionProvider}s of an application.
+ * <p/>
+ * Entries are keyed by WSDL location and the number of cached WSDLs is bounded. A WSDL that could not be parsed is not kept, so
+ * the next connection tries again. Connections {@link #invalidate(String) invalidate} their WSDL when disconnected, so a
+ * reconnection reads it again in case it changed.
+ * <p/>
+ * The cached definitions are only read. {@link XmlTypeLoader} is not known to be thread-safe, so each connection gets a
+ * {@link TypeLoader} of its own and doesn't contend with the others.
+ *
+ * @since 4.0
+ */
+public final class WsdlModelCache {
+
+  static final int MAX_CACHED_WSDLS = 64;
+
+  private static final WsdlSchemasCollector schemaCollector = new WsdlSchemasCollector();
+
+  private final LoadingCache<String, WsdlModel> models =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_WSDLS).build(new CacheLoader<String, WsdlModel>() {
+
+        @Override
+        public WsdlModel load(String wsdlLocation) throws Exception {
+          return new WsdlModel(WsdlIntrospecter.parseWsdl(wsdlLocation));
+        }
+      });
+
+  /**
+   * Creates a {@link WsdlIntrospecter} for the given service and port, over the cached definition of the WSDL.
+   *
+   * @param wsdlLocation path to the desired WSDL file
+   */
+  public WsdlIntrospecter getIntrospecter(String wsdlLocation, String serviceName, String portName) {
+    return new WsdlIntrospecter(getModel(wsdlLocation).definition, serviceName, portName);
+  }
+
+  /**
+   * Creates a new {@link TypeLoader} over all the schemas of the cached definition of the WSDL.
+   *
+   * @param wsdlLocation path to the desired WSDL file
+   */
+  public TypeLoader getTypeLoader(String wsdlLocation) {
+    return getModel(wsdlLocation).createTypeLoader();
+  }
+
+  /**
+   * Discards the definition of a WSDL, so the next connection reads and parses it again.
+   *
+   * @param wsdlLocation path to the WSDL file
+   */
+  public void invalidate(String wsdlLocation) {
+    models.invalidate(wsdlLocation);
+  }
+
+  private WsdlModel getModel(String wsdlLocation) {
+    try {
+      return models.getUnchecked(wsdlLocation);
+    } catch (UncheckedExecutionException e) {
+      // Invalid WSDLs fail as they did when parsed for each connection
+      throw propagate(e.getCause());
+    }
+  }
+
+  private static final class WsdlModel {
+
+    private final Definition definition;
+
+    private WsdlModel(Definition definition) {
+      this.definition = definition;
+    }
+
+    /**
+     * The schemas are serialized from the DOM of the definition, which is not guaranteed to be safe for concurrent reads. This
+     * only happens when a connection is created.
+     */
+    private synchronized TypeLoader createTypeLoader() {
+      return new XmlTypeLoader(schemaCollector.collect(definition));
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.ws.internal.introspection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+import org.mule.extension.ws.api.exception.InvalidWsdlException;
+import org.mule.metadata.api.TypeLoader;
+
+import org.junit.Test;
+
+public class WsdlModelCacheTestCase {
+
+  private static final String TODAYS_DILBERT = "{http://gcomputer.net/webservices/}TodaysDilbert";
+
+  private final WsdlModelCache cache = new WsdlModelCache();
+  private final String wsdlLocation = Thread.currentThread().getContextClassLoader().getResource("wsdl/document.wsdl").getFile();
+
+  @Test
+  public void definitionIsParsedOnce() {
+    WsdlIntrospecter introspecter = cache.getIntrospecter(wsdlLocation, "Dilbert", "DilbertSoap");
+    WsdlIntrospecter other = cache.getIntrospecter(wsdlLocation, "Dilbert", "DilbertSoap");
+    assertThat(other.getService(), is(sameInstance(introspecter.getService())));
+    assertThat(other.isDocumentStyle(), is(true));
+  }
+
+  @Test
+  public void typeLoaderIsNotShared() {
+    TypeLoader typeLoader = cache.getTypeLoader(wsdlLocation);
+    TypeLoader other = cache.getTypeLoader(wsdlLocation);
+    assertThat(other, is(not(sameInstance(typeLoader))));
+    assertThat(typeLoader.load(TODAYS_DILBERT).isPresent(), is(true));
+    assertThat(other.load(TODAYS_DILBERT).isPresent(), is(true));
+  }
+
+  @Test
+  public void invalidatedWsdlIsParsedAgain() {
+    WsdlIntrospecter introspecter = cache.getIntrospecter(wsdlLocation, "Dilbert", "DilbertSoap");
+    cache.invalidate(wsdlLocation);
+    assertThat(cache.getIntrospecter(wsdlLocation, "Dilbert", "DilbertSoap").getService(),
+               is(not(sameInstance(introspecter.getService()))));
+  }
+
+  @Test(expected = InvalidWsdlException.class)
+  public void missingWsdl() {
+    cache.getIntrospecter(wsdlLocation + ".missing", "Dilbert", "DilbertSoap");
+  }
+}
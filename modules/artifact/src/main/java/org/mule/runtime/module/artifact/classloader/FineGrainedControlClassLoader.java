@@ -10,6 +10,8 @@ import static java.lang.Boolean.valueOf;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyEnumeration;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_CLASSLOADER_INDEX;
 import static org.mule.runtime.core.api.config.MuleProperties.MULE_LOG_VERBOSE_CLASSLOADING;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.module.artifact.classloader.ClassLoaderLookupStrategy.CHILD_FIRST;
@@ -49,12 +51,17 @@ public class FineGrainedControlClassLoader extends URLClassLoader
 
   private final ClassLoaderLookupPolicy lookupPolicy;
   private final boolean verboseLogging;
+  private volatile ResourceIndex resourceIndex;
 
   public FineGrainedControlClassLoader(URL[] urls, ClassLoader parent, ClassLoaderLookupPolicy lookupPolicy) {
     super(urls, parent, new NonCachingURLStreamHandlerFactory());
     checkArgument(lookupPolicy != null, "Lookup policy cannot be null");
     this.lookupPolicy = lookupPolicy;
     verboseLogging = logger.isDebugEnabled() || isVerboseLoggingEnabled();
+    // As jars are not cached, each lookup of a missing class or resource would open and scan all of them again
+    if (urls.length > 0 && valueOf(getProperty(MULE_CLASSLOADER_INDEX, "true"))) {
+      resourceIndex = ResourceIndex.create(urls);
+    }
   }
 
   private boolean isVerboseLoggingEnabled() {
@@ -176,10 +183,36 @@ public class FineGrainedControlClassLoader extends URLClassLoader
         return result;
       }
 
+      if (!mayContain(name.replace('.', '/').concat(".class"))) {
+        throw new ClassNotFoundException(name);
+      }
+
       return super.findClass(name);
     }
   }
 
+  @Override
+  public URL findResource(String name) {
+    return mayContain(name) ? super.findResource(name) : null;
+  }
+
+  @Override
+  public Enumeration<URL> findResources(String name) throws IOException {
+    return mayContain(name) ? super.findResources(name) : emptyEnumeration();
+  }
+
+  @Override
+  protected void addURL(URL url) {
+    // the index no longer covers all the URLs
+    resourceIndex = null;
+    super.addURL(url);
+  }
+
+  private boolean mayContain(String name) {
+    ResourceIndex index = resourceIndex;
+    return index == null || index.mayContain(name);
+  }
+
   @Override
   public ClassLoaderLookupPolicy getClassLoaderLookupPolicy() {
     return lookupPolicy;
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.classloader;
+
+import static java.lang.String.format;
+import static java.util.Arrays.binarySearch;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.sort;
+import static java.util.jar.Attributes.Name.CLASS_PATH;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the entries available in the URLs of a {@link URLClassLoader}. It allows the class loader to know that a class or
+ * resource is missing without opening and scanning its jars again.
+ * <p>
+ * The jars are read once, when the index is created, and only a 64 bit hash of each entry name is kept, sorted, so the
+ * index stays small. As hashes may collide, the index can only tell that a resource is definitely missing: when it
+ * {@link #mayContain(String) may contain} a resource, the class loader has to look it up as usual. Directories are not
+ * indexed, since their content may change, but a missing resource is still found out without scanning any jar.
+ */
+final class ResourceIndex {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResourceIndex.class);
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final long[] jarEntryHashes;
+  private final File[] directories;
+
+  private ResourceIndex(long[] jarEntryHashes, File[] directories) {
+    this.jarEntryHashes = jarEntryHashes;
+    this.directories = directories;
+  }
+
+  /**
+   * Creates the index of the given URLs.
+   *
+   * @param urls the URLs of a {@link URLClassLoader}
+   * @return the index, or null if some URL can't be indexed, as it is not a local file or it is a jar that references
+   *         other jars in its manifest
+   */
+  static ResourceIndex create(URL[] urls) {
+    long[] hashes = new long[1024];
+    int size = 0;
+    List<File> directories = new ArrayList<>();
+
+    for (URL url : urls) {
+      if (!"file".equals(url.getProtocol())) {
+        LOGGER.debug("Cannot index URL '{}' as it is not a local file", url);
+        return null;
+      }
+
+      File file;
+      try {
+        file = new File(url.toURI());
+      } catch (URISyntaxException | IllegalArgumentException e) {
+        LOGGER.debug(format("Cannot index URL '%s'", url), e);
+        return null;
+      }
+
+      // same criteria used by the URLClassLoader to decide whether the URL is a directory or a jar
+      if (url.getFile().endsWith("/")) {
+        directories.add(file);
+        continue;
+      }
+
+      if (!file.isFile()) {
+        // missing jars are ignored by the class loader too
+        continue;
+      }
+
+      try (JarFile jarFile = new JarFile(file)) {
+        Manifest manifest = jarFile.getManifest();
+        if (manifest != null && manifest.getMainAttributes().getValue(CLASS_PATH) != null) {
+          LOGGER.debug("Cannot index jar '{}' as its manifest references other jars", file);
+          return null;
+        }
+
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+          if (size == hashes.length) {
+            hashes = copyOf(hashes, size * 2);
+          }
+          hashes[size++] = hash(entries.nextElement().getName());
+        }
+      } catch (IOException e) {
+        LOGGER.debug(format("Cannot index jar '%s'", file), e);
+        return null;
+      }
+    }
+
+    hashes = copyOf(hashes, size);
+    sort(hashes);
+    return new ResourceIndex(hashes, directories.toArray(new File[directories.size()]));
+  }
+
+  /**
+   * @param name the name of a resource, as used in {@link ClassLoader#getResource(String)}
+   * @return false if the resource is definitely not available in the indexed URLs, true if it may be
+   */
+  boolean mayContain(String name) {
+    if (binarySearch(jarEntryHashes, hash(name)) >= 0) {
+      return true;
+    }
+
+    // jar files also find the directory entry when the name has no trailing slash
+    if (!name.endsWith("/") && binarySearch(jarEntryHashes, hash(name + "/")) >= 0) {
+      return true;
+    }
+
+    for (File directory : directories) {
+      if (new File(directory, name).exists()) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * @return the number of jar entries in this index
+   */
+  int size() {
+    return jarEntryHashes.length;
+  }
+
+  private static long hash(String name) {
+    long hash = FNV_OFFSET_BASIS;
+    for (int i = 0; i < name.length(); i++) {
+      hash ^= name.charAt(i);
+      hash *= FNV_PRIME;
+    }
+    return hash;
+  }
+}
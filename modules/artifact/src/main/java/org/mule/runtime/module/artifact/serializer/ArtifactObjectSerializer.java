@@ -7,11 +7,15 @@
 
 package org.mule.runtime.module.artifact.serializer;
 
+import static java.lang.Boolean.getBoolean;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_BINARY_INTERNAL_SERIALIZATION;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.serialization.AbstractSerializationProtocol;
 import org.mule.runtime.core.api.serialization.ObjectSerializer;
 import org.mule.runtime.core.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.internal.serialization.BinarySerializationProtocol;
 import org.mule.runtime.core.internal.serialization.JavaExternalSerializerProtocol;
 import org.mule.runtime.module.artifact.classloader.ClassLoaderRepository;
 
@@ -19,17 +23,20 @@ public class ArtifactObjectSerializer implements ObjectSerializer, MuleContextAw
 
   private volatile JavaExternalSerializerProtocol javaExternalSerializerProtocol;
   private volatile CustomJavaSerializationProtocol javaInternalSerializerProtocol;
+  private volatile AbstractSerializationProtocol internalSerializerProtocol;
 
   public ArtifactObjectSerializer(ClassLoaderRepository classLoaderRepository) {
     checkArgument(classLoaderRepository != null, "ClassLoaderRepository cannot be null");
 
     javaExternalSerializerProtocol = new JavaExternalSerializerProtocol();
     javaInternalSerializerProtocol = new CustomJavaSerializationProtocol(classLoaderRepository);
+    internalSerializerProtocol = getBoolean(MULE_BINARY_INTERNAL_SERIALIZATION)
+        ? new BinarySerializationProtocol(javaInternalSerializerProtocol) : javaInternalSerializerProtocol;
   }
 
   @Override
   public SerializationProtocol getInternalProtocol() {
-    return javaInternalSerializerProtocol;
+    return internalSerializerProtocol;
   }
 
   @Override
@@ -40,6 +47,7 @@ public class ArtifactObjectSerializer implements ObjectSerializer, MuleContextAw
   @Override
   public void setMuleContext(MuleContext context) {
     javaInternalSerializerProtocol.setMuleContext(context);
+    internalSerializerProtocol.setMuleContext(context);
     javaExternalSerializerProtocol.setMuleContext(context);
   }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.classloader;
+
+import static java.util.jar.Attributes.Name.CLASS_PATH;
+import static java.util.jar.Attributes.Name.MANIFEST_VERSION;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import org.mule.runtime.core.util.ClassUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class ResourceIndexTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void indexesJarEntries() throws Exception {
+    ResourceIndex index = ResourceIndex.create(new URL[] {getJarResource()});
+
+    assertThat(index.size(), is(5));
+    assertThat(index.mayContain("mypackage/MyClass.class"), is(true));
+    assertThat(index.mayContain("META-INF/MANIFEST.MF"), is(true));
+    assertThat(index.mayContain("mypackage/"), is(true));
+    assertThat(index.mayContain("mypackage"), is(true));
+    assertThat(index.mayContain("mypackage/MyClass_es.properties"), is(false));
+    assertThat(index.mayContain("otherpackage/MyClass.class"), is(false));
+  }
+
+  @Test
+  public void looksUpDirectories() throws Exception {
+    File directory = folder.newFolder("classes");
+    ResourceIndex index = ResourceIndex.create(new URL[] {getJarResource(), directory.toURI().toURL()});
+
+    assertThat(index.mayContain("config.properties"), is(false));
+    new File(directory, "config.properties").createNewFile();
+    assertThat(index.mayContain("config.properties"), is(true));
+  }
+
+  @Test
+  public void ignoresMissingJars() throws Exception {
+    ResourceIndex index = ResourceIndex.create(new URL[] {new File(folder.getRoot(), "missing.jar").toURI().toURL()});
+
+    assertThat(index, is(notNullValue()));
+    assertThat(index.mayContain("mypackage/MyClass.class"), is(false));
+  }
+
+  @Test
+  public void doesNotIndexJarsWithClassPath() throws Exception {
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(MANIFEST_VERSION, "1.0");
+    manifest.getMainAttributes().put(CLASS_PATH, "other.jar");
+    File jar = folder.newFile("class-path.jar");
+    new JarOutputStream(new FileOutputStream(jar), manifest).close();
+
+    assertThat(ResourceIndex.create(new URL[] {jar.toURI().toURL()}), is(nullValue()));
+  }
+
+  @Test
+  public void doesNotIndexRemoteUrls() throws Exception {
+    assertThat(ResourceIndex.create(new URL[] {new URL("http://localhost/lib.jar")}), is(nullValue()));
+  }
+
+  @Test
+  public void classLoaderDoesNotFindMissingResources() throws Exception {
+    FineGrainedControlClassLoader classLoader =
+        new FineGrainedControlClassLoader(new URL[] {getJarResource()}, null, mock(ClassLoaderLookupPolicy.class));
+
+    assertThat(classLoader.findResource("mypackage/MyClass.class"), is(notNullValue()));
+    assertThat(classLoader.findResource("mypackage/MyClass_es.properties"), is(nullValue()));
+    assertThat(classLoader.findResources("mypackage/MyClass_es.properties").hasMoreElements(), is(false));
+  }
+
+  private URL getJarResource() {
+    return ClassUtils.getResource("classloader-test-bye.jar", this.getClass());
+  }
+}
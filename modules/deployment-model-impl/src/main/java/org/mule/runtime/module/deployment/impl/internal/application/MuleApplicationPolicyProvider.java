@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Provides policy management and provision for Mule applications
@@ -38,6 +39,7 @@ public class MuleApplicationPolicyProvider implements ApplicationPolicyProvider,
   private final PolicyInstanceProviderFactory policyInstanceProviderFactory;
   private final List<RegisteredPolicyTemplate> registeredPolicyTemplates = new LinkedList<>();
   private final List<RegisteredPolicyInstanceProvider> registeredPolicyInstanceProviders = new LinkedList<>();
+  private final List<Runnable> policiesChangedCallbacks = new CopyOnWriteArrayList<>();
   private Application application;
 
   /**
@@ -85,6 +87,7 @@ public class MuleApplicationPolicyProvider implements ApplicationPolicyProvider,
                                                     parametrization.getId()));
       registeredPolicyInstanceProviders.sort(null);
       registeredPolicyTemplate.get().count++;
+      notifyPoliciesChanged();
     } catch (Exception e) {
       throw new PolicyRegistrationException(createPolicyRegistrationError(parametrization.getId()), e);
     }
@@ -113,11 +116,24 @@ public class MuleApplicationPolicyProvider implements ApplicationPolicyProvider,
         registeredPolicyTemplate.get().policyTemplate.dispose();
         registeredPolicyTemplates.remove(registeredPolicyTemplate.get());
       }
+      notifyPoliciesChanged();
     });
 
     return registeredPolicyInstanceProvider.isPresent();
   }
 
+  @Override
+  public boolean onPoliciesChanged(Runnable policiesChangedCallback) {
+    policiesChangedCallbacks.add(policiesChangedCallback);
+    return true;
+  }
+
+  private void notifyPoliciesChanged() {
+    for (Runnable policiesChangedCallback : policiesChangedCallbacks) {
+      policiesChangedCallback.run();
+    }
+  }
+
   @Override
   public List<Policy> findSourceParameterizedPolicies(PolicyPointcutParameters policyPointcutParameters) {
     List<Policy> policies = new ArrayList<>();
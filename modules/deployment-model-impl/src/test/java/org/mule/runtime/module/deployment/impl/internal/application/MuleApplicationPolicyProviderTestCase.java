@@ -16,6 +16,7 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.rules.ExpectedException.none;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.module.deployment.impl.internal.application.MuleApplicationPolicyProvider.createPolicyRegistrationError;
@@ -317,6 +318,21 @@ public class MuleApplicationPolicyProviderTestCase extends AbstractMuleTestCase
     verify(policyTemplateFactory).createArtifact(application, policyTemplateDescriptor);
   }
 
+  @Test
+  public void notifiesPoliciesChanged() throws Exception {
+    Runnable policiesChangedCallback = mock(Runnable.class);
+    assertThat(policyProvider.onPoliciesChanged(policiesChangedCallback), is(true));
+
+    policyProvider.addPolicy(policyTemplateDescriptor, parametrization1);
+    verify(policiesChangedCallback).run();
+
+    assertThat(policyProvider.removePolicy(parametrization1.getId()), is(true));
+    verify(policiesChangedCallback, times(2)).run();
+
+    assertThat(policyProvider.removePolicy(parametrization1.getId()), is(false));
+    verify(policiesChangedCallback, times(2)).run();
+  }
+
   @Test
   public void maintainsPolicyTemplatesWhileUsed() throws Exception {
     policyProvider.addPolicy(policyTemplateDescriptor, parametrization1);
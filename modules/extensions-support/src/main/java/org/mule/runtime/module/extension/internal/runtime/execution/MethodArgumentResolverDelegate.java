@@ -72,6 +72,7 @@ public final class MethodArgumentResolverDelegate implements ArgumentResolverDel
   private final Method method;
   private final JavaTypeLoader typeLoader = new JavaTypeLoader(this.getClass().getClassLoader());
   private ArgumentResolver<? extends Object>[] argumentResolvers;
+  private Object[] defaultValues;
   private Map<java.lang.reflect.Parameter, ParameterGroupArgumentResolver<? extends Object>> parameterGroupResolvers;
 
   /**
@@ -90,10 +91,12 @@ public final class MethodArgumentResolverDelegate implements ArgumentResolverDel
 
     if (isEmpty(parameterTypes)) {
       argumentResolvers = new ArgumentResolver[] {};
+      defaultValues = new Object[] {};
       return;
     }
 
     argumentResolvers = new ArgumentResolver[parameterTypes.length];
+    defaultValues = new Object[parameterTypes.length];
     Annotation[][] parameterAnnotations = method.getParameterAnnotations();
     Parameter[] parameters = method.getParameters();
     parameterGroupResolvers = getParameterGroupResolvers(parameterGroupModels);
@@ -133,32 +136,22 @@ public final class MethodArgumentResolverDelegate implements ArgumentResolverDel
       }
 
       argumentResolvers[i] = argumentResolver;
+      defaultValues[i] = resolvePrimitiveTypeDefaultValue(parameterType);
     }
   }
 
+  /**
+   * Resolves all the arguments in a single pass over the resolvers built when this delegate was created. Arguments resolved to
+   * {@code null} take the default value of their type, so primitive parameters get a valid value.
+   */
   @Override
   public Object[] resolve(ExecutionContext executionContext, Class<?>[] parameterTypes) {
-
-    Object[] parameterValues = new Object[argumentResolvers.length];
-    int i = 0;
-    for (ArgumentResolver<?> argumentResolver : argumentResolvers) {
-      parameterValues[i++] = argumentResolver.resolve(executionContext);
-    }
-
-    return resolvePrimitiveTypes(parameterTypes, parameterValues);
-  }
-
-  private Object[] resolvePrimitiveTypes(Class<?>[] parametersType, Object[] parameterValues) {
-    Object[] resolvedParameters = new Object[parameterValues.length];
-    for (int i = 0; i < parameterValues.length; i++) {
-      Object parameterValue = parameterValues[i];
-      if (parameterValue == null) {
-        resolvedParameters[i] = resolvePrimitiveTypeDefaultValue(parametersType[i]);
-      } else {
-        resolvedParameters[i] = parameterValue;
-      }
+    final Object[] parameterValues = new Object[argumentResolvers.length];
+    for (int i = 0; i < argumentResolvers.length; i++) {
+      final Object value = argumentResolvers[i].resolve(executionContext);
+      parameterValues[i] = value != null ? value : defaultValues[i];
     }
-    return resolvedParameters;
+    return parameterValues;
   }
 
   private Object resolvePrimitiveTypeDefaultValue(Class<?> type) {
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.execution;
+
+import static java.util.Collections.emptyList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.util.ReflectionUtils.invokeMethod;
+import org.mule.runtime.api.meta.model.ComponentModel;
+import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.Callable;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class ReflectiveMethodComponentExecutorTestCase extends AbstractMuleTestCase {
+
+  private final TestComponent component = new TestComponent();
+  private ExecutionContext<ComponentModel> executionContext;
+
+  @Before
+  public void before() {
+    executionContext = mock(ExecutionContext.class);
+  }
+
+  @Test
+  public void objectReturnValue() throws Exception {
+    assertSameResultAsReflection(getMethod("concat", String.class, int.class), "count-", 3);
+  }
+
+  @Test
+  public void primitiveReturnValue() throws Exception {
+    assertSameResultAsReflection(getMethod("sum", long.class, long.class), 40L, 2L);
+  }
+
+  @Test
+  public void voidWithoutParameters() throws Exception {
+    Method method = getMethod("touch");
+    assertThat(execute(method), is(nullValue()));
+    assertThat(invokeMethod(method, component), is(nullValue()));
+    assertThat(component.touched, is(2));
+  }
+
+  @Test
+  public void missingPrimitiveArgumentTakesDefaultValue() throws Exception {
+    Method method = getMethod("concat", String.class, int.class);
+    setParameter(method, 0, "count-");
+    assertThat(execute(method), is(invokeMethod(method, component, "count-", 0)));
+  }
+
+  @Test
+  public void uncheckedExceptionIsPropagated() throws Exception {
+    Method method = getMethod("failUnchecked");
+    Throwable expected = thrownBy(() -> invokeMethod(method, component));
+    Throwable actual = thrownBy(() -> execute(method));
+
+    assertThat(expected, is(sameInstance(component.uncheckedException)));
+    assertThat(actual, is(sameInstance(expected)));
+  }
+
+  @Test
+  public void checkedExceptionIsWrapped() throws Exception {
+    Method method = getMethod("failChecked");
+    Throwable expected = thrownBy(() -> invokeMethod(method, component));
+    Throwable actual = thrownBy(() -> execute(method));
+
+    assertThat(expected, is(instanceOf(UndeclaredThrowableException.class)));
+    assertThat(actual, is(instanceOf(UndeclaredThrowableException.class)));
+    assertThat(actual.getCause(), is(sameInstance(expected.getCause())));
+    assertThat(actual.getCause(), is(sameInstance(component.checkedException)));
+  }
+
+  @Test
+  public void errorIsPropagated() throws Exception {
+    Method method = getMethod("failWithError");
+    Throwable expected = thrownBy(() -> invokeMethod(method, component));
+    Throwable actual = thrownBy(() -> execute(method));
+
+    assertThat(expected, is(sameInstance(component.error)));
+    assertThat(actual, is(sameInstance(expected)));
+  }
+
+  private void assertSameResultAsReflection(Method method, Object... arguments) throws Exception {
+    for (int i = 0; i < arguments.length; i++) {
+      setParameter(method, i, arguments[i]);
+    }
+
+    Object result = execute(method);
+    assertThat(result, is(notNullValue()));
+    assertThat(result, is(invokeMethod(method, component, arguments)));
+  }
+
+  private void setParameter(Method method, int index, Object value) {
+    Parameter parameter = method.getParameters()[index];
+    when(executionContext.hasParameter(parameter.getName())).thenReturn(true);
+    when(executionContext.getParameter(parameter.getName())).thenReturn(value);
+  }
+
+  private Object execute(Method method) throws Exception {
+    return new ReflectiveMethodComponentExecutor<>(emptyList(), method, component).execute(executionContext);
+  }
+
+  private Throwable thrownBy(Callable<?> callable) {
+    try {
+      callable.call();
+    } catch (Throwable t) {
+      return t;
+    }
+    throw new AssertionError("was expecting an exception");
+  }
+
+  private Method getMethod(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+    return TestComponent.class.getMethod(name, parameterTypes);
+  }
+
+  public static class TestComponent {
+
+    private final RuntimeException uncheckedException = new IllegalStateException();
+    private final IOException checkedException = new IOException();
+    private final Error error = new LinkageError();
+    private int touched = 0;
+
+    public String concat(String prefix, int count) {
+      return prefix + count;
+    }
+
+    public long sum(long a, long b) {
+      return a + b;
+    }
+
+    public void touch() {
+      touched++;
+    }
+
+    public String failUnchecked() {
+      throw uncheckedException;
+    }
+
+    public String failChecked() throws IOException {
+      throw checkedException;
+    }
+
+    public String failWithError() {
+      throw error;
+    }
+  }
+}
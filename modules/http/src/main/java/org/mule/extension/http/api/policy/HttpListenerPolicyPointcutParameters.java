@@ -6,16 +6,24 @@
  */
 package org.mule.extension.http.api.policy;
 
+import org.mule.runtime.core.policy.CacheablePolicyPointcutParameters;
 import org.mule.runtime.core.policy.PolicyPointcutParameters;
 import org.mule.runtime.dsl.api.component.config.ComponentIdentifier;
 
+import java.util.Objects;
+
 /**
  * Specific implementation of {@link PolicyPointcutParameters} for http:listener operation.
+ * <p>
+ * Instances are equal when they are for the same listener path, request path and method, so the policies found for a request
+ * are reused for the following requests to the same path with the same method.
  * 
  * @since 4.0
  */
-public class HttpListenerPolicyPointcutParameters extends PolicyPointcutParameters {
+public class HttpListenerPolicyPointcutParameters extends PolicyPointcutParameters
+    implements CacheablePolicyPointcutParameters {
 
+  private final String listenerPath;
   private final String path;
   private final String method;
 
@@ -30,11 +38,34 @@ public class HttpListenerPolicyPointcutParameters extends PolicyPointcutParamete
    */
   public HttpListenerPolicyPointcutParameters(String flowName, ComponentIdentifier componentIdentifier, String path,
                                               String method) {
+    this(flowName, componentIdentifier, path, path, method);
+  }
+
+  /**
+   * Creates a new {@link PolicyPointcutParameters}
+   *
+   * @param flowName name of the flow where the listener is defined. Not empty.
+   * @param componentIdentifier the component identifier. This is the namespace of the module were it is defined and the source /
+   *        operation identifier.
+   * @param listenerPath the path configured in the listener that received the request
+   * @param path the target path of the incoming request
+   * @param method the HTTP method of the incoming request
+   */
+  public HttpListenerPolicyPointcutParameters(String flowName, ComponentIdentifier componentIdentifier, String listenerPath,
+                                              String path, String method) {
     super(flowName, componentIdentifier);
+    this.listenerPath = listenerPath;
     this.path = path;
     this.method = method;
   }
 
+  /**
+   * @return the path configured in the listener that received the request.
+   */
+  public String getListenerPath() {
+    return listenerPath;
+  }
+
   /**
    * @return the target path of the http:request operation.
    */
@@ -49,4 +80,19 @@ public class HttpListenerPolicyPointcutParameters extends PolicyPointcutParamete
     return method;
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (!super.equals(o)) {
+      return false;
+    }
+    HttpListenerPolicyPointcutParameters that = (HttpListenerPolicyPointcutParameters) o;
+    return Objects.equals(listenerPath, that.listenerPath) && Objects.equals(path, that.path)
+        && Objects.equals(method, that.method);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), listenerPath, path, method);
+  }
+
 }
@@ -38,8 +38,8 @@ public class HttpListenerPolicyPointcutParametersFactory implements SourcePolicy
         .format("Cannot create a policy pointcut parameter instance from a message which attributes is not an instance of %s, the current attribute instance type is: %s",
                 HttpRequestAttributes.class.getName(), attributes != null ? attributes.getClass().getName() : "null"));
     HttpRequestAttributes httpRequestAttributes = (HttpRequestAttributes) attributes;
-    return new HttpListenerPolicyPointcutParameters(flowName, sourceIdentifier, httpRequestAttributes.getRequestPath(),
-                                                    httpRequestAttributes.getMethod());
+    return new HttpListenerPolicyPointcutParameters(flowName, sourceIdentifier, httpRequestAttributes.getListenerPath(),
+                                                    httpRequestAttributes.getRequestPath(), httpRequestAttributes.getMethod());
   }
 
 }
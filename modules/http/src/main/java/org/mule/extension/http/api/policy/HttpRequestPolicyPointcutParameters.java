@@ -6,16 +6,19 @@
  */
 package org.mule.extension.http.api.policy;
 
+import org.mule.runtime.core.policy.CacheablePolicyPointcutParameters;
 import org.mule.runtime.core.policy.PolicyPointcutParameters;
 import org.mule.runtime.dsl.api.component.config.ComponentIdentifier;
-import org.mule.runtime.core.policy.PolicyPointcutParameters;
+
+import java.util.Objects;
 
 /**
  * Specific implementation of {@link PolicyPointcutParameters} for http:request operation.
  * 
  * @since 4.0
  */
-public class HttpRequestPolicyPointcutParameters extends PolicyPointcutParameters {
+public class HttpRequestPolicyPointcutParameters extends PolicyPointcutParameters
+    implements CacheablePolicyPointcutParameters {
 
   private final String path;
   private final String method;
@@ -49,4 +52,19 @@ public class HttpRequestPolicyPointcutParameters extends PolicyPointcutParameter
   public String getMethod() {
     return method;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!super.equals(o)) {
+      return false;
+    }
+    HttpRequestPolicyPointcutParameters that = (HttpRequestPolicyPointcutParameters) o;
+    return Objects.equals(path, that.path) && Objects.equals(method, that.method);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), path, method);
+  }
+
 }
@@ -10,10 +10,10 @@ import org.mule.service.http.api.server.RequestHandlerManager;
 
 public class DefaultRequestHandlerManager implements RequestHandlerManager {
 
-  private final HttpListenerRegistry.PathMap requestHandlerOwner;
+  private final HttpListenerRegistry.ServerAddressRequestHandlerRegistry requestHandlerOwner;
   private final HttpListenerRegistry.RequestHandlerMatcherPair requestHandlerMatcherPair;
 
-  public DefaultRequestHandlerManager(HttpListenerRegistry.PathMap requestHandlerOwner,
+  public DefaultRequestHandlerManager(HttpListenerRegistry.ServerAddressRequestHandlerRegistry requestHandlerOwner,
                                       HttpListenerRegistry.RequestHandlerMatcherPair requestHandlerMatcherPair) {
     this.requestHandlerOwner = requestHandlerOwner;
     this.requestHandlerMatcherPair = requestHandlerMatcherPair;
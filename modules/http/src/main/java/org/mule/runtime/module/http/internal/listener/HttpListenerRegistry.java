@@ -6,13 +6,14 @@
  */
 package org.mule.runtime.module.http.internal.listener;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
 import static org.mule.runtime.module.http.internal.HttpParser.normalizePathWithSpacesOrEncodedSpaces;
 import static org.mule.runtime.module.http.internal.listener.matcher.DefaultMethodRequestMatcher.getMethodsListRepresentation;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.api.util.Preconditions;
-import org.mule.runtime.core.util.StringUtils;
 import org.mule.service.http.api.domain.message.request.HttpRequest;
 import org.mule.service.http.api.server.HttpServer;
 import org.mule.service.http.api.server.PathAndMethodRequestMatcher;
@@ -20,17 +21,14 @@ import org.mule.service.http.api.server.RequestHandler;
 import org.mule.service.http.api.server.RequestHandlerManager;
 
 import com.google.common.base.Joiner;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,8 +39,8 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
   private static final String SLASH = "/";
   private Logger logger = LoggerFactory.getLogger(getClass());
 
-  private final ServerAddressMap<HttpServer> serverAddressToServerMap = new ServerAddressMap<>();
-  private final Map<HttpServer, ServerAddressRequestHandlerRegistry> requestHandlerPerServerAddress = new HashMap<>();
+  private final ServerAddressMap<HttpServer> serverAddressToServerMap = new ServerAddressMap<>(new ConcurrentHashMap<>());
+  private final Map<HttpServer, ServerAddressRequestHandlerRegistry> requestHandlerPerServerAddress = new ConcurrentHashMap<>();
 
   public synchronized RequestHandlerManager addRequestHandler(final HttpServer server, final RequestHandler requestHandler,
                                                               final PathAndMethodRequestMatcher requestMatcher) {
@@ -78,136 +76,79 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
     return NoListenerRequestHandler.getInstance();
   }
 
+  /**
+   * Finds the {@link RequestHandler} for the requests received by a server.
+   * <p>
+   * The paths of the registered handlers are compiled into a tree with a node per path segment, where each node has its literal
+   * children sorted for a binary search over the segment of the request path, a single child for any uri parameter or {@code *}
+   * segment, and the handlers of the paths ending in it or with a {@code *} after it. A request is matched by walking the tree
+   * along the request path, trying for each segment a literal match first, then a parameter and then a {@code *} matching the rest
+   * of the path, and backtracking when a branch has no handler for the request. This doesn't allocate nor need to cache results.
+   * <p>
+   * The tree is never modified once built. Adding or removing a handler builds a new one and replaces the previous, so requests
+   * being routed are not blocked by handlers being registered.
+   */
   public class ServerAddressRequestHandlerRegistry {
 
-    private PathMap serverRequestHandler;
-    private PathMap rootPathMap = new PathMap();
-    private PathMap catchAllPathMap = new PathMap();
-    private Set<String> paths = new HashSet<>();
-    private LoadingCache<String, Stack<PathMap>> pathMapSearchCache =
-        CacheBuilder.newBuilder().maximumSize(1000).build(new CacheLoader<String, Stack<PathMap>>() {
-
-          public Stack<PathMap> load(String path) {
-            return findPossibleRequestHandlers(path);
-          }
-        });
+    private final List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = new ArrayList<>();
+    private volatile Routes routes = new Routes(emptyList());
 
     public synchronized RequestHandlerManager addRequestHandler(final PathAndMethodRequestMatcher requestMatcher,
                                                                 final RequestHandler requestHandler) {
-      pathMapSearchCache.invalidateAll();
       String requestMatcherPath = normalizePathWithSpacesOrEncodedSpaces(requestMatcher.getPath());
       Preconditions.checkArgument(requestMatcherPath.startsWith(SLASH) || requestMatcherPath.equals(WILDCARD_CHARACTER),
                                   "path parameter must start with /");
-      validateCollision(requestMatcher);
-      List<String> matcherMethods = requestMatcher.getMethodRequestMatcher().getMethods();
-      paths.add(getMethodAndPath(getMethodsListRepresentation(matcherMethods), requestMatcherPath));
-      PathMap currentPathMap = rootPathMap;
-      final RequestHandlerMatcherPair addedRequestHandlerMatcherPair;
-      final PathMap requestHandlerOwner;
-      if (requestMatcherPath.equals(WILDCARD_CHARACTER)) {
-        serverRequestHandler = new PathMap();
-        addedRequestHandlerMatcherPair = new RequestHandlerMatcherPair(requestMatcher, requestHandler);
-        requestHandlerOwner = serverRequestHandler;
-        serverRequestHandler.addRequestHandlerMatcherPair(addedRequestHandlerMatcherPair);
-      } else if (requestMatcherPath.equals("/*")) {
-        addedRequestHandlerMatcherPair = new RequestHandlerMatcherPair(requestMatcher, requestHandler);
-        requestHandlerOwner = catchAllPathMap;
-        catchAllPathMap.addRequestHandlerMatcherPair(addedRequestHandlerMatcherPair);
-      } else if (requestMatcherPath.equals(SLASH)) {
-        addedRequestHandlerMatcherPair = new RequestHandlerMatcherPair(requestMatcher, requestHandler);
-        requestHandlerOwner = rootPathMap;
-        rootPathMap.addRequestHandlerMatcherPair(addedRequestHandlerMatcherPair);
-      } else {
-        final String[] pathParts = splitPath(requestMatcherPath);
-        int insertionLevel = getPathPartsSize(requestMatcherPath);
-        for (int i = 1; i < insertionLevel - 1; i++) {
-          String currentPath = pathParts[i];
-          PathMap pathMap = currentPathMap.getChildPathMap(currentPath, null);
-          if (i != insertionLevel - 1) {
-            if (pathMap == null) {
-              pathMap = new PathMap();
-              currentPathMap.addChildPathMap(currentPath, pathMap);
-            }
-          }
-
-          currentPathMap = pathMap;
-        }
-        String currentPath = pathParts[insertionLevel - 1];
-        PathMap pathMap = currentPathMap.getLastChildPathMap(currentPath);
-        if (pathMap == null) {
-          pathMap = new PathMap();
-          currentPathMap.addChildPathMap(currentPath, pathMap);
-        }
-        if (requestMatcherPath.endsWith(WILDCARD_CHARACTER)) {
-          addedRequestHandlerMatcherPair = new RequestHandlerMatcherPair(requestMatcher, requestHandler);
-          pathMap.addWildcardRequestHandler(addedRequestHandlerMatcherPair);
-          requestHandlerOwner = pathMap;
-        } else {
-          addedRequestHandlerMatcherPair = new RequestHandlerMatcherPair(requestMatcher, requestHandler);
-          pathMap.addRequestHandlerMatcherPair(addedRequestHandlerMatcherPair);
-          requestHandlerOwner = pathMap;
-        }
+      final RequestHandlerMatcherPair addedRequestHandlerMatcherPair =
+          new RequestHandlerMatcherPair(requestMatcher, requestHandler, requestMatcherPath);
+      validateCollision(addedRequestHandlerMatcherPair);
+      requestHandlerMatcherPairs.add(addedRequestHandlerMatcherPair);
+      routes = new Routes(requestHandlerMatcherPairs);
+      return new DefaultRequestHandlerManager(this, addedRequestHandlerMatcherPair);
+    }
+
+    /**
+     * Removes a handler added through {@link #addRequestHandler(PathAndMethodRequestMatcher, RequestHandler)}.
+     *
+     * @param requestHandlerMatcherPair the handler to remove
+     * @return whether the handler was registered
+     */
+    public synchronized boolean removeRequestHandlerMatcherPair(RequestHandlerMatcherPair requestHandlerMatcherPair) {
+      if (requestHandlerMatcherPairs.remove(requestHandlerMatcherPair)) {
+        routes = new Routes(requestHandlerMatcherPairs);
+        return true;
       }
-      return new DefaultRequestHandlerManager(requestHandlerOwner, addedRequestHandlerMatcherPair);
+      return false;
     }
 
-    private void validateCollision(PathAndMethodRequestMatcher newListenerRequestMatcher) {
-      final String newListenerRequestMatcherPath = newListenerRequestMatcher.getPath();
-      final Stack<PathMap> possibleRequestHandlers = findPossibleRequestHandlersFromCache(newListenerRequestMatcherPath);
-      for (PathMap possibleRequestHandler : possibleRequestHandlers) {
-        final List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = possibleRequestHandler.getRequestHandlerMatcherPairs();
-        for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs) {
-          final PathAndMethodRequestMatcher requestMatcher = requestHandlerMatcherPair.getRequestMatcher();
-          final String possibleCollisionRequestMatcherPath = requestMatcher.getPath();
-          if (isSameDepth(possibleCollisionRequestMatcherPath, newListenerRequestMatcherPath)) {
-            if (newListenerRequestMatcher.getMethodRequestMatcher().intersectsWith(requestMatcher.getMethodRequestMatcher())) {
-              String possibleCollisionLastPathPart = getLastPathPortion(possibleCollisionRequestMatcherPath);
-              String newListenerRequestMatcherLastPathPart = getLastPathPortion(newListenerRequestMatcherPath);
-              if (possibleCollisionLastPathPart.equals(newListenerRequestMatcherLastPathPart)
-                  || (isCatchAllPath(possibleCollisionLastPathPart) && isCatchAllPath(newListenerRequestMatcherLastPathPart))
-                  || (isCatchAllPath(possibleCollisionLastPathPart) && isUriParameter(newListenerRequestMatcherLastPathPart))
-                  || (isUriParameter(possibleCollisionLastPathPart) && isCatchAllPath(newListenerRequestMatcherLastPathPart)
-                      || (isUriParameter(possibleCollisionLastPathPart)
-                          && isUriParameter(newListenerRequestMatcherLastPathPart)))) {
-                throw new MuleRuntimeException(CoreMessages.createStaticMessage(String
-                    .format("Already exists a listener matching that path and methods. Listener matching %s new listener %s",
-                            requestMatcher, newListenerRequestMatcher)));
-              }
-            }
-          }
+    private void validateCollision(RequestHandlerMatcherPair newRequestHandlerMatcherPair) {
+      final PathAndMethodRequestMatcher newListenerRequestMatcher = newRequestHandlerMatcherPair.getRequestMatcher();
+      for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs) {
+        final PathAndMethodRequestMatcher requestMatcher = requestHandlerMatcherPair.getRequestMatcher();
+        if (isSameDepth(requestHandlerMatcherPair.path, newRequestHandlerMatcherPair.path)
+            && newRequestHandlerMatcherPair.route.collidesWith(requestHandlerMatcherPair.route)
+            && newListenerRequestMatcher.getMethodRequestMatcher().intersectsWith(requestMatcher.getMethodRequestMatcher())) {
+          throw new MuleRuntimeException(CoreMessages.createStaticMessage(String
+              .format("Already exists a listener matching that path and methods. Listener matching %s new listener %s",
+                      requestMatcher, newListenerRequestMatcher)));
         }
       }
     }
 
     public RequestHandler findRequestHandler(final HttpRequest request) {
-      final String path = normalizePathWithSpacesOrEncodedSpaces(request.getPath());
-      Preconditions.checkArgument(path.startsWith(SLASH), "path parameter must start with /");
-      Stack<PathMap> foundPaths = findPossibleRequestHandlersFromCache(path);
-      boolean methodNotAllowed = false;
-      RequestHandlerMatcherPair requestHandlerMatcherPair = null;
-      while (!foundPaths.empty()) {
-        final PathMap pathMap = foundPaths.pop();
-        List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = pathMap.getRequestHandlerMatcherPairs();
-
-        if (requestHandlerMatcherPairs == null && pathMap.getCatchAllPathMap() != null) {
-          requestHandlerMatcherPairs = pathMap.getCatchAllPathMap().requestHandlerMatcherPairs;
-        }
-        requestHandlerMatcherPair = findRequestHandlerMatcherPair(requestHandlerMatcherPairs, request);
-
-        if (requestHandlerMatcherPair != null) {
-          break;
-        }
-        if (!requestHandlerMatcherPairs.isEmpty()) {
-          // there were matching paths but no matching methods
-          methodNotAllowed = true;
-        }
+      String path = request.getPath();
+      if (path.indexOf('%') != -1 || path.indexOf('+') != -1) {
+        path = normalizePathWithSpacesOrEncodedSpaces(path);
       }
+      Preconditions.checkArgument(path.startsWith(SLASH), "path parameter must start with /");
+      final Routes routes = this.routes;
+      final RequestHandlerMatcherPair requestHandlerMatcherPair = routes.find(path, request);
       if (requestHandlerMatcherPair == null) {
         if (logger.isInfoEnabled()) {
           logger.info("No listener found for request: " + getMethodAndPath(request.getMethod(), request.getPath()));
-          logger.info("Available listeners are: [{}]", Joiner.on(", ").join(this.paths));
+          logger.info("Available listeners are: [{}]", routes.availableListeners);
         }
-        if (methodNotAllowed) {
+        if (routes.find(path, null) != null) {
+          // there were matching paths but no matching methods
           return NoMethodRequestHandler.getInstance();
         }
         return NoListenerRequestHandler.getInstance();
@@ -217,219 +158,273 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
       }
       return requestHandlerMatcherPair.getRequestHandler();
     }
+  }
 
-    private String getMethodAndPath(String method, String path) {
-      return "(" + method + ")" + path;
-    }
+  private static String getMethodAndPath(String method, String path) {
+    return "(" + method + ")" + path;
+  }
 
-    private Stack<PathMap> findPossibleRequestHandlersFromCache(String path) {
-      return findPossibleRequestHandlers(path);
-    }
+  /**
+   * The compiled handlers of a server.
+   */
+  private static final class Routes {
 
-    private Stack<PathMap> findPossibleRequestHandlers(String path) {
-      PathMap currentPathMap = rootPathMap;
-      PathMap auxPathMap = null;
-      final String[] pathParts = splitPath(path);
-      Stack<PathMap> foundPaths = new Stack<>();
-      foundPaths.add(catchAllPathMap);
-      if (path.equals(WILDCARD_CHARACTER)) {
-        foundPaths.push(serverRequestHandler);
-        return foundPaths;
-      }
-      if (path.equals(SLASH)) {
-        foundPaths.push(rootPathMap);
-        return foundPaths;
-      }
-      for (int i = 1; i < pathParts.length && currentPathMap != null; i++) {
-        String currentPath = pathParts[i];
-        PathMap pathMap = currentPathMap.getChildPathMap(currentPath, i < pathParts.length - 1 ? pathParts[i + 1] : null);
-
-        if (pathMap == null) {
-          addCatchAllPathMapIfNotNull(currentPathMap, foundPaths);
-          pathMap = currentPathMap.getCatchAllCurrentPathMap();
-        } else if (pathMap.getCatchAllPathMap() != null) {
-          auxPathMap = pathMap;
+    private final PathNode root = new PathNode();
+    private final RequestHandlerMatcherPair[] serverRequestHandlers;
+    private final String availableListeners;
+
+    private Routes(List<RequestHandlerMatcherPair> requestHandlerMatcherPairs) {
+      final List<RequestHandlerMatcherPair> serverRequestHandlers = new ArrayList<>();
+      final Set<String> paths = new LinkedHashSet<>();
+      for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs) {
+        paths.add(getMethodAndPath(getMethodsListRepresentation(requestHandlerMatcherPair.getRequestMatcher()
+            .getMethodRequestMatcher().getMethods()), requestHandlerMatcherPair.path));
+        final Route route = requestHandlerMatcherPair.route;
+        if (route.serverWide) {
+          serverRequestHandlers.add(requestHandlerMatcherPair);
+          continue;
         }
-        if (i == pathParts.length - 1) {
-          if (auxPathMap != null) {
-            addCatchAllPathMapIfNotNull(auxPathMap, foundPaths);
-          }
-          if (pathMap != null) {
-            addCatchAllPathMapIfNotNull(pathMap, foundPaths);
-            foundPaths.push(pathMap);
-          } else {
-            addCatchAllPathMapIfNotNull(currentPathMap, foundPaths);
-          }
+        PathNode node = root;
+        for (String segment : route.segments) {
+          node = node.addChild(segment);
         }
-        currentPathMap = pathMap;
+        node.addRequestHandlerMatcherPair(requestHandlerMatcherPair, route.catchAll);
       }
-      return foundPaths;
+      root.compile();
+      this.serverRequestHandlers = serverRequestHandlers.toArray(new RequestHandlerMatcherPair[serverRequestHandlers.size()]);
+      this.availableListeners = Joiner.on(", ").join(paths);
     }
 
-    private void addCatchAllPathMapIfNotNull(PathMap currentPathMap, Stack<PathMap> foundPaths) {
-      final PathMap catchAllPathMap = currentPathMap.getCatchAllPathMap();
-      if (catchAllPathMap != null) {
-        foundPaths.push(catchAllPathMap);
+    /**
+     * @param path the normalized request path
+     * @param request the request to find a handler for, or {@code null} to find a handler for the path regardless of the method
+     * @return the handler for the request, or {@code null} if there's none
+     */
+    private RequestHandlerMatcherPair find(String path, HttpRequest request) {
+      if (path.equals(WILDCARD_CHARACTER)) {
+        return findRequestHandlerMatcherPair(serverRequestHandlers, request);
       }
-    }
-
-    private RequestHandlerMatcherPair findRequestHandlerMatcherPair(List<RequestHandlerMatcherPair> requestHandlerMatcherPairs,
-                                                                    HttpRequest request) {
-      for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs) {
-        if (requestHandlerMatcherPair.getRequestMatcher().matches(request)) {
-          return requestHandlerMatcherPair;
-        }
+      int end = path.length();
+      if (end > 1 && path.charAt(end - 1) == '/') {
+        // Remove the last slash
+        end--;
       }
-      return null;
+      return root.find(path, path.length() == 1 ? end + 1 : 1, end, request);
     }
   }
 
-  private boolean isUriParameter(String pathPart) {
-    return (pathPart.startsWith("{") || pathPart.startsWith("/{")) && pathPart.endsWith("}");
-  }
-
-  private String getLastPathPortion(String possibleCollisionRequestMatcherPath) {
-    final String[] parts = splitPath(possibleCollisionRequestMatcherPath);
-    if (parts.length == 0) {
-      return StringUtils.EMPTY;
-    }
-    return parts[parts.length - 1];
-  }
-
-  private boolean isSameDepth(String possibleCollisionRequestMatcherPath, String newListenerRequestMatcherPath) {
-    return getPathPartsSize(possibleCollisionRequestMatcherPath) == getPathPartsSize(newListenerRequestMatcherPath);
-  }
-
-  private int getPathPartsSize(String path) {
-    int pathSize = splitPath(path).length - 1;
-    pathSize += (path.endsWith(SLASH) ? 1 : 0);
-    return pathSize;
-  }
-
-  private String[] splitPath(String path) {
-    if (path.endsWith(SLASH)) {
-      // Remove the last slash
-      path = path.substring(0, path.length() - 1);
+  /**
+   * A node of the tree of compiled handlers, for a segment of their paths.
+   */
+  private static final class PathNode {
+
+    private static final String[] NO_SEGMENTS = new String[0];
+    private static final PathNode[] NO_NODES = new PathNode[0];
+    private static final RequestHandlerMatcherPair[] NO_HANDLERS = new RequestHandlerMatcherPair[0];
+
+    private Map<String, PathNode> literalChildrenByName = new TreeMap<>();
+    private List<RequestHandlerMatcherPair> requestHandlerMatcherPairList = new ArrayList<>();
+    private List<RequestHandlerMatcherPair> catchAllRequestHandlerMatcherPairList = new ArrayList<>();
+
+    private String[] literalSegments = NO_SEGMENTS;
+    private PathNode[] literalChildren = NO_NODES;
+    private PathNode uriParameterChild;
+    private RequestHandlerMatcherPair[] requestHandlerMatcherPairs = NO_HANDLERS;
+    private RequestHandlerMatcherPair[] catchAllRequestHandlerMatcherPairs = NO_HANDLERS;
+
+    private PathNode addChild(String segment) {
+      if (Route.isUriParameterSegment(segment)) {
+        if (uriParameterChild == null) {
+          uriParameterChild = new PathNode();
+        }
+        return uriParameterChild;
+      }
+      return literalChildrenByName.computeIfAbsent(segment, s -> new PathNode());
     }
-    return path.split(SLASH, -1);
-  }
-
-  public class PathMap {
 
-    List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = new ArrayList<>();
-
-    private Map<String, PathMap> subPaths = new HashMap<>();
-    private PathMap catchAllPathMap;
-    private PathMap catchAllCurrentPathMap;
-
-    public PathMap getCatchAllPathMap() {
-      return catchAllPathMap;
+    private void addRequestHandlerMatcherPair(RequestHandlerMatcherPair requestHandlerMatcherPair, boolean catchAll) {
+      (catchAll ? catchAllRequestHandlerMatcherPairList : requestHandlerMatcherPairList).add(requestHandlerMatcherPair);
     }
 
-    public PathMap getCatchAllCurrentPathMap() {
-      return catchAllCurrentPathMap;
+    private void compile() {
+      literalSegments = literalChildrenByName.keySet().toArray(new String[literalChildrenByName.size()]);
+      literalChildren = literalChildrenByName.values().toArray(new PathNode[literalChildrenByName.size()]);
+      requestHandlerMatcherPairs = requestHandlerMatcherPairList.toArray(NO_HANDLERS);
+      catchAllRequestHandlerMatcherPairs = catchAllRequestHandlerMatcherPairList.toArray(NO_HANDLERS);
+      literalChildrenByName = null;
+      requestHandlerMatcherPairList = null;
+      catchAllRequestHandlerMatcherPairList = null;
+      for (PathNode child : literalChildren) {
+        child.compile();
+      }
+      if (uriParameterChild != null) {
+        uriParameterChild.compile();
+      }
     }
 
     /**
-     * @param subPath the sub part of the path to find
-     * @param nextSubPath the next sub part of the path. It is useful for deciding between static paths and middle-wildcard paths
-     *        when they are similar.
-     * @return the node with the existent mappings. null if there's no such node.
+     * @param path the request path
+     * @param start the position of the next segment of the path to match, past {@code end} if all were matched
+     * @param end the position where the path ends
      */
-    public PathMap getChildPathMap(final String subPath, String nextSubPath) {
-      if (isCatchAllPath(subPath) || isUriParameter(subPath)
-          || (isViablePath(subPath, nextSubPath) && !matchesNextSubPaths(subPath, nextSubPath))) {
-        return getCatchAllCurrentPathMap();
+    private RequestHandlerMatcherPair find(String path, int start, int end, HttpRequest request) {
+      if (start > end) {
+        final RequestHandlerMatcherPair requestHandlerMatcherPair =
+            findRequestHandlerMatcherPair(requestHandlerMatcherPairs, request);
+        if (requestHandlerMatcherPair != null) {
+          return requestHandlerMatcherPair;
+        }
+        return findRequestHandlerMatcherPair(catchAllRequestHandlerMatcherPairs, request);
       }
-      PathMap pathMap = subPaths.get(subPath);
-      return pathMap;
-    }
 
-    private boolean isViablePath(String subPath, String nextSubPath) {
-      if (getCatchAllCurrentPathMap() != null && nextSubPath != null) {
-        return getCatchAllCurrentPathMap().subPaths.containsKey(nextSubPath);
+      int segmentEnd = path.indexOf('/', start);
+      if (segmentEnd == -1 || segmentEnd > end) {
+        segmentEnd = end;
       }
-      return false;
+      final PathNode literalChild = findLiteralChild(path, start, segmentEnd);
+      if (literalChild != null) {
+        final RequestHandlerMatcherPair requestHandlerMatcherPair = literalChild.find(path, segmentEnd + 1, end, request);
+        if (requestHandlerMatcherPair != null) {
+          return requestHandlerMatcherPair;
+        }
+      }
+      if (uriParameterChild != null) {
+        final RequestHandlerMatcherPair requestHandlerMatcherPair = uriParameterChild.find(path, segmentEnd + 1, end, request);
+        if (requestHandlerMatcherPair != null) {
+          return requestHandlerMatcherPair;
+        }
+      }
+      return findRequestHandlerMatcherPair(catchAllRequestHandlerMatcherPairs, request);
     }
 
-    private boolean matchesNextSubPaths(String subPath, String nextSubPath) {
-      if (subPaths.containsKey(subPath)) {
-        PathMap nextPathMap = subPaths.get(subPath);
-        if (nextPathMap.getSubPaths() != null) {
-          return nextPathMap.getSubPaths().containsKey(nextSubPath);
+    private PathNode findLiteralChild(String path, int start, int end) {
+      int low = 0;
+      int high = literalSegments.length - 1;
+      while (low <= high) {
+        final int middle = (low + high) >>> 1;
+        final int comparison = compareSegment(literalSegments[middle], path, start, end);
+        if (comparison < 0) {
+          low = middle + 1;
+        } else if (comparison > 0) {
+          high = middle - 1;
+        } else {
+          return literalChildren[middle];
         }
       }
-      return false;
+      return null;
     }
 
     /**
-     * @param subPath a sub part of the path
-     * @return the node with the existent mappings. null if there's no such node.
+     * Compares as {@link String#compareTo(String)} does, without creating a {@link String} for the segment of the path.
      */
-    public PathMap getLastChildPathMap(final String subPath) {
-      if (isCatchAllPath(subPath) || isUriParameter(subPath)) {
-        return getCatchAllCurrentPathMap();
+    private static int compareSegment(String segment, String path, int start, int end) {
+      final int length = end - start;
+      final int limit = Math.min(segment.length(), length);
+      for (int i = 0; i < limit; ++i) {
+        final char c1 = segment.charAt(i);
+        final char c2 = path.charAt(start + i);
+        if (c1 != c2) {
+          return c1 - c2;
+        }
       }
-      PathMap pathMap = subPaths.get(subPath);
-      return pathMap;
-    }
-
-    public void addRequestHandlerMatcherPair(final RequestHandlerMatcherPair requestHandlerMatcherPair) {
-      this.requestHandlerMatcherPairs.add(requestHandlerMatcherPair);
+      return segment.length() - length;
     }
+  }
 
-    public void addChildPathMap(final String path, final PathMap pathMap) {
-      if (path.equals(WILDCARD_CHARACTER) || path.endsWith("}")) {
-        catchAllCurrentPathMap = pathMap;
-      } else {
-        subPaths.put(path, pathMap);
+  private static RequestHandlerMatcherPair findRequestHandlerMatcherPair(RequestHandlerMatcherPair[] requestHandlerMatcherPairs,
+                                                                         HttpRequest request) {
+    for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs) {
+      if (request == null || requestHandlerMatcherPair.getRequestMatcher().matches(request)) {
+        return requestHandlerMatcherPair;
       }
     }
+    return null;
+  }
 
-    public Map<String, PathMap> getSubPaths() {
-      return subPaths;
-    }
-
-
-    public List<RequestHandlerMatcherPair> getRequestHandlerMatcherPairs() {
-      return requestHandlerMatcherPairs;
+  /**
+   * Where a handler goes in the tree of compiled handlers, according to its path.
+   */
+  private static final class Route {
+
+    private static final String URI_PARAMETER_SEGMENT = "{}";
+
+    private final boolean serverWide;
+    private final boolean catchAll;
+    private final List<String> segments;
+
+    private Route(String path) {
+      serverWide = path.equals(WILDCARD_CHARACTER);
+      // A wildcard at the end matches the rest of the path, anywhere else it matches a single segment as an uri parameter does
+      catchAll = !serverWide && path.endsWith(SLASH + WILDCARD_CHARACTER);
+      final List<String> segments = new ArrayList<>();
+      if (!serverWide) {
+        final String[] pathParts = path.split(SLASH, -1);
+        int lastPathPart = pathParts.length - 1;
+        if (catchAll || pathParts[lastPathPart].isEmpty()) {
+          lastPathPart--;
+        }
+        for (int i = 1; i <= lastPathPart; ++i) {
+          segments.add(isUriParameterSegment(pathParts[i]) ? URI_PARAMETER_SEGMENT : pathParts[i]);
+        }
+      }
+      this.segments = unmodifiableList(segments);
     }
 
-    public void addWildcardRequestHandler(RequestHandlerMatcherPair requestHandlerMatcherPair) {
-      if (this.catchAllPathMap == null) {
-        this.catchAllPathMap = new PathMap();
-      }
-      this.catchAllPathMap.addRequestHandlerMatcherPair(requestHandlerMatcherPair);
+    private static boolean isUriParameterSegment(String segment) {
+      return WILDCARD_CHARACTER.equals(segment) || (segment.startsWith("{") && segment.endsWith("}"));
     }
 
-    public boolean removeRequestHandlerMatcherPair(RequestHandlerMatcherPair requestHandlerMatcherPair) {
-      if (this.requestHandlerMatcherPairs.remove(requestHandlerMatcherPair)) {
-        return true;
-      }
-      if (this.catchAllPathMap != null && this.catchAllPathMap.removeRequestHandlerMatcherPair(requestHandlerMatcherPair)) {
-        return true;
+    /**
+     * Paths collide when they match the same requests, or when one ends with a wildcard where the other ends with a uri
+     * parameter.
+     */
+    private boolean collidesWith(Route other) {
+      if (serverWide || other.serverWide) {
+        return serverWide == other.serverWide;
       }
-      if (this.catchAllCurrentPathMap != null
-          && this.catchAllCurrentPathMap.removeRequestHandlerMatcherPair(requestHandlerMatcherPair)) {
-        return true;
+      if (catchAll == other.catchAll) {
+        return segments.equals(other.segments);
       }
-      return false;
+      final Route catchAllRoute = catchAll ? this : other;
+      final Route uriParameterRoute = catchAll ? other : this;
+      final int size = uriParameterRoute.segments.size();
+      return size == catchAllRoute.segments.size() + 1
+          && uriParameterRoute.segments.get(size - 1).equals(URI_PARAMETER_SEGMENT)
+          && uriParameterRoute.segments.subList(0, size - 1).equals(catchAllRoute.segments);
     }
   }
 
-  private boolean isCatchAllPath(String path) {
-    return WILDCARD_CHARACTER.equals(path);
+  private boolean isSameDepth(String possibleCollisionRequestMatcherPath, String newListenerRequestMatcherPath) {
+    return getPathPartsSize(possibleCollisionRequestMatcherPath) == getPathPartsSize(newListenerRequestMatcherPath);
+  }
+
+  private int getPathPartsSize(String path) {
+    int pathSize = splitPath(path).length - 1;
+    pathSize += (path.endsWith(SLASH) ? 1 : 0);
+    return pathSize;
+  }
+
+  private String[] splitPath(String path) {
+    if (path.endsWith(SLASH)) {
+      // Remove the last slash
+      path = path.substring(0, path.length() - 1);
+    }
+    return path.split(SLASH, -1);
   }
 
-  public class RequestHandlerMatcherPair {
+  public static class RequestHandlerMatcherPair {
 
     private PathAndMethodRequestMatcher requestMatcher;
     private RequestHandler requestHandler;
-    private boolean running = true;
+    private final String path;
+    private final Route route;
+    private volatile boolean running = true;
 
-    private RequestHandlerMatcherPair(PathAndMethodRequestMatcher requestMatcher, RequestHandler requestHandler) {
+    private RequestHandlerMatcherPair(PathAndMethodRequestMatcher requestMatcher, RequestHandler requestHandler, String path) {
       this.requestMatcher = requestMatcher;
       this.requestHandler = requestHandler;
+      this.path = path;
+      this.route = new Route(path);
     }
 
     public PathAndMethodRequestMatcher getRequestMatcher() {
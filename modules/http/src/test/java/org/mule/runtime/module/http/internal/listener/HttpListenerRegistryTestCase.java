@@ -19,6 +19,7 @@ import org.mule.runtime.module.http.internal.listener.matcher.ListenerRequestMat
 import org.mule.service.http.api.domain.message.request.HttpRequest;
 import org.mule.service.http.api.server.HttpServer;
 import org.mule.service.http.api.server.RequestHandler;
+import org.mule.service.http.api.server.RequestHandlerManager;
 import org.mule.service.http.api.server.ServerAddress;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
@@ -280,6 +281,34 @@ public class HttpListenerRegistryTestCase extends AbstractMuleTestCase {
     assertThat(requestHandler, is(instanceOf(NoListenerRequestHandler.class)));
   }
 
+  @Test
+  public void routeToLiteralPathBeforeUriParam() {
+    httpListenerRegistry = new HttpListenerRegistry();
+    requestHandlerPerPath.put(SECOND_LEVEL_URI_PARAM, mock(RequestHandler.class));
+    requestHandlerPerPath.put(SECOND_LEVEL_PATH, mock(RequestHandler.class));
+    for (String path : requestHandlerPerPath.keySet()) {
+      httpListenerRegistry.addRequestHandler(testServer, requestHandlerPerPath.get(path),
+                                             new ListenerRequestMatcher(AcceptsAllMethodsRequestMatcher.instance(), path));
+    }
+    routePath(SECOND_LEVEL_PATH, SECOND_LEVEL_PATH);
+    routePath(SECOND_LEVEL_URI_PARAM.replace(URI_PARAM, SOME_PATH), SECOND_LEVEL_URI_PARAM);
+  }
+
+  @Test
+  public void disposedHandlerIsNotRouted() {
+    httpListenerRegistry = new HttpListenerRegistry();
+    requestHandlerPerPath.put(FIRST_LEVEL_CATCH_ALL, mock(RequestHandler.class));
+    httpListenerRegistry.addRequestHandler(testServer, requestHandlerPerPath.get(FIRST_LEVEL_CATCH_ALL),
+                                           new ListenerRequestMatcher(AcceptsAllMethodsRequestMatcher.instance(),
+                                                                      FIRST_LEVEL_CATCH_ALL));
+    final RequestHandlerManager requestHandlerManager =
+        httpListenerRegistry.addRequestHandler(testServer, mock(RequestHandler.class),
+                                               new ListenerRequestMatcher(AcceptsAllMethodsRequestMatcher.instance(),
+                                                                          SECOND_LEVEL_PATH));
+    requestHandlerManager.dispose();
+    routePath(SECOND_LEVEL_PATH, FIRST_LEVEL_CATCH_ALL);
+  }
+
   private void routePath(String requestPath, String listenerPath) {
     assertThat(httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, createMockRequestWithPath(requestPath)),
                is(requestHandlerPerPath.get(listenerPath)));
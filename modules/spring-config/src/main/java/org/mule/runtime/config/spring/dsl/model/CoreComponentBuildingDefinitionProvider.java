@@ -150,6 +150,8 @@ import org.mule.runtime.core.routing.MessageFilter;
 import org.mule.runtime.core.routing.MessageProcessorFilterPair;
 import org.mule.runtime.core.routing.RoundRobin;
 import org.mule.runtime.core.routing.ScatterGatherRouter;
+import org.mule.runtime.core.routing.StreamingAggregator;
+import org.mule.runtime.core.routing.StreamingSplitter;
 import org.mule.runtime.core.routing.UntilSuccessful;
 import org.mule.runtime.core.routing.WireTap;
 import org.mule.runtime.core.routing.filters.NotWildcardFilter;
@@ -243,6 +245,8 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
   private static final String UNTIL_SUCCESSFUL = "until-successful";
   private static final String FOREACH = "foreach";
   private static final String FIRST_SUCCESSFUL = "first-successful";
+  private static final String STREAMING_SPLITTER = "streaming-splitter";
+  private static final String STREAMING_AGGREGATOR = "streaming-aggregator";
   private static final String ROUND_ROBIN = "round-robin";
   private static final String CHOICE = "choice";
   private static final String OTHERWISE = "otherwise";
@@ -438,6 +442,7 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
         .withTypeDefinition(fromType(ScatterGatherRouter.class)).withObjectFactoryType(ScatterGatherRouterFactoryBean.class)
         .withSetterParameterDefinition("parallel", fromSimpleParameter("parallel").build())
         .withSetterParameterDefinition("timeout", fromSimpleParameter("timeout").build())
+        .withSetterParameterDefinition("overallTimeout", fromSimpleParameter("overallTimeout").build())
         .withSetterParameterDefinition("aggregationStrategy", fromChildConfiguration(AggregationStrategy.class).build())
         .withSetterParameterDefinition(MESSAGE_PROCESSORS, fromChildCollectionConfiguration(Processor.class).build())
         .asScope().build());
@@ -485,10 +490,20 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
     componentBuildingDefinitions.add(baseDefinition.copy().withIdentifier(FOREACH).withTypeDefinition(fromType(Foreach.class))
         .withSetterParameterDefinition("collectionExpression", fromSimpleParameter("collection").build())
         .withSetterParameterDefinition("batchSize", fromSimpleParameter("batchSize").build())
+        .withSetterParameterDefinition("maxConcurrency", fromSimpleParameter("maxConcurrency").build())
+        .withSetterParameterDefinition("preserveOrder", fromSimpleParameter("preserveOrder").build())
         .withSetterParameterDefinition("rootMessageVariableName", fromSimpleParameter("rootMessageVariableName").build())
         .withSetterParameterDefinition("counterVariableName", fromSimpleParameter("counterVariableName").build())
         .withSetterParameterDefinition(MESSAGE_PROCESSORS, fromChildCollectionConfiguration(Processor.class).build())
         .build());
+    componentBuildingDefinitions
+        .add(baseDefinition.copy().withIdentifier(STREAMING_SPLITTER).withTypeDefinition(fromType(StreamingSplitter.class))
+            .build());
+    componentBuildingDefinitions
+        .add(baseDefinition.copy().withIdentifier(STREAMING_AGGREGATOR).withTypeDefinition(fromType(StreamingAggregator.class))
+            .withSetterParameterDefinition("maxGroups", fromSimpleParameter("maxGroups").build())
+            .withSetterParameterDefinition("timeout", fromSimpleParameter("timeout").build())
+            .build());
     componentBuildingDefinitions
         .add(baseDefinition.copy().withIdentifier(FIRST_SUCCESSFUL).withTypeDefinition(fromType(FirstSuccessful.class))
             .withSetterParameterDefinition("failureExpression", fromSimpleParameter("failureExpression").build())
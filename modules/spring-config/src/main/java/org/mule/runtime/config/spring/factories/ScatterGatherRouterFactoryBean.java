@@ -25,6 +25,7 @@ public class ScatterGatherRouterFactoryBean extends AbstractAnnotatedObject
 
   private boolean parallel = true;
   private long timeout = 0;
+  private long overallTimeout = 0;
   private List<Processor> messageProcessors;
   private AggregationStrategy aggregationStrategy;
   private MuleContext muleContext;
@@ -35,6 +36,7 @@ public class ScatterGatherRouterFactoryBean extends AbstractAnnotatedObject
     ScatterGatherRouter sg = new ScatterGatherRouter();
     sg.setParallel(parallel);
     sg.setTimeout(timeout);
+    sg.setOverallTimeout(overallTimeout);
     sg.setMuleContext(muleContext);
     sg.setFlowConstruct(flowConstruct);
 
@@ -72,6 +74,10 @@ public class ScatterGatherRouterFactoryBean extends AbstractAnnotatedObject
     this.timeout = timeout;
   }
 
+  public void setOverallTimeout(long overallTimeout) {
+    this.overallTimeout = overallTimeout;
+  }
+
   public void setAggregationStrategy(AggregationStrategy aggregationStrategy) {
     this.aggregationStrategy = aggregationStrategy;
   }
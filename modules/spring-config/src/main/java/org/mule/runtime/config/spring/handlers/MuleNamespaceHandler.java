@@ -145,6 +145,8 @@ import org.mule.runtime.core.routing.MessageChunkSplitter;
 import org.mule.runtime.core.routing.Resequencer;
 import org.mule.runtime.core.routing.RoundRobin;
 import org.mule.runtime.core.routing.SimpleCollectionAggregator;
+import org.mule.runtime.core.routing.StreamingAggregator;
+import org.mule.runtime.core.routing.StreamingSplitter;
 import org.mule.runtime.core.routing.UntilSuccessful;
 import org.mule.runtime.core.routing.WireTap;
 import org.mule.runtime.core.routing.filters.EqualsFilter;
@@ -492,11 +494,13 @@ public class MuleNamespaceHandler extends AbstractMuleNamespaceHandler {
     registerBeanDefinitionParser("custom-aggregator", new AggregatorDefinitionParser());
     registerBeanDefinitionParser("collection-aggregator", new AggregatorDefinitionParser(SimpleCollectionAggregator.class));
     registerBeanDefinitionParser("message-chunk-aggregator", new AggregatorDefinitionParser(MessageChunkAggregator.class));
+    registerBeanDefinitionParser("streaming-aggregator", new AggregatorDefinitionParser(StreamingAggregator.class));
     registerBeanDefinitionParser("resequencer", new InboundRouterDefinitionParser(Resequencer.class));
     registerBeanDefinitionParser("splitter", new SplitterDefinitionParser(ExpressionSplitter.class));
     registerBeanDefinitionParser("collection-splitter", new SplitterDefinitionParser(CollectionSplitter.class));
     registerBeanDefinitionParser("map-splitter", new SplitterDefinitionParser(MapSplitter.class));
     registerBeanDefinitionParser("message-chunk-splitter", new SplitterDefinitionParser(MessageChunkSplitter.class));
+    registerBeanDefinitionParser("streaming-splitter", new SplitterDefinitionParser(StreamingSplitter.class));
     registerBeanDefinitionParser("custom-splitter", new SplitterDefinitionParser());
     registerMuleBeanDefinitionParser("foreach", new ChildDefinitionParser("messageProcessor", Foreach.class))
         .addAlias("collection", "collectionExpression");
@@ -10,6 +10,7 @@ import static com.ning.http.client.Realm.AuthScheme.NTLM;
 import static com.ning.http.client.providers.grizzly.GrizzlyAsyncHttpProviderConfig.Property.DECOMPRESS_RESPONSE;
 import static com.ning.http.client.providers.grizzly.GrizzlyAsyncHttpProviderConfig.Property.TRANSPORT_CUSTOMIZER;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.service.http.api.HttpHeaders.Names.CONNECTION;
 import static org.mule.service.http.api.HttpHeaders.Values.CLOSE;
 
@@ -41,7 +42,6 @@ import org.mule.service.http.api.tcp.TcpClientSocketProperties;
 import com.ning.http.client.AsyncHandler;
 import com.ning.http.client.AsyncHttpClient;
 import com.ning.http.client.AsyncHttpClientConfig;
-import com.ning.http.client.BodyDeferringAsyncHandler;
 import com.ning.http.client.HttpResponseBodyPart;
 import com.ning.http.client.HttpResponseHeaders;
 import com.ning.http.client.HttpResponseStatus;
@@ -57,11 +57,10 @@ import com.ning.http.client.providers.grizzly.GrizzlyAsyncHttpProviderConfig;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -72,7 +71,13 @@ import org.slf4j.LoggerFactory;
 
 public class GrizzlyHttpClient implements HttpClient {
 
+  /**
+   * Maximum number of bytes of a response body received but not yet read before reading from its connection is paused.
+   */
+  public static final String RESPONSE_BUFFER_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.client.responseBufferSize";
+
   private static final int MAX_CONNECTION_LIFETIME = 30 * 60 * 1000;
+  private static final int DEFAULT_RESPONSE_BUFFER_SIZE = 1024 * 1024;
 
   private static final Logger logger = LoggerFactory.getLogger(GrizzlyHttpClient.class);
 
@@ -88,6 +93,7 @@ public class GrizzlyHttpClient implements HttpClient {
   private String ownerName;
   private AsyncHttpClient asyncHttpClient;
   private SSLContext sslContext;
+  private final long responseBufferSize = Long.getLong(RESPONSE_BUFFER_SIZE_PROPERTY, DEFAULT_RESPONSE_BUFFER_SIZE);
 
   public GrizzlyHttpClient(HttpClientConfiguration config) {
     this.tlsContextFactory = config.getTlsContextFactory();
@@ -182,6 +188,7 @@ public class GrizzlyHttpClient implements HttpClient {
     CompositeTransportCustomizer compositeTransportCustomizer = new CompositeTransportCustomizer();
     compositeTransportCustomizer.addTransportCustomizer(new IOStrategyTransportCustomizer(threadNamePrefix));
     compositeTransportCustomizer.addTransportCustomizer(new LoggerTransportCustomizer());
+    compositeTransportCustomizer.addTransportCustomizer(new ResponseBodyReadTransportCustomizer());
 
     if (clientSocketProperties != null) {
       compositeTransportCustomizer.addTransportCustomizer(new SocketConfigTransportCustomizer(clientSocketProperties));
@@ -217,20 +224,28 @@ public class GrizzlyHttpClient implements HttpClient {
       throws IOException, TimeoutException {
 
     Request grizzlyRequest = createGrizzlyRequest(request, responseTimeout, followRedirects, authentication);
-    PipedOutputStream outPipe = new PipedOutputStream();
-    PipedInputStream inPipe = new PipedInputStream(outPipe);
-    BodyDeferringAsyncHandler asyncHandler = new BodyDeferringAsyncHandler(outPipe);
-    asyncHttpClient.executeRequest(grizzlyRequest, asyncHandler);
+    CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+    asyncHttpClient.executeRequest(grizzlyRequest, new ResponseBodyDeferringAsyncHandler(new ResponseHandler() {
+
+      @Override
+      public void onCompletion(HttpResponse httpResponse) {
+        response.complete(httpResponse);
+      }
+
+      @Override
+      public void onFailure(Exception exception) {
+        response.completeExceptionally(exception);
+      }
+    }));
     try {
-      Response response = asyncHandler.getResponse();
-      return createMuleResponse(response, inPipe);
-    } catch (IOException e) {
+      return response.get();
+    } catch (ExecutionException e) {
       if (e.getCause() instanceof TimeoutException) {
         throw (TimeoutException) e.getCause();
       } else if (e.getCause() instanceof IOException) {
         throw (IOException) e.getCause();
       } else {
-        throw new IOException(e);
+        throw new IOException(e.getCause());
       }
     } catch (InterruptedException e) {
       throw new IOException(e);
@@ -241,9 +256,8 @@ public class GrizzlyHttpClient implements HttpClient {
   public void send(HttpRequest request, int responseTimeout, boolean followRedirects, HttpRequestAuthentication authentication,
                    ResponseHandler handler) {
     try {
-      PipedOutputStream outPipe = new PipedOutputStream();
       asyncHttpClient.executeRequest(createGrizzlyRequest(request, responseTimeout, followRedirects, authentication),
-                                     new ResponseBodyDeferringAsyncHandler(handler, outPipe));
+                                     new ResponseBodyDeferringAsyncHandler(handler));
     } catch (Exception e) {
       handler.onFailure(e);
     }
@@ -376,37 +390,47 @@ public class GrizzlyHttpClient implements HttpClient {
     asyncHttpClient.close();
   }
 
+  private static IOException toIOException(Throwable t) {
+    if (t.getCause() instanceof IOException) {
+      return (IOException) t.getCause();
+    }
+    return t instanceof IOException ? (IOException) t : new IOException(t);
+  }
+
+  /**
+   * Hands the response over to the {@link ResponseHandler} as soon as its headers are received, with an entity that streams the
+   * body parts as they arrive.
+   * <p>
+   * Waiting for the consumer would block the thread receiving the responses of every connection, so parts are never held back.
+   * Instead, once the consumer falls behind by more than {@link #RESPONSE_BUFFER_SIZE_PROPERTY} bytes, the
+   * {@link ResponseBodyReadFilter} stops reading from the connection of the response until the consumer catches up.
+   */
   private class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response> {
 
     private volatile Response response;
-    private final OutputStream output;
-    private final InputStream input;
+    private final ResponseBodyStream input = new ResponseBodyStream(responseBufferSize);
     private final ResponseHandler responseHandler;
     private final Response.ResponseBuilder responseBuilder = new Response.ResponseBuilder();
     private final AtomicBoolean handled = new AtomicBoolean(false);
+    private volatile boolean aborted;
 
-    public ResponseBodyDeferringAsyncHandler(ResponseHandler responseHandler, PipedOutputStream output)
-        throws IOException {
-      this.output = output;
+    public ResponseBodyDeferringAsyncHandler(ResponseHandler responseHandler) {
       this.responseHandler = responseHandler;
-      this.input = new PipedInputStream(output);
     }
 
     public void onThrowable(Throwable t) {
-      try {
-        closeOut();
-      } catch (IOException e) {
-        // ignore
+      if (aborted) {
+        // the body is no longer wanted
+        return;
       }
+      Exception exception;
+      if (t.getCause() instanceof TimeoutException) {
+        exception = (TimeoutException) t.getCause();
+      } else {
+        exception = toIOException(t);
+      }
+      input.fail(exception instanceof IOException ? (IOException) exception : new IOException(exception));
       if (!handled.getAndSet(true)) {
-        Exception exception;
-        if (t.getCause() instanceof TimeoutException) {
-          exception = (TimeoutException) t.getCause();
-        } else if (t.getCause() instanceof IOException) {
-          exception = (IOException) t.getCause();
-        } else {
-          exception = t instanceof IOException ? (IOException) t : new IOException(t);
-        }
         responseHandler.onFailure(exception);
       }
     }
@@ -419,28 +443,27 @@ public class GrizzlyHttpClient implements HttpClient {
 
     public STATE onHeadersReceived(HttpResponseHeaders headers) throws Exception {
       responseBuilder.accumulate(headers);
+      ResponseBodyReadFilter.bindToCurrentRead(input);
       return STATE.CONTINUE;
     }
 
     public STATE onBodyPartReceived(HttpResponseBodyPart bodyPart) throws Exception {
       //body arrived, can handle the partial response
       handleIfNecessary();
-      bodyPart.writeTo(output);
-      return STATE.CONTINUE;
-    }
-
-    protected void closeOut() throws IOException {
-      try {
-        output.flush();
-      } finally {
-        output.close();
+      if (input.offer(bodyPart.getBodyByteBuffer())) {
+        return STATE.CONTINUE;
       }
+      aborted = true;
+      return STATE.ABORT;
     }
 
     public Response onCompleted() throws IOException {
+      if (aborted) {
+        return null;
+      }
       //there may have been no body, handle partial response
       handleIfNecessary();
-      closeOut();
+      input.complete();
       return null;
     }
 
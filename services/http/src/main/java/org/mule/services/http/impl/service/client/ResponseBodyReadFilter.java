@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.services.http.impl.service.client;
+
+import java.io.IOException;
+
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.attributes.Attribute;
+import org.glassfish.grizzly.filterchain.BaseFilter;
+import org.glassfish.grizzly.filterchain.FilterChainContext;
+import org.glassfish.grizzly.filterchain.NextAction;
+
+/**
+ * Filter that stops reading from a connection while the consumer of the response body being received through it is behind.
+ * <p>
+ * It goes before the HTTP codec of the client, which hands the body parts to their {@link ResponseBodyStream} from within the read
+ * of the connection they arrive through. That stream is {@link #bindToCurrentRead(ResponseBodyStream) bound} to the connection
+ * being read, and while it is full the next read of the connection is suspended, so no more data is taken from its socket until the
+ * consumer catches up.
+ */
+class ResponseBodyReadFilter extends BaseFilter {
+
+  private static final Attribute<ResponseBodyStream> BODY_STREAM =
+      Grizzly.DEFAULT_ATTRIBUTE_BUILDER.createAttribute(ResponseBodyReadFilter.class.getName() + ".bodyStream");
+
+  private static final ThreadLocal<Connection> readingConnection = new ThreadLocal<>();
+
+  /**
+   * Binds the body stream of a response to the connection being read by the current thread, which is the one the response arrives
+   * through when called from the {@link com.ning.http.client.AsyncHandler} of the response.
+   */
+  static void bindToCurrentRead(ResponseBodyStream stream) {
+    Connection connection = readingConnection.get();
+    if (connection != null) {
+      BODY_STREAM.set(connection, stream);
+    }
+  }
+
+  @Override
+  public NextAction handleRead(FilterChainContext ctx) throws IOException {
+    Connection connection = ctx.getConnection();
+    ResponseBodyStream stream = BODY_STREAM.get(connection);
+    NextAction suspendAction = ctx.getSuspendAction();
+    ctx.suspend();
+    if (stream != null && stream.isReadPaused()) {
+      stream.parkRead(() -> invokeNextFilters(ctx, connection));
+    } else {
+      invokeNextFilters(ctx, connection);
+    }
+    return suspendAction;
+  }
+
+  /**
+   * Resumes the suspended {@code ctx}, which runs the next filters in the current thread, so the connection is only bound to the
+   * thread while they read it. Otherwise pooled threads would keep it, and an unrelated read could pick it up.
+   */
+  private static void invokeNextFilters(FilterChainContext ctx, Connection connection) {
+    readingConnection.set(connection);
+    try {
+      ctx.resume(ctx.getInvokeAction());
+    } finally {
+      readingConnection.remove();
+    }
+  }
+}
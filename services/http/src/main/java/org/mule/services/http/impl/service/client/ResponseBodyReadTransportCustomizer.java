@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.services.http.impl.service.client;
+
+import static java.lang.String.format;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import com.ning.http.client.providers.grizzly.TransportCustomizer;
+
+import org.glassfish.grizzly.filterchain.FilterChainBuilder;
+import org.glassfish.grizzly.http.HttpCodecFilter;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+
+/**
+ * Transport customizer that adds a {@link ResponseBodyReadFilter} right before the HTTP codec, so reading from a connection stops
+ * while the body of its response is not consumed.
+ */
+public class ResponseBodyReadTransportCustomizer implements TransportCustomizer {
+
+  @Override
+  public void customize(TCPNIOTransport transport, FilterChainBuilder filterChainBuilder) {
+    int httpCodecFilterIndex = filterChainBuilder.indexOfType(HttpCodecFilter.class);
+    if (httpCodecFilterIndex < 0) {
+      throw new MuleRuntimeException(createStaticMessage(format("Failure looking for %s in grizzly client transport",
+                                                                       HttpCodecFilter.class.getName())));
+    }
+    filterChainBuilder.add(httpCodecFilterIndex, new ResponseBodyReadFilter());
+  }
+}
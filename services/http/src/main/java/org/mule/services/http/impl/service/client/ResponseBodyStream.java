@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.services.http.impl.service.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * {@link InputStream} over the body parts of an HTTP response as they are received.
+ * <p>
+ * Each body part is queued as a whole and read from the buffer it was received in. Handing a part over never waits for the
+ * consumer, since it is done by the thread receiving the responses of every connection. Instead, once the bytes pending to be read
+ * go over {@code maxBufferedBytes} reading from the connection is paused: the next read is {@link #parkRead(Runnable) parked} and
+ * released from the consumer thread once it has read half of the pending bytes.
+ * <p>
+ * Closing the stream discards the pending parts and releases a parked read, and any part received afterwards is rejected so the
+ * response can be aborted.
+ */
+class ResponseBodyStream extends InputStream {
+
+  private final long maxBufferedBytes;
+  private final Deque<ByteBuffer> parts = new ArrayDeque<>();
+  private Runnable parkedRead;
+  private long bufferedBytes;
+  private boolean paused;
+  private boolean completed;
+  private boolean closed;
+  private IOException failure;
+
+  ResponseBodyStream(long maxBufferedBytes) {
+    this.maxBufferedBytes = maxBufferedBytes;
+  }
+
+  /**
+   * Queues a received body part.
+   *
+   * @param part the content of the body part
+   * @return {@code false} if the stream was closed by the consumer and no more parts are wanted
+   */
+  synchronized boolean offer(ByteBuffer part) {
+    if (closed) {
+      return false;
+    }
+    if (part.hasRemaining()) {
+      parts.add(part);
+      bufferedBytes += part.remaining();
+      notifyAll();
+    }
+    if (bufferedBytes > maxBufferedBytes) {
+      paused = true;
+    }
+    return true;
+  }
+
+  /**
+   * @return whether reading from the connection has to be paused until the consumer catches up.
+   */
+  synchronized boolean isReadPaused() {
+    return paused && !completed && !closed;
+  }
+
+  /**
+   * Holds back a read from the connection while it is paused.
+   *
+   * @param resumer continues with the parked read. It is called right away if reading is no longer paused, or otherwise from the
+   *        consumer thread once it catches up.
+   */
+  void parkRead(Runnable resumer) {
+    synchronized (this) {
+      if (isReadPaused()) {
+        parkedRead = resumer;
+        return;
+      }
+    }
+    resumer.run();
+  }
+
+  /**
+   * Signals that the whole body was received.
+   */
+  void complete() {
+    synchronized (this) {
+      completed = true;
+      notifyAll();
+    }
+    releaseParkedRead();
+  }
+
+  /**
+   * Signals that the response could not be completely received. The exception is thrown to the consumer once it reads all the
+   * parts received before the failure.
+   */
+  void fail(IOException exception) {
+    synchronized (this) {
+      failure = exception;
+      completed = true;
+      notifyAll();
+    }
+    releaseParkedRead();
+  }
+
+  @Override
+  public int read() throws IOException {
+    int value;
+    synchronized (this) {
+      ByteBuffer part = awaitPart();
+      if (part == null) {
+        return -1;
+      }
+      value = part.get() & 0xFF;
+      consumed(part, 1);
+    }
+    releaseParkedRead();
+    return value;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (off < 0 || len < 0 || len > b.length - off) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (len == 0) {
+      return 0;
+    }
+
+    int read;
+    synchronized (this) {
+      ByteBuffer part = awaitPart();
+      if (part == null) {
+        return -1;
+      }
+      read = Math.min(len, part.remaining());
+      part.get(b, off, read);
+      consumed(part, read);
+    }
+    releaseParkedRead();
+    return read;
+  }
+
+  /**
+   * @return the first pending part, or {@code null} if the whole body was read.
+   */
+  private ByteBuffer awaitPart() throws IOException {
+    while (parts.isEmpty()) {
+      if (closed) {
+        throw new IOException("Stream closed");
+      }
+      if (failure != null) {
+        throw failure;
+      }
+      if (completed) {
+        return null;
+      }
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+    }
+    return parts.peek();
+  }
+
+  private void consumed(ByteBuffer part, int read) {
+    if (!part.hasRemaining()) {
+      parts.poll();
+    }
+    bufferedBytes -= read;
+    if (paused && bufferedBytes <= maxBufferedBytes / 2) {
+      paused = false;
+    }
+  }
+
+  /**
+   * Continues with the parked read, if reading is no longer paused. It is called without holding the lock of the stream, since the
+   * parts read from the connection meanwhile are queued from this same thread.
+   */
+  private void releaseParkedRead() {
+    Runnable resumer;
+    synchronized (this) {
+      if (parkedRead == null || isReadPaused()) {
+        return;
+      }
+      resumer = parkedRead;
+      parkedRead = null;
+    }
+    resumer.run();
+  }
+
+  @Override
+  public synchronized int available() throws IOException {
+    return (int) Math.min(bufferedBytes, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public void close() throws IOException {
+    synchronized (this) {
+      closed = true;
+      parts.clear();
+      bufferedBytes = 0;
+      notifyAll();
+    }
+    releaseParkedRead();
+  }
+}
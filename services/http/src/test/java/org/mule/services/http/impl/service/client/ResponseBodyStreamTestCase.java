@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.services.http.impl.service.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+@SmallTest
+public class ResponseBodyStreamTestCase extends AbstractMuleTestCase {
+
+  private static final int MAX_BUFFERED_BYTES = 10;
+
+  @Rule
+  public ExpectedException expected = ExpectedException.none();
+
+  private final ResponseBodyStream stream = new ResponseBodyStream(MAX_BUFFERED_BYTES);
+  private final AtomicInteger releasedReads = new AtomicInteger();
+
+  @Test
+  public void readsPartsInOrder() throws Exception {
+    stream.offer(part("ab"));
+    stream.offer(part(""));
+    stream.offer(part("cde"));
+    stream.complete();
+
+    assertThat(stream.read(), is((int) 'a'));
+    assertThat(IOUtils.toString(stream), is("bcde"));
+    assertThat(stream.read(), is(-1));
+  }
+
+  @Test
+  public void readWaitsForParts() throws Exception {
+    Thread producer = new Thread(() -> {
+      stream.offer(part("abc"));
+      stream.complete();
+    });
+    producer.start();
+
+    assertThat(IOUtils.toString(stream), is("abc"));
+    producer.join();
+  }
+
+  @Test
+  public void readIsPausedOverTheLimitAndReleasedAtHalf() throws Exception {
+    assertThat(stream.offer(part("01234567")), is(true));
+    assertThat(stream.isReadPaused(), is(false));
+    assertThat(stream.offer(part("89abcdef")), is(true));
+    assertThat(stream.isReadPaused(), is(true));
+    stream.parkRead(() -> releasedReads.incrementAndGet());
+
+    byte[] buffer = new byte[16];
+    assertThat(stream.read(buffer, 0, 5), is(5));
+    assertThat(stream.available(), is(11));
+    assertThat(stream.read(buffer, 0, 3), is(3));
+    assertThat(releasedReads.get(), is(0));
+
+    assertThat(stream.read(), is((int) '8'));
+    assertThat(stream.available(), is(7));
+    assertThat(stream.read(buffer, 0, 2), is(2));
+    assertThat(stream.isReadPaused(), is(false));
+    assertThat(releasedReads.get(), is(1));
+
+    assertThat(stream.offer(part("ghij")), is(true));
+    stream.complete();
+    assertThat(IOUtils.toString(stream), is("bcdefghij"));
+    assertThat(releasedReads.get(), is(1));
+  }
+
+  @Test
+  public void readIsNotParkedWhenNotPaused() throws Exception {
+    stream.offer(part("0123"));
+    stream.parkRead(() -> releasedReads.incrementAndGet());
+
+    assertThat(releasedReads.get(), is(1));
+  }
+
+  @Test
+  public void completedTransferIsNotPaused() throws Exception {
+    stream.offer(part("0123456789ab"));
+    stream.complete();
+
+    assertThat(stream.isReadPaused(), is(false));
+    assertThat(IOUtils.toString(stream), is("0123456789ab"));
+  }
+
+  @Test
+  public void closingReleasesParkedRead() throws Exception {
+    stream.offer(part("0123456789ab"));
+    stream.parkRead(() -> releasedReads.incrementAndGet());
+    stream.close();
+
+    assertThat(releasedReads.get(), is(1));
+    assertThat(stream.offer(part("cd")), is(false));
+  }
+
+  @Test
+  public void readAfterCloseFails() throws Exception {
+    stream.offer(part("abc"));
+    stream.close();
+
+    expected.expect(IOException.class);
+    stream.read();
+  }
+
+  @Test
+  public void failureIsThrownAfterReceivedParts() throws Exception {
+    IOException failure = new IOException("connection reset");
+    stream.offer(part("abc"));
+    stream.fail(failure);
+
+    byte[] buffer = new byte[3];
+    assertThat(stream.read(buffer, 0, 3), is(3));
+    assertThat(new String(buffer, UTF_8), is("abc"));
+    expected.expect(is(failure));
+    stream.read();
+  }
+
+  private ByteBuffer part(String content) {
+    return ByteBuffer.wrap(content.getBytes(UTF_8));
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.scheduler;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
+
+/**
+ * Metrics of the tasks waiting for a thread of a {@link Scheduler}. The {@link Scheduler}s obtained from the
+ * {@link SchedulerService} implement this interface, so their queues can be monitored by casting any of
+ * {@link SchedulerService#getSchedulers()}.
+ *
+ * @since 4.0
+ */
+public interface SchedulerQueueMetrics {
+
+  /**
+   * @return the number of tasks dispatched by the scheduler that are waiting for a thread.
+   */
+  long getQueuedTasks();
+
+  /**
+   * @return the average time, in nanoseconds, that the tasks dispatched by the scheduler waited for a thread.
+   */
+  long getAverageQueueWaitNanos();
+
+}
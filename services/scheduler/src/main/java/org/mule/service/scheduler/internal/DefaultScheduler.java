@@ -23,6 +23,7 @@ import static org.quartz.TriggerBuilder.newTrigger;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.service.scheduler.SchedulerQueueMetrics;
 import org.mule.service.scheduler.ThreadType;
 
 import java.util.ArrayList;
@@ -42,6 +43,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 import org.quartz.CronTrigger;
@@ -56,7 +58,7 @@ import org.slf4j.LoggerFactory;
  *
  * @since 4.0
  */
-class DefaultScheduler extends AbstractExecutorService implements Scheduler {
+class DefaultScheduler extends AbstractExecutorService implements Scheduler, SchedulerQueueMetrics {
 
   /**
    * Forced shutdown delay. The time to wait while threads are being interrupted.
@@ -88,6 +90,10 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
 
   private volatile boolean shutdown = false;
 
+  private final LongAdder queuedTasks = new LongAdder();
+  private final LongAdder startedTasks = new LongAdder();
+  private final LongAdder queueWaitNanos = new LongAdder();
+
   private Consumer<Scheduler> shutdownCallback;
 
   /**
@@ -215,7 +221,17 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
   }
 
   private <T> Runnable schedulableTask(RunnableFuture<T> task) {
-    return () -> executor.execute(task);
+    return () -> dispatch(task);
+  }
+
+  private void dispatch(RunnableFuture<?> task) {
+    queuedTasks.increment();
+    try {
+      executor.execute(new QueuedTask(task, nanoTime()));
+    } catch (Exception e) {
+      queuedTasks.decrement();
+      throw e;
+    }
   }
 
   public void setJobClass(Class<? extends QuartzCronJob> jobClass) {
@@ -343,7 +359,7 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
 
     putTask(runnableFutureCommand, NULL_SCHEDULED_FUTURE);
     try {
-      executor.execute(runnableFutureCommand);
+      dispatch(runnableFutureCommand);
     } catch (Exception e) {
       removeTask(runnableFutureCommand);
       throw e;
@@ -378,6 +394,24 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
     }
   }
 
+  /**
+   * @return the number of tasks dispatched by this scheduler that are waiting for a thread of the underlying executor.
+   */
+  @Override
+  public long getQueuedTasks() {
+    return queuedTasks.sum();
+  }
+
+  /**
+   * @return the average time, in nanoseconds, that the tasks dispatched by this scheduler waited for a thread of the underlying
+   *         executor.
+   */
+  @Override
+  public long getAverageQueueWaitNanos() {
+    final long started = startedTasks.sum();
+    return started == 0 ? 0 : queueWaitNanos.sum() / started;
+  }
+
   public ThreadType getThreadType() {
     return threadType;
   }
@@ -392,6 +426,35 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
     return getThreadType() + " - " + getName() + "{" + lineSeparator()
         + "  executor: " + executor.toString() + lineSeparator()
         + "  shutdown: " + shutdown + lineSeparator()
+        + "  queued tasks: " + getQueuedTasks() + lineSeparator()
+        + "  average queue wait: " + getAverageQueueWaitNanos() + " ns" + lineSeparator()
         + "}";
   }
+
+  /**
+   * Keeps track of the time a task waits in the underlying executor.
+   */
+  private final class QueuedTask implements Runnable {
+
+    private final Runnable task;
+    private final long queuedAt;
+
+    private QueuedTask(Runnable task, long queuedAt) {
+      this.task = task;
+      this.queuedAt = queuedAt;
+    }
+
+    @Override
+    public void run() {
+      queuedTasks.decrement();
+      queueWaitNanos.add(nanoTime() - queuedAt);
+      startedTasks.increment();
+      task.run();
+    }
+
+    @Override
+    public String toString() {
+      return task.toString();
+    }
+  }
 }
@@ -32,7 +32,9 @@ import org.mule.runtime.core.api.scheduler.SchedulerConfig;
 import org.mule.runtime.core.api.scheduler.SchedulerService;
 import org.mule.service.scheduler.ThreadType;
 import org.mule.service.scheduler.internal.config.ThreadPoolsConfig;
+import org.mule.service.scheduler.internal.executor.AdaptiveThreadPoolExecutor;
 import org.mule.service.scheduler.internal.executor.ByCallerThreadGroupPolicy;
+import org.mule.service.scheduler.internal.executor.WorkStealingExecutor;
 import org.mule.service.scheduler.internal.threads.SchedulerThreadFactory;
 
 import java.util.ArrayList;
@@ -58,6 +60,10 @@ import org.slf4j.Logger;
  * {@link Scheduler}s provided by this implementation of {@link SchedulerService} use a shared single-threaded
  * {@link ScheduledExecutorService} for scheduling work. When a scheduled tasks is fired, they are executed using the
  * {@link Scheduler}'s own executor.
+ * <p>
+ * When {@link ThreadPoolsConfig#isWorkStealing()} is set, the {@code cpu_lite} and {@code cpu_intensive} executors are
+ * {@link WorkStealingExecutor}s and the {@code I/O} executor is an {@link AdaptiveThreadPoolExecutor} whose size is adjusted
+ * periodically from the measured blocking time and queue wait of its tasks.
  *
  * @since 4.0
  */
@@ -71,6 +77,8 @@ public class DefaultSchedulerService implements SchedulerService, Startable, Sto
   private static final String TIMER_THREADS_NAME = SchedulerService.class.getSimpleName() + "_timer";
   private static final String CUSTOM_THREADS_NAME = SchedulerService.class.getSimpleName() + "_" + CUSTOM.getName();
 
+  private static final long IO_POOL_ADJUST_PERIOD_MILLIS = 1000;
+
   private int cores = getRuntime().availableProcessors();
   private ThreadPoolsConfig threadPoolsConfig;
 
@@ -82,12 +90,12 @@ public class DefaultSchedulerService implements SchedulerService, Startable, Sto
   private final ThreadGroup customGroup = new ThreadGroup(schedulerGroup, CUSTOM_THREADS_NAME);
   private final ThreadGroup customWaitGroup = new ThreadGroup(customGroup, CUSTOM_THREADS_NAME);
 
-  private final RejectedExecutionHandler byCallerThreadGroupPolicy =
-      new ByCallerThreadGroupPolicy(new HashSet<>(asList(ioGroup, customWaitGroup)));
+  private final Set<ThreadGroup> waitGroups = new HashSet<>(asList(ioGroup, customWaitGroup));
+  private final RejectedExecutionHandler byCallerThreadGroupPolicy = new ByCallerThreadGroupPolicy(waitGroups);
 
-  private ThreadPoolExecutor cpuLightExecutor;
-  private ThreadPoolExecutor ioExecutor;
-  private ThreadPoolExecutor computationExecutor;
+  private ExecutorService cpuLightExecutor;
+  private ExecutorService ioExecutor;
+  private ExecutorService computationExecutor;
   private Set<ExecutorService> customSchedulersExecutors = new HashSet<>();
   private ScheduledThreadPoolExecutor scheduledExecutor;
   private org.quartz.Scheduler quartzScheduler;
@@ -304,19 +312,30 @@ public class DefaultSchedulerService implements SchedulerService, Startable, Sto
 
     threadPoolsConfig = loadThreadPoolsConfig();
 
-    cpuLightExecutor = new ThreadPoolExecutor(threadPoolsConfig.getCpuLightPoolSize(), threadPoolsConfig.getCpuLightPoolSize(),
-                                              0, SECONDS, new LinkedBlockingQueue<>(threadPoolsConfig.getCpuLightQueueSize()),
-                                              new SchedulerThreadFactory(cpuLightGroup), byCallerThreadGroupPolicy);
-    ioExecutor = new ThreadPoolExecutor(threadPoolsConfig.getIoCorePoolSize(), threadPoolsConfig.getIoMaxPoolSize(),
-                                        threadPoolsConfig.getIoKeepAlive(), MILLISECONDS,
-                                        // TODO MULE-11505 - Implement cached IO scheduler that grows and uses async hand-off
-                                        // with queue.
-                                        new SynchronousQueue<>(),
-                                        new SchedulerThreadFactory(ioGroup), byCallerThreadGroupPolicy);
-    computationExecutor =
-        new ThreadPoolExecutor(threadPoolsConfig.getCpuIntensivePoolSize(), threadPoolsConfig.getCpuIntensivePoolSize(),
-                               0, SECONDS, new LinkedBlockingQueue<>(threadPoolsConfig.getCpuIntensiveQueueSize()),
-                               new SchedulerThreadFactory(computationGroup), byCallerThreadGroupPolicy);
+    if (threadPoolsConfig.isWorkStealing()) {
+      cpuLightExecutor = new WorkStealingExecutor(CPU_LIGHT_THREADS_NAME, threadPoolsConfig.getCpuLightPoolSize(),
+                                                  threadPoolsConfig.getCpuLightQueueSize(), waitGroups);
+      ioExecutor = new AdaptiveThreadPoolExecutor(threadPoolsConfig.getIoCorePoolSize(), threadPoolsConfig.getIoMaxPoolSize(),
+                                                  threadPoolsConfig.getIoKeepAlive(), new SchedulerThreadFactory(ioGroup),
+                                                  byCallerThreadGroupPolicy);
+      computationExecutor = new WorkStealingExecutor(COMPUTATION_THREADS_NAME, threadPoolsConfig.getCpuIntensivePoolSize(),
+                                                     threadPoolsConfig.getCpuIntensiveQueueSize(), waitGroups);
+    } else {
+      cpuLightExecutor =
+          new ThreadPoolExecutor(threadPoolsConfig.getCpuLightPoolSize(), threadPoolsConfig.getCpuLightPoolSize(),
+                                 0, SECONDS, new LinkedBlockingQueue<>(threadPoolsConfig.getCpuLightQueueSize()),
+                                 new SchedulerThreadFactory(cpuLightGroup), byCallerThreadGroupPolicy);
+      ioExecutor = new ThreadPoolExecutor(threadPoolsConfig.getIoCorePoolSize(), threadPoolsConfig.getIoMaxPoolSize(),
+                                          threadPoolsConfig.getIoKeepAlive(), MILLISECONDS,
+                                          // TODO MULE-11505 - Implement cached IO scheduler that grows and uses async hand-off
+                                          // with queue.
+                                          new SynchronousQueue<>(),
+                                          new SchedulerThreadFactory(ioGroup), byCallerThreadGroupPolicy);
+      computationExecutor =
+          new ThreadPoolExecutor(threadPoolsConfig.getCpuIntensivePoolSize(), threadPoolsConfig.getCpuIntensivePoolSize(),
+                                 0, SECONDS, new LinkedBlockingQueue<>(threadPoolsConfig.getCpuIntensiveQueueSize()),
+                                 new SchedulerThreadFactory(computationGroup), byCallerThreadGroupPolicy);
+    }
 
     scheduledExecutor = new ScheduledThreadPoolExecutor(1, new SchedulerThreadFactory(timerGroup, "%s"));
     scheduledExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
@@ -331,15 +350,27 @@ public class DefaultSchedulerService implements SchedulerService, Startable, Sto
       throw new LifecycleException(e, this);
     }
 
-    cpuLightExecutor.prestartAllCoreThreads();
-    ioExecutor.prestartAllCoreThreads();
-    computationExecutor.prestartAllCoreThreads();
+    prestartCoreThreads(cpuLightExecutor);
+    prestartCoreThreads(ioExecutor);
+    prestartCoreThreads(computationExecutor);
     scheduledExecutor.prestartAllCoreThreads();
 
+    if (ioExecutor instanceof AdaptiveThreadPoolExecutor) {
+      final AdaptiveThreadPoolExecutor adaptiveIoExecutor = (AdaptiveThreadPoolExecutor) ioExecutor;
+      scheduledExecutor.scheduleWithFixedDelay(adaptiveIoExecutor::adjustPoolSize, IO_POOL_ADJUST_PERIOD_MILLIS,
+                                               IO_POOL_ADJUST_PERIOD_MILLIS, MILLISECONDS);
+    }
+
     logger.info("Started " + this.toString());
     started = true;
   }
 
+  private void prestartCoreThreads(ExecutorService executor) {
+    if (executor instanceof ThreadPoolExecutor) {
+      ((ThreadPoolExecutor) executor).prestartAllCoreThreads();
+    }
+  }
+
   @Override
   public void stop() throws MuleException {
     started = false;
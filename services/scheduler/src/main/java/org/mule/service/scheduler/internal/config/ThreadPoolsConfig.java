@@ -7,6 +7,8 @@
 package org.mule.service.scheduler.internal.config;
 
 import static java.io.File.separator;
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Boolean.parseBoolean;
 import static java.lang.Long.parseLong;
 import static java.lang.Math.max;
 import static java.lang.Runtime.getRuntime;
@@ -54,6 +56,7 @@ public class ThreadPoolsConfig {
   public static final String THREAD_POOL_KEEP_ALIVE = THREAD_POOL + ".threadKeepAlive";
   public static final String WORK_QUEUE = "workQueue";
   public static final String WORK_QUEUE_SIZE = WORK_QUEUE + ".size";
+  public static final String WORK_STEALING = PROP_PREFIX + "workStealing";
 
   private static final String NUMBER_OR_VAR_REGEXP = "([0-9]+(\\.[0-9]+)?)|cores|mem";
   private static final Pattern POOLSIZE_PATTERN =
@@ -97,6 +100,9 @@ public class ThreadPoolsConfig {
     engine.put("mem", mem);
 
     config.setGracefulShutdownTimeout(resolveNumber(properties, PROP_PREFIX + "gracefulShutdownTimeout"));
+    if (properties.getProperty(WORK_STEALING) != null) {
+      config.setWorkStealing(parseBoolean(properties.getProperty(WORK_STEALING).trim()));
+    }
 
     config.setCpuLightPoolSize(resolveExpression(properties, CPU_LIGHT_PREFIX + "." + THREAD_POOL_SIZE, config, engine));
     config.setCpuLightQueueSize(resolveExpression(properties, CPU_LIGHT_PREFIX + "." + WORK_QUEUE_SIZE, config, engine));
@@ -158,6 +164,7 @@ public class ThreadPoolsConfig {
   private long ioKeepAlive = 30000;
   private int cpuIntensiveQueueSize = 1024;
   private int cpuIntensivePoolSize = 2 * cores;
+  private boolean workStealing = getBoolean(WORK_STEALING);
 
   private ThreadPoolsConfig() {
 
@@ -264,6 +271,18 @@ public class ThreadPoolsConfig {
     this.cpuIntensiveQueueSize = cpuIntensiveQueueSize;
   }
 
+  /**
+   * @return whether the {@code cpu_lite} and {@code cpu_intensive} pools use a work-stealing queue per thread, and the
+   *         {@code I/O} pool adapts its size to the load, instead of the fixed pools with a single queue.
+   */
+  public boolean isWorkStealing() {
+    return workStealing;
+  }
+
+  private void setWorkStealing(boolean workStealing) {
+    this.workStealing = workStealing;
+  }
+
   public Properties defaultQuartzProperties(String name) {
     Properties factoryProperties = new Properties();
 
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.scheduler.internal.executor;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.lang.management.ManagementFactory.getThreadMXBean;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ThreadPoolExecutor} for blocking tasks that sizes its pool from the measured blocking time and queue wait of its tasks.
+ * <p>
+ * Tasks are handed off to a thread, as in a cached thread pool: if no thread is idle a new one is started, up to the maximum pool
+ * size, so a task never waits behind tasks that are blocked. For each task the time it waited to be picked by a thread, its
+ * running time, and the part of it the thread spent blocked rather than on CPU are measured.
+ * <p>
+ * Every time {@link #adjustPoolSize()} is called the core pool size is set from the measures of the tasks of the last period. By
+ * Little's law, the threads needed to keep up are the rate at which tasks arrived times the average time they run. Since blocked
+ * threads cost little, that number is increased in proportion to the fraction of the running time the tasks were blocked, so
+ * bursts of blocking tasks find idle threads. Tasks that found every thread busy, and so either waited in the
+ * {@link RejectedExecutionHandler} or were rejected, show that the pool was too small for them, so it grows by the number of
+ * those tasks. The core size is never set below the number of threads running a task. Threads beyond it are released after the
+ * keep alive time once idle.
+ * <p>
+ * If the JVM does not measure the CPU time of threads, the whole running time of the tasks is taken as blocked.
+ *
+ * @since 4.0
+ */
+public class AdaptiveThreadPoolExecutor extends ThreadPoolExecutor {
+
+  private static final ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+  private final int minPoolSize;
+  private final boolean measureCpuTime;
+
+  private final AtomicInteger activeThreads = new AtomicInteger();
+  private final LongAdder startedTasks = new LongAdder();
+  private final LongAdder delayedTasks;
+  private final LongAdder completedTasks = new LongAdder();
+  private final LongAdder handOffNanos = new LongAdder();
+  private final LongAdder runningNanos = new LongAdder();
+  private final LongAdder blockedNanos = new LongAdder();
+
+  // @GuardedBy this
+  private long lastAdjustment = nanoTime();
+  private long lastStartedTasks;
+  private long lastDelayedTasks;
+  private long lastCompletedTasks;
+  private long lastHandOffNanos;
+  private long lastRunningNanos;
+  private long lastBlockedNanos;
+
+  private volatile long averageHandOffNanos;
+  private volatile long averageRunningNanos;
+  private volatile long averageBlockedNanos;
+
+  /**
+   * @param minPoolSize the number of threads to keep in the pool, even if they are idle.
+   * @param maxPoolSize the maximum number of threads to allow in the pool.
+   * @param keepAliveMillis when the number of threads is greater than the current core size, this is the maximum time (in
+   *        milliseconds) that excess idle threads will wait for new tasks before terminating.
+   * @param threadFactory the factory to use when the executor creates a new thread
+   * @param handler the handler to use when execution is blocked because the thread bounds are reached
+   */
+  public AdaptiveThreadPoolExecutor(int minPoolSize, int maxPoolSize, long keepAliveMillis, ThreadFactory threadFactory,
+                                    RejectedExecutionHandler handler) {
+    this(minPoolSize, maxPoolSize, keepAliveMillis, threadFactory, handler, new LongAdder());
+  }
+
+  private AdaptiveThreadPoolExecutor(int minPoolSize, int maxPoolSize, long keepAliveMillis, ThreadFactory threadFactory,
+                                     RejectedExecutionHandler handler, LongAdder delayedTasks) {
+    super(minPoolSize, maxPoolSize, keepAliveMillis, MILLISECONDS, new SynchronousQueue<>(), threadFactory,
+          new CountingRejectedExecutionHandler(handler, delayedTasks));
+    this.minPoolSize = minPoolSize;
+    this.delayedTasks = delayedTasks;
+    this.measureCpuTime = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    super.execute(new MeasuredTask(command, nanoTime()));
+  }
+
+  @Override
+  protected void beforeExecute(Thread t, Runnable r) {
+    activeThreads.incrementAndGet();
+    startedTasks.increment();
+    if (r instanceof MeasuredTask) {
+      final MeasuredTask task = (MeasuredTask) r;
+      task.startedAt = nanoTime();
+      handOffNanos.add(task.startedAt - task.dispatchedAt);
+      if (measureCpuTime) {
+        task.startedAtCpu = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+      }
+    }
+  }
+
+  @Override
+  protected void afterExecute(Runnable r, Throwable t) {
+    activeThreads.decrementAndGet();
+    if (r instanceof MeasuredTask) {
+      final MeasuredTask task = (MeasuredTask) r;
+      final long running = nanoTime() - task.startedAt;
+      runningNanos.add(running);
+      blockedNanos.add(measureCpuTime
+          ? max(running - (THREAD_MX_BEAN.getCurrentThreadCpuTime() - task.startedAtCpu), 0)
+          : running);
+      completedTasks.increment();
+    }
+  }
+
+  /**
+   * Sets the core pool size from the blocking time and queue wait of the tasks since the last time this was called.
+   *
+   * @return the new core pool size.
+   */
+  public synchronized int adjustPoolSize() {
+    final long now = nanoTime();
+    final long period = max(now - lastAdjustment, 1);
+    lastAdjustment = now;
+
+    final long started = startedTasks.sum() - lastStartedTasks;
+    final long delayed = delayedTasks.sum() - lastDelayedTasks;
+    final long completed = completedTasks.sum() - lastCompletedTasks;
+    final long handOff = handOffNanos.sum() - lastHandOffNanos;
+    final long running = runningNanos.sum() - lastRunningNanos;
+    final long blocked = blockedNanos.sum() - lastBlockedNanos;
+    lastStartedTasks += started;
+    lastDelayedTasks += delayed;
+    lastCompletedTasks += completed;
+    lastHandOffNanos += handOff;
+    lastRunningNanos += running;
+    lastBlockedNanos += blocked;
+
+    averageHandOffNanos = started == 0 ? 0 : handOff / started;
+    // Without completed tasks the running time of the previous ones is the best estimate
+    if (completed > 0) {
+      averageRunningNanos = running / completed;
+      averageBlockedNanos = blocked / completed;
+    }
+
+    final double busyThreads = (double) started / period * averageRunningNanos;
+    final double blockedRatio = averageRunningNanos == 0 ? 0 : (double) averageBlockedNanos / averageRunningNanos;
+    int poolSize = (int) min(ceil(busyThreads * (1 + blockedRatio)), getMaximumPoolSize());
+    if (delayed > 0) {
+      poolSize = (int) max(poolSize, min(getCorePoolSize() + delayed, getMaximumPoolSize()));
+    }
+    poolSize = max(minPoolSize, max(poolSize, min(activeThreads.get(), getMaximumPoolSize())));
+
+    if (poolSize != getCorePoolSize()) {
+      setCorePoolSize(poolSize);
+    }
+    return poolSize;
+  }
+
+  /**
+   * @return the number of threads that are running a task, including the ones blocked in it.
+   */
+  public int getActiveThreads() {
+    return activeThreads.get();
+  }
+
+  /**
+   * @return the average time, in nanoseconds, that the tasks started between the last two pool size adjustments took to be
+   *         picked by a thread, including the time the caller waited when every thread was busy.
+   */
+  public long getAverageHandOffNanos() {
+    return averageHandOffNanos;
+  }
+
+  /**
+   * @return the average time, in nanoseconds, that the tasks completed between the last pool size adjustments that had any
+   *         completed task were blocked.
+   */
+  public long getAverageBlockedNanos() {
+    return averageBlockedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return super.toString() + "[active threads = " + getActiveThreads() + ", average hand-off = " + getAverageHandOffNanos()
+        + " ns, average running = " + averageRunningNanos + " ns, average blocked = " + getAverageBlockedNanos() + " ns]";
+  }
+
+  /**
+   * Counts the tasks that found every thread busy before handing them to the actual {@link RejectedExecutionHandler}.
+   */
+  private static final class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+    private final RejectedExecutionHandler delegate;
+    private final LongAdder rejectedTasks;
+
+    private CountingRejectedExecutionHandler(RejectedExecutionHandler delegate, LongAdder rejectedTasks) {
+      this.delegate = delegate;
+      this.rejectedTasks = rejectedTasks;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+      rejectedTasks.increment();
+      delegate.rejectedExecution(r, executor);
+    }
+  }
+
+  private static final class MeasuredTask implements Runnable {
+
+    private final Runnable task;
+    private final long dispatchedAt;
+    // Only accessed by the thread running the task
+    private long startedAt;
+    private long startedAtCpu;
+
+    private MeasuredTask(Runnable task, long dispatchedAt) {
+      this.task = task;
+      this.dispatchedAt = dispatchedAt;
+    }
+
+    @Override
+    public void run() {
+      task.run();
+    }
+
+    @Override
+    public String toString() {
+      return task.toString();
+    }
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.scheduler.internal.executor;
+
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.ForkJoinPool.defaultForkJoinWorkerThreadFactory;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.core.api.scheduler.SchedulerBusyException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+/**
+ * Executor backed by a {@link ForkJoinPool} in async mode, so each worker thread has its own queue and idle workers steal tasks
+ * from the busy ones, instead of all of them contending on a single shared queue.
+ * <p>
+ * Tasks dispatched from a worker thread go to the queue of that worker, and tasks dispatched from other threads are spread
+ * among several submission queues. The pending tasks are counted as they are dispatched and picked, rather than by scanning the
+ * queues of the pool, and kept under {@code queueSize}: when it is reached, callers from one of the {@code waitGroups} wait until
+ * there is room and the rest get a {@link SchedulerBusyException}, as {@link ByCallerThreadGroupPolicy} does.
+ * <p>
+ * Worker threads of a {@link ForkJoinPool} cannot be assigned a {@link ThreadGroup}, so only their names identify the pool they
+ * belong to.
+ *
+ * @since 4.0
+ */
+public class WorkStealingExecutor extends AbstractExecutorService {
+
+  private static final Logger logger = getLogger(WorkStealingExecutor.class);
+
+  private static final long WAIT_BACKOFF_NANOS = 100_000;
+
+  private final String name;
+  private final ForkJoinPool pool;
+  private final int queueSize;
+  private final Set<ThreadGroup> waitGroups;
+
+  private final AtomicInteger pendingTasks = new AtomicInteger();
+  private final LongAdder startedTasks = new LongAdder();
+  private final LongAdder queueWaitNanos = new LongAdder();
+
+  /**
+   * @param name the prefix for the names of the worker threads
+   * @param parallelism the number of worker threads
+   * @param queueSize the maximum number of pending tasks
+   * @param waitGroups the group of threads that wait when this executor is busy. For the rest, the task is rejected.
+   */
+  public WorkStealingExecutor(String name, int parallelism, int queueSize, Set<ThreadGroup> waitGroups) {
+    this.name = name;
+    this.queueSize = queueSize;
+    this.waitGroups = unmodifiableSet(waitGroups);
+
+    final AtomicLong counter = new AtomicLong(1);
+    this.pool = new ForkJoinPool(parallelism, pool -> {
+      final ForkJoinWorkerThread thread = defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName(format("%s.%02d", name, counter.getAndIncrement()));
+      return thread;
+    }, (thread, e) -> logger.error("Uncaught throwable in thread " + thread.getName(), e), true);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    requireNonNull(command);
+
+    if (!tryReserveSlot()) {
+      final ThreadGroup callerGroup = currentThread().getThreadGroup();
+      if (callerGroup == null || !waitGroups.contains(callerGroup)) {
+        throw new SchedulerBusyException("Task " + command.toString() + " rejected from " + this.toString());
+      }
+      while (!tryReserveSlot()) {
+        if (pool.isShutdown()) {
+          throw new RejectedExecutionException("Task " + command.toString() + " rejected from " + this.toString());
+        }
+        parkNanos(WAIT_BACKOFF_NANOS);
+        if (currentThread().isInterrupted()) {
+          throw new RejectedExecutionException(new InterruptedException());
+        }
+      }
+    }
+
+    try {
+      pool.execute(new QueuedTask(command, nanoTime()));
+    } catch (RuntimeException e) {
+      pendingTasks.decrementAndGet();
+      throw e;
+    }
+  }
+
+  private boolean tryReserveSlot() {
+    if (pendingTasks.incrementAndGet() <= queueSize) {
+      return true;
+    }
+    pendingTasks.decrementAndGet();
+    return false;
+  }
+
+  /**
+   * @return the number of tasks waiting to be picked by a worker thread.
+   */
+  public long getQueuedTasks() {
+    return pendingTasks.get();
+  }
+
+  /**
+   * @return the average time, in nanoseconds, that the tasks executed so far have waited before being picked by a worker thread.
+   */
+  public long getAverageQueueWaitNanos() {
+    final long started = startedTasks.sum();
+    return started == 0 ? 0 : queueWaitNanos.sum() / started;
+  }
+
+  @Override
+  public void shutdown() {
+    pool.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    pool.shutdownNow();
+    // The pending tasks are not exposed by the ForkJoinPool
+    return emptyList();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return pool.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return pool.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return pool.awaitTermination(timeout, unit);
+  }
+
+  @Override
+  public String toString() {
+    return name + "[queued tasks = " + getQueuedTasks() + ", average queue wait = " + getAverageQueueWaitNanos() + " ns, "
+        + pool.toString() + "]";
+  }
+
+  private final class QueuedTask implements Runnable {
+
+    private final Runnable task;
+    private final long queuedAt;
+
+    private QueuedTask(Runnable task, long queuedAt) {
+      this.task = task;
+      this.queuedAt = queuedAt;
+    }
+
+    @Override
+    public void run() {
+      pendingTasks.decrementAndGet();
+      queueWaitNanos.add(nanoTime() - queuedAt);
+      startedTasks.increment();
+      task.run();
+    }
+
+    @Override
+    public String toString() {
+      return task.toString();
+    }
+  }
+}
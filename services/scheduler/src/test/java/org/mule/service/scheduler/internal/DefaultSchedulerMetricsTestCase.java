@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.scheduler.internal;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.service.scheduler.ThreadType.CUSTOM;
+
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+
+@Features("Scheduler metrics")
+public class DefaultSchedulerMetricsTestCase extends BaseDefaultSchedulerTestCase {
+
+  @Test
+  @Description("Tests that the tasks waiting in the shared executor are accounted to the scheduler that dispatched them.")
+  public void queuedTasksPerScheduler() throws Exception {
+    final DefaultScheduler scheduler = createScheduler();
+    final DefaultScheduler otherScheduler = createScheduler();
+
+    final CountDownLatch latch = new CountDownLatch(1);
+    scheduler.execute(() -> awaitLatch(latch));
+    new PollingProber(5000, 10).check(new JUnitLambdaProbe(() -> {
+      assertThat(scheduler.getQueuedTasks(), is(0L));
+      return true;
+    }));
+
+    final Future<?> queued = scheduler.submit(EMPTY_RUNNABLE);
+    assertThat(scheduler.getQueuedTasks(), is(1L));
+    assertThat(otherScheduler.getQueuedTasks(), is(0L));
+    assertThat(scheduler.toString(), containsString("queued tasks: 1"));
+
+    Thread.sleep(10);
+    latch.countDown();
+    queued.get(EXECUTOR_TIMEOUT_SECS, SECONDS);
+
+    assertThat(scheduler.getQueuedTasks(), is(0L));
+    assertThat(scheduler.getAverageQueueWaitNanos(), greaterThan(0L));
+    assertThat(otherScheduler.getAverageQueueWaitNanos(), is(0L));
+  }
+
+  @Test
+  @Description("Tests that a task rejected by the shared executor is not accounted as queued.")
+  public void rejectedTaskNotQueued() throws Exception {
+    final DefaultScheduler scheduler = createScheduler();
+
+    final CountDownLatch latch = new CountDownLatch(1);
+    scheduler.execute(() -> awaitLatch(latch));
+    scheduler.execute(EMPTY_RUNNABLE);
+    try {
+      scheduler.execute(EMPTY_RUNNABLE);
+    } catch (Exception e) {
+      // expected, the executor is full
+    } finally {
+      latch.countDown();
+    }
+
+    new PollingProber(5000, 10).check(new JUnitLambdaProbe(() -> {
+      assertThat(scheduler.getQueuedTasks(), is(0L));
+      return true;
+    }));
+  }
+
+  private DefaultScheduler createScheduler() {
+    return new DefaultScheduler(DefaultSchedulerMetricsTestCase.class.getSimpleName(), sharedExecutor, 1,
+                                sharedScheduledExecutor, sharedQuartzScheduler, CUSTOM, EMPTY_SHUTDOWN_CALLBACK);
+  }
+}
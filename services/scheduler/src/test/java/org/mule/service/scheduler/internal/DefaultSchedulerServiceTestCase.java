@@ -9,6 +9,7 @@ package org.mule.service.scheduler.internal;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.core.IsCollectionContaining.hasItem;
@@ -26,6 +27,7 @@ import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.scheduler.SchedulerBusyException;
 import org.mule.runtime.core.api.scheduler.SchedulerService;
 import org.mule.runtime.core.util.concurrent.Latch;
+import org.mule.service.scheduler.SchedulerQueueMetrics;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.probe.JUnitLambdaProbe;
 import org.mule.tck.probe.PollingProber;
@@ -71,6 +73,21 @@ public class DefaultSchedulerServiceTestCase extends AbstractMuleTestCase {
     service.stop();
   }
 
+  @Test
+  @Description("Tests that the queue metrics of the schedulers provided by the service can be observed.")
+  public void schedulersExposeQueueMetrics() {
+    service.cpuLightScheduler();
+    service.ioScheduler();
+    service.cpuIntensiveScheduler();
+    service.customScheduler(config().withMaxConcurrentTasks(1));
+
+    assertThat(service.getSchedulers().size(), is(4));
+    for (Scheduler scheduler : service.getSchedulers()) {
+      assertThat(scheduler, instanceOf(SchedulerQueueMetrics.class));
+      assertThat(((SchedulerQueueMetrics) scheduler).getQueuedTasks(), is(0L));
+    }
+  }
+
   @Test
   @Description("Tests that the threads of the SchedulerService are correcly created and destroyed.")
   public void serviceStop() throws MuleException {
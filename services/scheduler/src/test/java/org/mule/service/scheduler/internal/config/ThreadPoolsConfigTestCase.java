@@ -23,6 +23,7 @@ import static org.mule.service.scheduler.internal.config.ThreadPoolsConfig.THREA
 import static org.mule.service.scheduler.internal.config.ThreadPoolsConfig.THREAD_POOL_SIZE_CORE;
 import static org.mule.service.scheduler.internal.config.ThreadPoolsConfig.THREAD_POOL_SIZE_MAX;
 import static org.mule.service.scheduler.internal.config.ThreadPoolsConfig.WORK_QUEUE_SIZE;
+import static org.mule.service.scheduler.internal.config.ThreadPoolsConfig.WORK_STEALING;
 import static org.mule.service.scheduler.internal.config.ThreadPoolsConfig.loadThreadPoolsConfig;
 
 import org.mule.runtime.api.exception.MuleException;
@@ -313,4 +314,21 @@ public class ThreadPoolsConfigTestCase extends AbstractMuleTestCase {
     expected.expectMessage(startsWith(IO_PREFIX + "." + WORK_QUEUE_SIZE + ": <eval>:1:3 Expected ) but found eof"));
     loadThreadPoolsConfig();
   }
+
+  @Test
+  public void workStealingDefault() throws IOException, MuleException {
+    final Properties props = buildDefaultConfigProps();
+    props.store(new FileOutputStream(schedulerConfigFile), "workStealingDefault");
+
+    assertThat(loadThreadPoolsConfig().isWorkStealing(), is(false));
+  }
+
+  @Test
+  public void workStealingConfig() throws IOException, MuleException {
+    final Properties props = buildDefaultConfigProps();
+    props.setProperty(WORK_STEALING, "true");
+    props.store(new FileOutputStream(schedulerConfigFile), "workStealingConfig");
+
+    assertThat(loadThreadPoolsConfig().isWorkStealing(), is(true));
+  }
 }
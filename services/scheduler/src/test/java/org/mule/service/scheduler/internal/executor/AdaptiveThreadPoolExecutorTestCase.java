@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.scheduler.internal.executor;
+
+import static java.lang.Thread.currentThread;
+import static java.lang.Thread.sleep;
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.mule.runtime.core.api.scheduler.SchedulerBusyException;
+import org.mule.runtime.core.util.concurrent.NamedThreadFactory;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class AdaptiveThreadPoolExecutorTestCase extends AbstractMuleTestCase {
+
+  private static final int MAX_POOL_SIZE = 8;
+  private static final int BLOCKED_TASKS = 4;
+  private static final long BLOCKING_MILLIS = 100;
+
+  @Rule
+  public ExpectedException expected = ExpectedException.none();
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private AdaptiveThreadPoolExecutor executor;
+
+  @Before
+  public void before() {
+    executor = new AdaptiveThreadPoolExecutor(1, MAX_POOL_SIZE, 1000,
+                                              new NamedThreadFactory(AdaptiveThreadPoolExecutorTestCase.class.getName()),
+                                              new ByCallerThreadGroupPolicy(emptySet()));
+  }
+
+  @After
+  public void after() throws InterruptedException {
+    release.countDown();
+    executor.shutdownNow();
+    executor.awaitTermination(5, SECONDS);
+  }
+
+  @Test
+  public void blockedTasksDoNotDelayOtherTasks() throws InterruptedException {
+    startBlockedTasks(BLOCKED_TASKS);
+
+    final CountDownLatch done = new CountDownLatch(1);
+    executor.execute(done::countDown);
+    assertThat(done.await(5, SECONDS), is(true));
+  }
+
+  @Test
+  public void growsForBlockedTasks() throws InterruptedException {
+    startBlockedTasks(BLOCKED_TASKS);
+
+    assertThat(executor.getActiveThreads(), is(BLOCKED_TASKS));
+    assertThat(executor.adjustPoolSize(), is(BLOCKED_TASKS));
+    assertThat(executor.getCorePoolSize(), is(BLOCKED_TASKS));
+
+    // Still blocked, so they are taken into account again
+    assertThat(executor.adjustPoolSize(), is(BLOCKED_TASKS));
+  }
+
+  @Test
+  public void shrinksWhenIdle() throws InterruptedException {
+    growsForBlockedTasks();
+
+    release.countDown();
+    new PollingProber(5000, 10).check(new JUnitLambdaProbe(() -> {
+      assertThat(executor.getActiveThreads(), is(0));
+      return true;
+    }));
+
+    // No tasks arrived during this period
+    assertThat(executor.adjustPoolSize(), is(1));
+    assertThat(executor.getCorePoolSize(), is(1));
+  }
+
+  @Test
+  public void growsForMeasuredBlockingTime() throws InterruptedException {
+    executor.adjustPoolSize();
+
+    final CountDownLatch done = new CountDownLatch(BLOCKED_TASKS);
+    for (int i = 0; i < BLOCKED_TASKS; ++i) {
+      executor.execute(() -> {
+        try {
+          sleep(BLOCKING_MILLIS);
+        } catch (InterruptedException e) {
+          currentThread().interrupt();
+        }
+        done.countDown();
+      });
+    }
+    assertThat(done.await(5, SECONDS), is(true));
+    new PollingProber(5000, 10).check(new JUnitLambdaProbe(() -> {
+      assertThat(executor.getActiveThreads(), is(0));
+      return true;
+    }));
+
+    // The tasks were blocked almost all the time they run, so more threads than were needed at once are kept
+    assertThat(executor.adjustPoolSize(), greaterThan(1));
+    assertThat(executor.getAverageBlockedNanos(), greaterThan(MILLISECONDS.toNanos(BLOCKING_MILLIS / 2)));
+  }
+
+  @Test
+  public void growsForTasksThatFoundEveryThreadBusy() throws InterruptedException {
+    startBlockedTasks(MAX_POOL_SIZE);
+    executor.adjustPoolSize();
+
+    try {
+      executor.execute(() -> {
+      });
+      fail("Expected the task to be rejected");
+    } catch (SchedulerBusyException e) {
+      // Expected
+    }
+
+    release.countDown();
+    new PollingProber(5000, 10).check(new JUnitLambdaProbe(() -> {
+      assertThat(executor.getActiveThreads(), is(0));
+      return true;
+    }));
+
+    // No tasks arrived, but one had to be rejected during this period
+    assertThat(executor.adjustPoolSize(), is(MAX_POOL_SIZE));
+    assertThat(executor.adjustPoolSize(), is(1));
+  }
+
+  @Test
+  public void poolSizeIsBoundedByMaximum() throws InterruptedException {
+    startBlockedTasks(MAX_POOL_SIZE);
+
+    assertThat(executor.adjustPoolSize(), is(MAX_POOL_SIZE));
+    expected.expect(SchedulerBusyException.class);
+    executor.execute(() -> {
+    });
+  }
+
+  private void startBlockedTasks(int tasks) throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(tasks);
+    for (int i = 0; i < tasks; ++i) {
+      executor.execute(() -> {
+        started.countDown();
+        awaitRelease();
+      });
+    }
+    assertThat(started.await(5, SECONDS), is(true));
+  }
+
+  private void awaitRelease() {
+    try {
+      release.await(5, SECONDS);
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+    }
+  }
+}
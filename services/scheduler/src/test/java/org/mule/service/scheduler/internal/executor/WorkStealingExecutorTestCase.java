@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.scheduler.internal.executor;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.api.scheduler.SchedulerBusyException;
+import org.mule.runtime.core.util.concurrent.Latch;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class WorkStealingExecutorTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public ExpectedException expected = ExpectedException.none();
+
+  private final Latch latch = new Latch();
+  private WorkStealingExecutor executor;
+
+  @After
+  public void after() throws InterruptedException {
+    latch.release();
+    if (executor != null) {
+      executor.shutdown();
+      executor.awaitTermination(5, SECONDS);
+    }
+  }
+
+  @Test
+  public void runsTasksInNamedThreads() throws Exception {
+    executor = new WorkStealingExecutor("workStealing", 2, 16, emptySet());
+
+    final AtomicReference<String> threadName = new AtomicReference<>();
+    executor.submit(() -> threadName.set(currentThread().getName())).get(5, SECONDS);
+
+    assertThat(threadName.get(), startsWith("workStealing."));
+  }
+
+  @Test
+  public void measuresQueueWait() throws Exception {
+    executor = new WorkStealingExecutor("workStealing", 1, 16, emptySet());
+
+    executor.execute(this::awaitLatch);
+    awaitNothingQueued();
+    final CountDownLatch done = new CountDownLatch(1);
+    executor.execute(done::countDown);
+    assertThat(executor.getQueuedTasks(), is(1L));
+
+    Thread.sleep(10);
+    latch.release();
+
+    assertThat(done.await(5, SECONDS), is(true));
+    assertThat(executor.getAverageQueueWaitNanos(), greaterThan(0L));
+  }
+
+  @Test
+  public void rejectsWhenBusy() {
+    executor = new WorkStealingExecutor("workStealing", 1, 1, emptySet());
+
+    executor.execute(this::awaitLatch);
+    awaitNothingQueued();
+    executor.execute(() -> {
+    });
+
+    expected.expect(SchedulerBusyException.class);
+    executor.execute(() -> {
+    });
+  }
+
+  @Test
+  public void waitsWhenBusyForWaitGroup() throws Exception {
+    final ThreadGroup waitGroup = new ThreadGroup("waitGroup");
+    executor = new WorkStealingExecutor("workStealing", 1, 1, singleton(waitGroup));
+
+    executor.execute(this::awaitLatch);
+    awaitNothingQueued();
+    executor.execute(() -> {
+    });
+
+    final CountDownLatch done = new CountDownLatch(1);
+    final Thread caller = new Thread(waitGroup, () -> executor.execute(done::countDown));
+    caller.start();
+
+    Thread.sleep(50);
+    assertThat(done.getCount(), is(1L));
+
+    latch.release();
+    assertThat(done.await(5, SECONDS), is(true));
+    caller.join();
+  }
+
+  private void awaitNothingQueued() {
+    new PollingProber(5000, 10).check(new JUnitLambdaProbe(() -> {
+      assertThat(executor.getQueuedTasks(), is(0L));
+      return true;
+    }));
+  }
+
+  private void awaitLatch() {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+    }
+  }
+}